@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Measures time to first request: starts the application RUNS times, polls URL until it answers
+# and prints each run and the median. For example, plain, prod profile and fast-start builds:
+#
+#   scripts/measure-startup.sh target/hotel-management-0.0.1-SNAPSHOT.jar
+#   JAVA_OPTS="-Dspring.profiles.active=prod" scripts/measure-startup.sh target/hotel-management-0.0.1-SNAPSHOT.jar
+#   JAVA_OPTS="-XX:SharedArchiveFile=target/fast-start/application.jsa -Dspring.aot.enabled=true \
+#       -Dspring.profiles.active=prod" scripts/measure-startup.sh target/fast-start/hotel-management-0.0.1-SNAPSHOT.jar
+#
+# Environment: RUNS (default 5), URL (default http://localhost:8080/api/v1/rooms), JAVA_OPTS.
+# The application logs the same numbers from inside ("First request ... after JVM start").
+set -euo pipefail
+jar="${1:?usage: $0 <jar>}"
+runs="${RUNS:-5}"
+url="${URL:-http://localhost:8080/api/v1/rooms}"
+logs=$(mktemp -d)
+
+times=()
+for run in $(seq 1 "$runs"); do
+    start=$(date +%s%N)
+    # shellcheck disable=SC2086
+    java ${JAVA_OPTS:-} -jar "$jar" > "$logs/run-$run.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$url"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Run $run: the application exited, see $logs/run-$run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    times+=("$elapsed")
+    echo "Run $run: first request answered after $elapsed ms"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+done
+
+mapfile -t sorted < <(printf '%s\n' "${times[@]}" | sort -n)
+echo "Median ${sorted[$((runs / 2))]} ms, min ${sorted[0]} ms, max ${sorted[$((runs - 1))]} ms over $runs runs (logs in $logs)"
@@ -0,0 +1,22 @@
+package com.onlykei.hotel_management.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls with equal arguments share one execution and its result.
+ * The result is then reused for {@code cacheMillis}; 0 shares only in-flight calls.
+ *
+ * Arguments must implement equals/hashCode, and callers must not modify the shared result. Return
+ * DTOs, never managed entities: those belong to the session of the caller that loaded them.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    long cacheMillis() default 500;
+}
@@ -0,0 +1,126 @@
+package com.onlykei.hotel_management.config;
+
+import com.onlykei.hotel_management.dtos.CoalescingStatsDTO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight execution for {@link Coalesced} methods.
+ *
+ * The first caller for a property, method and argument list runs it; callers arriving while it runs wait
+ * on the same future, and callers arriving within the cache window reuse the completed result.
+ * Failures are never cached. Ordered ahead of the transaction advisor so waiters do not open
+ * transactions or borrow connections.
+ */
+@Aspect
+@Component
+@Order(0)
+public class CoalescingAspect {
+
+    private final Map<CallKey, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        String method = joinPoint.getSignature().toShortString();
+        CallKey key = new CallKey(PropertyContext.current(), method, Arrays.asList(joinPoint.getArgs()));
+        Counters stats = counters.computeIfAbsent(method, m -> new Counters());
+        stats.calls.increment();
+
+        long cacheNanos = TimeUnit.MILLISECONDS.toNanos(coalesced.cacheMillis());
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null) {
+                if (!flight.result.isDone()) {
+                    stats.coalesced.increment();
+                    return await(flight);
+                }
+                if (System.nanoTime() - flight.completedAt < cacheNanos) {
+                    stats.cacheHits.increment();
+                    return await(flight);
+                }
+                flights.remove(key, flight);
+                continue;
+            }
+
+            Flight own = new Flight();
+            if (flights.putIfAbsent(key, own) != null) {
+                continue;
+            }
+            stats.executions.increment();
+            try {
+                Object result = joinPoint.proceed();
+                own.completedAt = System.nanoTime();
+                own.result.complete(result);
+                if (cacheNanos == 0) {
+                    flights.remove(key, own);
+                }
+                return result;
+            } catch (Throwable e) {
+                flights.remove(key, own);
+                own.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public List<CoalescingStatsDTO> getStats() {
+        return counters.entrySet().stream()
+                .map(entry -> CoalescingStatsDTO.builder()
+                        .method(entry.getKey())
+                        .calls(entry.getValue().calls.sum())
+                        .executions(entry.getValue().executions.sum())
+                        .coalesced(entry.getValue().coalesced.sum())
+                        .cacheHits(entry.getValue().cacheHits.sum())
+                        .build())
+                .sorted(Comparator.comparing(CoalescingStatsDTO::getMethod))
+                .toList();
+    }
+
+    /**
+     * Drops completed results whose window has passed so idle keys do not accumulate.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictCompleted() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(1);
+        flights.values().removeIf(flight -> flight.result.isDone() && flight.completedAt - cutoff < 0);
+    }
+
+    private static Object await(Flight flight) throws Throwable {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Results are per property: the same call reads different rows for each one
+    private record CallKey(long propertyId, String method, List<Object> args) {
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAt;
+    }
+
+    private static final class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+    }
+}
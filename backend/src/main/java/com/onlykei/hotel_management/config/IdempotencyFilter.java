@@ -0,0 +1,188 @@
+package com.onlykei.hotel_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlykei.hotel_management.services.IdempotencyService;
+import com.onlykei.hotel_management.services.IdempotencyService.KeyReusedException;
+import com.onlykei.hotel_management.services.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays booking and block booking POST/PUT responses for retried requests carrying an Idempotency-Key header,
+ * so a retry never re-runs BookingService logic. Keys are scoped to the property, method and path, and
+ * bound to the request body: reusing a key with a different body answers 422 instead of replaying.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String BOOKINGS_PATH = "/api/v1/bookings";
+    private static final String BOOKING_BLOCKS_PATH = "/api/v1/booking-blocks";
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method))
+                || !(request.getRequestURI().startsWith(BOOKINGS_PATH)
+                        || request.getRequestURI().startsWith(BOOKING_BLOCKS_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String scopedKey = PropertyContext.current() + " " + request.getMethod() + " " + request.getRequestURI()
+                + " " + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+
+        StoredResponse replay;
+        try {
+            replay = idempotencyService.claim(scopedKey, IdempotencyService.hash(cachedRequest.body));
+        } catch (TimeoutException e) {
+            writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with the same Idempotency-Key is still being processed");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(request, response, HttpStatus.CONFLICT,
+                    "A request with the same Idempotency-Key is still being processed");
+            return;
+        } catch (KeyReusedException e) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+            return;
+        }
+
+        if (replay != null) {
+            response.setStatus(replay.status());
+            response.setHeader(REPLAYED_HEADER, "true");
+            if (replay.contentType() != null) {
+                response.setContentType(replay.contentType());
+            }
+            if (replay.body() != null) {
+                response.getOutputStream().write(replay.body());
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(cachedRequest, wrapper);
+            // Server errors are not cached so that a retry can succeed
+            if (wrapper.getStatus() < 500) {
+                idempotencyService.complete(scopedKey, new StoredResponse(
+                        wrapper.getStatus(),
+                        wrapper.getContentType(),
+                        wrapper.getContentAsByteArray()
+                ));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyService.abandon(scopedKey);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Reads the body once so it can be hashed and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is all available at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
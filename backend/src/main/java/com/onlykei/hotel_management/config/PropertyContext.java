@@ -0,0 +1,78 @@
+package com.onlykei.hotel_management.config;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * The property (hotel) the current thread works for.
+ *
+ * Set per request by {@link PropertyFilter} and read by Hibernate's tenant resolver, the routing
+ * datasource and the in-memory caches. Threads that never set it (startup, schedulers) work for
+ * the default property; background work for another property runs inside {@link #callAs}.
+ */
+public final class PropertyContext {
+
+    public static final long DEFAULT_PROPERTY = 1L;
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private PropertyContext() {
+    }
+
+    public static long current() {
+        Long propertyId = CURRENT.get();
+        return propertyId != null ? propertyId : DEFAULT_PROPERTY;
+    }
+
+    /**
+     * Runs the task for a property and restores the previous one afterwards.
+     */
+    public static <T> T callAs(long propertyId, Supplier<T> task) {
+        Long previous = CURRENT.get();
+        CURRENT.set(propertyId);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runAs(long propertyId, Runnable task) {
+        callAs(propertyId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Binds a task to the caller's property, for handing work to pool threads.
+     */
+    public static <T> Callable<T> bind(Callable<T> task) {
+        long propertyId = current();
+        return () -> {
+            Long previous = CURRENT.get();
+            CURRENT.set(propertyId);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    static void set(long propertyId) {
+        CURRENT.set(propertyId);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    private static void restore(Long previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.onlykei.hotel_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Routes JDBC connections by the current property.
+ *
+ * Properties listed under {@code property-routing.datasources.<id>} get their own connection pool,
+ * usually on their own database server, so a large property's load never queues a small property's
+ * requests behind it. Those databases are migrated by Flyway at startup with the same scripts as the
+ * default one. Every other property uses the {@code spring.datasource} pool. Connections are
+ * handed out wrapped by the {@link QueryTimer}.
+ */
+@Slf4j
+@Configuration
+public class PropertyDataSourceConfig {
+
+    private static final String ROUTES_PREFIX = "property-routing.datasources";
+
+    @Bean
+    @Primary
+    public PropertyRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                                QueryTimer queryTimer) {
+        Binder binder = Binder.get(environment);
+        Map<Long, DataSourceProperties> routes = binder
+                .bind(ROUTES_PREFIX, Bindable.mapOf(Long.class, DataSourceProperties.class))
+                .orElse(Map.of());
+
+        Map<Object, Object> targets = new HashMap<>();
+        routes.forEach((propertyId, route) -> {
+            HikariDataSource pool = pool(route, binder, "property-" + propertyId);
+            migrate(pool, binder);
+            targets.put(propertyId, pool);
+            log.info("Property {} routed to {}", propertyId, route.getUrl());
+        });
+
+        return new PropertyRoutingDataSource(pool(properties, binder, "property-default"), targets, queryTimer);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+
+    private static void migrate(DataSource dataSource, Binder binder) {
+        FlywayProperties flyway = binder.bind("spring.flyway", FlywayProperties.class).orElseGet(FlywayProperties::new);
+        if (!flyway.isEnabled()) {
+            return;
+        }
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(flyway.getLocations().toArray(String[]::new))
+                .baselineOnMigrate(flyway.isBaselineOnMigrate())
+                .baselineVersion(flyway.getBaselineVersion())
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Looks up the pool of {@link PropertyContext#current()}, falling back to the default pool.
+     */
+    public static class PropertyRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+        private final HikariDataSource fallback;
+        private final Map<Object, Object> targets;
+        private final QueryTimer queryTimer;
+
+        PropertyRoutingDataSource(HikariDataSource fallback, Map<Object, Object> targets, QueryTimer queryTimer) {
+            this.fallback = fallback;
+            this.targets = Map.copyOf(targets);
+            this.queryTimer = queryTimer;
+            setDefaultTargetDataSource(fallback);
+            setTargetDataSources(this.targets);
+        }
+
+        /**
+         * Properties that have a pool of their own.
+         */
+        public Set<Long> getRoutedProperties() {
+            Set<Long> routed = new TreeSet<>();
+            targets.keySet().forEach(key -> routed.add((Long) key));
+            return routed;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return queryTimer.wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return queryTimer.wrap(super.getConnection(username, password));
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return PropertyContext.current();
+        }
+
+        @Override
+        public void close() {
+            targets.values().forEach(target -> ((HikariDataSource) target).close());
+            fallback.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.onlykei.hotel_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlykei.hotel_management.services.PropertyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binds each API request to the property named by its X-Property-Id header, or the default
+ * property without one. Unknown properties are answered 400. Runs ahead of rate limiting and
+ * idempotency so both are kept per property; the property registry itself is global.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 200)
+@RequiredArgsConstructor
+public class PropertyFilter extends OncePerRequestFilter {
+
+    public static final String PROPERTY_ID_HEADER = "X-Property-Id";
+
+    private static final String API_PATH = "/api/";
+    private static final String PROPERTIES_PATH = "/api/v1/properties";
+
+    private final PropertyService propertyService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith(API_PATH) || uri.startsWith(PROPERTIES_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(PROPERTY_ID_HEADER);
+        long propertyId = PropertyContext.DEFAULT_PROPERTY;
+        if (header != null && !header.isBlank()) {
+            try {
+                propertyId = Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                reject(request, response, PROPERTY_ID_HEADER + " must be a number");
+                return;
+            }
+        }
+        if (!propertyService.exists(propertyId)) {
+            reject(request, response, "Unknown property: " + propertyId);
+            return;
+        }
+
+        PropertyContext.set(propertyId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PropertyContext.clear();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", message);
+        body.put("path", request.getRequestURI());
+
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
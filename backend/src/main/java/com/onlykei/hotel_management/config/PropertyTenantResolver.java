@@ -0,0 +1,33 @@
+package com.onlykei.hotel_management.config;
+
+import org.hibernate.cfg.MultiTenancySettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Hands the current property to Hibernate as the tenant of every new session.
+ *
+ * Entities with a {@code @TenantId} property id get it assigned on insert, and every query,
+ * load and bulk update on them is restricted to it, so repositories need no property parameter.
+ */
+@Component
+public class PropertyTenantResolver implements CurrentTenantIdentifierResolver<Long>, HibernatePropertiesCustomizer {
+
+    @Override
+    public Long resolveCurrentTenantIdentifier() {
+        return PropertyContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(MultiTenancySettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
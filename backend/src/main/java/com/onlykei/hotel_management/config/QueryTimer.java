@@ -0,0 +1,386 @@
+package com.onlykei.hotel_management.config;
+
+import com.onlykei.hotel_management.dtos.QueryStatsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every JDBC statement and keeps per-statement totals, replacing Hibernate's show-sql.
+ *
+ * Connections handed out by the routing datasource are wrapped so each execute call is timed
+ * (for queries, until the result set is returned). Statements at or above the slow threshold are
+ * logged with the application method on the stack, and a random sample of the others is logged
+ * the same way. Bind values are only logged with query-log.log-binds, since they carry guests'
+ * personal data. Formatting and writing happen on one background thread fed
+ * by a bounded queue; when it is full entries are dropped and counted rather than slowing the
+ * caller. Totals are kept for a bounded number of distinct statements, the rest are added up under
+ * one entry.
+ */
+@Slf4j
+@Component
+public class QueryTimer {
+
+    private static final String OTHER_STATEMENTS = "(other statements)";
+
+    private static final String APP_PACKAGE = "com.onlykei.hotel_management.";
+    private static final String CONFIG_PACKAGE = APP_PACKAGE + "config.";
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final boolean enabled;
+    private final long slowNanos;
+    private final double sampleRate;
+    private final boolean logBinds;
+    private final int maxBindLength;
+    private final int maxStatements;
+    private final ThreadPoolExecutor logger;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public QueryTimer(
+            @Value("${query-log.enabled:true}") boolean enabled,
+            @Value("${query-log.slow-threshold:PT0.2S}") Duration slowThreshold,
+            @Value("${query-log.sample-rate:0.001}") double sampleRate,
+            @Value("${query-log.log-binds:false}") boolean logBinds,
+            @Value("${query-log.max-bind-length:100}") int maxBindLength,
+            @Value("${query-log.max-statements:2000}") int maxStatements,
+            @Value("${query-log.queue-capacity:10000}") int queueCapacity
+    ) {
+        this.enabled = enabled;
+        this.slowNanos = slowThreshold.toNanos();
+        this.sampleRate = Math.min(Math.max(sampleRate, 0), 1);
+        this.logBinds = logBinds;
+        this.maxBindLength = Math.max(maxBindLength, 8);
+        this.maxStatements = Math.max(maxStatements, 1);
+        this.logger = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> dropped.increment());
+    }
+
+    /**
+     * The connection with its statements timed, or the connection itself when the query log is off.
+     */
+    public Connection wrap(Connection connection) {
+        if (!enabled || connection == null) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Totals per statement, highest first by the given measure: total (default), mean, max or calls.
+     */
+    public List<QueryStatsDTO> getStats(String sort, int limit) {
+        Comparator<QueryStatsDTO> order = switch (sort == null ? "total" : sort.toLowerCase()) {
+            case "total" -> Comparator.comparing(QueryStatsDTO::getTotalMillis);
+            case "mean" -> Comparator.comparing(QueryStatsDTO::getMeanMillis);
+            case "max" -> Comparator.comparing(QueryStatsDTO::getMaxMillis);
+            case "calls" -> Comparator.comparing(QueryStatsDTO::getCalls);
+            default -> throw new IllegalArgumentException("sort must be one of total, mean, max or calls");
+        };
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void resetStats() {
+        counters.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.shutdown();
+    }
+
+    void record(String sql, Object[] binds, int bindCount, int batchRows, long nanos, boolean failed) {
+        String key = sql != null ? sql : "(unknown)";
+        Counters stats = counters.get(key);
+        if (stats == null) {
+            stats = counters.size() < maxStatements
+                    ? counters.computeIfAbsent(key, k -> new Counters())
+                    : counters.computeIfAbsent(OTHER_STATEMENTS, k -> new Counters());
+        }
+        boolean slow = nanos >= slowNanos;
+        stats.add(nanos, slow, failed);
+
+        if (!slow && (sampleRate == 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        // Copied on the calling thread; the statement reuses its bind array
+        Entry entry = new Entry(slow, key, logBinds && bindCount > 0 ? Arrays.copyOf(binds, bindCount + 1) : null,
+                batchRows, nanos, failed, caller());
+        logger.execute(() -> write(entry));
+    }
+
+    private void write(Entry entry) {
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            log.warn("{} query log entries were dropped, the log queue was full", lost);
+        }
+        String message = "{} {} ms{}{} [{}]: {}{}";
+        Object[] arguments = {
+                entry.slow() ? "Slow query" : "Query",
+                String.format("%.1f", entry.nanos() / 1_000_000.0),
+                entry.failed() ? " (failed)" : "",
+                entry.batchRows() > 0 ? " (batch of " + entry.batchRows() + ")" : "",
+                entry.caller(),
+                entry.sql(),
+                entry.binds() != null ? " | binds " + formatBinds(entry.binds()) : ""
+        };
+        if (entry.slow()) {
+            log.warn(message, arguments);
+        } else {
+            log.info(message, arguments);
+        }
+    }
+
+    private String formatBinds(Object[] binds) {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 1; i < binds.length; i++) {
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(i).append('=').append(formatBind(binds[i]));
+        }
+        return text.append(']').toString();
+    }
+
+    private String formatBind(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof InputStream || value instanceof Reader) {
+            return "<stream>";
+        }
+        String text = value.toString();
+        if (text.length() > maxBindLength) {
+            text = text.substring(0, maxBindLength) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    // Innermost application method below the JDBC wrappers, usually the service method
+    private static String caller() {
+        Optional<String> frame = STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE)
+                        && !f.getClassName().startsWith(CONFIG_PACKAGE)
+                        && !f.getClassName().contains("$$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName()));
+        return frame.orElse("-");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryTimer.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = QueryTimer.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    /**
+     * Times execute calls and remembers positional bind values; for batches, the first row's.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private Object[] binds = new Object[8];
+        private int bindCount;
+        private Object[] batchBinds;
+        private int batchBindCount;
+        private String batchSql;
+        private int batchRows;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    Arrays.fill(binds, null);
+                    bindCount = 0;
+                    break;
+                case "addBatch":
+                    if (batchRows++ == 0) {
+                        batchBinds = Arrays.copyOf(binds, bindCount + 1);
+                        batchBindCount = bindCount;
+                        batchSql = args != null ? (String) args[0] : sql;
+                    }
+                    break;
+                case "clearBatch":
+                    batchRows = 0;
+                    batchBinds = null;
+                    batchBindCount = 0;
+                    batchSql = null;
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        bind(index, name.equals("setNull") ? null : args[1]);
+                    }
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return QueryTimer.invoke(target, method, args);
+            }
+
+            boolean batch = name.endsWith("Batch");
+            String statement = batch && batchSql != null ? batchSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long started = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = QueryTimer.invoke(target, method, args);
+                failed = false;
+                return result;
+            } finally {
+                long nanos = System.nanoTime() - started;
+                if (batch) {
+                    record(statement, batchBinds, batchBindCount, batchRows, nanos, failed);
+                    batchRows = 0;
+                    batchBinds = null;
+                    batchBindCount = 0;
+                    batchSql = null;
+                } else {
+                    record(statement, binds, bindCount, 0, nanos, failed);
+                }
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index >= binds.length) {
+                binds = Arrays.copyOf(binds, Math.max(index + 1, binds.length * 2));
+            }
+            binds[index] = value;
+            bindCount = Math.max(bindCount, index);
+        }
+    }
+
+    private record Entry(boolean slow, String sql, Object[] binds, int batchRows, long nanos, boolean failed,
+                         String caller) {
+    }
+
+    private static final class Counters {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private void add(long nanos, boolean isSlow, boolean isFailed) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (isSlow) {
+                slow.increment();
+            }
+            if (isFailed) {
+                failed.increment();
+            }
+        }
+
+        private QueryStatsDTO toDTO(String sql) {
+            long count = calls.sum();
+            long total = totalNanos.sum();
+            return QueryStatsDTO.builder()
+                    .sql(sql)
+                    .calls(count)
+                    .totalMillis(millis(total))
+                    .meanMillis(count > 0 ? millis(total / count) : 0.0)
+                    .maxMillis(millis(maxNanos.get()))
+                    .slow(slow.sum())
+                    .failed(failed.sum())
+                    .build();
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+}
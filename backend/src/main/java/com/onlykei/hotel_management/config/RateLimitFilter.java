@@ -0,0 +1,215 @@
+package com.onlykei.hotel_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token-bucket rate limiting and per-property, per-class concurrency bulkheads.
+ *
+ * Each request is classified as front-desk (booking and booking-block writes), heavy (exports,
+ * reports, guest history, dashboards, finance) or standard. A client is the authenticated user,
+ * else the remote address; headers the caller sets freely are not used, since rotating them would
+ * reset the limits. A client gets one bucket per property and class and is answered 429 when it
+ * is empty. Front-desk and heavy requests also need a permit from their property's bulkhead for the
+ * class; when all permits are taken the request is answered 503 at once instead of waiting for a
+ * pooled connection, and a busy property never uses up another property's permits.
+ * Both responses carry Retry-After. Runs after the security chain, so CORS headers are present.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointClass {
+        front_desk,
+        heavy,
+        standard
+    }
+
+    private static final String API_PATH = "/api/";
+    private static final List<PathPattern> HEAVY_PATHS = patterns(
+            "/api/v1/bookings/export",
+            "/api/v1/reports/**",
+            "/api/v1/guests/*/history",
+            "/api/v1/guests/duplicates",
+            "/api/v1/archive/**",
+            "/api/v1/night-audit/**",
+            "/api/v1/dashboard/**",
+            "/api/expenses/**"
+    );
+    private static final List<PathPattern> FRONT_DESK_WRITE_PATHS = patterns(
+            "/api/v1/bookings/**",
+            "/api/v1/booking-blocks/**"
+    );
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<EndpointClass, int[]> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Integer> bulkheadPermits = new EnumMap<>(EndpointClass.class);
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+    private final long bulkheadRetryAfterSeconds;
+    private final long idleBucketNanos;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.front-desk.capacity:30}") int frontDeskCapacity,
+            @Value("${rate-limit.front-desk.per-second:10}") int frontDeskPerSecond,
+            @Value("${rate-limit.heavy.capacity:5}") int heavyCapacity,
+            @Value("${rate-limit.heavy.per-second:1}") int heavyPerSecond,
+            @Value("${rate-limit.standard.capacity:60}") int standardCapacity,
+            @Value("${rate-limit.standard.per-second:20}") int standardPerSecond,
+            @Value("${rate-limit.idle-bucket-ttl:PT10M}") Duration idleBucketTtl,
+            @Value("${bulkhead.front-desk.max-concurrent:6}") int frontDeskConcurrency,
+            @Value("${bulkhead.heavy.max-concurrent:2}") int heavyConcurrency,
+            @Value("${bulkhead.retry-after:PT1S}") Duration bulkheadRetryAfter
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        limits.put(EndpointClass.front_desk, new int[]{frontDeskCapacity, frontDeskPerSecond});
+        limits.put(EndpointClass.heavy, new int[]{heavyCapacity, heavyPerSecond});
+        limits.put(EndpointClass.standard, new int[]{standardCapacity, standardPerSecond});
+        bulkheadPermits.put(EndpointClass.front_desk, Math.max(frontDeskConcurrency, 1));
+        bulkheadPermits.put(EndpointClass.heavy, Math.max(heavyConcurrency, 1));
+        this.bulkheadRetryAfterSeconds = Math.max(bulkheadRetryAfter.toSeconds(), 1);
+        this.idleBucketNanos = idleBucketTtl.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        long propertyId = PropertyContext.current();
+
+        long waitNanos = bucket(propertyId, clientId(request), endpointClass).tryConsume(System.nanoTime());
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                    "Rate limit exceeded for " + endpointClass + " requests");
+            return;
+        }
+
+        Semaphore bulkhead = bulkhead(propertyId, endpointClass);
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!bulkhead.tryAcquire()) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, bulkheadRetryAfterSeconds,
+                    "Too many concurrent " + endpointClass + " requests");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Drops buckets of clients that have been idle long enough to be full again.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.idle-bucket-ttl:PT10M}")
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - idleBucketNanos;
+        buckets.values().removeIf(bucket -> bucket.lastUsedAt() - cutoff < 0);
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        if (matchesAny(HEAVY_PATHS, path)) {
+            return EndpointClass.heavy;
+        }
+        if (!"GET".equals(request.getMethod()) && matchesAny(FRONT_DESK_WRITE_PATHS, path)) {
+            return EndpointClass.front_desk;
+        }
+        return EndpointClass.standard;
+    }
+
+    /**
+     * The authenticated user when there is one, else the remote address. Behind a reverse proxy,
+     * server.forward-headers-strategy makes the remote address the client's.
+     */
+    static String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "addr:" + request.getRemoteAddr();
+    }
+
+    private static List<PathPattern> patterns(String... patterns) {
+        return Arrays.stream(patterns).map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    private static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TokenBucket bucket(long propertyId, String clientId, EndpointClass endpointClass) {
+        return buckets.computeIfAbsent(propertyId + "|" + clientId + "|" + endpointClass, key -> {
+            int[] limit = limits.get(endpointClass);
+            return new TokenBucket(limit[0], limit[1], System.nanoTime());
+        });
+    }
+
+    private Semaphore bulkhead(long propertyId, EndpointClass endpointClass) {
+        Integer permits = bulkheadPermits.get(endpointClass);
+        if (permits == null) {
+            return null;
+        }
+        return bulkheads.computeIfAbsent(propertyId + "|" + endpointClass, key -> new Semaphore(permits));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,40 @@
+package com.onlykei.hotel_management.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Response formats besides JSON, picked by the Accept header
+ * (application/x-jackson-smile, application/cbor) or by ?format=smile|cbor.
+ *
+ * All formats share Boot's Jackson configuration, including the Blackbird module,
+ * which replaces reflective getter calls with generated lambdas. Spring MVC already registers
+ * Smile and CBOR converters with a plain mapper when the formats are on the classpath; Boot's
+ * HttpMessageConverters puts the converter beans below right ahead of those, which keeps them
+ * after the JSON converter, so JSON stays the default for Accept: *&#47;*.
+ */
+@Configuration
+public class SerializationConfig {
+
+    @Bean
+    Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder mapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(mapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder mapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(mapperBuilder.factory(new CBORFactory()).build());
+    }
+}
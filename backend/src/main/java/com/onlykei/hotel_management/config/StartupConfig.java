@@ -0,0 +1,67 @@
+package com.onlykei.hotel_management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Beans created on first use instead of at startup.
+ *
+ * A bean is deferred when its class, or the class declaring or returned by its @Bean method,
+ * starts with one of the {@code startup.lazy-beans} prefixes. Scheduled tasks of a deferred bean
+ * start with it. Beans that an eagerly created bean depends on are still created at startup.
+ * Nothing is deferred by default; the prod profile lists the API docs and reporting beans.
+ */
+@Slf4j
+@Configuration
+public class StartupConfig {
+
+    private static final String LAZY_BEANS = "startup.lazy-beans";
+
+    @Bean
+    static BeanFactoryPostProcessor lazyBeans(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+                .bind(LAZY_BEANS, Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            if (prefixes.isEmpty()) {
+                return;
+            }
+            int deferred = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE && !definition.isLazyInit()
+                        && classNames(definition).stream().anyMatch(type -> prefixes.stream().anyMatch(type::startsWith))) {
+                    definition.setLazyInit(true);
+                    deferred++;
+                }
+            }
+            log.info("{} beans deferred to first use", deferred);
+        };
+    }
+
+    private static List<String> classNames(BeanDefinition definition) {
+        List<String> names = new ArrayList<>(3);
+        if (definition.getBeanClassName() != null) {
+            names.add(definition.getBeanClassName());
+        }
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                names.add(factoryMethod.getDeclaringClassName());
+                names.add(factoryMethod.getReturnTypeName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,63 @@
+package com.onlykei.hotel_management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs how long after the JVM started the application became ready and answered its first
+ * request, the number restarts are tuned for. The first request also pays for beans deferred
+ * to first use. scripts/measure-startup.sh measures the same from outside the process.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private final AtomicBoolean answered = new AtomicBoolean();
+    private volatile long readyMillis = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyMillis = uptimeMillis();
+        log.info("Ready {} ms after JVM start", readyMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (answered.get()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (answered.compareAndSet(false, true)) {
+                // Requests are accepted once the web server is up, which may be before the ready event
+                long ready = readyMillis;
+                log.info("First request {} {} answered {} ms after JVM start ({}, request took {} ms)",
+                        request.getMethod(), request.getRequestURI(), uptimeMillis(),
+                        ready >= 0 ? "ready at " + ready + " ms" : "before ready",
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,39 @@
+package com.onlykei.hotel_management.config;
+
+/**
+ * Token bucket refilled continuously at a fixed rate, up to {@code capacity} tokens.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+    private volatile long lastUsedAt;
+
+    TokenBucket(int capacity, double tokensPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+        this.lastUsedAt = now;
+    }
+
+    /**
+     * Takes one token. Returns 0 when granted, otherwise the nanos until a token is available.
+     */
+    synchronized long tryConsume(long now) {
+        lastUsedAt = now;
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    long lastUsedAt() {
+        return lastUsedAt;
+    }
+}
@@ -2,6 +2,7 @@ package com.onlykei.hotel_management.config;
 
 import java.util.List;
 
+import com.onlykei.hotel_management.services.ReadModelService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -45,7 +46,10 @@ public class WebSecurityConfig {
                             "X-Has-Next",
                             "X-Has-Previous",
                             "X-Is-First",
-                            "X-Is-Last"
+                            "X-Is-Last",
+                            IdempotencyFilter.REPLAYED_HEADER,
+                            ReadModelService.AGE_HEADER,
+                            "Retry-After"
                     ));
                     corsConfig.setAllowCredentials(true);
                     return corsConfig;
@@ -0,0 +1,28 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.ArchiveRunDTO;
+import com.onlykei.hotel_management.services.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Archive Controller - moves closed bookings out of the live table
+ * Base URL: http://localhost:8080/api/v1/archive
+ */
+@RestController
+@RequestMapping("/api/v1/archive")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    /**
+     * POST /api/v1/archive/run
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ArchiveRunDTO> run() {
+        return ResponseEntity.ok(archiveService.archiveClosedBookings());
+    }
+}
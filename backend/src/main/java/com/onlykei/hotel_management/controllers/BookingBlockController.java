@@ -0,0 +1,65 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.BookingBlockDTO;
+import com.onlykei.hotel_management.dtos.CreateBookingBlockRequest;
+import com.onlykei.hotel_management.dtos.ReleaseBlockRoomsRequest;
+import com.onlykei.hotel_management.services.BookingBlockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Booking Block Controller - reserve and release groups of rooms
+ * Base URL: http://localhost:8080/api/v1/booking-blocks
+ */
+@RestController
+@RequestMapping("/api/v1/booking-blocks")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class BookingBlockController {
+
+    private final BookingBlockService bookingBlockService;
+
+    /**
+     * GET /api/v1/booking-blocks
+     */
+    @GetMapping
+    public ResponseEntity<List<BookingBlockDTO>> getBlocks() {
+        return ResponseEntity.ok(bookingBlockService.getBlocks());
+    }
+
+    /**
+     * GET /api/v1/booking-blocks/{id}
+     * The block with its rooms
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BookingBlockDTO> getBlock(@PathVariable Long id) {
+        return ResponseEntity.ok(bookingBlockService.getBlock(id));
+    }
+
+    /**
+     * POST /api/v1/booking-blocks
+     * Body: {"name": "Santos-Reyes wedding", "guestId": 1, "roomType": "Deluxe", "rooms": 25,
+     *        "checkInDate": "2024-12-25", "checkOutDate": "2024-12-28"}
+     * Returns 201 with the block, or 409 when fewer rooms of the type are free; nothing is reserved then.
+     */
+    @PostMapping
+    public ResponseEntity<BookingBlockDTO> createBlock(@RequestBody CreateBookingBlockRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingBlockService.createBlock(request));
+    }
+
+    /**
+     * POST /api/v1/booking-blocks/{id}/release
+     * Body: {"bookingIds": [12, 13]} or {"count": 5}; without a body every unused room is released
+     */
+    @PostMapping("/{id}/release")
+    public ResponseEntity<BookingBlockDTO> releaseRooms(
+            @PathVariable Long id,
+            @RequestBody(required = false) ReleaseBlockRoomsRequest request
+    ) {
+        return ResponseEntity.ok(bookingBlockService.releaseRooms(id, request));
+    }
+}
@@ -1,14 +1,24 @@
 package com.onlykei.hotel_management.controllers;
 
+import com.onlykei.hotel_management.dtos.BatchBookingRequest;
+import com.onlykei.hotel_management.dtos.BatchOperationResultDTO;
 import com.onlykei.hotel_management.dtos.BookingDTO;
 import com.onlykei.hotel_management.dtos.CreateBookingRequest;
 import com.onlykei.hotel_management.dtos.ExtendBookingRequest;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.services.ArchiveService;
 import com.onlykei.hotel_management.services.BookingService;
+import com.onlykei.hotel_management.services.DailyBucketService;
+import com.onlykei.hotel_management.services.ReadModelService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -22,19 +32,44 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ArchiveService archiveService;
+    private final ReadModelService readModelService;
+    private final DailyBucketService dailyBucketService;
 
     /**
      * GET /api/v1/bookings
      * GET /api/v1/bookings?status=confirmed
+     * Served from the bookings read model; X-Read-Model-Age-Ms reports its age
      */
     @GetMapping
     public ResponseEntity<List<BookingDTO>> getAllBookings(
             @RequestParam(required = false) String status
     ) {
+        ReadModelService.Snapshot<BookingDTO> view = readModelService.bookings();
+        List<BookingDTO> bookings = view.rows();
         if (status != null && !status.isEmpty()) {
-            return ResponseEntity.ok(bookingService.getBookingsByStatus(status));
+            String bookingStatus = BookingStatus.valueOf(status.toLowerCase()).name();
+            bookings = bookings.stream().filter(b -> bookingStatus.equals(b.getStatus())).toList();
         }
-        return ResponseEntity.ok(bookingService.getAllBookings());
+        return ResponseEntity.ok()
+                .header(ReadModelService.AGE_HEADER, String.valueOf(view.ageMillis()))
+                .body(bookings);
+    }
+
+    /**
+     * GET /api/v1/bookings/export?startDate=2024-01-01&endDate=2024-12-31
+     * CSV of bookings checking in within the range, including archived bookings
+     */
+    @GetMapping("/export")
+    public ResponseEntity<String> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings-" + startDate + "-" + endDate + ".csv\"")
+                .body(archiveService.exportBookingsCsv(startDate, endDate));
     }
 
     /**
@@ -73,6 +108,28 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.checkOut(id));
     }
 
+    /**
+     * POST /api/v1/bookings/batch/check-in
+     * Body: BatchBookingRequest JSON
+     */
+    @PostMapping("/batch/check-in")
+    public ResponseEntity<BatchOperationResultDTO> batchCheckIn(
+            @RequestBody BatchBookingRequest request
+    ) {
+        return ResponseEntity.ok(bookingService.batchCheckIn(request.getBookingIds()));
+    }
+
+    /**
+     * POST /api/v1/bookings/batch/check-out
+     * Body: BatchBookingRequest JSON
+     */
+    @PostMapping("/batch/check-out")
+    public ResponseEntity<BatchOperationResultDTO> batchCheckOut(
+            @RequestBody BatchBookingRequest request
+    ) {
+        return ResponseEntity.ok(bookingService.batchCheckOut(request.getBookingIds()));
+    }
+
     /**
      * PUT /api/v1/bookings/1/extend
      * Body: ExtendBookingRequest JSON
@@ -109,4 +166,65 @@ public class BookingController {
     public ResponseEntity<List<BookingDTO>> getCheckingOutToday() {
         return ResponseEntity.ok(bookingService.getCheckingOutToday());
     }
+
+    /**
+     * GET /api/v1/bookings/arrivals (today)
+     * GET /api/v1/bookings/arrivals?date=2024-12-25
+     * GET /api/v1/bookings/arrivals?startDate=2024-12-25&endDate=2024-12-31&status=confirmed
+     */
+    @GetMapping("/arrivals")
+    public ResponseEntity<List<BookingDTO>> getArrivals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String status
+    ) {
+        LocalDate[] range = dateRange(date, startDate, endDate);
+        return ResponseEntity.ok(dailyBucketService.getArrivals(range[0], range[1], status));
+    }
+
+    /**
+     * GET /api/v1/bookings/departures?date=2024-12-25
+     * GET /api/v1/bookings/departures?startDate=2024-12-25&endDate=2024-12-31&status=checked_in
+     */
+    @GetMapping("/departures")
+    public ResponseEntity<List<BookingDTO>> getDepartures(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String status
+    ) {
+        LocalDate[] range = dateRange(date, startDate, endDate);
+        return ResponseEntity.ok(dailyBucketService.getDepartures(range[0], range[1], status));
+    }
+
+    /**
+     * GET /api/v1/bookings/in-house?date=2024-12-25
+     * Stays covering the night of each date in the range
+     */
+    @GetMapping("/in-house")
+    public ResponseEntity<List<BookingDTO>> getInHouse(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String status
+    ) {
+        LocalDate[] range = dateRange(date, startDate, endDate);
+        return ResponseEntity.ok(dailyBucketService.getInHouse(range[0], range[1], status));
+    }
+
+    // A single date, a startDate/endDate range (either end defaulting to the other), or today
+    private static LocalDate[] dateRange(LocalDate date, LocalDate startDate, LocalDate endDate) {
+        if (date != null) {
+            return new LocalDate[]{date, date};
+        }
+        if (startDate == null && endDate == null) {
+            LocalDate today = LocalDate.now();
+            return new LocalDate[]{today, today};
+        }
+        return new LocalDate[]{
+                startDate != null ? startDate : endDate,
+                endDate != null ? endDate : startDate
+        };
+    }
 }
\ No newline at end of file
@@ -61,39 +61,39 @@ public class ChecklistController {
     }
 
     /**
-     * PUT /api/v1/bookings/1/checklist/5
+     * PUT /api/v1/bookings/1/checklist/{itemId}
      * Body: ChecklistItemDTO JSON
      */
     @PutMapping("/{itemId}")
     public ResponseEntity<ChecklistItemDTO> updateChecklistItem(
             @PathVariable Long bookingId,
-            @PathVariable Long itemId,
+            @PathVariable String itemId,
             @RequestBody ChecklistItemDTO dto
     ) {
-        return ResponseEntity.ok(checklistService.updateChecklistItem(itemId, dto));
+        return ResponseEntity.ok(checklistService.updateChecklistItem(bookingId, itemId, dto));
     }
 
     /**
-     * PUT /api/v1/bookings/1/checklist/5/toggle
+     * PUT /api/v1/bookings/1/checklist/{itemId}/toggle
      */
     @PutMapping("/{itemId}/toggle")
     public ResponseEntity<Void> toggleChecklistItem(
             @PathVariable Long bookingId,
-            @PathVariable Long itemId
+            @PathVariable String itemId
     ) {
-        checklistService.toggleChecklistItem(itemId);
+        checklistService.toggleChecklistItem(bookingId, itemId);
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * DELETE /api/v1/bookings/1/checklist/5
+     * DELETE /api/v1/bookings/1/checklist/{itemId}
      */
     @DeleteMapping("/{itemId}")
     public ResponseEntity<Void> deleteChecklistItem(
             @PathVariable Long bookingId,
-            @PathVariable Long itemId
+            @PathVariable String itemId
     ) {
-        checklistService.deleteChecklistItem(itemId);
+        checklistService.deleteChecklistItem(bookingId, itemId);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
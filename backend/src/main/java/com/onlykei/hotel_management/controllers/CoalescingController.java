@@ -0,0 +1,30 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.config.CoalescingAspect;
+import com.onlykei.hotel_management.dtos.CoalescingStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Coalescing Controller - how often hot reads shared a single execution
+ * Base URL: http://localhost:8080/api/v1/coalescing
+ */
+@RestController
+@RequestMapping("/api/v1/coalescing")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CoalescingController {
+
+    private final CoalescingAspect coalescingAspect;
+
+    /**
+     * GET /api/v1/coalescing/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CoalescingStatsDTO>> getStats() {
+        return ResponseEntity.ok(coalescingAspect.getStats());
+    }
+}
@@ -0,0 +1,46 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.DashboardCountersDTO;
+import com.onlykei.hotel_management.services.BookingJournalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Dashboard Controller - counters served from the booking journal projection
+ * Base URL: http://localhost:8080/api/v1/dashboard
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final BookingJournalService bookingJournalService;
+
+    /**
+     * GET /api/v1/dashboard/counters
+     * GET /api/v1/dashboard/counters?date=2024-12-25 (defaults to today)
+     */
+    @GetMapping("/counters")
+    public ResponseEntity<DashboardCountersDTO> getCounters(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(bookingJournalService.getCounters(date != null ? date : LocalDate.now()));
+    }
+
+    /**
+     * GET /api/v1/dashboard/booked-rooms?checkInDate=2024-12-25&checkOutDate=2024-12-28
+     */
+    @GetMapping("/booked-rooms")
+    public ResponseEntity<Set<Long>> getBookedRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate
+    ) {
+        return ResponseEntity.ok(bookingJournalService.getBookedRoomIds(checkInDate, checkOutDate));
+    }
+}
@@ -1,10 +1,18 @@
 package com.onlykei.hotel_management.controllers;
 
+import com.onlykei.hotel_management.dtos.ExpenseImportResultDTO;
+import com.onlykei.hotel_management.dtos.ExpensePageDTO;
 import com.onlykei.hotel_management.models.ExpensesModel;
 import com.onlykei.hotel_management.services.ExpensesService;
+import com.onlykei.hotel_management.services.ExpensesService.ImportFormat;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +33,16 @@ public class ExpensesController {
         return expenseService.getAllExpenses();
     }
 
+    // GET one page of expenses incurred within a date range, e.g. ?startDate=2024-01-01&endDate=2024-12-31&page=0&size=500
+    @GetMapping("/range")
+    public ExpensePageDTO getExpensesBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return expenseService.getExpensesBetween(startDate, endDate, page, size);
+    }
+
     // GET one expense by ID
     @GetMapping("/{id}")
     public ExpensesModel getExpenseById(@PathVariable Long id) {
@@ -37,6 +55,22 @@ public class ExpensesController {
         return expenseService.saveExpense(expense);
     }
 
+    // CREATE many expenses at once; all are stored or none
+    @PostMapping("/bulk")
+    public ExpenseImportResultDTO createExpenses(@RequestBody List<ExpensesModel> expenses) {
+        return expenseService.saveExpenses(expenses);
+    }
+
+    // IMPORT expenses streamed as CSV (text/csv) or NDJSON (application/x-ndjson)
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ExpenseImportResultDTO importExpenses(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ImportFormat format = contentType.isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        return expenseService.importExpenses(request.getInputStream(), format);
+    }
+
     // UPDATE existing expense
     @PutMapping("/{id}")
     public ExpensesModel updateExpense(@PathVariable Long id, @RequestBody ExpensesModel expenseDetails) {
@@ -1,13 +1,22 @@
 package com.onlykei.hotel_management.controllers;
 
+import com.onlykei.hotel_management.dtos.BookingSummaryDTO;
+import com.onlykei.hotel_management.dtos.DuplicateCandidateDTO;
+import com.onlykei.hotel_management.dtos.DuplicateScanDTO;
 import com.onlykei.hotel_management.dtos.GuestDTO;
+import com.onlykei.hotel_management.dtos.GuestMergeRequest;
+import com.onlykei.hotel_management.dtos.GuestMergeResultDTO;
+import com.onlykei.hotel_management.dtos.GuestStatsDTO;
 import com.onlykei.hotel_management.models.GuestModel;
+import com.onlykei.hotel_management.services.ArchiveService;
+import com.onlykei.hotel_management.services.GuestDeduplicationService;
 import com.onlykei.hotel_management.services.GuestService;
+import com.onlykei.hotel_management.services.GuestStatsService;
+import com.onlykei.hotel_management.services.ReadModelService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:5173")
@@ -15,26 +24,72 @@ import java.util.stream.Collectors;
 public class GuestController {
 
     private final GuestService guestService;
+    private final ArchiveService archiveService;
+    private final ReadModelService readModelService;
+    private final GuestDeduplicationService deduplicationService;
+    private final GuestStatsService guestStatsService;
 
-    public GuestController(GuestService guestService) {
+    public GuestController(GuestService guestService, ArchiveService archiveService, ReadModelService readModelService,
+                           GuestDeduplicationService deduplicationService, GuestStatsService guestStatsService) {
         this.guestService = guestService;
+        this.archiveService = archiveService;
+        this.readModelService = readModelService;
+        this.deduplicationService = deduplicationService;
+        this.guestStatsService = guestStatsService;
     }
 
-    // GET all guests
+    // GET all guests, served from the guests read model
     @GetMapping
     public ResponseEntity<List<GuestDTO>> getAllGuests() {
-        List<GuestDTO> guests = guestService.getAllGuests()
-                .stream()
-                .map(guestService::mapToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(guests);
+        ReadModelService.Snapshot<GuestDTO> view = readModelService.guests();
+        return ResponseEntity.ok()
+                .header(ReadModelService.AGE_HEADER, String.valueOf(view.ageMillis()))
+                .body(view.rows());
     }
 
 
+    // GET likely duplicate pairs across all guests
+    @GetMapping("/duplicates")
+    public ResponseEntity<DuplicateScanDTO> scanDuplicates() {
+        return ResponseEntity.ok(deduplicationService.scan());
+    }
+
+    // GET top guests ranked by spend, stays or nights from the stored stats
+    @GetMapping("/top")
+    public ResponseEntity<List<GuestStatsDTO>> getTopGuests(
+            @RequestParam(defaultValue = "spend") String by,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(guestStatsService.getTopGuests(by, limit));
+    }
+
     // GET guest by ID
     @GetMapping("/{id}")
     public GuestModel getGuestById(@PathVariable Long id) {
-        return guestService.getGuestById(id);
+        return guestService.getGuestWithBookings(id);
+    }
+
+    // GET full stay history of a guest, including archived bookings
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<BookingSummaryDTO>> getGuestHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(archiveService.getGuestHistory(id));
+    }
+
+    // GET stay count, nights, spend and last stay of a guest
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<GuestStatsDTO> getGuestStats(@PathVariable Long id) {
+        return ResponseEntity.ok(guestStatsService.getGuestStats(id));
+    }
+
+    // GET likely duplicates of one guest, best match first
+    @GetMapping("/{id}/duplicates")
+    public ResponseEntity<List<DuplicateCandidateDTO>> getDuplicates(@PathVariable Long id) {
+        return ResponseEntity.ok(deduplicationService.findDuplicatesOf(id));
+    }
+
+    // POST - Merge duplicate guests into this guest, moving their bookings
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<GuestMergeResultDTO> mergeGuests(@PathVariable Long id, @RequestBody GuestMergeRequest request) {
+        return ResponseEntity.ok(deduplicationService.merge(id, request.getDuplicateIds()));
     }
 
     // POST - Create a new guest
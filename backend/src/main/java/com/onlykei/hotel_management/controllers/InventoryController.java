@@ -1,7 +1,9 @@
 package com.onlykei.hotel_management.controllers;
 
+import com.onlykei.hotel_management.dtos.InventoryItemDTO;
 import com.onlykei.hotel_management.models.InventoryItemModel;
 import com.onlykei.hotel_management.services.InventoryService;
+import com.onlykei.hotel_management.services.ReadModelService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,14 +14,20 @@ import java.util.Map;
 @RequestMapping("/api/v1/inventory")
 public class InventoryController {
     private final InventoryService inventoryService;
+    private final ReadModelService readModelService;
 
-    public InventoryController(InventoryService inventoryService) {
+    public InventoryController(InventoryService inventoryService, ReadModelService readModelService) {
         this.inventoryService = inventoryService;
+        this.readModelService = readModelService;
     }
 
+    // Served from the inventory read model
     @GetMapping
-    public ResponseEntity<List<InventoryItemModel>> getAllInventoryItems() {
-        return ResponseEntity.ok(inventoryService.getAllInventoryItems());
+    public ResponseEntity<List<InventoryItemDTO>> getAllInventoryItems() {
+        ReadModelService.Snapshot<InventoryItemDTO> view = readModelService.inventory();
+        return ResponseEntity.ok()
+                .header(ReadModelService.AGE_HEADER, String.valueOf(view.ageMillis()))
+                .body(view.rows());
     }
 
     @GetMapping("/{id}")
@@ -28,12 +36,12 @@ public class InventoryController {
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<InventoryItemModel>> getItemsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<InventoryItemDTO>> getItemsByCategory(@PathVariable String category) {
         return ResponseEntity.ok(inventoryService.getItemsByCategory(category));
     }
 
     @GetMapping("/low-stock")
-    public ResponseEntity<List<InventoryItemModel>> getLowStockItems() {
+    public ResponseEntity<List<InventoryItemDTO>> getLowStockItems() {
         return ResponseEntity.ok(inventoryService.getLowStockItems());
     }
 
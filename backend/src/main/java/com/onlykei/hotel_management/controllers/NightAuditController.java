@@ -0,0 +1,53 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.NightAuditReportDTO;
+import com.onlykei.hotel_management.services.NightAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Night Audit Controller - run and inspect the nightly booking audit
+ * Base URL: http://localhost:8080/api/v1/night-audit
+ */
+@RestController
+@RequestMapping("/api/v1/night-audit")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class NightAuditController {
+
+    private final NightAuditService nightAuditService;
+
+    /**
+     * POST /api/v1/night-audit/run
+     * POST /api/v1/night-audit/run?date=2024-12-25 (defaults to yesterday)
+     */
+    @PostMapping("/run")
+    public ResponseEntity<NightAuditReportDTO> run(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        LocalDate auditDate = date != null ? date : LocalDate.now().minusDays(1);
+        return ResponseEntity.ok(nightAuditService.run(auditDate));
+    }
+
+    /**
+     * GET /api/v1/night-audit/latest
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<NightAuditReportDTO> getLatestReport() {
+        return ResponseEntity.ok(nightAuditService.getLatestReport());
+    }
+
+    /**
+     * GET /api/v1/night-audit/2024-12-25
+     */
+    @GetMapping("/{date}")
+    public ResponseEntity<NightAuditReportDTO> getReport(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(nightAuditService.getReport(date));
+    }
+}
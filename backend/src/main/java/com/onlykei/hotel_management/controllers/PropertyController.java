@@ -0,0 +1,53 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.PropertyDTO;
+import com.onlykei.hotel_management.models.HotelPropertyModel;
+import com.onlykei.hotel_management.services.PropertyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Property Controller - the hotels served by this installation
+ * Base URL: http://localhost:8080/api/v1/properties
+ *
+ * Other endpoints act on the property named by the X-Property-Id header (default 1).
+ */
+@RestController
+@RequestMapping("/api/v1/properties")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class PropertyController {
+
+    private final PropertyService propertyService;
+
+    /**
+     * GET /api/v1/properties
+     */
+    @GetMapping
+    public ResponseEntity<List<PropertyDTO>> getProperties() {
+        return ResponseEntity.ok(propertyService.getProperties().stream().map(this::toDTO).toList());
+    }
+
+    /**
+     * POST /api/v1/properties
+     * Body: { "code": "downtown", "name": "Downtown Hotel" }
+     */
+    @PostMapping
+    public ResponseEntity<PropertyDTO> createProperty(@RequestBody HotelPropertyModel property) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(toDTO(propertyService.createProperty(property)));
+    }
+
+    private PropertyDTO toDTO(HotelPropertyModel property) {
+        return PropertyDTO.builder()
+                .id(property.getId())
+                .code(property.getCode())
+                .name(property.getName())
+                .dedicatedDatasource(propertyService.getRoutedPropertyIds().contains(property.getId()))
+                .createdAt(property.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.config.QueryTimer;
+import com.onlykei.hotel_management.dtos.QueryStatsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Query Stats Controller - time spent per SQL statement since startup or the last reset
+ * Base URL: http://localhost:8080/api/v1/query-stats
+ */
+@RestController
+@RequestMapping("/api/v1/query-stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class QueryStatsController {
+
+    private final QueryTimer queryTimer;
+
+    /**
+     * GET /api/v1/query-stats
+     * GET /api/v1/query-stats?sort=mean&limit=20
+     * sort is total (default), mean, max or calls; highest first
+     */
+    @GetMapping
+    public ResponseEntity<List<QueryStatsDTO>> getStats(
+            @RequestParam(defaultValue = "total") String sort,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(queryTimer.getStats(sort, limit));
+    }
+
+    /**
+     * DELETE /api/v1/query-stats
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> resetStats() {
+        queryTimer.resetStats();
+        return ResponseEntity.noContent().build();
+    }
+}
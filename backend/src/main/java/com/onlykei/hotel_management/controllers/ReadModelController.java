@@ -0,0 +1,39 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.ReadModelStatusDTO;
+import com.onlykei.hotel_management.services.ReadModelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Read Model Controller - freshness of the in-memory list views
+ * Base URL: http://localhost:8080/api/v1/read-models
+ */
+@RestController
+@RequestMapping("/api/v1/read-models")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReadModelController {
+
+    private final ReadModelService readModelService;
+
+    /**
+     * GET /api/v1/read-models
+     */
+    @GetMapping
+    public ResponseEntity<List<ReadModelStatusDTO>> getStatus() {
+        return ResponseEntity.ok(readModelService.getStatus());
+    }
+
+    /**
+     * POST /api/v1/read-models/rebuild (views of the X-Property-Id property)
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<ReadModelStatusDTO>> rebuild() {
+        readModelService.rebuild();
+        return ResponseEntity.ok(readModelService.getStatus());
+    }
+}
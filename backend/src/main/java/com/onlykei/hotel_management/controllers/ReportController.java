@@ -0,0 +1,89 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.ReportJobDTO;
+import com.onlykei.hotel_management.dtos.ReportJobRequest;
+import com.onlykei.hotel_management.services.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Report Controller - submit report jobs, poll their progress and download results
+ * Base URL: http://localhost:8080/api/v1/reports
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * POST /api/v1/reports/jobs
+     * Body: {"type": "profit_and_loss", "startDate": "2024-12-01", "endDate": "2024-12-31", "granularity": "day"}
+     * Returns 202 with the queued job, or 503 when the report queue is full
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobDTO> submit(@RequestBody ReportJobRequest request) {
+        ReportJobDTO job = reportJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/reports/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * GET /api/v1/reports/jobs
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ReportJobDTO>> getJobs() {
+        return ResponseEntity.ok(reportJobService.getJobs());
+    }
+
+    /**
+     * GET /api/v1/reports/jobs/{id}
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ReportJobDTO> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+
+    /**
+     * GET /api/v1/reports/jobs/{id}/download
+     * Streams the CSV once the job has completed; 409 with the job status before that
+     */
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<?> download(@PathVariable String id) {
+        Optional<Path> result = reportJobService.getResult(id);
+        if (result.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(reportJobService.getJob(id));
+        }
+        ReportJobDTO job = reportJobService.getJob(id);
+        Resource file = new FileSystemResource(result.get());
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getType() + "-"
+                        + job.getStartDate() + "-" + job.getEndDate() + ".csv\"")
+                .body(file);
+    }
+
+    /**
+     * DELETE /api/v1/reports/jobs/{id}
+     * Cancels a queued or running job, or discards a finished one
+     */
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        reportJobService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
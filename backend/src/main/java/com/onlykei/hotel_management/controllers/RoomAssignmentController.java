@@ -0,0 +1,42 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.RoomAssignmentResultDTO;
+import com.onlykei.hotel_management.services.RoomAssignmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Room Assignment Controller - re-optimize the rooms of room-type reservations
+ * Base URL: http://localhost:8080/api/v1/room-assignments
+ *
+ * Room-type reservations are created through POST /api/v1/bookings with a roomType instead of
+ * a roomId; they get a room right away and may be moved within their type until arrival.
+ */
+@RestController
+@RequestMapping("/api/v1/room-assignments")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class RoomAssignmentController {
+
+    private final RoomAssignmentService roomAssignmentService;
+
+    /**
+     * POST /api/v1/room-assignments/optimize?startDate=2024-12-01&endDate=2024-12-31
+     * POST /api/v1/room-assignments/optimize?startDate=2024-12-01&endDate=2024-12-31&roomType=Deluxe&dryRun=true
+     * Re-places the movable reservations arriving in the window when that leaves fewer gaps too
+     * short to sell; dryRun only reports the plan. Bounded by room-assignment.time-budget.
+     */
+    @PostMapping("/optimize")
+    public ResponseEntity<RoomAssignmentResultDTO> optimize(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String roomType,
+            @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        return ResponseEntity.ok(roomAssignmentService.optimize(startDate, endDate, roomType, dryRun));
+    }
+}
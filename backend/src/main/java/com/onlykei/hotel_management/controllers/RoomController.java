@@ -1,6 +1,13 @@
 package com.onlykei.hotel_management.controllers;
 
+import com.onlykei.hotel_management.dtos.RoomDTO;
+import com.onlykei.hotel_management.dtos.RoomInventoryDTO;
+import com.onlykei.hotel_management.dtos.RoomSearchRequest;
 import com.onlykei.hotel_management.models.RoomModel;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import com.onlykei.hotel_management.services.ReadModelService;
+import com.onlykei.hotel_management.services.RoomInventoryService;
+import com.onlykei.hotel_management.services.RoomSearchService;
 import com.onlykei.hotel_management.services.RoomService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -20,55 +27,128 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class RoomController {
 
+    private static final String EXPAND_UPCOMING_BOOKINGS = "upcomingBookings";
+
     private final RoomService roomService;
+    private final ReadModelService readModelService;
+    private final RoomSearchService roomSearchService;
+    private final RoomInventoryService roomInventoryService;
 
     /**
      * GET /api/rooms
      * GET /api/rooms?status=available
+     * GET /api/rooms?expand=upcomingBookings
+     * Unexpanded lists are served from the rooms read model
      */
     @GetMapping
-    public ResponseEntity<List<RoomModel>> getAllRooms(
-            @RequestParam(required = false) String status
+    public ResponseEntity<List<RoomDTO>> getAllRooms(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) List<String> expand
     ) {
+        boolean withUpcomingBookings = expand != null && expand.contains(EXPAND_UPCOMING_BOOKINGS);
+        if (withUpcomingBookings) {
+            if (status != null && !status.isEmpty()) {
+                return ResponseEntity.ok(roomService.getRoomsByStatus(status, true));
+            }
+            return ResponseEntity.ok(roomService.getAllRooms(true));
+        }
+
+        ReadModelService.Snapshot<RoomDTO> view = readModelService.rooms();
+        List<RoomDTO> rooms = view.rows();
         if (status != null && !status.isEmpty()) {
-            return ResponseEntity.ok(roomService.getRoomsByStatus(status));
+            String roomStatus = RoomStatus.valueOf(status.toLowerCase()).name();
+            rooms = rooms.stream().filter(r -> roomStatus.equals(r.getStatus())).toList();
         }
-        return ResponseEntity.ok(roomService.getAllRooms());
+        return ResponseEntity.ok()
+                .header(ReadModelService.AGE_HEADER, String.valueOf(view.ageMillis()))
+                .body(rooms);
     }
 
     @PostMapping
-    public ResponseEntity<RoomModel> createRoom(@RequestBody RoomModel room) {
-        RoomModel savedRoom = roomService.createRoom(room);
+    public ResponseEntity<RoomDTO> createRoom(@RequestBody RoomModel room) {
+        RoomDTO savedRoom = roomService.createRoom(room);
         return ResponseEntity.ok(savedRoom);
     }
 
     /**
      * GET /api/rooms/1
+     * GET /api/rooms/1?expand=upcomingBookings
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RoomModel> getRoomById(@PathVariable Long id) {
-        return ResponseEntity.ok(roomService.getRoomById(id));
+    public ResponseEntity<RoomDTO> getRoomById(
+            @PathVariable Long id,
+            @RequestParam(required = false) List<String> expand
+    ) {
+        boolean withUpcomingBookings = expand != null && expand.contains(EXPAND_UPCOMING_BOOKINGS);
+        return ResponseEntity.ok(roomService.getRoomById(id, withUpcomingBookings));
     }
 
     /**
      * GET /api/rooms/available?checkInDate=2024-12-25&checkOutDate=2024-12-28
      */
     @GetMapping("/available")
-    public ResponseEntity<List<RoomModel>> getAvailableRooms(
+    public ResponseEntity<List<RoomDTO>> getAvailableRooms(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate
     ) {
         return ResponseEntity.ok(roomService.getAvailableRooms(checkInDate, checkOutDate));
     }
 
+    /**
+     * GET /api/rooms/search?checkInDate=2024-12-25&checkOutDate=2024-12-28&type=deluxe
+     *     &amenities=wifi,balcony&amenityMatch=any&guests=3&minPrice=2000&maxPrice=5000
+     * Every parameter is optional; dates must be given together. amenityMatch is "all" (default) or "any".
+     * Filtered on in-memory indexes over the rooms read model; with dates, the matching rooms are checked against their bookings
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<RoomDTO>> searchRooms(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(defaultValue = "all") String amenityMatch,
+            @RequestParam(required = false) Integer guests,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice
+    ) {
+        if (!amenityMatch.equalsIgnoreCase("all") && !amenityMatch.equalsIgnoreCase("any")) {
+            throw new IllegalArgumentException("amenityMatch must be \"all\" or \"any\"");
+        }
+        return ResponseEntity.ok(roomSearchService.search(RoomSearchRequest.builder()
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .type(type)
+                .amenities(amenities)
+                .matchAllAmenities(amenityMatch.equalsIgnoreCase("all"))
+                .guests(guests)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build()));
+    }
+
+    /**
+     * GET /api/rooms/inventory
+     * GET /api/rooms/inventory?startDate=2024-12-25&days=30&type=deluxe
+     * Rooms left per type for each night, from today to the end of the horizon by default.
+     * Served from in-memory counts over the bookings and rooms read models
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<RoomInventoryDTO> getInventory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) String type
+    ) {
+        return ResponseEntity.ok(roomInventoryService.getInventory(startDate, days, type));
+    }
+
     /**
      * PUT /api/rooms/1/status?status=maintenance
      */
     @PutMapping("/{id}/status")
-    public ResponseEntity<RoomModel> updateRoomStatus(
+    public ResponseEntity<RoomDTO> updateRoomStatus(
             @PathVariable Long id,
             @RequestParam String status
     ) {
         return ResponseEntity.ok(roomService.updateRoomStatus(id, status));
     }
-}
\ No newline at end of file
+}
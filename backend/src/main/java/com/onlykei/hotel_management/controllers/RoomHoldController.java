@@ -0,0 +1,69 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.onlykei.hotel_management.dtos.RoomHoldDTO;
+import com.onlykei.hotel_management.dtos.RoomHoldRequest;
+import com.onlykei.hotel_management.services.RoomHoldService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Room Hold Controller - hold a room while a booking is being filled in
+ * Base URL: http://localhost:8080/api/v1/holds
+ */
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class RoomHoldController {
+
+    private final RoomHoldService roomHoldService;
+
+    /**
+     * POST /api/v1/holds
+     * Body: {"roomId": 1, "checkInDate": "2024-12-25", "checkOutDate": "2024-12-28", "heldBy": "front-desk-1"}
+     * Returns 201 with the hold, or 409 when the room is booked or held for overlapping dates.
+     * Pass its id as holdId in POST /api/v1/bookings to turn it into the booking.
+     */
+    @PostMapping
+    public ResponseEntity<RoomHoldDTO> placeHold(@RequestBody RoomHoldRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(roomHoldService.placeHold(request));
+    }
+
+    /**
+     * GET /api/v1/holds
+     */
+    @GetMapping
+    public ResponseEntity<List<RoomHoldDTO>> getHolds() {
+        return ResponseEntity.ok(roomHoldService.getHolds());
+    }
+
+    /**
+     * GET /api/v1/holds/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RoomHoldDTO> getHold(@PathVariable String id) {
+        return ResponseEntity.ok(roomHoldService.getHold(id));
+    }
+
+    /**
+     * PUT /api/v1/holds/{id}/renew
+     * Restarts the hold's time to live
+     */
+    @PutMapping("/{id}/renew")
+    public ResponseEntity<RoomHoldDTO> renewHold(@PathVariable String id) {
+        return ResponseEntity.ok(roomHoldService.renewHold(id));
+    }
+
+    /**
+     * DELETE /api/v1/holds/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String id) {
+        roomHoldService.releaseHold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveRunDTO {
+    private LocalDate cutoffDate;           // Bookings that checked out before this date were moved
+    private Integer bookingsArchived;
+    private Integer checklistItemsArchived;
+    private Integer batches;
+    private Long durationMs;
+}
@@ -0,0 +1,14 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingRequest {
+    private List<Long> bookingIds;  // Bookings to process in one transaction
+}
@@ -0,0 +1,20 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResultDTO {
+    private String operation;       // "check_in" or "check_out"
+    private Integer requested;
+    private Integer succeeded;
+    private Integer failed;
+    private List<BookingOutcomeDTO> outcomes;
+}
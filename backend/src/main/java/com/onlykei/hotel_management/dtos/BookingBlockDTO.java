@@ -0,0 +1,30 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBlockDTO {
+    private Long id;
+    private String name;
+    private Long guestId;
+    private String roomType;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Integer roomsRequested;
+    private Integer roomsUnused;        // Confirmed, not checked in yet; these can be released
+    private Integer roomsInHouse;       // Checked in
+    private Integer roomsReleased;      // Cancelled
+    private String notes;
+    private LocalDateTime createdAt;
+    private List<BookingDTO> bookings;  // Only when a single block is read
+}
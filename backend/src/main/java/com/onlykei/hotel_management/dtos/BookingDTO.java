@@ -19,6 +19,10 @@ public class BookingDTO {
     private Long id;
     private Long guestId;           // Instead of entire GuestModel object
     private Long roomId;            // Instead of entire RoomModel object
+    private String roomType;        // Set for room-type reservations, whose room may still change
+    private Long blockId;           // Block booking the room belongs to, if any
+    private String guestName;       // Denormalized in read-model rows only
+    private String roomNumber;      // Denormalized in read-model rows only
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
     private Integer adults;
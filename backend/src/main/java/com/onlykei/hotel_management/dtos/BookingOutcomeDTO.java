@@ -0,0 +1,17 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingOutcomeDTO {
+    private Long bookingId;
+    private Boolean success;
+    private String message;         // Reason when the booking was skipped
+    private BookingDTO booking;     // Updated booking when successful
+}
@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChecklistItemDTO {
-    private Long id;                // Can be null for new items
+    private String id;              // UUID; null for new items
     private String item;            // Description: "Check smoke detector"
     private String category;        // "room_inspection", "cleaning", etc.
     private Boolean completed;      // true/false
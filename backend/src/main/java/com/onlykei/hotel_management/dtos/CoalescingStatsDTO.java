@@ -0,0 +1,18 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescingStatsDTO {
+    private String method;      // e.g. "BookingService.getCheckingInToday()"
+    private Long calls;         // All invocations
+    private Long executions;    // Invocations that actually ran the method
+    private Long coalesced;     // Joined a call already in flight
+    private Long cacheHits;     // Reused a result inside the cache window
+}
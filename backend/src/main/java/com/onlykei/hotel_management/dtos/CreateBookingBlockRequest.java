@@ -0,0 +1,23 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateBookingBlockRequest {
+    private String name;            // Event or group name
+    private Long guestId;           // Organizer the rooms are booked for
+    private String roomType;        // Every room of the block is of this type
+    private Integer rooms;          // Number of rooms to reserve
+    private LocalDate checkInDate;  // Format: "2024-12-25"
+    private LocalDate checkOutDate; // Format: "2024-12-28"
+    private Integer adultsPerRoom;  // Optional, defaults to 1
+    private Integer childrenPerRoom;// Optional, defaults to 0
+    private String paymentStatus;   // "pending", "paid", etc. (optional)
+    private String notes;           // Additional notes (optional)
+}
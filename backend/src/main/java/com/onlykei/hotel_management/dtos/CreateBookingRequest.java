@@ -12,10 +12,12 @@ import java.time.LocalDate;
 public class CreateBookingRequest {
     private Long guestId;           // ID of the guest making the booking
     private Long roomId;            // ID of the room being booked
+    private String roomType;        // Book any room of this type instead (used when roomId is empty)
     private LocalDate checkInDate;  // Format: "2024-12-25"
     private LocalDate checkOutDate; // Format: "2024-12-28"
     private Integer adults;         // Number of adults
     private Integer children;       // Number of children (optional, defaults to 0)
     private String paymentStatus;   // "pending", "paid", etc. (optional)
     private String notes;           // Additional notes (optional)
+    private String holdId;          // Room hold to convert into this booking (optional)
 }
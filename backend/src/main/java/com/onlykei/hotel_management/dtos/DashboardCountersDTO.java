@@ -0,0 +1,25 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardCountersDTO {
+    private LocalDate date;
+    private Integer confirmed;              // Open bookings not yet checked in
+    private Integer checkedIn;              // Guests currently in house
+    private Integer arrivals;               // Confirmed bookings checking in on date
+    private Integer departures;             // Checked-in bookings checking out on date
+    private Integer occupiedRooms;          // Rooms with an open stay covering date
+    private Long eventsApplied;             // Journal events folded into the counters
+    private Long journalSequence;           // Last sequence durably written to the journal
+    private Map<String, Long> eventCounts;  // Events applied, by type
+}
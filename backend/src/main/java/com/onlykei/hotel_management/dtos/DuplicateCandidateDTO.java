@@ -0,0 +1,19 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDTO {
+    private Long guestId;
+    private Long duplicateGuestId;
+    private Double score;           // 0..1, weighted field similarity
+    private List<String> reasons;   // e.g. "same email", "name similarity 0.94"
+}
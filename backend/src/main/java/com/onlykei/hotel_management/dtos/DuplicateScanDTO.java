@@ -0,0 +1,21 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateScanDTO {
+    private Integer guestsScanned;
+    private Integer blocks;             // Blocking keys shared by two or more guests
+    private Integer oversizedBlocks;    // Blocks skipped for exceeding the size cap
+    private Long comparisons;           // Candidate pairs scored
+    private Long durationMs;
+    private List<DuplicateCandidateDTO> candidates;
+}
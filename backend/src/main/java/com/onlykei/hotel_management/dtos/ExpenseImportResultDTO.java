@@ -0,0 +1,22 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportResultDTO {
+    private String format;          // "csv", "ndjson" or "json"
+    private Long rowsRead;          // Data rows seen, excluding the CSV header and blank lines
+    private Long inserted;
+    private Long rejected;
+    private Integer batches;        // Insert batches, each committed in its own transaction
+    private List<String> errors;    // First rejected rows with their line number and reason
+    private Long durationMs;
+}
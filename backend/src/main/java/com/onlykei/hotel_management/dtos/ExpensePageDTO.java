@@ -0,0 +1,24 @@
+package com.onlykei.hotel_management.dtos;
+
+import com.onlykei.hotel_management.models.ExpensesModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpensePageDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer page;               // Zero-based page number
+    private Integer size;
+    private Long totalElements;         // Expenses in the whole range
+    private Integer totalPages;
+    private List<ExpensesModel> content; // Ordered by dateIncurred, then id
+}
@@ -0,0 +1,14 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuestMergeRequest {
+    private List<Long> duplicateIds;    // Guests folded into the surviving guest and deleted
+}
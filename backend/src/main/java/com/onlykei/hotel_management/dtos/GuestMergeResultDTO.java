@@ -0,0 +1,20 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuestMergeResultDTO {
+    private Long survivorId;
+    private List<Long> mergedGuestIds;
+    private Integer bookingsMoved;
+    private Integer archivedBookingsMoved;
+    private List<String> fieldsFilled;  // Survivor fields that were blank and taken from a duplicate
+}
@@ -0,0 +1,22 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuestStatsDTO {
+    private Long guestId;
+    private String firstName;
+    private String lastName;
+    private Integer stayCount;      // checked-in stays, live and archived
+    private Integer totalNights;
+    private Long totalSpend;        // sum of booking totals
+    private LocalDate lastStayDate; // check-in date of the most recent stay
+}
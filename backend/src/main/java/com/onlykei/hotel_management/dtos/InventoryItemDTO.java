@@ -0,0 +1,26 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable inventory row. Coalesced reads hand the same rows to every caller, so unlike the
+ * entity they carry no session and cannot be changed by one caller under another.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class InventoryItemDTO {
+    Long id;
+    String name;
+    String category;
+    Integer quantity;
+    Integer currentLevel;
+    Integer minimumLevel;
+    String unit;
+    String notes;
+    LocalDateTime lastRestocked;
+}
@@ -0,0 +1,26 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NightAuditReportDTO {
+    private LocalDate auditDate;
+    private String status;              // "running", "completed", "failed"
+    private String phase;               // Phase reached, "done" when finished
+    private Integer noShows;            // Confirmed bookings cancelled as no-shows
+    private Integer checkedOut;         // Overdue stays checked out automatically
+    private Integer overdueDepartures;  // Overdue stays found (checked out or not)
+    private Integer chunksProcessed;
+    private Long lastProcessedId;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,20 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyDTO {
+    private Long id;                    // Value of the X-Property-Id header
+    private String code;
+    private String name;
+    private Boolean dedicatedDatasource; // True when routed to its own connection pool
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryStatsDTO {
+    private String sql;             // Statement text as sent to the driver, "?" for bind values
+    private Long calls;
+    private Double totalMillis;
+    private Double meanMillis;
+    private Double maxMillis;
+    private Long slow;              // Calls at or above query-log.slow-threshold
+    private Long failed;            // Calls that threw
+}
@@ -0,0 +1,24 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadModelStatusDTO {
+    private String view;            // "bookings", "guests", "rooms", "inventory"
+    private Integer rows;
+    private Long version;           // Incremented on every snapshot swap
+    private Instant refreshedAt;    // Last snapshot swap
+    private Long ageMillis;         // Time since the last swap
+    private Long lastLagMillis;     // Commit-to-visible delay of the last change
+    private Instant rebuiltAt;      // Last full rebuild from the database
+    private Integer pendingChanges; // Committed change sets not yet applied
+    private Boolean stale;          // True until loaded, or after a failed update
+}
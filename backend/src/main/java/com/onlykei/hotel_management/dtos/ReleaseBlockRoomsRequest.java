@@ -0,0 +1,16 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Either bookingIds or count; with neither, every unused room of the block is released
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReleaseBlockRoomsRequest {
+    private List<Long> bookingIds;  // Rooms (bookings) of the block to release
+    private Integer count;          // Or: how many unused rooms to release
+}
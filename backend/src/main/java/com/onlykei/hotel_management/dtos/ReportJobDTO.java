@@ -0,0 +1,31 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+    private String id;
+    private String type;
+    private String granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String status;          // queued, running, completed, failed
+    private Integer progress;       // 0..100
+    private Long rowsWritten;
+    private Long sizeBytes;         // Result file size once completed
+    private String message;         // Failure reason
+    private String downloadUrl;     // Set once completed
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt; // Result file and job are removed after this
+}
@@ -0,0 +1,17 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+    private String type;            // "profit_and_loss", "occupancy" or "guests"
+    private LocalDate startDate;    // Inclusive
+    private LocalDate endDate;      // Inclusive
+    private String granularity;     // "day" (default) or "month"; ignored by the guests report
+}
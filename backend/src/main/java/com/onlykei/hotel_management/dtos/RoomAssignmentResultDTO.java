@@ -0,0 +1,22 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAssignmentResultDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean dryRun;
+    private boolean timedOut;           // The time budget ran out before every type was searched in full
+    private long elapsedMillis;
+    private List<RoomTypeAssignmentDTO> types;
+}
@@ -0,0 +1,39 @@
+package com.onlykei.hotel_management.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoomDTO {
+    private Long id;
+    private String number;
+    private String type;
+    private Integer pricePerNight;
+    private List<String> amenities;
+    private String status;                          // "available", "occupied", "maintenance"
+    private String description;
+    private Integer capacity;
+    private List<BookingSummaryDTO> upcomingBookings; // Only with ?expand=upcomingBookings
+
+    // Used by JPQL constructor projections; amenities are filled in afterwards in one batch
+    public RoomDTO(Long id, String number, String type, int pricePerNight,
+                   RoomStatus status, String description, Integer capacity) {
+        this.id = id;
+        this.number = number;
+        this.type = type;
+        this.pricePerNight = pricePerNight;
+        this.status = status.name();
+        this.description = description;
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,23 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHoldDTO {
+    private String id;              // Pass as holdId when creating the booking
+    private Long roomId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private String heldBy;
+    private Instant createdAt;
+    private Instant expiresAt;      // The room is released after this unless the hold is renewed
+}
@@ -0,0 +1,18 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHoldRequest {
+    private Long roomId;            // Room to hold
+    private LocalDate checkInDate;  // Format: "2024-12-25"
+    private LocalDate checkOutDate; // Format: "2024-12-28"
+    private String heldBy;          // Clerk or terminal placing the hold (optional)
+    private Integer ttlSeconds;     // Optional, defaults to room-holds.ttl and is capped at room-holds.max-ttl
+}
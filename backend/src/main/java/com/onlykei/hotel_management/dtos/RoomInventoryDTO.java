@@ -0,0 +1,19 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomInventoryDTO {
+    private LocalDate startDate;    // First night of every available array
+    private Integer days;
+    private List<RoomTypeInventoryDTO> types;
+}
@@ -0,0 +1,24 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSearchRequest {
+    private LocalDate checkInDate;  // With checkOutDate, only rooms free for the whole stay
+    private LocalDate checkOutDate;
+    private String type;            // Case-insensitive
+    private List<String> amenities; // Case-insensitive
+    private boolean matchAllAmenities; // true: every amenity (default), false: at least one
+    private Integer guests;         // Party size; rooms with capacity >= guests
+    private Integer minPrice;       // Inclusive, per night
+    private Integer maxPrice;       // Inclusive, per night
+}
@@ -0,0 +1,23 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of re-optimizing the rooms of one type
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTypeAssignmentDTO {
+    private String roomType;
+    private String outcome;             // "applied", "planned" (dry run), "unchanged", "timed_out" or "conflict"
+    private Integer rooms;
+    private Integer reservations;       // Room-type reservations arriving in the window that could move
+    private Integer moved;              // Reservations given another room
+    private Integer shortGapsBefore;    // Gaps too short to sell, before and after
+    private Integer shortGapNightsBefore;
+    private Integer shortGapsAfter;
+    private Integer shortGapNightsAfter;
+}
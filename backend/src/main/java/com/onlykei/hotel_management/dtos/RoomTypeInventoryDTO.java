@@ -0,0 +1,16 @@
+package com.onlykei.hotel_management.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTypeInventoryDTO {
+    private String roomType;
+    private Integer rooms;          // Rooms of the type not under maintenance
+    private int[] available;        // Rooms left per night, from the response's startDate
+}
@@ -0,0 +1,59 @@
+package com.onlykei.hotel_management.events;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A booking state transition, published by the services and applied after commit.
+ * Bulk transitions (night audit) only know the booking and room ids, so the other
+ * fields may be null; consumers keep the last known value in that case.
+ * Booking ids are only unique within a property's datasource, so consumers key by both.
+ */
+public record BookingEvent(
+        Long propertyId,
+        Type type,
+        Long bookingId,
+        Long roomId,
+        Long guestId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        BookingStatus status,
+        Integer totalAmount,
+        Instant occurredAt
+) {
+
+    public enum Type {
+        created,
+        checked_in,
+        checked_out,
+        extended,
+        cancelled,
+        deleted,
+        snapshot,       // Existing booking recorded when the journal is first created
+        reassigned      // Room-type reservation moved to another room of its type
+    }
+
+    public static BookingEvent of(Type type, BookingModel booking) {
+        return new BookingEvent(
+                booking.getPropertyId() != null ? booking.getPropertyId() : PropertyContext.current(),
+                type,
+                booking.getId(),
+                booking.getRoom() != null ? booking.getRoom().getId() : null,
+                booking.getGuest() != null ? booking.getGuest().getId() : null,
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                booking.getStatus(),
+                booking.getTotalAmount(),
+                Instant.now()
+        );
+    }
+
+    public static BookingEvent statusChange(Type type, Long bookingId, Long roomId, BookingStatus status) {
+        return new BookingEvent(PropertyContext.current(), type, bookingId, roomId, null, null, null, status, null,
+                Instant.now());
+    }
+}
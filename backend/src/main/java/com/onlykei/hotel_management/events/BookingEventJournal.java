@@ -0,0 +1,468 @@
+package com.onlykei.hotel_management.events;
+
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary journal of booking events, written through memory-mapped segment files.
+ *
+ * A single writer thread drains queued appends and forces each batch to disk once (group commit);
+ * an append's future completes only after that force, so callers waiting on it share one force.
+ * The writer owns the open segment and closes it when it stops.
+ * Segments are preallocated files of {@code journal.segment-size} bytes named after their first
+ * sequence number; a full segment is forced and closed and the next one is opened.
+ *
+ * A snapshot replaces every segment before a boundary sequence: {@link #startSnapshot()} makes the
+ * writer start a new segment at the boundary, the caller then reads the current state and
+ * {@link #writeSnapshot} stores it (written aside, forced, then renamed into place) and deletes the
+ * older segments and snapshots. Replay reads the latest snapshot and the segments from its boundary
+ * on; segments before it are ignored if their deletion failed.
+ *
+ * Record layout: [int length][int crc32c][payload], with a fixed-size payload. A zero length marks
+ * the end of written data; the length is written last, so a torn record is never read back.
+ * Enum ordinals are stored, so new enum values must only be appended. A change to the payload layout
+ * starts a new segment generation (prefix); segments of an older layout are left alone and ignored,
+ * and the new journal is seeded from the database like a fresh one.
+ */
+@Slf4j
+@Component
+public class BookingEventJournal implements InitializingBean, DisposableBean {
+
+    // seq, timestamp, propertyId, type, bookingId, roomId, guestId, checkIn, checkOut, status, totalAmount
+    private static final int PAYLOAD_SIZE = 8 + 8 + 8 + 1 + 8 + 8 + 8 + 8 + 8 + 1 + 4;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = HEADER_SIZE + PAYLOAD_SIZE;
+    private static final long NONE = Long.MIN_VALUE;
+    private static final String SEGMENT_PREFIX = "booking-journal-v2-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String SNAPSHOT_PREFIX = "booking-snapshot-v2-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxBatch;
+    private final BlockingQueue<PendingAppend> queue;
+
+    private volatile boolean running;
+    private volatile long lastSequence;
+    private Thread writer;
+
+    // Owned by the writer thread once started
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextSequence;
+
+    public BookingEventJournal(
+            @Value("${journal.enabled:true}") boolean enabled,
+            @Value("${journal.directory:data/journal}") String directory,
+            @Value("${journal.segment-size:16777216}") int segmentSize,
+            @Value("${journal.max-batch:512}") int maxBatch,
+            @Value("${journal.queue-capacity:65536}") int queueCapacity
+    ) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = Math.max(segmentSize, RECORD_SIZE * 16);
+        this.maxBatch = Math.max(maxBatch, 1);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            long first = Math.max(latestSnapshotBoundary(), 1L);
+            openSegment(first);
+            nextSequence = first;
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            ScanResult scan = scan(buffer, null);
+            buffer.position(scan.position());
+            nextSequence = Math.max(firstSequenceOf(last), scan.lastSequence() + 1);
+        }
+        lastSequence = nextSequence - 1;
+
+        running = true;
+        writer = new Thread(this::writeLoop, "booking-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues an event; the future completes with its sequence number once the batch is on disk.
+     */
+    public CompletableFuture<Long> append(BookingEvent event) {
+        if (!running) {
+            return CompletableFuture.completedFuture(-1L);
+        }
+        PendingAppend pending = new PendingAppend(event, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            pending.result().completeExceptionally(new IllegalStateException("Booking journal queue is full"));
+        }
+        return pending.result();
+    }
+
+    /**
+     * Makes the writer close the current segment after the appends queued so far and start a new
+     * one; the future completes with the new segment's first sequence, the boundary to pass to
+     * {@link #writeSnapshot}. State read after it completes covers every event before the boundary.
+     */
+    public CompletableFuture<Long> startSnapshot() {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Booking journal is not running"));
+        }
+        PendingAppend pending = new PendingAppend(null, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            pending.result().completeExceptionally(new IllegalStateException("Booking journal queue is full"));
+        }
+        return pending.result();
+    }
+
+    /**
+     * Stores the events as the state before {@code boundary} and deletes the segments and snapshots
+     * it replaces.
+     */
+    public void writeSnapshot(long boundary, List<BookingEvent> events) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, boundary, SNAPSHOT_SUFFIX));
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        ByteBuffer records = ByteBuffer.allocate(Math.max(events.size(), 1) * RECORD_SIZE);
+        for (BookingEvent event : events) {
+            encode(records, records.position(), boundary - 1, event);
+            records.position(records.position() + RECORD_SIZE);
+        }
+        records.flip();
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            while (records.hasRemaining()) {
+                out.write(records);
+            }
+            out.force(true);
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        for (Path segment : listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (sequenceOf(segment, SEGMENT_PREFIX, SEGMENT_SUFFIX) < boundary) {
+                Files.deleteIfExists(segment);
+            }
+        }
+        for (Path snapshot : listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (sequenceOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < boundary) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Reads the latest snapshot and every later record in sequence order and hands them to the
+     * consumer. Returns the number replayed.
+     */
+    public long replay(Consumer<BookingEvent> consumer) throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        long replayed = 0;
+        Path snapshot = latestSnapshot();
+        if (snapshot != null) {
+            replayed += read(snapshot, consumer);
+        }
+        for (Path segment : listSegments()) {
+            replayed += read(segment, consumer);
+        }
+        return replayed;
+    }
+
+    /**
+     * Segments written since the latest snapshot, including the open one.
+     */
+    public int segmentsSinceSnapshot() throws IOException {
+        return listSegments().size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Stops accepting appends and waits for the writer to drain the queue and close the segment.
+     * A writer still busy after the grace period is interrupted and awaited, so the segment is
+     * never closed under it.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (writer.isAlive()) {
+            log.warn("Booking journal writer is still busy after 5 s; interrupting it");
+            writer.interrupt();
+            writer.join();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingAppend first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            IllegalStateException closed = new IllegalStateException("Booking journal is closed");
+            batch.forEach(pending -> pending.result().completeExceptionally(closed));
+            PendingAppend pending;
+            while ((pending = queue.poll()) != null) {
+                pending.result().completeExceptionally(closed);
+            }
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.error("Failed to close booking journal segment", e);
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingAppend> batch) {
+        try {
+            List<Long> sequences = new ArrayList<>(batch.size());
+            for (PendingAppend pending : batch) {
+                if (pending.event() == null) {
+                    // Snapshot boundary: later appends go to a fresh segment
+                    if (buffer.position() > 0) {
+                        rotate();
+                    }
+                    sequences.add(nextSequence);
+                    continue;
+                }
+                if (buffer.remaining() < RECORD_SIZE) {
+                    rotate();
+                }
+                sequences.add(write(pending.event()));
+            }
+            buffer.force();
+            lastSequence = nextSequence - 1;
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(sequences.get(i));
+            }
+        } catch (Exception e) {
+            log.error("Failed to write booking journal batch", e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private long write(BookingEvent event) {
+        int position = buffer.position();
+        long sequence = nextSequence++;
+        encode(buffer, position, sequence, event);
+        buffer.position(position + RECORD_SIZE);
+        return sequence;
+    }
+
+    /**
+     * Writes one record at the position of the target buffer, without moving its position.
+     */
+    private static void encode(ByteBuffer buffer, int position, long sequence, BookingEvent event) {
+        ByteBuffer payload = buffer.slice(position + HEADER_SIZE, PAYLOAD_SIZE);
+        payload.putLong(sequence);
+        payload.putLong(event.occurredAt().toEpochMilli());
+        payload.putLong(event.propertyId());
+        payload.put((byte) event.type().ordinal());
+        payload.putLong(orNone(event.bookingId()));
+        payload.putLong(orNone(event.roomId()));
+        payload.putLong(orNone(event.guestId()));
+        payload.putLong(event.checkInDate() != null ? event.checkInDate().toEpochDay() : NONE);
+        payload.putLong(event.checkOutDate() != null ? event.checkOutDate().toEpochDay() : NONE);
+        payload.put(event.status() != null ? (byte) event.status().ordinal() : -1);
+        payload.putInt(event.totalAmount() != null ? event.totalAmount() : Integer.MIN_VALUE);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + HEADER_SIZE, PAYLOAD_SIZE));
+        buffer.putInt(position + 4, (int) crc.getValue());
+        // Length last: it is the commit marker for this record
+        buffer.putInt(position, PAYLOAD_SIZE);
+    }
+
+    private void rotate() throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(nextSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(segmentSize);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private long read(Path file, Consumer<BookingEvent> consumer) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer readBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            return scan(readBuffer, consumer).count();
+        }
+    }
+
+    /**
+     * Segments from the latest snapshot's boundary on, in sequence order.
+     */
+    private List<Path> listSegments() throws IOException {
+        long boundary = latestSnapshotBoundary();
+        return listFiles(SEGMENT_PREFIX, SEGMENT_SUFFIX).stream()
+                .filter(segment -> sequenceOf(segment, SEGMENT_PREFIX, SEGMENT_SUFFIX) >= boundary)
+                .toList();
+    }
+
+    private Path latestSnapshot() throws IOException {
+        List<Path> snapshots = listFiles(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private long latestSnapshotBoundary() throws IOException {
+        Path snapshot = latestSnapshot();
+        return snapshot != null ? sequenceOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) : 0L;
+    }
+
+    private List<Path> listFiles(String prefix, String suffix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(prefix))
+                    .filter(p -> p.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        return sequenceOf(segment, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    /**
+     * Walks the records of one segment until the end marker or the first damaged record.
+     */
+    private static ScanResult scan(ByteBuffer segment, Consumer<BookingEvent> consumer) {
+        int position = 0;
+        long lastSequence = 0;
+        long count = 0;
+        CRC32C crc = new CRC32C();
+
+        while (position + RECORD_SIZE <= segment.limit()) {
+            int length = segment.getInt(position);
+            if (length != PAYLOAD_SIZE) {
+                break;
+            }
+            crc.reset();
+            crc.update(segment.slice(position + HEADER_SIZE, PAYLOAD_SIZE));
+            if ((int) crc.getValue() != segment.getInt(position + 4)) {
+                log.warn("Booking journal record at offset {} is damaged; stopping there", position);
+                break;
+            }
+
+            ByteBuffer payload = segment.slice(position + HEADER_SIZE, PAYLOAD_SIZE);
+            lastSequence = payload.getLong();
+            if (consumer != null) {
+                consumer.accept(decode(payload));
+            }
+            count++;
+            position += RECORD_SIZE;
+        }
+        return new ScanResult(position, lastSequence, count);
+    }
+
+    private static BookingEvent decode(ByteBuffer payload) {
+        Instant occurredAt = Instant.ofEpochMilli(payload.getLong());
+        long propertyId = payload.getLong();
+        BookingEvent.Type type = BookingEvent.Type.values()[payload.get()];
+        Long bookingId = fromNone(payload.getLong());
+        Long roomId = fromNone(payload.getLong());
+        Long guestId = fromNone(payload.getLong());
+        Long checkIn = fromNone(payload.getLong());
+        Long checkOut = fromNone(payload.getLong());
+        byte status = payload.get();
+        int totalAmount = payload.getInt();
+
+        return new BookingEvent(
+                propertyId,
+                type,
+                bookingId,
+                roomId,
+                guestId,
+                checkIn != null ? LocalDate.ofEpochDay(checkIn) : null,
+                checkOut != null ? LocalDate.ofEpochDay(checkOut) : null,
+                status >= 0 ? BookingStatus.values()[status] : null,
+                totalAmount != Integer.MIN_VALUE ? totalAmount : null,
+                occurredAt
+        );
+    }
+
+    private static long orNone(Long value) {
+        return value != null ? value : NONE;
+    }
+
+    private static Long fromNone(long value) {
+        return value != NONE ? value : null;
+    }
+
+    private record PendingAppend(BookingEvent event, CompletableFuture<Long> result) {
+    }
+
+    private record ScanResult(int position, long lastSequence, long count) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.onlykei.hotel_management.events;
+
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * In-memory availability and dashboard counters rebuilt from the booking journal.
+ *
+ * Only open stays (confirmed or checked in) are held; a booking is dropped once it reaches
+ * a terminal status, so memory follows the number of live bookings rather than history.
+ * State is kept per property, since room and booking ids are only unique within one property's
+ * datasource. All access is synchronized: events arrive one at a time after commit and reads are cheap.
+ */
+@Component
+public class BookingJournalProjection {
+
+    private final Map<Long, PropertyState> properties = new HashMap<>();
+    private long eventsApplied;
+
+    public synchronized void apply(BookingEvent event) {
+        eventsApplied++;
+        properties.computeIfAbsent(event.propertyId(), id -> new PropertyState()).apply(event);
+    }
+
+    public synchronized void clear() {
+        properties.clear();
+        eventsApplied = 0;
+    }
+
+    /**
+     * Events applied since the last clear, over all properties.
+     */
+    public synchronized long eventsApplied() {
+        return eventsApplied;
+    }
+
+    /**
+     * Number of bookings whose open stay differs between the projection and the given open
+     * bookings of a property (snapshot events read from the database), counting bookings
+     * missing on either side.
+     */
+    public synchronized int differences(long propertyId, Collection<BookingEvent> openBookings) {
+        PropertyState expected = new PropertyState();
+        openBookings.forEach(expected::apply);
+        Map<Long, Stay> actual = state(propertyId).staysByBooking;
+
+        Set<Long> bookingIds = new HashSet<>(actual.keySet());
+        bookingIds.addAll(expected.staysByBooking.keySet());
+        return (int) bookingIds.stream()
+                .filter(id -> !Objects.equals(actual.get(id), expected.staysByBooking.get(id)))
+                .count();
+    }
+
+    /**
+     * Rooms holding an open stay that overlaps [checkInDate, checkOutDate).
+     */
+    public synchronized Set<Long> bookedRoomIds(long propertyId, LocalDate checkInDate, LocalDate checkOutDate) {
+        return state(propertyId).bookedRoomIds(checkInDate, checkOutDate);
+    }
+
+    public synchronized Counters counters(long propertyId, LocalDate date) {
+        return state(propertyId).counters(date);
+    }
+
+    private PropertyState state(long propertyId) {
+        PropertyState state = properties.get(propertyId);
+        return state != null ? state : new PropertyState();
+    }
+
+    /**
+     * Open stays and counters of one property; guarded by the projection's lock.
+     */
+    private static final class PropertyState {
+
+        private final Map<Long, Stay> staysByBooking = new HashMap<>();
+        private final Map<Long, Set<Long>> bookingsByRoom = new HashMap<>();
+        private final Map<BookingStatus, Integer> openByStatus = new EnumMap<>(BookingStatus.class);
+        private final Map<BookingEvent.Type, Long> eventCounts = new EnumMap<>(BookingEvent.Type.class);
+        private long eventsApplied;
+
+        private void apply(BookingEvent event) {
+            eventCounts.merge(event.type(), 1L, Long::sum);
+            eventsApplied++;
+
+            Stay previous = remove(event.bookingId());
+            if (event.type() == BookingEvent.Type.deleted || !isOpen(event.status())) {
+                return;
+            }
+            Stay stay = new Stay(
+                    event.roomId() != null ? event.roomId() : previous != null ? previous.roomId() : null,
+                    event.checkInDate() != null ? event.checkInDate() : previous != null ? previous.checkInDate() : null,
+                    event.checkOutDate() != null ? event.checkOutDate() : previous != null ? previous.checkOutDate() : null,
+                    event.status()
+            );
+            staysByBooking.put(event.bookingId(), stay);
+            openByStatus.merge(stay.status(), 1, Integer::sum);
+            if (stay.roomId() != null) {
+                bookingsByRoom.computeIfAbsent(stay.roomId(), id -> new HashSet<>()).add(event.bookingId());
+            }
+        }
+
+        private Set<Long> bookedRoomIds(LocalDate checkInDate, LocalDate checkOutDate) {
+            Set<Long> roomIds = new TreeSet<>();
+            staysByBooking.values().stream()
+                    .filter(stay -> stay.roomId() != null && stay.overlaps(checkInDate, checkOutDate))
+                    .forEach(stay -> roomIds.add(stay.roomId()));
+            return roomIds;
+        }
+
+        private Counters counters(LocalDate date) {
+            int arrivals = 0;
+            int departures = 0;
+            for (Stay stay : staysByBooking.values()) {
+                if (stay.status() == BookingStatus.confirmed && date.equals(stay.checkInDate())) {
+                    arrivals++;
+                } else if (stay.status() == BookingStatus.checked_in && date.equals(stay.checkOutDate())) {
+                    departures++;
+                }
+            }
+            return new Counters(
+                    openByStatus.getOrDefault(BookingStatus.confirmed, 0),
+                    openByStatus.getOrDefault(BookingStatus.checked_in, 0),
+                    arrivals,
+                    departures,
+                    bookedRoomIds(date, date.plusDays(1)).size(),
+                    eventsApplied,
+                    Map.copyOf(eventCounts)
+            );
+        }
+
+        private Stay remove(Long bookingId) {
+            Stay previous = staysByBooking.remove(bookingId);
+            if (previous == null) {
+                return null;
+            }
+            openByStatus.merge(previous.status(), -1, Integer::sum);
+            if (previous.roomId() != null) {
+                Set<Long> roomBookings = bookingsByRoom.get(previous.roomId());
+                roomBookings.remove(bookingId);
+                if (roomBookings.isEmpty()) {
+                    bookingsByRoom.remove(previous.roomId());
+                }
+            }
+            return previous;
+        }
+    }
+
+    private static boolean isOpen(BookingStatus status) {
+        return status == BookingStatus.confirmed || status == BookingStatus.checked_in;
+    }
+
+    private record Stay(Long roomId, LocalDate checkInDate, LocalDate checkOutDate, BookingStatus status) {
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return checkInDate != null && checkOutDate != null
+                    && checkInDate.isBefore(to) && checkOutDate.isAfter(from);
+        }
+    }
+
+    public record Counters(
+            int confirmed,
+            int checkedIn,
+            int arrivals,
+            int departures,
+            int occupiedRooms,
+            long eventsApplied,
+            Map<BookingEvent.Type, Long> eventCounts
+    ) {
+    }
+}
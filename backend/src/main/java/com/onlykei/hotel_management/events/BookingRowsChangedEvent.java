@@ -0,0 +1,14 @@
+package com.onlykei.hotel_management.events;
+
+import java.util.Set;
+
+/**
+ * The bookings read model swapped in a new snapshot: either the listed rows changed
+ * (a row missing from the snapshot was deleted) or the whole view was rebuilt.
+ */
+public record BookingRowsChangedEvent(
+        Long propertyId,
+        Set<Long> bookingIds,
+        boolean rebuilt
+) {
+}
@@ -0,0 +1,33 @@
+package com.onlykei.hotel_management.events;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A guest, room or inventory item was created, updated or deleted. Consumers reload
+ * the listed rows of the property; a row that no longer exists is treated as deleted.
+ */
+public record EntityChangedEvent(
+        Long propertyId,
+        Aggregate aggregate,
+        Collection<Long> ids,
+        Instant occurredAt
+) {
+
+    public enum Aggregate {
+        guest,
+        room,
+        inventory_item
+    }
+
+    public static EntityChangedEvent of(Aggregate aggregate, Long id) {
+        return of(aggregate, List.of(id));
+    }
+
+    public static EntityChangedEvent of(Aggregate aggregate, Collection<Long> ids) {
+        return new EntityChangedEvent(PropertyContext.current(), aggregate, ids, Instant.now());
+    }
+}
@@ -0,0 +1,10 @@
+package com.onlykei.hotel_management.exceptions;
+
+/**
+ * A job that runs once at a time per property was started while a run is in progress.
+ */
+public class JobAlreadyRunningException extends RuntimeException {
+    public JobAlreadyRunningException(String message) {
+        super(message);
+    }
+}
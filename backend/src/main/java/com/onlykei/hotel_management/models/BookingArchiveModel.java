@@ -0,0 +1,92 @@
+package com.onlykei.hotel_management.models;
+
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.BookingModel.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Closed booking moved out of the live "bookings" table by the archive job.
+ * Keeps the original booking id; guest and room are plain ids plus a room number snapshot.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "bookings_archive")
+public class BookingArchiveModel implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    // Property (hotel) the row belongs to; Hibernate assigns and filters it from PropertyContext
+    @TenantId
+    @Column(name = "property_id", nullable = false, updatable = false)
+    private Long propertyId;
+
+    @Column(name = "guest_id", nullable = false)
+    private Long guestId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "room_number")
+    private String roomNumber;
+
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDate checkOutDate;
+
+    @Column(nullable = false)
+    private Integer adults;
+
+    @Column(nullable = false)
+    private Integer children;
+
+    @Column(name = "total_amount", nullable = false)
+    private Integer totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 20)
+    private PaymentStatus paymentStatus;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Ids are copied from the live row, so tell Spring Data to persist without a merge lookup
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.fresh = false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.onlykei.hotel_management.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A group of rooms of one type reserved together for the same dates, such as a wedding or a
+ * conference. Each room is a booking carrying the block id; the block keeps what was asked for.
+ */
+@Entity
+@Table(name = "booking_blocks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingBlockModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Property (hotel) the row belongs to; Hibernate assigns and filters it from PropertyContext
+    @TenantId
+    @Column(name = "property_id", nullable = false, updatable = false)
+    private Long propertyId;
+
+    // Event or group name, e.g. "Santos-Reyes wedding"
+    @Column(nullable = false)
+    private String name;
+
+    // Guest the block's bookings are made for (the organizer)
+    @Column(name = "guest_id", nullable = false)
+    private Long guestId;
+
+    @Column(name = "room_type", nullable = false)
+    private String roomType;
+
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDate checkInDate;
+
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDate checkOutDate;
+
+    @Column(name = "rooms_requested", nullable = false)
+    private Integer roomsRequested;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -35,6 +36,11 @@ public class BookingModel {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Property (hotel) the row belongs to; Hibernate assigns and filters it from PropertyContext
+    @TenantId
+    @Column(name = "property_id", nullable = false, updatable = false)
+    private Long propertyId;
+
     // Relationship to Guest (Many bookings can belong to one guest)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "guest_id", nullable = false)
@@ -46,6 +52,15 @@ public class BookingModel {
     @JsonIgnoreProperties({"bookings"})
     private RoomModel room;
 
+    // Room type the booking was sold as; set only for room-type reservations, whose room the
+    // assignment engine may change to another room of this type before arrival
+    @Column(name = "room_type")
+    private String roomType;
+
+    // Block booking the room belongs to, if any (BookingBlockModel)
+    @Column(name = "block_id")
+    private Long blockId;
+
     // Booking dates
     @Column(name = "check_in_date", nullable = false)
     private LocalDate checkInDate;
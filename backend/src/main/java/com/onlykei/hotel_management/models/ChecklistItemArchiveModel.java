@@ -0,0 +1,52 @@
+package com.onlykei.hotel_management.models;
+
+import com.onlykei.hotel_management.models.ChecklistItemModel.Category;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Checklist item of an archived booking.
+ */
+@Entity
+@Table(name = "checklist_items_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChecklistItemArchiveModel implements Persistable<String> {
+
+    @Id
+    private String id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private String item;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Category category;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.fresh = false;
+    }
+}
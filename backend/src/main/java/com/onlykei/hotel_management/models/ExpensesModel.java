@@ -2,6 +2,7 @@ package com.onlykei.hotel_management.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDate;
 
 @Entity
@@ -14,6 +15,11 @@ public class ExpensesModel {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Property (hotel) the row belongs to; Hibernate assigns and filters it from PropertyContext
+    @TenantId
+    @Column(name = "property_id", nullable = false, updatable = false)
+    private Long propertyId;
+
     private String description;
     private Double amount;
     private LocalDate dateIncurred;
@@ -0,0 +1,32 @@
+package com.onlykei.hotel_management.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.TenantId;
+
+/**
+ * One duplicate-detection blocking key of a guest. Written by GuestDeduplicationService whenever
+ * the guest is saved; the rows are deleted with their guest.
+ */
+@Entity
+@Table(name = "guest_match_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuestMatchKeyModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Property (hotel) the row belongs to; Hibernate assigns and filters it from PropertyContext
+    @TenantId
+    @Column(name = "property_id", nullable = false, updatable = false)
+    private Long propertyId;
+
+    @Column(name = "guest_id", nullable = false)
+    private Long guestId;
+
+    @Column(name = "match_key", nullable = false, length = 300)
+    private String matchKey;
+}
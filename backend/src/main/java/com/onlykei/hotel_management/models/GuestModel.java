@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -12,12 +13,19 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_guest_property_identification_no", columnNames = {"property_id", "identification_no"}))
 public class GuestModel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Property (hotel) the row belongs to; Hibernate assigns and filters it from PropertyContext
+    @TenantId
+    @Column(name = "property_id", nullable = false, updatable = false)
+    private Long propertyId;
+
     // Basic Guest Information
     @NotBlank(message = "Last name is required")
     @Column(nullable = false)
@@ -35,7 +43,7 @@ public class GuestModel {
     private String placeOfBirth;
 
     @NotBlank(message = "Identification number is required")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String identificationNo;
 
     private String country;
@@ -0,0 +1,43 @@
+package com.onlykei.hotel_management.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lifetime stay figures of one guest, maintained by GuestStatsService as bookings
+ * are checked in, extended, cancelled or deleted. Archived stays stay counted.
+ */
+@Entity
+@Table(name = "guest_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GuestStatsModel {
+
+    @Id
+    @Column(name = "guest_id")
+    private Long guestId;
+
+    @Column(name = "stay_count", nullable = false)
+    @Builder.Default
+    private Integer stayCount = 0;
+
+    @Column(name = "total_nights", nullable = false)
+    @Builder.Default
+    private Integer totalNights = 0;
+
+    @Column(name = "total_spend", nullable = false)
+    @Builder.Default
+    private Long totalSpend = 0L;
+
+    // Check-in date of the most recent stay
+    @Column(name = "last_stay_date")
+    private LocalDate lastStayDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
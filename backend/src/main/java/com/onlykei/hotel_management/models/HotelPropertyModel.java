@@ -0,0 +1,34 @@
+package com.onlykei.hotel_management.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A hotel run on this installation. Rooms, guests, bookings and inventory carry its id,
+ * and requests choose one with the X-Property-Id header. The registry itself is global
+ * and always read from the default datasource.
+ */
+@Entity
+@Table(name = "hotel_properties")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelPropertyModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Short unique handle, e.g. "downtown"
+    @Column(nullable = false, unique = true, length = 50)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.onlykei.hotel_management.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted copy of a completed idempotent response, used when
+ * idempotency.persistence.enabled=true so replays survive a restart.
+ */
+@Entity
+@Table(name = "idempotency_records")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecordModel {
+
+    // SHA-256 of "PROPERTY METHOD URI KEY"
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    // SHA-256 of the request body the key was first used with
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private Integer statusCode;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Lob
+    @Column(name = "body")
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -2,6 +2,7 @@ package com.onlykei.hotel_management.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.TenantId;
 import java.time.LocalDateTime;
 
 @Entity
@@ -15,6 +16,11 @@ public class InventoryItemModel {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Property (hotel) the row belongs to; Hibernate assigns and filters it from PropertyContext
+    @TenantId
+    @Column(name = "property_id", nullable = false, updatable = false)
+    private Long propertyId;
+
     @Column(nullable = false)
     private String name;
 
@@ -0,0 +1,86 @@
+package com.onlykei.hotel_management.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one night-audit run, saved after every window of chunks so an
+ * interrupted run resumes from the last processed booking id.
+ */
+@Entity
+@Table(name = "night_audit_checkpoints")
+@IdClass(NightAuditCheckpointModel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NightAuditCheckpointModel {
+
+    // Property being audited; each property closes its own dates
+    @Id
+    @Column(name = "property_id")
+    private Long propertyId;
+
+    // Business date being closed; one run per property and date
+    @Id
+    @Column(name = "audit_date")
+    private LocalDate auditDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Phase phase;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RunStatus status;
+
+    @Column(name = "last_processed_id", nullable = false)
+    @Builder.Default
+    private Long lastProcessedId = 0L;
+
+    @Column(name = "no_shows", nullable = false)
+    @Builder.Default
+    private Integer noShows = 0;
+
+    @Column(name = "checked_out", nullable = false)
+    @Builder.Default
+    private Integer checkedOut = 0;
+
+    @Column(name = "overdue_departures", nullable = false)
+    @Builder.Default
+    private Integer overdueDepartures = 0;
+
+    @Column(name = "chunks_processed", nullable = false)
+    @Builder.Default
+    private Integer chunksProcessed = 0;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long propertyId;
+        private LocalDate auditDate;
+    }
+
+    public enum Phase {
+        no_shows,       // Confirmed bookings whose arrival date has passed
+        departures,     // Checked-in bookings whose departure date has passed
+        done
+    }
+
+    public enum RunStatus {
+        running,
+        completed,
+        failed
+    }
+}
@@ -0,0 +1,77 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.BookingArchiveModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository.StayFigures;
+import com.onlykei.hotel_management.repositories.BookingRepository.StayRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface BookingArchiveRepository extends JpaRepository<BookingArchiveModel, Long> {
+
+    // Archived stays of a guest, newest first
+    List<BookingArchiveModel> findByGuestIdOrderByCheckInDateDesc(Long guestId);
+
+    // Stay summaries of archived bookings, for guest rows
+    interface ArchivedStayRow {
+        Long getGuestId();
+        Long getId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        String getRoomNumber();
+    }
+
+    @Query("SELECT a.guestId AS guestId, a.id AS id, a.checkInDate AS checkInDate, " +
+            "a.checkOutDate AS checkOutDate, a.roomNumber AS roomNumber FROM BookingArchiveModel a")
+    List<ArchivedStayRow> findAllStayRows();
+
+    @Query("SELECT a.guestId AS guestId, a.id AS id, a.checkInDate AS checkInDate, " +
+            "a.checkOutDate AS checkOutDate, a.roomNumber AS roomNumber FROM BookingArchiveModel a " +
+            "WHERE a.guestId IN :guestIds")
+    List<ArchivedStayRow> findStayRowsByGuestIdIn(@Param("guestIds") Collection<Long> guestIds);
+
+    // Archived bookings with check-in date between range
+    List<BookingArchiveModel> findByCheckInDateBetweenOrderByCheckInDateAsc(LocalDate startDate, LocalDate endDate);
+
+    // Dates and amounts of a guest's archived stays in the given statuses, for recomputing guest stats
+    @Query("SELECT a.checkInDate AS checkInDate, a.checkOutDate AS checkOutDate, a.totalAmount AS totalAmount " +
+            "FROM BookingArchiveModel a WHERE a.guestId = :guestId AND a.status IN :statuses")
+    List<StayFigures> findStayFigures(@Param("guestId") Long guestId, @Param("statuses") Collection<BookingStatus> statuses);
+
+    // Streams archived stays in the given statuses overlapping [startDate, endDate) for report jobs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.guestId AS guestId, a.roomId AS roomId, a.checkInDate AS checkInDate, " +
+            "a.checkOutDate AS checkOutDate, a.totalAmount AS totalAmount FROM BookingArchiveModel a " +
+            "WHERE a.status IN :statuses AND a.checkInDate < :endDate AND a.checkOutDate > :startDate")
+    Stream<StayRow> streamStays(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Count of the archived stays streamStays returns, for report progress
+    @Query("SELECT COUNT(a) FROM BookingArchiveModel a " +
+            "WHERE a.status IN :statuses AND a.checkInDate < :endDate AND a.checkOutDate > :startDate")
+    long countStays(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Re-points archived stays of merged duplicate guests to the surviving guest
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BookingArchiveModel a SET a.guestId = :survivorId WHERE a.guestId IN :guestIds")
+    int reassignGuest(@Param("survivorId") Long survivorId, @Param("guestIds") Collection<Long> guestIds);
+}
@@ -0,0 +1,13 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.BookingBlockModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingBlockRepository extends JpaRepository<BookingBlockModel, Long> {
+
+    List<BookingBlockModel> findAllByOrderByCheckInDateAsc();
+}
@@ -2,14 +2,25 @@ package com.onlykei.hotel_management.repositories;
 
 import com.onlykei.hotel_management.models.BookingModel;
 import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.GuestModel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<BookingModel, Long> {
@@ -55,6 +66,141 @@ public interface BookingRepository extends JpaRepository<BookingModel, Long> {
             "ORDER BY b.checkInDate ASC")
     List<BookingModel> findAllWithDetails();
 
+    // Find several bookings with guest and room details in one query
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.guest " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.id IN :ids")
+    List<BookingModel> findAllByIdWithDetails(@Param("ids") Collection<Long> ids);
+
+    // A guest's bookings with their checklist items in one query
+    @Query("SELECT DISTINCT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.checklist " +
+            "WHERE b.guest.id = :guestId")
+    List<BookingModel> findByGuestIdWithChecklist(@Param("guestId") Long guestId);
+
+    // Bulk status update for batch operations
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BookingModel b SET b.status = :status, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    // Re-points all bookings of merged duplicate guests to the surviving guest
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BookingModel b SET b.guest = :survivor, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.guest.id IN :guestIds")
+    int reassignGuest(@Param("survivor") GuestModel survivor, @Param("guestIds") Collection<Long> guestIds);
+
+    // Dates and amounts of a guest's bookings in the given statuses, for recomputing guest stats
+    @Query("SELECT b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalAmount AS totalAmount " +
+            "FROM BookingModel b WHERE b.guest.id = :guestId AND b.status IN :statuses")
+    List<StayFigures> findStayFigures(@Param("guestId") Long guestId, @Param("statuses") Collection<BookingStatus> statuses);
+
+    interface StayFigures {
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        Integer getTotalAmount();
+    }
+
+    // Find a guest's bookings with room details, newest first
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.guest.id = :guestId " +
+            "ORDER BY b.checkInDate DESC")
+    List<BookingModel> findByGuestIdWithRoom(@Param("guestId") Long guestId);
+
+    // Find active bookings of several rooms that have not checked out yet, with room details
+    @Query("SELECT b FROM BookingModel b " +
+            "JOIN FETCH b.room " +
+            "WHERE b.room.id IN :roomIds " +
+            "AND b.status IN :statuses " +
+            "AND b.checkOutDate >= :fromDate " +
+            "ORDER BY b.checkInDate ASC")
+    List<BookingModel> findUpcomingByRoomIds(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("fromDate") LocalDate fromDate
+    );
+
+    // Stays of several rooms in the given statuses overlapping [fromDate, toDate), for room assignment
+    @Query("SELECT b FROM BookingModel b " +
+            "WHERE b.room.id IN :roomIds " +
+            "AND b.status IN :statuses " +
+            "AND b.checkInDate < :toDate " +
+            "AND b.checkOutDate > :fromDate")
+    List<BookingModel> findByRoomIdsBetween(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
+    // Rooms among roomIds with a stay in the given statuses overlapping [fromDate, toDate), for room search
+    @Query("SELECT DISTINCT b.room.id FROM BookingModel b " +
+            "WHERE b.room.id IN :roomIds " +
+            "AND b.status IN :statuses " +
+            "AND b.checkInDate < :toDate " +
+            "AND b.checkOutDate > :fromDate")
+    Set<Long> findBookedRoomIds(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
+    // Same rows as findByRoomIdsBetween, read with row locks: a locking read sees the latest
+    // committed rows rather than the transaction's snapshot, and holds them until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+            "FROM BookingModel b " +
+            "WHERE b.room.id IN :roomIds " +
+            "AND b.status IN :statuses " +
+            "AND b.checkInDate < :toDate " +
+            "AND b.checkOutDate > :fromDate")
+    List<StaySlot> lockStaySlots(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
+    interface StaySlot {
+        Long getId();
+        Long getRoomId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+    }
+
+    // Rooms of a block booking, with guest and room details
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.guest " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.blockId = :blockId " +
+            "ORDER BY b.room.number ASC")
+    List<BookingModel> findByBlockIdWithDetails(@Param("blockId") Long blockId);
+
+    // Number of rooms per block and status, for block listings
+    @Query("SELECT b.blockId AS blockId, b.status AS status, COUNT(b) AS rooms FROM BookingModel b " +
+            "WHERE b.blockId IN :blockIds GROUP BY b.blockId, b.status")
+    List<BlockRoomCount> countByBlockIds(@Param("blockIds") Collection<Long> blockIds);
+
+    interface BlockRoomCount {
+        Long getBlockId();
+        BookingStatus getStatus();
+        Long getRooms();
+    }
+
+    // Find bookings with check-in date between range, with guest and room details
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.guest " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.checkInDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY b.checkInDate ASC")
+    List<BookingModel> findByCheckInDateBetweenWithDetails(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
     // Find bookings by status with details
     @Query("SELECT b FROM BookingModel b " +
             "LEFT JOIN FETCH b.guest " +
@@ -72,5 +218,129 @@ public interface BookingRepository extends JpaRepository<BookingModel, Long> {
     // ✅ FIXED: Find bookings checking out today
     List<BookingModel> findByCheckOutDateAndStatus(LocalDate date, BookingStatus status);
 
+    // Same as findByCheckInDateAndStatus, with guest and room details
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.guest " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.checkInDate = :date AND b.status = :status")
+    List<BookingModel> findByCheckInDateAndStatusWithDetails(
+            @Param("date") LocalDate date,
+            @Param("status") BookingStatus status
+    );
+
+    // Same as findByCheckOutDateAndStatus, with guest and room details
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.guest " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.checkOutDate = :date AND b.status = :status")
+    List<BookingModel> findByCheckOutDateAndStatusWithDetails(
+            @Param("date") LocalDate date,
+            @Param("status") BookingStatus status
+    );
+
+    // Departures within a date range, with guest and room details
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.guest " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.checkOutDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY b.checkOutDate ASC")
+    List<BookingModel> findByCheckOutDateBetweenWithDetails(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Stays covering at least one night in the range (checked in on or before endDate,
+    // leaving after startDate), with guest and room details
+    @Query("SELECT b FROM BookingModel b " +
+            "LEFT JOIN FETCH b.guest " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE b.checkInDate <= :endDate AND b.checkOutDate > :startDate " +
+            "ORDER BY b.checkInDate ASC")
+    List<BookingModel> findStayingBetweenWithDetails(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
     List<BookingModel> findByRoomIdAndStatusInAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(Long id, List<BookingStatus> activeStatuses, LocalDate newCheckOutDate, LocalDate localDate);
-}
\ No newline at end of file
+
+    // Booking id with its room id, used by chunked background jobs
+    interface BookingRoomRef {
+        Long getId();
+        Long getRoomId();
+    }
+
+    // Keyset page of bookings in a status whose check-in date is on or before a date
+    @Query("SELECT b.id AS id, b.room.id AS roomId FROM BookingModel b " +
+            "WHERE b.status = :status AND b.checkInDate <= :date AND b.id > :afterId " +
+            "ORDER BY b.id ASC")
+    List<BookingRoomRef> findRefsCheckingInOnOrBefore(
+            @Param("status") BookingStatus status,
+            @Param("date") LocalDate date,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Keyset page of bookings in a status whose check-out date is on or before a date
+    @Query("SELECT b.id AS id, b.room.id AS roomId FROM BookingModel b " +
+            "WHERE b.status = :status AND b.checkOutDate <= :date AND b.id > :afterId " +
+            "ORDER BY b.id ASC")
+    List<BookingRoomRef> findRefsCheckingOutOnOrBefore(
+            @Param("status") BookingStatus status,
+            @Param("date") LocalDate date,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Keyset page of bookings in the given statuses that checked out before a cutoff
+    @Query("SELECT b.id AS id, b.room.id AS roomId FROM BookingModel b " +
+            "WHERE b.status IN :statuses AND b.checkOutDate < :cutoff AND b.id > :afterId " +
+            "ORDER BY b.id ASC")
+    List<BookingRoomRef> findRefsCheckedOutBefore(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("cutoff") LocalDate cutoff,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Count stays in a status that should have departed by a date
+    long countByStatusAndCheckOutDateLessThanEqual(BookingStatus status, LocalDate date);
+
+    // Bulk transition guarded by the current status, so rows changed meanwhile are skipped
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BookingModel b SET b.status = :toStatus, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id IN :ids AND b.status = :fromStatus")
+    int transitionStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("fromStatus") BookingStatus fromStatus,
+            @Param("toStatus") BookingStatus toStatus
+    );
+
+    // Streams stays in the given statuses overlapping [startDate, endDate) for report jobs.
+    // Rows are projections, so the persistence context does not grow while the stream is read.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b.guest.id AS guestId, b.room.id AS roomId, b.checkInDate AS checkInDate, " +
+            "b.checkOutDate AS checkOutDate, b.totalAmount AS totalAmount FROM BookingModel b " +
+            "WHERE b.status IN :statuses AND b.checkInDate < :endDate AND b.checkOutDate > :startDate")
+    Stream<StayRow> streamStays(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // Count of the stays streamStays returns, for report progress
+    @Query("SELECT COUNT(b) FROM BookingModel b " +
+            "WHERE b.status IN :statuses AND b.checkInDate < :endDate AND b.checkOutDate > :startDate")
+    long countStays(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    interface StayRow {
+        Long getGuestId();
+        Long getRoomId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        Integer getTotalAmount();
+    }
+}
@@ -0,0 +1,14 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.ChecklistItemArchiveModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChecklistItemArchiveRepository extends JpaRepository<ChecklistItemArchiveModel, String> {
+
+    // Find archived checklist items by booking ID
+    List<ChecklistItemArchiveModel> findByBookingId(Long bookingId);
+}
@@ -3,16 +3,24 @@ package com.onlykei.hotel_management.repositories;
 import com.onlykei.hotel_management.models.ChecklistItemModel;
 import com.onlykei.hotel_management.models.ChecklistItemModel.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ChecklistItemRepository extends JpaRepository<ChecklistItemModel, Long> {
+public interface ChecklistItemRepository extends JpaRepository<ChecklistItemModel, String> {
 
     // Find checklist items by booking ID
     List<ChecklistItemModel> findByBookingId(Long bookingId);
 
+    // Find one checklist item of a booking
+    Optional<ChecklistItemModel> findByIdAndBookingId(String id, Long bookingId);
+
     // Find checklist items by booking ID and category
     List<ChecklistItemModel> findByBookingIdAndCategory(Long bookingId, Category category);
 
@@ -21,4 +29,17 @@ public interface ChecklistItemRepository extends JpaRepository<ChecklistItemMode
 
     // Delete all checklist items by booking ID
     void deleteByBookingId(Long bookingId);
+
+    // Find checklist items of several bookings in one query
+    List<ChecklistItemModel> findByBookingIdIn(Collection<Long> bookingIds);
+
+    // Delete checklist items of several bookings in one statement
+    @Modifying
+    @Query("DELETE FROM ChecklistItemModel c WHERE c.booking.id IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Delete one checklist item of a booking in one statement
+    @Modifying
+    @Query("DELETE FROM ChecklistItemModel c WHERE c.id = :id AND c.booking.id = :bookingId")
+    int deleteByIdAndBookingId(@Param("id") String id, @Param("bookingId") Long bookingId);
 }
\ No newline at end of file
@@ -1,7 +1,34 @@
 package com.onlykei.hotel_management.repositories;
 
 import com.onlykei.hotel_management.models.ExpensesModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
 
 public interface ExpensesRepository extends JpaRepository<ExpensesModel,Long> {
+
+    // Expenses incurred within a date range, one page at a time
+    Page<ExpensesModel> findByDateIncurredBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // Streams expense dates and amounts within a date range for report jobs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.dateIncurred AS dateIncurred, e.amount AS amount FROM ExpensesModel e " +
+            "WHERE e.dateIncurred BETWEEN :startDate AND :endDate")
+    Stream<ExpenseRow> streamAmounts(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Count of the rows streamAmounts returns, for report progress
+    long countByDateIncurredBetween(LocalDate startDate, LocalDate endDate);
+
+    interface ExpenseRow {
+        LocalDate getDateIncurred();
+        Double getAmount();
+    }
 }
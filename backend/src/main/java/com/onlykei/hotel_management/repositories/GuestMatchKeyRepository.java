@@ -0,0 +1,22 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.GuestMatchKeyModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GuestMatchKeyRepository extends JpaRepository<GuestMatchKeyModel, Long> {
+
+    @Query("SELECT DISTINCT k.guestId FROM GuestMatchKeyModel k WHERE k.matchKey IN :keys")
+    List<Long> findGuestIdsByMatchKeyIn(@Param("keys") Collection<String> keys);
+
+    @Modifying
+    @Query("DELETE FROM GuestMatchKeyModel k WHERE k.guestId = :guestId")
+    int deleteByGuestId(@Param("guestId") Long guestId);
+}
@@ -2,8 +2,12 @@ package com.onlykei.hotel_management.repositories;
 
 import com.onlykei.hotel_management.models.GuestModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,6 +47,66 @@ public interface GuestRepository extends JpaRepository<GuestModel, Long> {
     // Find guests by country
     // Example: findByCountry("Philippines")
     List<GuestModel> findByCountry(String country);
+
+    // Guests with their bookings and booked rooms in one query, for list rows
+    @Query("SELECT DISTINCT g FROM GuestModel g " +
+            "LEFT JOIN FETCH g.bookings b " +
+            "LEFT JOIN FETCH b.room " +
+            "ORDER BY g.id")
+    List<GuestModel> findAllWithBookings();
+
+    @Query("SELECT DISTINCT g FROM GuestModel g " +
+            "LEFT JOIN FETCH g.bookings b " +
+            "LEFT JOIN FETCH b.room " +
+            "WHERE g.id IN :ids")
+    List<GuestModel> findAllByIdWithBookings(@Param("ids") Collection<Long> ids);
+
+    // One guest with its bookings; their checklists come from BookingRepository.findByGuestIdWithChecklist
+    @Query("SELECT g FROM GuestModel g " +
+            "LEFT JOIN FETCH g.bookings " +
+            "WHERE g.id = :id")
+    Optional<GuestModel> findByIdWithBookings(@Param("id") Long id);
+
+    // The fields duplicate detection compares, without loading whole guests
+    interface GuestMatchRow {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        LocalDate getBirthDate();
+        String getEmailAddress();
+        String getMobileNo();
+        String getTelephoneNo();
+        String getIdentificationNo();
+    }
+
+    @Query("SELECT g.id AS id, g.firstName AS firstName, g.lastName AS lastName, g.birthDate AS birthDate, " +
+            "g.emailAddress AS emailAddress, g.mobileNo AS mobileNo, g.telephoneNo AS telephoneNo, " +
+            "g.identificationNo AS identificationNo " +
+            "FROM GuestModel g")
+    List<GuestMatchRow> findAllMatchRows();
+
+    @Query("SELECT g.id AS id, g.firstName AS firstName, g.lastName AS lastName, g.birthDate AS birthDate, " +
+            "g.emailAddress AS emailAddress, g.mobileNo AS mobileNo, g.telephoneNo AS telephoneNo, " +
+            "g.identificationNo AS identificationNo " +
+            "FROM GuestModel g WHERE g.id IN :ids")
+    List<GuestMatchRow> findMatchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Guests written before their keys were indexed, or outside GuestService
+    @Query("SELECT g.id AS id, g.firstName AS firstName, g.lastName AS lastName, g.birthDate AS birthDate, " +
+            "g.emailAddress AS emailAddress, g.mobileNo AS mobileNo, g.telephoneNo AS telephoneNo, " +
+            "g.identificationNo AS identificationNo " +
+            "FROM GuestModel g WHERE NOT EXISTS (SELECT k.id FROM GuestMatchKeyModel k WHERE k.guestId = g.id)")
+    List<GuestMatchRow> findMatchRowsWithoutKeys();
+
+    // Names of a set of guests, for reports that only carry guest ids
+    interface GuestNameRow {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+    }
+
+    @Query("SELECT g.id AS id, g.firstName AS firstName, g.lastName AS lastName FROM GuestModel g WHERE g.id IN :ids")
+    List<GuestNameRow> findNamesByIds(@Param("ids") Collection<Long> ids);
 }
 
 /*
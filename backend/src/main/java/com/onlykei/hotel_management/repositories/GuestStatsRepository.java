@@ -0,0 +1,78 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.GuestStatsModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface GuestStatsRepository extends JpaRepository<GuestStatsModel, Long> {
+
+    // Adds stay figures to a guest's row in place, so concurrent check-ins never lose an update.
+    // Returns 0 when the guest has no row yet; see insertOrAddStays.
+    @Modifying
+    @Query("UPDATE GuestStatsModel s SET " +
+            "s.stayCount = s.stayCount + :stays, " +
+            "s.totalNights = s.totalNights + :nights, " +
+            "s.totalSpend = s.totalSpend + :spend, " +
+            "s.lastStayDate = CASE WHEN s.lastStayDate IS NULL OR s.lastStayDate < :stayDate " +
+            "THEN :stayDate ELSE s.lastStayDate END, " +
+            "s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.guestId = :guestId")
+    int addStays(
+            @Param("guestId") Long guestId,
+            @Param("stays") int stays,
+            @Param("nights") int nights,
+            @Param("spend") long spend,
+            @Param("stayDate") LocalDate stayDate
+    );
+
+    // Creates a guest's row from its recomputed totals. When a concurrent first stay of the same
+    // guest inserted the row meanwhile, the insert waits for that transaction and adds only this
+    // transaction's figures, which the other row cannot contain yet.
+    @Modifying
+    @Query(value = "INSERT INTO guest_stats (guest_id, stay_count, total_nights, total_spend, last_stay_date, updated_at) " +
+            "VALUES (:guestId, :totalStays, :totalNights, :totalSpend, :lastStayDate, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "stay_count = stay_count + :stays, " +
+            "total_nights = total_nights + :nights, " +
+            "total_spend = total_spend + :spend, " +
+            "last_stay_date = CASE WHEN last_stay_date IS NULL OR last_stay_date < :stayDate " +
+            "THEN :stayDate ELSE last_stay_date END, " +
+            "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int insertOrAddStays(
+            @Param("guestId") Long guestId,
+            @Param("totalStays") int totalStays,
+            @Param("totalNights") int totalNights,
+            @Param("totalSpend") long totalSpend,
+            @Param("lastStayDate") LocalDate lastStayDate,
+            @Param("stays") int stays,
+            @Param("nights") int nights,
+            @Param("spend") long spend,
+            @Param("stayDate") LocalDate stayDate
+    );
+
+    // Guests ranked by the pageable's sort; reads only guest_stats and the guest rows returned
+    @Query("SELECT s.guestId AS guestId, g.firstName AS firstName, g.lastName AS lastName, " +
+            "s.stayCount AS stayCount, s.totalNights AS totalNights, s.totalSpend AS totalSpend, " +
+            "s.lastStayDate AS lastStayDate " +
+            "FROM GuestStatsModel s JOIN GuestModel g ON g.id = s.guestId")
+    List<GuestStatsRow> findTopGuests(Pageable pageable);
+
+    interface GuestStatsRow {
+        Long getGuestId();
+        String getFirstName();
+        String getLastName();
+        Integer getStayCount();
+        Integer getTotalNights();
+        Long getTotalSpend();
+        LocalDate getLastStayDate();
+    }
+}
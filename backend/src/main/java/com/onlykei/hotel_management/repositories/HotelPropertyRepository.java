@@ -0,0 +1,11 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.HotelPropertyModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HotelPropertyRepository extends JpaRepository<HotelPropertyModel, Long> {
+
+    boolean existsByCodeIgnoreCase(String code);
+}
@@ -0,0 +1,25 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.IdempotencyRecordModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecordModel, String> {
+
+    // Find a stored response that has not expired yet
+    Optional<IdempotencyRecordModel> findByKeyHashAndExpiresAtAfter(String keyHash, LocalDateTime now);
+
+    // Remove expired responses in one statement
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecordModel r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,15 +1,26 @@
 package com.onlykei.hotel_management.repositories;
 
+import com.onlykei.hotel_management.dtos.InventoryItemDTO;
 import com.onlykei.hotel_management.models.InventoryItemModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface InventoryRepository extends JpaRepository<InventoryItemModel, Long> {
-    // JpaRepository provides all basic CRUD operations
-    // You can add custom query methods here if needed
 
-    // Examples of custom queries you might want:
-    // List<InventoryItemModel> findByCategory(String category);
-    // List<InventoryItemModel> findByCurrentLevelLessThanEqual(Integer level);
-}
\ No newline at end of file
+    // Lists read rows, never managed entities: they are shared between coalesced callers
+    @Query("SELECT new com.onlykei.hotel_management.dtos.InventoryItemDTO(" +
+            "i.id, i.name, i.category, i.quantity, i.currentLevel, i.minimumLevel, i.unit, i.notes, i.lastRestocked) " +
+            "FROM InventoryItemModel i ORDER BY i.id")
+    List<InventoryItemDTO> findAllSummaries();
+
+    @Query("SELECT new com.onlykei.hotel_management.dtos.InventoryItemDTO(" +
+            "i.id, i.name, i.category, i.quantity, i.currentLevel, i.minimumLevel, i.unit, i.notes, i.lastRestocked) " +
+            "FROM InventoryItemModel i WHERE i.id IN :ids")
+    List<InventoryItemDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.models.NightAuditCheckpointModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface NightAuditCheckpointRepository
+        extends JpaRepository<NightAuditCheckpointModel, NightAuditCheckpointModel.Key> {
+
+    // Run of one property for one business date
+    Optional<NightAuditCheckpointModel> findByPropertyIdAndAuditDate(Long propertyId, LocalDate auditDate);
+
+    // Most recent run of a property, for the dashboard
+    Optional<NightAuditCheckpointModel> findTopByPropertyIdOrderByAuditDateDesc(Long propertyId);
+}
@@ -1,13 +1,16 @@
 package com.onlykei.hotel_management.repositories;
 
+import com.onlykei.hotel_management.dtos.RoomDTO;
 import com.onlykei.hotel_management.models.RoomModel;
 import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +54,63 @@ public interface RoomRepository extends JpaRepository<RoomModel, Long> {
             @Param("checkOutDate") LocalDate checkOutDate
     );
 
+    // Slim room rows without amenities or bookings, for list responses
+    @Query("SELECT new com.onlykei.hotel_management.dtos.RoomDTO(" +
+            "r.id, r.number, r.type, r.pricePerNight, r.status, r.description, r.capacity) " +
+            "FROM RoomModel r ORDER BY r.number")
+    List<RoomDTO> findAllSummaries();
+
+    @Query("SELECT new com.onlykei.hotel_management.dtos.RoomDTO(" +
+            "r.id, r.number, r.type, r.pricePerNight, r.status, r.description, r.capacity) " +
+            "FROM RoomModel r WHERE r.status = :status ORDER BY r.number")
+    List<RoomDTO> findSummariesByStatus(@Param("status") RoomStatus status);
+
+    @Query("SELECT new com.onlykei.hotel_management.dtos.RoomDTO(" +
+            "r.id, r.number, r.type, r.pricePerNight, r.status, r.description, r.capacity) " +
+            "FROM RoomModel r WHERE r.id = :id")
+    Optional<RoomDTO> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT new com.onlykei.hotel_management.dtos.RoomDTO(" +
+            "r.id, r.number, r.type, r.pricePerNight, r.status, r.description, r.capacity) " +
+            "FROM RoomModel r WHERE r.id IN :ids")
+    List<RoomDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Same predicate as findAvailableRooms, projected to slim rows
+    @Query("SELECT new com.onlykei.hotel_management.dtos.RoomDTO(" +
+            "r.id, r.number, r.type, r.pricePerNight, r.status, r.description, r.capacity) " +
+            "FROM RoomModel r WHERE r.status = 'available' " +
+            "AND r.id NOT IN (" +
+            "  SELECT b.room.id FROM BookingModel b " +
+            "  WHERE b.status IN ('confirmed', 'checked_in') " +
+            "  AND ((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate))" +
+            ") ORDER BY r.number")
+    List<RoomDTO> findAvailableRoomSummaries(
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate
+    );
+
+    // Room id with one amenity
+    interface RoomAmenityRef {
+        Long getRoomId();
+        String getAmenity();
+    }
+
+    // Amenities of several rooms in one query
+    @Query("SELECT r.id AS roomId, a AS amenity FROM RoomModel r JOIN r.amenities a WHERE r.id IN :roomIds")
+    List<RoomAmenityRef> findAmenitiesByRoomIds(@Param("roomIds") Collection<Long> roomIds);
+
     // Count rooms by status
     Long countByStatus(RoomStatus status);
+
+    // Bulk status update for batch check-in/check-out
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomModel r SET r.status = :status WHERE r.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") RoomStatus status);
+
+    // Mark occupied rooms available once no checked-in stay remains in them
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomModel r SET r.status = 'available' " +
+            "WHERE r.id IN :ids AND r.status = 'occupied' " +
+            "AND NOT EXISTS (SELECT b.id FROM BookingModel b WHERE b.room = r AND b.status = 'checked_in')")
+    int releaseVacantRooms(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.dtos.ArchiveRunDTO;
+import com.onlykei.hotel_management.dtos.BookingSummaryDTO;
+import com.onlykei.hotel_management.events.BookingEvent;
+import com.onlykei.hotel_management.models.BookingArchiveModel;
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.ChecklistItemArchiveModel;
+import com.onlykei.hotel_management.models.ChecklistItemModel;
+import com.onlykei.hotel_management.repositories.BookingArchiveRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.BookingRoomRef;
+import com.onlykei.hotel_management.repositories.ChecklistItemArchiveRepository;
+import com.onlykei.hotel_management.repositories.ChecklistItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves closed bookings (checked out or cancelled) older than the retention window into
+ * the archive tables, and serves history reads that span live and archived rows. Archived rows
+ * keep their property; the scheduled run archives the properties one after another.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    private static final List<BookingStatus> CLOSED_STATUSES = List.of(BookingStatus.checked_out, BookingStatus.cancelled);
+
+    private final BookingRepository bookingRepository;
+    private final ChecklistItemRepository checklistItemRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final ChecklistItemArchiveRepository checklistItemArchiveRepository;
+    private final PropertyService propertyService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public ArchiveService(
+            BookingRepository bookingRepository,
+            ChecklistItemRepository checklistItemRepository,
+            BookingArchiveRepository bookingArchiveRepository,
+            ChecklistItemArchiveRepository checklistItemArchiveRepository,
+            PropertyService propertyService,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${archive.enabled:true}") boolean enabled,
+            @Value("${archive.retention-days:180}") int retentionDays,
+            @Value("${archive.batch-size:500}") int batchSize
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.checklistItemRepository = checklistItemRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.checklistItemArchiveRepository = checklistItemArchiveRepository;
+        this.propertyService = propertyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        propertyService.forEachProperty("Booking archive", propertyId -> {
+            ArchiveRunDTO run = archiveClosedBookings();
+            log.info("Archived {} bookings and {} checklist items of property {} checked out before {}",
+                    run.getBookingsArchived(), run.getChecklistItemsArchived(), propertyId, run.getCutoffDate());
+        });
+    }
+
+    /**
+     * Archives the current property's closed bookings in batches; each batch copies and deletes its rows in its own transaction.
+     */
+    public ArchiveRunDTO archiveClosedBookings() {
+        long started = System.currentTimeMillis();
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+
+        int bookings = 0;
+        int checklistItems = 0;
+        int batches = 0;
+        long afterId = 0L;
+
+        while (true) {
+            List<BookingRoomRef> refs = bookingRepository.findRefsCheckedOutBefore(
+                    CLOSED_STATUSES, cutoff, afterId, PageRequest.of(0, batchSize));
+            if (refs.isEmpty()) {
+                break;
+            }
+            List<Long> ids = refs.stream().map(BookingRoomRef::getId).toList();
+            afterId = ids.get(ids.size() - 1);
+
+            int[] moved = transactionTemplate.execute(status -> archiveBatch(ids));
+            if (moved != null) {
+                bookings += moved[0];
+                checklistItems += moved[1];
+            }
+            batches++;
+
+            if (refs.size() < batchSize) {
+                break;
+            }
+        }
+
+        return ArchiveRunDTO.builder()
+                .cutoffDate(cutoff)
+                .bookingsArchived(bookings)
+                .checklistItemsArchived(checklistItems)
+                .batches(batches)
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+    }
+
+    private int[] archiveBatch(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Re-read inside the transaction and re-check the status in case the row changed
+        List<BookingModel> bookings = bookingRepository.findAllByIdWithDetails(ids).stream()
+                .filter(b -> CLOSED_STATUSES.contains(b.getStatus()))
+                .toList();
+        if (bookings.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        List<Long> bookingIds = bookings.stream().map(BookingModel::getId).toList();
+        List<ChecklistItemModel> items = checklistItemRepository.findByBookingIdIn(bookingIds);
+
+        bookingArchiveRepository.saveAll(bookings.stream().map(b -> toArchive(b, now)).toList());
+        checklistItemArchiveRepository.saveAll(items.stream().map(this::toArchive).toList());
+        bookingArchiveRepository.flush();
+
+        checklistItemRepository.deleteByBookingIds(bookingIds);
+        bookingRepository.deleteAllByIdInBatch(bookingIds);
+        bookings.forEach(b -> eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.deleted, b)));
+        return new int[]{bookings.size(), items.size()};
+    }
+
+    /**
+     * Full stay history of a guest, from the live table and the archive.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingSummaryDTO> getGuestHistory(Long guestId) {
+        Stream<BookingSummaryDTO> live = bookingRepository.findByGuestIdWithRoom(guestId).stream()
+                .map(b -> BookingSummaryDTO.builder()
+                        .id(b.getId())
+                        .checkInDate(b.getCheckInDate())
+                        .checkOutDate(b.getCheckOutDate())
+                        .roomNumber(b.getRoom().getNumber())
+                        .build());
+        Stream<BookingSummaryDTO> archived = bookingArchiveRepository.findByGuestIdOrderByCheckInDateDesc(guestId).stream()
+                .map(b -> BookingSummaryDTO.builder()
+                        .id(b.getId())
+                        .checkInDate(b.getCheckInDate())
+                        .checkOutDate(b.getCheckOutDate())
+                        .roomNumber(b.getRoomNumber())
+                        .build());
+
+        return Stream.concat(live, archived)
+                .sorted(Comparator.comparing(BookingSummaryDTO::getCheckInDate).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * CSV export of bookings checking in within a date range, including archived bookings.
+     */
+    @Transactional(readOnly = true)
+    public String exportBookingsCsv(LocalDate startDate, LocalDate endDate) {
+        List<String[]> rows = new ArrayList<>();
+        for (BookingModel b : bookingRepository.findByCheckInDateBetweenWithDetails(startDate, endDate)) {
+            rows.add(new String[]{
+                    String.valueOf(b.getId()), String.valueOf(b.getGuest().getId()),
+                    String.valueOf(b.getRoom().getId()), b.getRoom().getNumber(),
+                    String.valueOf(b.getCheckInDate()), String.valueOf(b.getCheckOutDate()),
+                    String.valueOf(b.getAdults()), String.valueOf(b.getChildren()),
+                    String.valueOf(b.getTotalAmount()), b.getStatus().name(),
+                    b.getPaymentStatus().name(), "false"
+            });
+        }
+        for (BookingArchiveModel b : bookingArchiveRepository.findByCheckInDateBetweenOrderByCheckInDateAsc(startDate, endDate)) {
+            rows.add(new String[]{
+                    String.valueOf(b.getId()), String.valueOf(b.getGuestId()),
+                    String.valueOf(b.getRoomId()), b.getRoomNumber(),
+                    String.valueOf(b.getCheckInDate()), String.valueOf(b.getCheckOutDate()),
+                    String.valueOf(b.getAdults()), String.valueOf(b.getChildren()),
+                    String.valueOf(b.getTotalAmount()), b.getStatus().name(),
+                    b.getPaymentStatus().name(), "true"
+            });
+        }
+        rows.sort(Comparator.comparing((String[] r) -> r[4]));
+
+        StringBuilder csv = new StringBuilder(
+                "id,guestId,roomId,roomNumber,checkInDate,checkOutDate,adults,children,totalAmount,status,paymentStatus,archived\n");
+        for (String[] row : rows) {
+            csv.append(Stream.of(row).map(ArchiveService::csvField).collect(Collectors.joining(","))).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private BookingArchiveModel toArchive(BookingModel booking, LocalDateTime archivedAt) {
+        return BookingArchiveModel.builder()
+                .id(booking.getId())
+                .guestId(booking.getGuest().getId())
+                .roomId(booking.getRoom().getId())
+                .roomNumber(booking.getRoom().getNumber())
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .adults(booking.getAdults())
+                .children(booking.getChildren())
+                .totalAmount(booking.getTotalAmount())
+                .status(booking.getStatus())
+                .paymentStatus(booking.getPaymentStatus())
+                .notes(booking.getNotes())
+                .createdAt(booking.getCreatedAt())
+                .updatedAt(booking.getUpdatedAt())
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    private ChecklistItemArchiveModel toArchive(ChecklistItemModel item) {
+        return ChecklistItemArchiveModel.builder()
+                .id(item.getId())
+                .bookingId(item.getBooking().getId())
+                .item(item.getItem())
+                .category(item.getCategory())
+                .completed(item.getCompleted())
+                .notes(item.getNotes())
+                .build();
+    }
+}
@@ -0,0 +1,247 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.BookingBlockDTO;
+import com.onlykei.hotel_management.dtos.BookingDTO;
+import com.onlykei.hotel_management.dtos.CreateBookingBlockRequest;
+import com.onlykei.hotel_management.dtos.ReleaseBlockRoomsRequest;
+import com.onlykei.hotel_management.events.BookingEvent;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
+import com.onlykei.hotel_management.models.BookingBlockModel;
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.BookingModel.PaymentStatus;
+import com.onlykei.hotel_management.models.RoomModel;
+import com.onlykei.hotel_management.repositories.BookingBlockRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.BlockRoomCount;
+import com.onlykei.hotel_management.repositories.GuestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Block bookings: N rooms of one type for the same dates, reserved in one call.
+ *
+ * The rooms are found in a single pass over the type's calendar and claimed together by the
+ * assignment engine, then every booking is inserted with one JDBC batch in the same
+ * transaction, so a block is reserved completely or not at all. The rooms are room-type
+ * reservations like any other and may be moved within their type until arrival. Unused
+ * rooms are released with one guarded bulk update.
+ */
+@Slf4j
+@Service
+public class BookingBlockService {
+
+    private static final String INSERT_SQL = "INSERT INTO bookings (property_id, guest_id, room_id, room_type, block_id, " +
+            "check_in_date, check_out_date, adults, children, total_amount, status, payment_status, notes, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BookingBlockRepository bookingBlockRepository;
+    private final BookingRepository bookingRepository;
+    private final GuestRepository guestRepository;
+    private final BookingService bookingService;
+    private final RoomAssignmentService roomAssignmentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxRooms;
+
+    public BookingBlockService(
+            BookingBlockRepository bookingBlockRepository,
+            BookingRepository bookingRepository,
+            GuestRepository guestRepository,
+            BookingService bookingService,
+            RoomAssignmentService roomAssignmentService,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            @Value("${booking-blocks.max-rooms:200}") int maxRooms
+    ) {
+        this.bookingBlockRepository = bookingBlockRepository;
+        this.bookingRepository = bookingRepository;
+        this.guestRepository = guestRepository;
+        this.bookingService = bookingService;
+        this.roomAssignmentService = roomAssignmentService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRooms = maxRooms;
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingBlockDTO> getBlocks() {
+        List<BookingBlockModel> blocks = bookingBlockRepository.findAllByOrderByCheckInDateAsc();
+        if (blocks.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Map<BookingStatus, Integer>> counts = new HashMap<>();
+        for (BlockRoomCount count : bookingRepository.countByBlockIds(
+                blocks.stream().map(BookingBlockModel::getId).toList())) {
+            counts.computeIfAbsent(count.getBlockId(), id -> new EnumMap<>(BookingStatus.class))
+                    .put(count.getStatus(), count.getRooms().intValue());
+        }
+        return blocks.stream()
+                .map(block -> toDTO(block, counts.getOrDefault(block.getId(), Map.of()), null))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public BookingBlockDTO getBlock(Long blockId) {
+        BookingBlockModel block = find(blockId);
+        List<BookingDTO> bookings = bookingService.getBlockBookings(blockId);
+        return toDTO(block, countByStatus(bookings), bookings);
+    }
+
+    @Transactional
+    public BookingBlockDTO createBlock(CreateBookingBlockRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (request.getGuestId() == null || request.getRoomType() == null || request.getRoomType().isBlank()
+                || request.getCheckInDate() == null || request.getCheckOutDate() == null) {
+            throw new IllegalArgumentException("guestId, roomType, checkInDate and checkOutDate are required");
+        }
+        if (request.getRooms() == null || request.getRooms() < 1 || request.getRooms() > maxRooms) {
+            throw new IllegalArgumentException("rooms must be between 1 and " + maxRooms);
+        }
+        int adults = request.getAdultsPerRoom() != null ? request.getAdultsPerRoom() : 1;
+        int children = request.getChildrenPerRoom() != null ? request.getChildrenPerRoom() : 0;
+        if (adults < 1 || children < 0) {
+            throw new IllegalArgumentException("adultsPerRoom must be at least 1 and childrenPerRoom not negative");
+        }
+        PaymentStatus paymentStatus = request.getPaymentStatus() != null
+                ? PaymentStatus.valueOf(request.getPaymentStatus().toLowerCase())
+                : PaymentStatus.pending;
+        if (!guestRepository.existsById(request.getGuestId())) {
+            throw new ResourceNotFoundException("Guest not found with id: " + request.getGuestId());
+        }
+
+        // One availability pass; every room is claimed before anything is written
+        String roomType = request.getRoomType().trim();
+        List<RoomModel> rooms = roomAssignmentService.assignRooms(roomType, request.getCheckInDate(),
+                request.getCheckOutDate(), request.getRooms());
+
+        BookingBlockModel block = bookingBlockRepository.saveAndFlush(BookingBlockModel.builder()
+                .name(request.getName().trim())
+                .guestId(request.getGuestId())
+                .roomType(roomType)
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .roomsRequested(request.getRooms())
+                .notes(request.getNotes())
+                .build());
+
+        long nights = ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(rooms.size());
+        for (RoomModel room : rooms) {
+            rows.add(new Object[]{
+                    PropertyContext.current(), request.getGuestId(), room.getId(), roomType, block.getId(),
+                    Date.valueOf(request.getCheckInDate()), Date.valueOf(request.getCheckOutDate()),
+                    adults, children, room.getPricePerNight() * (int) nights,
+                    BookingStatus.confirmed.name(), paymentStatus.name(), request.getNotes(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        List<BookingModel> bookings = bookingRepository.findByBlockIdWithDetails(block.getId());
+        bookings.forEach(booking -> eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.created, booking)));
+        log.info("Block {} reserved {} {} rooms from {} to {}", block.getId(), bookings.size(), roomType,
+                request.getCheckInDate(), request.getCheckOutDate());
+
+        List<BookingDTO> rowsRead = bookingService.getBlockBookings(block.getId());
+        return toDTO(block, countByStatus(rowsRead), rowsRead);
+    }
+
+    /**
+     * Cancels unused (confirmed) rooms of the block: the given bookings, the given number of
+     * rooms (highest room numbers first), or all of them.
+     */
+    @Transactional
+    public BookingBlockDTO releaseRooms(Long blockId, ReleaseBlockRoomsRequest request) {
+        find(blockId);
+        List<BookingModel> unused = bookingRepository.findByBlockIdWithDetails(blockId).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.confirmed)
+                .toList();
+
+        List<BookingModel> released;
+        if (request != null && request.getBookingIds() != null && !request.getBookingIds().isEmpty()) {
+            Map<Long, BookingModel> unusedById = unused.stream()
+                    .collect(Collectors.toMap(BookingModel::getId, Function.identity()));
+            released = new ArrayList<>();
+            for (Long bookingId : new LinkedHashSet<>(request.getBookingIds())) {
+                BookingModel booking = unusedById.get(bookingId);
+                if (booking == null) {
+                    throw new IllegalArgumentException("Booking " + bookingId + " is not an unused room of block " + blockId);
+                }
+                released.add(booking);
+            }
+        } else if (request != null && request.getCount() != null) {
+            if (request.getCount() < 1 || request.getCount() > unused.size()) {
+                throw new IllegalArgumentException("count must be between 1 and " + unused.size());
+            }
+            released = unused.subList(unused.size() - request.getCount(), unused.size());
+        } else {
+            released = unused;
+        }
+        if (released.isEmpty()) {
+            return getBlock(blockId);
+        }
+
+        Map<Long, Long> roomByBooking = released.stream()
+                .collect(Collectors.toMap(BookingModel::getId, booking -> booking.getRoom().getId()));
+        int cancelled = bookingRepository.transitionStatus(roomByBooking.keySet(), BookingStatus.confirmed,
+                BookingStatus.cancelled);
+        // Rooms checked in meanwhile were skipped by the guarded update
+        bookingRepository.findAllById(roomByBooking.keySet()).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.cancelled)
+                .forEach(booking -> eventPublisher.publishEvent(BookingEvent.statusChange(BookingEvent.Type.cancelled,
+                        booking.getId(), roomByBooking.get(booking.getId()), BookingStatus.cancelled)));
+        log.info("Block {} released {} of {} requested rooms", blockId, cancelled, released.size());
+        return getBlock(blockId);
+    }
+
+    private BookingBlockModel find(Long blockId) {
+        return bookingBlockRepository.findById(blockId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking block not found with id: " + blockId));
+    }
+
+    private static Map<BookingStatus, Integer> countByStatus(List<BookingDTO> bookings) {
+        Map<BookingStatus, Integer> counts = new EnumMap<>(BookingStatus.class);
+        bookings.forEach(booking -> counts.merge(BookingStatus.valueOf(booking.getStatus()), 1, Integer::sum));
+        return counts;
+    }
+
+    private static BookingBlockDTO toDTO(BookingBlockModel block, Map<BookingStatus, Integer> counts,
+                                         List<BookingDTO> bookings) {
+        return BookingBlockDTO.builder()
+                .id(block.getId())
+                .name(block.getName())
+                .guestId(block.getGuestId())
+                .roomType(block.getRoomType())
+                .checkInDate(block.getCheckInDate())
+                .checkOutDate(block.getCheckOutDate())
+                .roomsRequested(block.getRoomsRequested())
+                .roomsUnused(counts.getOrDefault(BookingStatus.confirmed, 0))
+                .roomsInHouse(counts.getOrDefault(BookingStatus.checked_in, 0))
+                .roomsReleased(counts.getOrDefault(BookingStatus.cancelled, 0))
+                .notes(block.getNotes())
+                .createdAt(block.getCreatedAt())
+                .bookings(bookings)
+                .build();
+    }
+}
@@ -0,0 +1,261 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.DashboardCountersDTO;
+import com.onlykei.hotel_management.events.BookingEvent;
+import com.onlykei.hotel_management.events.BookingEventJournal;
+import com.onlykei.hotel_management.events.BookingJournalProjection;
+import com.onlykei.hotel_management.events.BookingJournalProjection.Counters;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Feeds committed booking events into the journal and the in-memory projection.
+ *
+ * The database stays the source of truth: on startup the replayed projection is served right
+ * away and compared with the open bookings in the database in the background. When they differ
+ * (an append lost in a crash or a failed write), the journal is reseeded with a snapshot of the
+ * database. Snapshots also compact the journal once it spans more than {@code journal.max-segments}
+ * segments.
+ */
+@Slf4j
+@Service
+public class BookingJournalService {
+
+    private static final List<BookingStatus> OPEN = List.of(BookingStatus.confirmed, BookingStatus.checked_in);
+
+    private final BookingEventJournal journal;
+    private final BookingJournalProjection projection;
+    private final BookingRepository bookingRepository;
+    private final PropertyService propertyService;
+    private final Duration appendTimeout;
+    private final int maxSegments;
+
+    // Last append of the current thread not yet waited for, see awaitJournaled
+    private final ThreadLocal<CompletableFuture<Long>> pendingAppend = new ThreadLocal<>();
+
+    private final ExecutorService reconciler = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "journal-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookingJournalService(
+            BookingEventJournal journal,
+            BookingJournalProjection projection,
+            BookingRepository bookingRepository,
+            PropertyService propertyService,
+            @Value("${journal.append-timeout:PT2S}") Duration appendTimeout,
+            @Value("${journal.max-segments:4}") int maxSegments
+    ) {
+        this.journal = journal;
+        this.projection = projection;
+        this.bookingRepository = bookingRepository;
+        this.propertyService = propertyService;
+        this.appendTimeout = appendTimeout;
+        this.maxSegments = Math.max(maxSegments, 1);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        pendingAppend.set(journal.append(event));
+        projection.apply(event);
+    }
+
+    /**
+     * Waits until the thread's last append is on disk. After-commit listeners run in order, so in a
+     * transaction that published several events this runs after every onBookingEvent call, and
+     * the whole transaction waits on the force of its last append.
+     */
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void awaitJournaled(BookingEvent event) {
+        CompletableFuture<Long> appended = pendingAppend.get();
+        if (appended == null) {
+            return;
+        }
+        pendingAppend.remove();
+        try {
+            appended.get(appendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Booking event {} for booking {} was not journaled; the journal is reseeded from the database " +
+                    "on the next start", event.type(), event.bookingId(), e);
+        }
+    }
+
+    /**
+     * Replays the journal into the projection and hands the check against the database to the
+     * reconciler, so startup does not wait for every property's open bookings to load. Without a
+     * journal, or when it cannot be replayed, the projection is seeded from the database instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        // Events committed meanwhile wait for the lock and apply on top of the rebuilt state
+        synchronized (projection) {
+            projection.clear();
+            if (!journal.isEnabled()) {
+                openBookings().values().forEach(events -> events.forEach(projection::apply));
+                log.info("Booking projection loaded from the database in {} ms", (System.nanoTime() - started) / 1_000_000);
+                return;
+            }
+            try {
+                journal.replay(projection::apply);
+            } catch (IOException e) {
+                log.error("Failed to replay booking journal; reseeding it from the database", e);
+                reseed();
+                return;
+            }
+        }
+        log.info("Booking projection replayed from {} events in {} ms",
+                projection.eventsApplied(), (System.nanoTime() - started) / 1_000_000);
+        reconciler.execute(this::reconcile);
+    }
+
+    /**
+     * Compares the replayed projection with the open bookings in the database and reseeds the
+     * journal when they differ. Holds the projection lock throughout, so events committed
+     * meanwhile wait and apply on top of whichever state it leaves.
+     */
+    private void reconcile() {
+        long started = System.nanoTime();
+        try {
+            synchronized (projection) {
+                int differences = 0;
+                for (Map.Entry<Long, List<BookingEvent>> property : openBookings().entrySet()) {
+                    differences += projection.differences(property.getKey(), property.getValue());
+                }
+                if (differences > 0) {
+                    log.warn("Booking journal differs from the database in {} bookings; reseeding it", differences);
+                }
+                if (differences > 0 || compactionDue()) {
+                    reseed();
+                }
+            }
+            log.info("Booking projection checked against the database in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to check the booking projection against the database", e);
+        }
+    }
+
+    /**
+     * Replaces the journal's older segments with a snapshot once they pile up.
+     */
+    @Scheduled(fixedDelayString = "${journal.compaction-check-interval:PT1H}",
+            initialDelayString = "${journal.compaction-check-interval:PT1H}")
+    public void compactIfDue() {
+        if (compactionDue()) {
+            compact();
+        }
+    }
+
+    public DashboardCountersDTO getCounters(LocalDate date) {
+        Counters counters = projection.counters(PropertyContext.current(), date);
+        TreeMap<String, Long> eventCounts = new TreeMap<>();
+        counters.eventCounts().forEach((type, count) -> eventCounts.put(type.name(), count));
+
+        return DashboardCountersDTO.builder()
+                .date(date)
+                .confirmed(counters.confirmed())
+                .checkedIn(counters.checkedIn())
+                .arrivals(counters.arrivals())
+                .departures(counters.departures())
+                .occupiedRooms(counters.occupiedRooms())
+                .eventsApplied(counters.eventsApplied())
+                .journalSequence(journal.getLastSequence())
+                .eventCounts(eventCounts)
+                .build();
+    }
+
+    public Set<Long> getBookedRoomIds(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("checkOutDate must be after checkInDate");
+        }
+        return projection.bookedRoomIds(PropertyContext.current(), checkInDate, checkOutDate);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    // Callers hold the projection lock
+    private void reseed() {
+        Map<Long, List<BookingEvent>> snapshot = compact();
+        projection.clear();
+        snapshot.values().forEach(events -> events.forEach(projection::apply));
+    }
+
+    private boolean compactionDue() {
+        try {
+            return journal.isEnabled() && journal.segmentsSinceSnapshot() > maxSegments;
+        } catch (IOException e) {
+            log.warn("Failed to list booking journal segments", e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the database's open bookings as the journal snapshot and returns them by property.
+     * The boundary is taken before reading, so every event left out of the snapshot is journaled
+     * after it and replays on top.
+     */
+    private Map<Long, List<BookingEvent>> compact() {
+        long started = System.nanoTime();
+        try {
+            long boundary = journal.startSnapshot().get(appendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            Map<Long, List<BookingEvent>> open = openBookings();
+            journal.writeSnapshot(boundary, open.values().stream().flatMap(List::stream).toList());
+            log.info("Booking journal compacted to a snapshot of {} bookings before sequence {} in {} ms",
+                    open.values().stream().mapToInt(List::size).sum(), boundary,
+                    (System.nanoTime() - started) / 1_000_000);
+            return open;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while compacting the booking journal", e);
+        } catch (ExecutionException | TimeoutException | IOException e) {
+            throw new IllegalStateException("Failed to compact the booking journal", e);
+        }
+    }
+
+    /**
+     * Open bookings of every property as snapshot events. A failure is not skipped per property:
+     * a snapshot missing one would drop its bookings from the journal.
+     */
+    private Map<Long, List<BookingEvent>> openBookings() {
+        Map<Long, List<BookingEvent>> open = new LinkedHashMap<>();
+        for (Long propertyId : propertyService.getPropertyIds()) {
+            open.put(propertyId, PropertyContext.callAs(propertyId, () -> bookingRepository.findByStatusIn(OPEN).stream()
+                    .map(booking -> BookingEvent.of(BookingEvent.Type.snapshot, booking))
+                    .toList()));
+        }
+        return open;
+    }
+}
@@ -1,8 +1,12 @@
 package com.onlykei.hotel_management.services;
 
+import com.onlykei.hotel_management.config.Coalesced;
+import com.onlykei.hotel_management.dtos.BatchOperationResultDTO;
 import com.onlykei.hotel_management.dtos.BookingDTO;
+import com.onlykei.hotel_management.dtos.BookingOutcomeDTO;
 import com.onlykei.hotel_management.dtos.CreateBookingRequest;
 import com.onlykei.hotel_management.dtos.ExtendBookingRequest;
+import com.onlykei.hotel_management.events.BookingEvent;
 import com.onlykei.hotel_management.exceptions.BookingNotFoundException;
 import com.onlykei.hotel_management.exceptions.RoomNotAvailableException;
 import com.onlykei.hotel_management.models.BookingModel;
@@ -10,16 +14,27 @@ import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
 import com.onlykei.hotel_management.models.BookingModel.PaymentStatus;
 import com.onlykei.hotel_management.models.GuestModel;
 import com.onlykei.hotel_management.models.RoomModel;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
 import com.onlykei.hotel_management.repositories.BookingRepository;
 import com.onlykei.hotel_management.repositories.GuestRepository;
 import com.onlykei.hotel_management.repositories.RoomRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +44,10 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final GuestRepository guestRepository;
+    private final GuestStatsService guestStatsService;
+    private final RoomHoldService roomHoldService;
+    private final RoomAssignmentService roomAssignmentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<BookingDTO> getAllBookings() {
@@ -47,6 +66,48 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Booking rows with guest name and room number, for the read model.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getAllBookingRows() {
+        return bookingRepository.findAllWithDetails().stream().map(this::convertToRow).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getBookingRows(Collection<Long> ids) {
+        return bookingRepository.findAllByIdWithDetails(ids).stream().map(this::convertToRow).toList();
+    }
+
+    /**
+     * Arrival, departure and in-house rows for a date range, each with one fetch-join query.
+     * Used by DailyBucketService for days outside its in-memory horizon.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getArrivalRows(LocalDate startDate, LocalDate endDate) {
+        return bookingRepository.findByCheckInDateBetweenWithDetails(startDate, endDate)
+                .stream().map(this::convertToRow).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getDepartureRows(LocalDate startDate, LocalDate endDate) {
+        return bookingRepository.findByCheckOutDateBetweenWithDetails(startDate, endDate)
+                .stream().map(this::convertToRow).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getInHouseRows(LocalDate startDate, LocalDate endDate) {
+        return bookingRepository.findStayingBetweenWithDetails(startDate, endDate)
+                .stream().map(this::convertToRow).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingDTO> getBlockBookings(Long blockId) {
+        return bookingRepository.findByBlockIdWithDetails(blockId).stream()
+                .map(this::convertToRow)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public BookingDTO getBookingById(Long id) {
         BookingModel booking = bookingRepository.findByIdWithDetails(id)
@@ -56,9 +117,26 @@ public class BookingService {
 
     @Transactional
     public BookingDTO createBooking(CreateBookingRequest request) {
-        // Step 1: Validate room exists
-        RoomModel room = roomRepository.findById(request.getRoomId())
-                .orElseThrow(() -> new RuntimeException("Room not found with id: " + request.getRoomId()));
+        // Step 0: Claim the room and dates (converting the clerk's hold, if any) before reading
+        // anything, so a booking committed concurrently is either refused here or seen below.
+        // A room-type reservation is given a room of its type by the assignment engine, which
+        // claims it the same way.
+        RoomModel room;
+        String roomType = null;
+        if (request.getRoomId() == null && request.getRoomType() != null && !request.getRoomType().isBlank()) {
+            if (request.getHoldId() != null) {
+                throw new IllegalArgumentException("holdId can only be used with a roomId");
+            }
+            roomType = request.getRoomType().trim();
+            room = roomAssignmentService.assignRoom(roomType, request.getCheckInDate(), request.getCheckOutDate());
+        } else {
+            roomHoldService.claimForBooking(request.getRoomId(), request.getCheckInDate(),
+                    request.getCheckOutDate(), request.getHoldId());
+
+            // Step 1: Validate room exists
+            room = roomRepository.findById(request.getRoomId())
+                    .orElseThrow(() -> new RuntimeException("Room not found with id: " + request.getRoomId()));
+        }
 
         // Step 2: Validate guest exists
         GuestModel guest = guestRepository.findById(request.getGuestId())
@@ -67,7 +145,7 @@ public class BookingService {
         // ✅ FIXED: Step 3: Check for overlapping bookings
         List<BookingStatus> activeStatuses = List.of(BookingStatus.confirmed, BookingStatus.checked_in);
         List<BookingModel> overlappingBookings = bookingRepository.findOverlappingBookings(
-                request.getRoomId(),
+                room.getId(),
                 activeStatuses,
                 request.getCheckInDate(),
                 request.getCheckOutDate()
@@ -90,6 +168,7 @@ public class BookingService {
         BookingModel booking = BookingModel.builder()
                 .guest(guest)
                 .room(room)
+                .roomType(roomType)
                 .checkInDate(request.getCheckInDate())
                 .checkOutDate(request.getCheckOutDate())
                 .adults(request.getAdults())
@@ -101,6 +180,7 @@ public class BookingService {
                 .build();
 
         BookingModel savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.created, savedBooking));
         return convertToDTO(savedBooking);
     }
 
@@ -120,6 +200,8 @@ public class BookingService {
         roomRepository.save(room);
 
         BookingModel updatedBooking = bookingRepository.save(booking);
+        guestStatsService.recordStays(List.of(updatedBooking));
+        eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.checked_in, updatedBooking));
         return convertToDTO(updatedBooking);
     }
 
@@ -139,15 +221,114 @@ public class BookingService {
         roomRepository.save(room);
 
         BookingModel updatedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.checked_out, updatedBooking));
         return convertToDTO(updatedBooking);
     }
 
+    @Transactional
+    public BatchOperationResultDTO batchCheckIn(List<Long> bookingIds) {
+        return applyBatchTransition(bookingIds, "check_in", BookingEvent.Type.checked_in,
+                BookingStatus.confirmed, BookingStatus.checked_in, RoomStatus.occupied,
+                "Only confirmed bookings can be checked in");
+    }
+
+    @Transactional
+    public BatchOperationResultDTO batchCheckOut(List<Long> bookingIds) {
+        return applyBatchTransition(bookingIds, "check_out", BookingEvent.Type.checked_out,
+                BookingStatus.checked_in, BookingStatus.checked_out, RoomStatus.available,
+                "Only checked-in bookings can be checked out");
+    }
+
+    /**
+     * Loads all target bookings in one query, validates each transition, then applies
+     * the booking and room status changes as two bulk statements in the caller's transaction.
+     */
+    private BatchOperationResultDTO applyBatchTransition(
+            List<Long> bookingIds,
+            String operation,
+            BookingEvent.Type eventType,
+            BookingStatus fromStatus,
+            BookingStatus toStatus,
+            RoomStatus roomStatus,
+            String invalidStatusMessage
+    ) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            throw new IllegalArgumentException("bookingIds must not be empty");
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(bookingIds);
+
+        Map<Long, BookingModel> bookings = bookingRepository.findAllByIdWithDetails(requestedIds)
+                .stream()
+                .collect(Collectors.toMap(BookingModel::getId, Function.identity()));
+
+        Map<Long, String> failures = new HashMap<>();
+        List<Long> eligibleIds = new ArrayList<>();
+        Set<Long> roomIds = new HashSet<>();
+        for (Long id : requestedIds) {
+            BookingModel booking = bookings.get(id);
+            if (booking == null) {
+                failures.put(id, "Booking not found with id: " + id);
+            } else if (booking.getStatus() != fromStatus) {
+                failures.put(id, invalidStatusMessage);
+            } else if (!roomIds.add(booking.getRoom().getId())) {
+                failures.put(id, "Room " + booking.getRoom().getNumber() + " appears more than once in this batch");
+            } else {
+                eligibleIds.add(id);
+            }
+        }
+
+        if (!eligibleIds.isEmpty()) {
+            bookingRepository.updateStatusByIds(eligibleIds, toStatus);
+            roomRepository.updateStatusByIds(roomIds, roomStatus);
+        }
+
+        if (toStatus == BookingStatus.checked_in && !eligibleIds.isEmpty()) {
+            guestStatsService.recordStays(eligibleIds.stream().map(bookings::get).toList());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingOutcomeDTO> outcomes = new ArrayList<>();
+        for (Long id : requestedIds) {
+            String failure = failures.get(id);
+            if (failure != null) {
+                outcomes.add(BookingOutcomeDTO.builder()
+                        .bookingId(id)
+                        .success(false)
+                        .message(failure)
+                        .build());
+                continue;
+            }
+            // Entities were detached by the bulk update; mirror the new state for the response
+            BookingModel booking = bookings.get(id);
+            booking.setStatus(toStatus);
+            booking.setUpdatedAt(now);
+            booking.getRoom().setStatus(roomStatus);
+            eventPublisher.publishEvent(BookingEvent.of(eventType, booking));
+            outcomes.add(BookingOutcomeDTO.builder()
+                    .bookingId(id)
+                    .success(true)
+                    .booking(convertToDTO(booking))
+                    .build());
+        }
+
+        return BatchOperationResultDTO.builder()
+                .operation(operation)
+                .requested(requestedIds.size())
+                .succeeded(eligibleIds.size())
+                .failed(failures.size())
+                .outcomes(outcomes)
+                .build();
+    }
+
     @Transactional
     public BookingDTO extendBooking(Long bookingId, ExtendBookingRequest request) {
         BookingModel booking = bookingRepository.findByIdWithDetails(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
 
         LocalDate newCheckOutDate = request.getNewCheckOutDate();
+        if (newCheckOutDate != null && newCheckOutDate.isAfter(booking.getCheckOutDate())) {
+            roomHoldService.claimForBooking(booking.getRoom().getId(), booking.getCheckOutDate(), newCheckOutDate, null);
+        }
 
         // ✅ FIXED: Check for overlapping bookings with extended dates
         List<BookingStatus> activeStatuses = List.of(BookingStatus.confirmed, BookingStatus.checked_in);
@@ -175,6 +356,8 @@ public class BookingService {
         booking.setTotalAmount(booking.getTotalAmount() + additionalAmount);
 
         BookingModel updatedBooking = bookingRepository.save(booking);
+        guestStatsService.recordExtension(updatedBooking, additionalNights, additionalAmount);
+        eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.extended, updatedBooking));
         return convertToDTO(updatedBooking);
     }
 
@@ -183,6 +366,7 @@ public class BookingService {
         BookingModel booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
 
+        boolean wasCounted = GuestStatsService.isCounted(booking.getStatus());
         booking.setStatus(BookingStatus.cancelled);
 
         if (booking.getRoom().getStatus() == RoomModel.RoomStatus.occupied) {
@@ -192,21 +376,25 @@ public class BookingService {
         }
 
         bookingRepository.save(booking);
+        if (wasCounted) {
+            guestStatsService.recompute(booking.getGuest().getId());
+        }
+        eventPublisher.publishEvent(BookingEvent.of(BookingEvent.Type.cancelled, booking));
     }
 
     @Transactional(readOnly = true)
+    @Coalesced
     public List<BookingDTO> getCheckingInToday() {
-        // ✅ FIXED: Using simplified method
-        return bookingRepository.findByCheckInDateAndStatus(LocalDate.now(), BookingStatus.confirmed)
+        return bookingRepository.findByCheckInDateAndStatusWithDetails(LocalDate.now(), BookingStatus.confirmed)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
+    @Coalesced
     public List<BookingDTO> getCheckingOutToday() {
-        // ✅ FIXED: Using simplified method
-        return bookingRepository.findByCheckOutDateAndStatus(LocalDate.now(), BookingStatus.checked_in)
+        return bookingRepository.findByCheckOutDateAndStatusWithDetails(LocalDate.now(), BookingStatus.checked_in)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -214,7 +402,12 @@ public class BookingService {
 
     @Transactional
     public void deleteBooking(Long id) {
+        BookingModel booking = bookingRepository.findById(id).orElse(null);
         bookingRepository.deleteById(id);
+        if (booking != null && GuestStatsService.isCounted(booking.getStatus())) {
+            guestStatsService.recompute(booking.getGuest().getId());
+        }
+        eventPublisher.publishEvent(BookingEvent.statusChange(BookingEvent.Type.deleted, id, null, null));
     }
 
     private BookingDTO convertToDTO(BookingModel booking) {
@@ -222,6 +415,8 @@ public class BookingService {
                 .id(booking.getId())
                 .guestId(booking.getGuest().getId())
                 .roomId(booking.getRoom().getId())
+                .roomType(booking.getRoomType())
+                .blockId(booking.getBlockId())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
                 .adults(booking.getAdults())
@@ -234,4 +429,12 @@ public class BookingService {
                 .updatedAt(booking.getUpdatedAt())
                 .build();
     }
+
+    private BookingDTO convertToRow(BookingModel booking) {
+        BookingDTO row = convertToDTO(booking);
+        GuestModel guest = booking.getGuest();
+        row.setGuestName(guest.getFirstName() + " " + guest.getLastName());
+        row.setRoomNumber(booking.getRoom().getNumber());
+        return row;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.onlykei.hotel_management.services;
 
 import com.onlykei.hotel_management.dtos.ChecklistItemDTO;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
 import com.onlykei.hotel_management.models.BookingModel;
 import com.onlykei.hotel_management.models.ChecklistItemModel;
 import com.onlykei.hotel_management.models.ChecklistItemModel.Category;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,13 +32,12 @@ public class ChecklistService {
 
     @Transactional
     public ChecklistItemDTO createChecklistItem(Long bookingId, ChecklistItemDTO dto) {
-        BookingModel booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        BookingModel booking = findBooking(bookingId);
 
         ChecklistItemModel item = ChecklistItemModel.builder()
                 .booking(booking)
                 .item(dto.getItem())
-                .category(Category.valueOf(dto.getCategory().toLowerCase()))
+                .category(category(dto.getCategory()))
                 .completed(dto.getCompleted() != null ? dto.getCompleted() : false)
                 .notes(dto.getNotes())
                 .build();
@@ -45,46 +46,43 @@ public class ChecklistService {
     }
 
     @Transactional
-    public ChecklistItemDTO updateChecklistItem(Long itemId, ChecklistItemDTO dto) {
-        ChecklistItemModel item = checklistItemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Checklist item not found"));
+    public ChecklistItemDTO updateChecklistItem(Long bookingId, String itemId, ChecklistItemDTO dto) {
+        ChecklistItemModel item = findItem(bookingId, itemId);
 
         item.setItem(dto.getItem());
-        item.setCategory(Category.valueOf(dto.getCategory().toLowerCase()));
-        item.setCompleted(dto.getCompleted());
+        item.setCategory(category(dto.getCategory()));
+        item.setCompleted(dto.getCompleted() != null ? dto.getCompleted() : item.getCompleted());
         item.setNotes(dto.getNotes());
 
         return convertToDTO(checklistItemRepository.save(item));
     }
 
     @Transactional
-    public void toggleChecklistItem(Long itemId) {
-        ChecklistItemModel item = checklistItemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Checklist item not found"));
+    public void toggleChecklistItem(Long bookingId, String itemId) {
+        ChecklistItemModel item = findItem(bookingId, itemId);
 
         item.setCompleted(!item.getCompleted());
         checklistItemRepository.save(item);
     }
 
     @Transactional
-    public void deleteChecklistItem(Long itemId) {
-        checklistItemRepository.deleteById(itemId);
+    public void deleteChecklistItem(Long bookingId, String itemId) {
+        checklistItemRepository.deleteByIdAndBookingId(itemId, bookingId);
     }
 
     @Transactional
     public List<ChecklistItemDTO> saveChecklistForBooking(Long bookingId, List<ChecklistItemDTO> checklistDTOs) {
-        BookingModel booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        BookingModel booking = findBooking(bookingId);
 
-        // Delete existing items
-        checklistItemRepository.deleteByBookingId(bookingId);
+        // Delete existing items in one statement
+        checklistItemRepository.deleteByBookingIds(List.of(bookingId));
 
         // Create new items
         List<ChecklistItemModel> items = checklistDTOs.stream()
                 .map(dto -> ChecklistItemModel.builder()
                         .booking(booking)
                         .item(dto.getItem())
-                        .category(Category.valueOf(dto.getCategory().toLowerCase()))
+                        .category(category(dto.getCategory()))
                         .completed(dto.getCompleted() != null ? dto.getCompleted() : false)
                         .notes(dto.getNotes())
                         .build())
@@ -95,11 +93,34 @@ public class ChecklistService {
                 .collect(Collectors.toList());
     }
 
+    private BookingModel findBooking(Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+    }
+
+    private ChecklistItemModel findItem(Long bookingId, String itemId) {
+        return checklistItemRepository.findByIdAndBookingId(itemId, bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Checklist item " + itemId + " not found for booking " + bookingId));
+    }
+
+    // Constants are upper case; clients send and receive them in lower case ("room_inspection")
+    private static Category category(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("category is required");
+        }
+        try {
+            return Category.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown checklist category: " + value);
+        }
+    }
+
     private ChecklistItemDTO convertToDTO(ChecklistItemModel item) {
         return ChecklistItemDTO.builder()
-                .id(Long.valueOf(item.getId()))
+                .id(item.getId())
                 .item(item.getItem())
-                .category(item.getCategory().name())
+                .category(item.getCategory().name().toLowerCase(Locale.ROOT))
                 .completed(item.getCompleted())
                 .notes(item.getNotes())
                 .build();
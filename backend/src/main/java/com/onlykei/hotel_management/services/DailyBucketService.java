@@ -0,0 +1,228 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.BookingDTO;
+import com.onlykei.hotel_management.events.BookingRowsChangedEvent;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Arrivals, departures and in-house lists per day, kept in memory for a horizon around today.
+ *
+ * Buckets are indexed from the bookings read model and updated whenever it swaps in changed rows;
+ * the midnight roll rebuilds them for the new horizon. Cancelled bookings are not listed. Ranges
+ * reaching outside the horizon are answered with one fetch-join query instead. Each property has
+ * its own horizon, built from its own bookings view.
+ */
+@Slf4j
+@Service
+public class DailyBucketService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private static final Comparator<BookingDTO> BY_CHECK_IN =
+            Comparator.comparing(BookingDTO::getCheckInDate).thenComparing(BookingDTO::getId);
+    private static final Comparator<BookingDTO> BY_CHECK_OUT =
+            Comparator.comparing(BookingDTO::getCheckOutDate).thenComparing(BookingDTO::getId);
+
+    private final ReadModelService readModelService;
+    private final BookingService bookingService;
+    private final int pastDays;
+    private final int futureDays;
+
+    private final Map<Long, Buckets> buckets = new ConcurrentHashMap<>();
+
+    public DailyBucketService(
+            ReadModelService readModelService,
+            BookingService bookingService,
+            @Value("${daily-buckets.past-days:7}") int pastDays,
+            @Value("${daily-buckets.future-days:60}") int futureDays
+    ) {
+        this.readModelService = readModelService;
+        this.bookingService = bookingService;
+        this.pastDays = Math.max(pastDays, 0);
+        this.futureDays = Math.max(futureDays, 0);
+    }
+
+    public List<BookingDTO> getArrivals(LocalDate startDate, LocalDate endDate, String status) {
+        return list(startDate, endDate, status, DayBucket::arrivals, bookingService::getArrivalRows, BY_CHECK_IN);
+    }
+
+    public List<BookingDTO> getDepartures(LocalDate startDate, LocalDate endDate, String status) {
+        return list(startDate, endDate, status, DayBucket::departures, bookingService::getDepartureRows, BY_CHECK_OUT);
+    }
+
+    public List<BookingDTO> getInHouse(LocalDate startDate, LocalDate endDate, String status) {
+        return list(startDate, endDate, status, DayBucket::inHouse, bookingService::getInHouseRows, BY_CHECK_IN);
+    }
+
+    @EventListener
+    public void onBookingRowsChanged(BookingRowsChangedEvent event) {
+        long propertyId = event.propertyId();
+        // Read the snapshot before taking this service's lock
+        ReadModelService.Snapshot<BookingDTO> snapshot = PropertyContext.callAs(propertyId, readModelService::bookings);
+        if (event.rebuilt() || !buckets.containsKey(propertyId)) {
+            rebuild(propertyId, snapshot.rows(), LocalDate.now());
+        } else {
+            update(propertyId, snapshot.byId(), event.bookingIds());
+        }
+    }
+
+    /**
+     * Moves every property's horizon forward by rebuilding it around the new date.
+     */
+    @Scheduled(cron = "${daily-buckets.roll-cron:0 0 0 * * *}")
+    public void roll() {
+        LocalDate today = LocalDate.now();
+        for (Long propertyId : List.copyOf(buckets.keySet())) {
+            rebuild(propertyId, PropertyContext.callAs(propertyId, readModelService::bookings).rows(), today);
+        }
+    }
+
+    private List<BookingDTO> list(
+            LocalDate startDate,
+            LocalDate endDate,
+            String status,
+            Function<DayBucket, Set<Long>> pick,
+            BiFunction<LocalDate, LocalDate, List<BookingDTO>> fallback,
+            Comparator<BookingDTO> order
+    ) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        String statusFilter = status != null && !status.isEmpty()
+                ? BookingStatus.valueOf(status.toLowerCase()).name()
+                : null;
+
+        Buckets current = buckets.get(PropertyContext.current());
+        Collection<BookingDTO> rows;
+        if (current != null && current.covers(startDate, endDate)) {
+            Set<Long> ids = new LinkedHashSet<>();
+            for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+                ids.addAll(pick.apply(current.days().get(day)));
+            }
+            rows = ids.stream().map(current.rows()::get).filter(Objects::nonNull).toList();
+        } else {
+            rows = fallback.apply(startDate, endDate);
+        }
+
+        return rows.stream()
+                .filter(row -> !BookingStatus.cancelled.name().equals(row.getStatus()))
+                .filter(row -> statusFilter == null || statusFilter.equals(row.getStatus()))
+                .sorted(order)
+                .toList();
+    }
+
+    private synchronized void rebuild(long propertyId, List<BookingDTO> rows, LocalDate today) {
+        Buckets next = new Buckets(today.minusDays(pastDays), today.plusDays(futureDays));
+        rows.forEach(next::index);
+        buckets.put(propertyId, next);
+        log.debug("Daily buckets of property {} rebuilt for {} to {} with {} bookings",
+                propertyId, next.start(), next.end(), next.rows().size());
+    }
+
+    private synchronized void update(long propertyId, Map<Long, BookingDTO> snapshot, Set<Long> bookingIds) {
+        Buckets current = buckets.get(propertyId);
+        for (Long id : bookingIds) {
+            current.unindex(id);
+            BookingDTO row = snapshot.get(id);
+            if (row != null) {
+                current.index(row);
+            }
+        }
+    }
+
+    private record DayBucket(Set<Long> arrivals, Set<Long> departures, Set<Long> inHouse) {
+
+        private DayBucket() {
+            this(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * One horizon of day buckets. The day map is fixed at construction; the sets inside
+     * are concurrent so readers never lock while a booking is moved between days.
+     */
+    private record Buckets(LocalDate start, LocalDate end, Map<LocalDate, DayBucket> days, Map<Long, BookingDTO> rows) {
+
+        private Buckets(LocalDate start, LocalDate end) {
+            this(start, end, days(start, end), new ConcurrentHashMap<>());
+        }
+
+        private static Map<LocalDate, DayBucket> days(LocalDate start, LocalDate end) {
+            Map<LocalDate, DayBucket> days = new ConcurrentHashMap<>();
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                days.put(day, new DayBucket());
+            }
+            return days;
+        }
+
+        private boolean covers(LocalDate from, LocalDate to) {
+            return !from.isBefore(start) && !to.isAfter(end);
+        }
+
+        private void index(BookingDTO row) {
+            if (BookingStatus.cancelled.name().equals(row.getStatus())
+                    || row.getCheckInDate() == null || row.getCheckOutDate() == null
+                    || row.getCheckOutDate().isBefore(start) || row.getCheckInDate().isAfter(end)) {
+                return;
+            }
+            rows.put(row.getId(), row);
+            place(row, true);
+        }
+
+        private void unindex(Long bookingId) {
+            BookingDTO previous = rows.remove(bookingId);
+            if (previous != null) {
+                place(previous, false);
+            }
+        }
+
+        private void place(BookingDTO row, boolean add) {
+            Long id = row.getId();
+            DayBucket arrival = days.get(row.getCheckInDate());
+            if (arrival != null) {
+                update(arrival.arrivals(), id, add);
+            }
+            DayBucket departure = days.get(row.getCheckOutDate());
+            if (departure != null) {
+                update(departure.departures(), id, add);
+            }
+            // In house for every night from check-in up to the day before check-out
+            LocalDate from = row.getCheckInDate().isBefore(start) ? start : row.getCheckInDate();
+            LocalDate lastNight = row.getCheckOutDate().minusDays(1);
+            LocalDate to = lastNight.isAfter(end) ? end : lastNight;
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                update(days.get(day).inHouse(), id, add);
+            }
+        }
+
+        private static void update(Set<Long> ids, Long id, boolean add) {
+            if (add) {
+                ids.add(id);
+            } else {
+                ids.remove(id);
+            }
+        }
+    }
+}
@@ -1,29 +1,388 @@
 package com.onlykei.hotel_management.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.ExpenseImportResultDTO;
+import com.onlykei.hotel_management.dtos.ExpensePageDTO;
 import com.onlykei.hotel_management.models.ExpensesModel;
 import com.onlykei.hotel_management.repositories.ExpensesRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class ExpensesService {
-    private ExpensesRepository expensesRepository = null;
-    public ExpensesService(ExpensesRepository expensesRepository){
+
+    // Plain JDBC bypasses @TenantId, so the property is bound explicitly
+    private static final String INSERT_SQL =
+            "INSERT INTO expenses_model (property_id, description, amount, date_incurred) VALUES (?, ?, ?, ?)";
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private final ExpensesRepository expensesRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+    private final int maxPageSize;
+
+    public ExpensesService(
+            ExpensesRepository expensesRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${expenses.import.batch-size:500}") int batchSize,
+            @Value("${expenses.import.max-errors:20}") int maxErrors,
+            @Value("${expenses.page.max-size:1000}") int maxPageSize
+    ) {
         this.expensesRepository = expensesRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxErrors = Math.max(maxErrors, 0);
+        this.maxPageSize = Math.max(maxPageSize, 1);
     }
+
     public List<ExpensesModel> getAllExpenses() {
         return expensesRepository.findAll();
     }
+
     public ExpensesModel getExpenseById(Long id){
         return expensesRepository.findById(id).orElse(null);
     }
+
     public ExpensesModel saveExpense(ExpensesModel expense){
-        return saveExpense(expense);
+        validate(expense.getDescription(), expense.getAmount(), expense.getDateIncurred())
+                .ifPresent(reason -> {
+                    throw new IllegalArgumentException(reason);
+                });
+        return expensesRepository.save(expense);
     }
 
     public void deleteExpense(Long id){
         expensesRepository.deleteById(id);
     }
+
+    /**
+     * One page of expenses incurred within [startDate, endDate], in date order.
+     */
+    public ExpensePageDTO getExpensesBetween(LocalDate startDate, LocalDate endDate, int page, int size) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + maxPageSize);
+        }
+        Page<ExpensesModel> result = expensesRepository.findByDateIncurredBetween(startDate, endDate,
+                PageRequest.of(page, size, Sort.by("dateIncurred", "id")));
+        return ExpensePageDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .page(page)
+                .size(size)
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .content(result.getContent())
+                .build();
+    }
+
+    /**
+     * Inserts a list of expenses in JDBC batches. The whole list is validated first and
+     * rejected as a unit if any entry is invalid.
+     */
+    public ExpenseImportResultDTO saveExpenses(List<ExpensesModel> expenses) {
+        if (expenses == null || expenses.isEmpty()) {
+            throw new IllegalArgumentException("expenses must not be empty");
+        }
+        long started = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>(expenses.size());
+        for (int i = 0; i < expenses.size(); i++) {
+            ExpensesModel expense = expenses.get(i);
+            int index = i;
+            validate(expense.getDescription(), expense.getAmount(), expense.getDateIncurred())
+                    .ifPresent(reason -> {
+                        throw new IllegalArgumentException("Expense " + index + ": " + reason);
+                    });
+            rows.add(row(expense.getDescription(), expense.getAmount(), expense.getDateIncurred()));
+        }
+
+        // All batches share one transaction so the list is stored completely or not at all
+        int batches = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+                count++;
+            }
+            return count;
+        });
+
+        return ExpenseImportResultDTO.builder()
+                .format("json")
+                .rowsRead((long) rows.size())
+                .inserted((long) rows.size())
+                .rejected(0L)
+                .batches(batches)
+                .errors(List.of())
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+    }
+
+    /**
+     * Streams CSV or NDJSON expenses from the input and inserts them in batches, each committed
+     * in its own transaction. Only one batch is held in memory, so the input size is unbounded.
+     * Invalid rows are skipped and reported; valid rows are still inserted.
+     *
+     * CSV columns are description, amount, dateIncurred unless a header row names them.
+     * NDJSON lines are objects with the same field names.
+     */
+    public ExpenseImportResultDTO importExpenses(InputStream input, ImportFormat format) throws IOException {
+        long started = System.currentTimeMillis();
+        Import run = new Import();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            int[] columns = {0, 1, 2};
+            boolean firstRow = true;
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV) {
+                    if (firstRow) {
+                        firstRow = false;
+                        List<String> header;
+                        try {
+                            header = splitCsv(line);
+                        } catch (IllegalArgumentException e) {
+                            header = List.of();
+                        }
+                        if (isHeader(header)) {
+                            columns = headerColumns(header, lineNumber);
+                            continue;
+                        }
+                    }
+                    String csv = line;
+                    int[] order = columns;
+                    run.accept(lineNumber, () -> parseCsv(splitCsv(csv), order));
+                } else {
+                    String json = line;
+                    run.accept(lineNumber, () -> parseJson(json));
+                }
+                if (run.pending.size() >= batchSize) {
+                    run.flush();
+                }
+            }
+        }
+        run.flush();
+
+        return ExpenseImportResultDTO.builder()
+                .format(format.name().toLowerCase(Locale.ROOT))
+                .rowsRead(run.rowsRead)
+                .inserted(run.inserted)
+                .rejected(run.rejected)
+                .batches(run.batches)
+                .errors(run.errors)
+                .durationMs(System.currentTimeMillis() - started)
+                .build();
+    }
+
+    private Object[] parseCsv(List<String> fields, int[] columns) {
+        String description = field(fields, columns[0]);
+        String amount = field(fields, columns[1]);
+        String date = field(fields, columns[2]);
+        return checked(description, parseAmount(amount), parseDate(date));
+    }
+
+    private Object[] parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON");
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        JsonNode description = node.get("description");
+        JsonNode amount = node.get("amount");
+        JsonNode date = node.get("dateIncurred");
+        return checked(
+                description == null || description.isNull() ? null : description.asText(),
+                amount == null || amount.isNull() ? null : amount.isNumber() ? amount.doubleValue() : parseAmount(amount.asText()),
+                date == null || date.isNull() ? null : parseDate(date.asText())
+        );
+    }
+
+    private Object[] checked(String description, Double amount, LocalDate dateIncurred) {
+        validate(description, amount, dateIncurred).ifPresent(reason -> {
+            throw new IllegalArgumentException(reason);
+        });
+        return row(description, amount, dateIncurred);
+    }
+
+    private static Optional<String> validate(String description, Double amount, LocalDate dateIncurred) {
+        if (amount == null || amount.isNaN() || amount.isInfinite()) {
+            return Optional.of("amount is required");
+        }
+        if (dateIncurred == null) {
+            return Optional.of("dateIncurred is required");
+        }
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            return Optional.of("description must be at most " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        return Optional.empty();
+    }
+
+    private static Object[] row(String description, Double amount, LocalDate dateIncurred) {
+        return new Object[]{PropertyContext.current(), description, amount, Date.valueOf(dateIncurred)};
+    }
+
+    private static Double parseAmount(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("amount is not a number: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("dateIncurred is not an ISO date: " + value);
+        }
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static boolean isHeader(List<String> fields) {
+        return fields.stream().anyMatch(f -> f.trim().equalsIgnoreCase("amount"));
+    }
+
+    private static int[] headerColumns(List<String> header, long lineNumber) {
+        int[] columns = {-1, -1, -1};
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            switch (name) {
+                case "description" -> columns[0] = i;
+                case "amount" -> columns[1] = i;
+                case "dateincurred", "date" -> columns[2] = i;
+                default -> {
+                }
+            }
+        }
+        if (columns[1] < 0 || columns[2] < 0) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": header must name amount and dateIncurred columns");
+        }
+        if (columns[0] < 0) {
+            columns[0] = Integer.MAX_VALUE;
+        }
+        return columns;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and "" escapes. Quoted fields may
+     * not span lines.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    public enum ImportFormat {
+        CSV, NDJSON
+    }
+
+    /**
+     * State of one streaming import: the pending batch and running counts.
+     */
+    private final class Import {
+        private final List<Object[]> pending = new ArrayList<>(batchSize);
+        private final List<String> errors = new ArrayList<>();
+        private long rowsRead;
+        private long inserted;
+        private long rejected;
+        private int batches;
+
+        private void accept(long lineNumber, Supplier<Object[]> parser) {
+            rowsRead++;
+            try {
+                pending.add(parser.get());
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (errors.size() < maxErrors) {
+                    errors.add("Line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Object[]> batch = List.copyOf(pending);
+            pending.clear();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+            inserted += batch.size();
+            batches++;
+        }
+    }
 }
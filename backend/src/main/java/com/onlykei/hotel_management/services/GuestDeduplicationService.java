@@ -0,0 +1,504 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.dtos.DuplicateCandidateDTO;
+import com.onlykei.hotel_management.dtos.DuplicateScanDTO;
+import com.onlykei.hotel_management.dtos.GuestMergeResultDTO;
+import com.onlykei.hotel_management.events.EntityChangedEvent;
+import com.onlykei.hotel_management.events.EntityChangedEvent.Aggregate;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
+import com.onlykei.hotel_management.models.GuestMatchKeyModel;
+import com.onlykei.hotel_management.models.GuestModel;
+import com.onlykei.hotel_management.repositories.BookingArchiveRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.GuestMatchKeyRepository;
+import com.onlykei.hotel_management.repositories.GuestRepository;
+import com.onlykei.hotel_management.repositories.GuestRepository.GuestMatchRow;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds likely duplicate guests and merges them.
+ *
+ * Guests are only compared when they share a blocking key: a normalized phone number, a normalized
+ * email, or the phonetic codes of last and first name together with the birth date. Each pair found
+ * this way is scored once on weighted name, email, phone and birth-date similarity, counting only the
+ * fields both guests have. Blocks larger than {@code dedup.max-block-size} are skipped so a shared
+ * placeholder value cannot turn the scan quadratic.
+ *
+ * Each guest's keys are also stored in guest_match_keys when it is saved, so the duplicates of one
+ * guest are looked up by key instead of keying every guest.
+ */
+@Slf4j
+@Service
+public class GuestDeduplicationService {
+
+    private static final double NAME_WEIGHT = 0.40;
+    private static final double EMAIL_WEIGHT = 0.25;
+    private static final double PHONE_WEIGHT = 0.20;
+    private static final double BIRTH_DATE_WEIGHT = 0.15;
+
+    private final GuestRepository guestRepository;
+    private final GuestMatchKeyRepository guestMatchKeyRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final GuestStatsService guestStatsService;
+    private final PropertyService propertyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final double threshold;
+    private final int maxBlockSize;
+    private final int parallelism;
+
+    private final DoubleMetaphone doubleMetaphone = new DoubleMetaphone();
+
+    public GuestDeduplicationService(
+            GuestRepository guestRepository,
+            GuestMatchKeyRepository guestMatchKeyRepository,
+            BookingRepository bookingRepository,
+            BookingArchiveRepository bookingArchiveRepository,
+            GuestStatsService guestStatsService,
+            PropertyService propertyService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${dedup.threshold:0.8}") double threshold,
+            @Value("${dedup.max-block-size:200}") int maxBlockSize,
+            @Value("${dedup.parallelism:4}") int parallelism
+    ) {
+        this.guestRepository = guestRepository;
+        this.guestMatchKeyRepository = guestMatchKeyRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.guestStatsService = guestStatsService;
+        this.propertyService = propertyService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threshold = threshold;
+        this.maxBlockSize = Math.max(maxBlockSize, 2);
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    /**
+     * Scans all guests for duplicate pairs, computing keys and scoring blocks in parallel.
+     * Not transactional: the rows are read in the repository's own transaction, so no connection
+     * is held while blocks are scored.
+     */
+    public DuplicateScanDTO scan() {
+        long started = System.currentTimeMillis();
+        List<GuestMatchRow> rows = guestRepository.findAllMatchRows();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            DuplicateScanDTO result = pool.submit(() -> scanBlocks(rows)).get();
+            result.setDurationMs(System.currentTimeMillis() - started);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Duplicate scan was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Duplicate scan failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Likely duplicates of one guest, best match first.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidateDTO> findDuplicatesOf(Long guestId) {
+        Candidate target = guestRepository.findMatchRowsByIdIn(List.of(guestId)).stream()
+                .findFirst()
+                .map(this::candidate)
+                .orElseThrow(() -> new ResourceNotFoundException("Guest not found with id: " + guestId));
+        if (target.keys().isEmpty()) {
+            return List.of();
+        }
+        Set<Long> sharing = new HashSet<>(guestMatchKeyRepository.findGuestIdsByMatchKeyIn(target.keys()));
+        sharing.remove(guestId);
+        if (sharing.isEmpty()) {
+            return List.of();
+        }
+
+        // Stored keys can lag a row changed outside GuestService, so the shared key is checked again
+        return guestRepository.findMatchRowsByIdIn(sharing).stream()
+                .map(this::candidate)
+                .filter(c -> c.keys().stream().anyMatch(target.keys()::contains))
+                .map(c -> score(target, c))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(DuplicateCandidateDTO::getScore).reversed())
+                .toList();
+    }
+
+    /**
+     * Folds the duplicates into the survivor: blank survivor fields are filled from the duplicates,
+     * live and archived bookings are re-pointed in bulk, and the duplicates are deleted.
+     */
+    @Transactional
+    public GuestMergeResultDTO merge(Long survivorId, List<Long> duplicateIds) {
+        if (duplicateIds == null || duplicateIds.isEmpty()) {
+            throw new IllegalArgumentException("duplicateIds must not be empty");
+        }
+        Set<Long> ids = new LinkedHashSet<>(duplicateIds);
+        if (ids.contains(survivorId)) {
+            throw new IllegalArgumentException("A guest cannot be merged into itself");
+        }
+        GuestModel survivor = guestRepository.findById(survivorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Guest not found with id: " + survivorId));
+        List<GuestModel> duplicates = guestRepository.findAllById(ids);
+        if (duplicates.size() != ids.size()) {
+            Set<Long> missing = new LinkedHashSet<>(ids);
+            duplicates.forEach(d -> missing.remove(d.getId()));
+            throw new ResourceNotFoundException("Guests not found with ids: " + missing);
+        }
+
+        List<String> filled = new ArrayList<>();
+        for (GuestModel duplicate : duplicates) {
+            fill(filled, "middleName", survivor, duplicate, GuestModel::getMiddleName, survivor::setMiddleName);
+            fill(filled, "birthDate", survivor, duplicate, GuestModel::getBirthDate, survivor::setBirthDate);
+            fill(filled, "homeAddress", survivor, duplicate, GuestModel::getHomeAddress, survivor::setHomeAddress);
+            fill(filled, "country", survivor, duplicate, GuestModel::getCountry, survivor::setCountry);
+            fill(filled, "citizenship", survivor, duplicate, GuestModel::getCitizenship, survivor::setCitizenship);
+            fill(filled, "mobileNo", survivor, duplicate, GuestModel::getMobileNo, survivor::setMobileNo);
+            fill(filled, "telephoneNo", survivor, duplicate, GuestModel::getTelephoneNo, survivor::setTelephoneNo);
+            fill(filled, "emailAddress", survivor, duplicate, GuestModel::getEmailAddress, survivor::setEmailAddress);
+            fill(filled, "companyName", survivor, duplicate, GuestModel::getCompanyName, survivor::setCompanyName);
+        }
+        // Flush the filled fields before the bulk updates clear the persistence context
+        guestRepository.saveAndFlush(survivor);
+        indexMatchKeys(survivor);
+
+        int bookingsMoved = bookingRepository.reassignGuest(survivor, ids);
+        int archivedMoved = bookingArchiveRepository.reassignGuest(survivorId, ids);
+        guestRepository.deleteAllByIdInBatch(ids);
+        // Duplicate stats rows go with their guests; the survivor now owns all of their stays
+        guestStatsService.recompute(survivorId);
+
+        List<Long> changed = new ArrayList<>(ids);
+        changed.add(survivorId);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Aggregate.guest, changed));
+
+        return GuestMergeResultDTO.builder()
+                .survivorId(survivorId)
+                .mergedGuestIds(List.copyOf(ids))
+                .bookingsMoved(bookingsMoved)
+                .archivedBookingsMoved(archivedMoved)
+                .fieldsFilled(filled)
+                .build();
+    }
+
+    /**
+     * Replaces the stored blocking keys of a saved guest. Runs in the caller's transaction.
+     */
+    @Transactional
+    public void indexMatchKeys(GuestModel guest) {
+        guestMatchKeyRepository.deleteByGuestId(guest.getId());
+        Set<String> keys = keys(normalizeName(guest.getFirstName()), normalizeName(guest.getLastName()),
+                guest.getBirthDate(), normalizeEmail(guest.getEmailAddress()),
+                phones(guest.getMobileNo(), guest.getTelephoneNo()));
+        guestMatchKeyRepository.saveAll(keys.stream()
+                .map(key -> GuestMatchKeyModel.builder().guestId(guest.getId()).matchKey(key).build())
+                .toList());
+    }
+
+    /**
+     * Stores the keys of guests that have none: guests from before guest_match_keys existed or
+     * written straight to the database. Guests without any key are read again on each start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexMissingMatchKeys() {
+        propertyService.forEachProperty("Guest match key indexing", propertyId -> {
+            int indexed = transactionTemplate.execute(status -> {
+                List<GuestMatchKeyModel> rows = guestRepository.findMatchRowsWithoutKeys().stream()
+                        .map(this::candidate)
+                        .flatMap(c -> c.keys().stream()
+                                .map(key -> GuestMatchKeyModel.builder().guestId(c.id()).matchKey(key).build()))
+                        .toList();
+                guestMatchKeyRepository.saveAll(rows);
+                return rows.size();
+            });
+            if (indexed > 0) {
+                log.info("Indexed {} duplicate-detection keys of property {}", indexed, propertyId);
+            }
+        });
+    }
+
+    private DuplicateScanDTO scanBlocks(List<GuestMatchRow> rows) {
+        Map<String, List<Candidate>> blocks = rows.parallelStream()
+                .map(this::candidate)
+                .flatMap(c -> c.keys().stream().map(key -> Map.entry(key, c)))
+                .collect(Collectors.groupingByConcurrent(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+
+        AtomicInteger shared = new AtomicInteger();
+        AtomicInteger oversized = new AtomicInteger();
+        LongAdder comparisons = new LongAdder();
+        Set<Pair> seen = ConcurrentHashMap.newKeySet();
+
+        List<DuplicateCandidateDTO> found = blocks.entrySet().parallelStream()
+                .filter(block -> block.getValue().size() > 1)
+                .filter(block -> {
+                    shared.incrementAndGet();
+                    if (block.getValue().size() > maxBlockSize) {
+                        oversized.incrementAndGet();
+                        log.warn("Skipping duplicate block {} with {} guests", block.getKey(), block.getValue().size());
+                        return false;
+                    }
+                    return true;
+                })
+                .flatMap(block -> {
+                    List<Candidate> members = block.getValue();
+                    List<DuplicateCandidateDTO> matches = new ArrayList<>();
+                    for (int i = 0; i < members.size(); i++) {
+                        for (int j = i + 1; j < members.size(); j++) {
+                            Candidate a = members.get(i);
+                            Candidate b = members.get(j);
+                            if (a.id().equals(b.id()) || !seen.add(Pair.of(a.id(), b.id()))) {
+                                continue;
+                            }
+                            comparisons.increment();
+                            DuplicateCandidateDTO match = a.id() < b.id() ? score(a, b) : score(b, a);
+                            if (match != null) {
+                                matches.add(match);
+                            }
+                        }
+                    }
+                    return matches.stream();
+                })
+                .sorted(Comparator.comparing(DuplicateCandidateDTO::getScore).reversed()
+                        .thenComparing(DuplicateCandidateDTO::getGuestId))
+                .toList();
+
+        return DuplicateScanDTO.builder()
+                .guestsScanned(rows.size())
+                .blocks(shared.get())
+                .oversizedBlocks(oversized.get())
+                .comparisons(comparisons.sum())
+                .candidates(found)
+                .build();
+    }
+
+    private DuplicateCandidateDTO score(Candidate a, Candidate b) {
+        List<String> reasons = new ArrayList<>();
+        double nameSimilarity = Math.max(jaroWinkler(a.name(), b.name()), jaroWinkler(a.name(), b.swappedName()));
+        double total = NAME_WEIGHT * nameSimilarity;
+        double weights = NAME_WEIGHT;
+        reasons.add(String.format("name similarity %.2f", nameSimilarity));
+
+        if (a.email() != null && b.email() != null) {
+            weights += EMAIL_WEIGHT;
+            if (a.email().equals(b.email())) {
+                total += EMAIL_WEIGHT;
+                reasons.add("same email");
+            }
+        }
+        if (!a.phones().isEmpty() && !b.phones().isEmpty()) {
+            weights += PHONE_WEIGHT;
+            if (a.phones().stream().anyMatch(b.phones()::contains)) {
+                total += PHONE_WEIGHT;
+                reasons.add("same phone");
+            }
+        }
+        if (a.birthDate() != null && b.birthDate() != null) {
+            weights += BIRTH_DATE_WEIGHT;
+            if (a.birthDate().equals(b.birthDate())) {
+                total += BIRTH_DATE_WEIGHT;
+                reasons.add("same birth date");
+            }
+        }
+
+        double score = total / weights;
+        if (score < threshold) {
+            return null;
+        }
+        return DuplicateCandidateDTO.builder()
+                .guestId(a.id())
+                .duplicateGuestId(b.id())
+                .score(Math.round(score * 1000) / 1000.0)
+                .reasons(reasons)
+                .build();
+    }
+
+    private Candidate candidate(GuestMatchRow row) {
+        String first = normalizeName(row.getFirstName());
+        String last = normalizeName(row.getLastName());
+        String email = normalizeEmail(row.getEmailAddress());
+        Set<String> phones = phones(row.getMobileNo(), row.getTelephoneNo());
+        Set<String> keys = keys(first, last, row.getBirthDate(), email, phones);
+        return new Candidate(row.getId(), first + " " + last, last + " " + first, email, phones, row.getBirthDate(), keys);
+    }
+
+    private Set<String> keys(String first, String last, LocalDate birthDate, String email, Set<String> phones) {
+        Set<String> keys = new HashSet<>();
+        phones.forEach(phone -> keys.add("phone:" + phone));
+        if (email != null) {
+            keys.add("email:" + email);
+        }
+        if (birthDate != null && !first.isEmpty() && !last.isEmpty()) {
+            keys.add("name:" + phonetic(last) + "|" + phonetic(first) + "|" + birthDate);
+        }
+        return keys;
+    }
+
+    private String phonetic(String name) {
+        // Spaces are dropped first so "Dela Cruz" and "Delacruz" still agree
+        return doubleMetaphone.doubleMetaphone(name.replace(" ", ""));
+    }
+
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase().replaceAll("[^a-z ]", "").replaceAll("\\s+", " ").trim();
+    }
+
+    static String normalizeEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String trimmed = email.trim().toLowerCase();
+        int at = trimmed.indexOf('@');
+        if (at <= 0 || at == trimmed.length() - 1) {
+            return null;
+        }
+        String local = trimmed.substring(0, at);
+        String domain = trimmed.substring(at + 1);
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        if (domain.equals("gmail.com") || domain.equals("googlemail.com")) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+
+    static Set<String> phones(String... numbers) {
+        Set<String> phones = new HashSet<>();
+        for (String phone : numbers) {
+            if (phone == null) {
+                continue;
+            }
+            String digits = phone.replaceAll("\\D", "");
+            if (digits.length() < 7) {
+                continue;
+            }
+            // Compare national numbers so "+63 917..." and "0917..." agree
+            phones.add(digits.length() > 10 ? digits.substring(digits.length() - 10) : digits);
+        }
+        return phones;
+    }
+
+    private static <T> void fill(List<String> filled, String field, GuestModel survivor, GuestModel duplicate,
+                                 Function<GuestModel, T> getter, Consumer<T> setter) {
+        T current = getter.apply(survivor);
+        T candidate = getter.apply(duplicate);
+        boolean blank = current == null || (current instanceof String s && s.isBlank());
+        boolean present = candidate != null && !(candidate instanceof String s && s.isBlank());
+        if (blank && present) {
+            setter.accept(candidate);
+            filled.add(field);
+        }
+    }
+
+    /**
+     * Jaro-Winkler similarity, 1.0 for identical strings.
+     */
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        int window = Math.max(Math.max(a.length(), b.length()) / 2 - 1, 0);
+        boolean[] aMatched = new boolean[a.length()];
+        boolean[] bMatched = new boolean[b.length()];
+
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!bMatched[j] && a.charAt(i) == b.charAt(j)) {
+                    aMatched[i] = true;
+                    bMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (!aMatched[i]) {
+                continue;
+            }
+            while (!bMatched[j]) {
+                j++;
+            }
+            if (a.charAt(i) != b.charAt(j)) {
+                transpositions++;
+            }
+            j++;
+        }
+
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+
+    private record Candidate(
+            Long id,
+            String name,
+            String swappedName,
+            String email,
+            Set<String> phones,
+            LocalDate birthDate,
+            Set<String> keys
+    ) {
+    }
+
+    private record Pair(long low, long high) {
+
+        static Pair of(long a, long b) {
+            return a < b ? new Pair(a, b) : new Pair(b, a);
+        }
+    }
+}
@@ -1,19 +1,40 @@
 package com.onlykei.hotel_management.services;
 import com.onlykei.hotel_management.dtos.BookingSummaryDTO;
 import com.onlykei.hotel_management.dtos.GuestDTO;
+import com.onlykei.hotel_management.events.EntityChangedEvent;
+import com.onlykei.hotel_management.events.EntityChangedEvent.Aggregate;
 import com.onlykei.hotel_management.models.GuestModel;
+import com.onlykei.hotel_management.repositories.BookingArchiveRepository;
+import com.onlykei.hotel_management.repositories.BookingArchiveRepository.ArchivedStayRow;
+import com.onlykei.hotel_management.repositories.BookingRepository;
 import com.onlykei.hotel_management.repositories.GuestRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class GuestService {
     private final GuestRepository guestRepository;
-    public GuestService(GuestRepository guestRepository){
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final GuestDeduplicationService guestDeduplicationService;
+    private final ApplicationEventPublisher eventPublisher;
+    public GuestService(GuestRepository guestRepository, BookingRepository bookingRepository,
+                        BookingArchiveRepository bookingArchiveRepository,
+                        GuestDeduplicationService guestDeduplicationService, ApplicationEventPublisher eventPublisher){
         this.guestRepository = guestRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.guestDeduplicationService = guestDeduplicationService;
+        this.eventPublisher = eventPublisher;
     }
     public List<GuestModel> getAllGuests(){
         return guestRepository.findAll();
@@ -21,24 +42,64 @@ public class GuestService {
     public GuestModel getGuestById(Long id){
         return guestRepository.findById(id).orElse(null);
     }
+    // The guest with its bookings and their checklists initialized in two queries instead of one per booking
+    @Transactional(readOnly = true)
+    public GuestModel getGuestWithBookings(Long id){
+        GuestModel guest = guestRepository.findByIdWithBookings(id).orElse(null);
+        if (guest != null && !guest.getBookings().isEmpty()) {
+            bookingRepository.findByGuestIdWithChecklist(id);
+        }
+        return guest;
+    }
+    // The guest and its duplicate-detection keys are written together
+    @Transactional
     public GuestModel saveGuest (GuestModel guest){
-        return guestRepository.save(guest);
+        GuestModel saved = guestRepository.save(guest);
+        guestDeduplicationService.indexMatchKeys(saved);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Aggregate.guest, saved.getId()));
+        return saved;
     }
     public void deleteGuest(Long id){
         guestRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Aggregate.guest, id));
+    }
+
+    // Guest rows with live and archived stay summaries: one fetch-join query for guests with their
+    // live bookings and one for the archived stays of the same guests
+    public List<GuestDTO> getAllGuestRows(){
+        List<GuestModel> guests = guestRepository.findAllWithBookings();
+        Map<Long, List<ArchivedStayRow>> archived = bookingArchiveRepository.findAllStayRows().stream()
+                .collect(Collectors.groupingBy(ArchivedStayRow::getGuestId));
+        return guests.stream().map(g -> mapToDTO(g, archived.getOrDefault(g.getId(), List.of()))).toList();
+    }
+    public List<GuestDTO> getGuestRows(Collection<Long> ids){
+        List<GuestModel> guests = guestRepository.findAllByIdWithBookings(ids);
+        Map<Long, List<ArchivedStayRow>> archived = bookingArchiveRepository.findStayRowsByGuestIdIn(ids).stream()
+                .collect(Collectors.groupingBy(ArchivedStayRow::getGuestId));
+        return guests.stream().map(g -> mapToDTO(g, archived.getOrDefault(g.getId(), List.of()))).toList();
     }
 
-    public GuestDTO mapToDTO(GuestModel guest) {
-        List<BookingSummaryDTO> bookingSummaries = guest.getBookings() == null ?
-                List.of() :
+    // Stays are listed newest first, like GET /api/v1/guests/{id}/history
+    public GuestDTO mapToDTO(GuestModel guest, List<ArchivedStayRow> archivedStays) {
+        Stream<BookingSummaryDTO> live = guest.getBookings() == null ?
+                Stream.empty() :
                 guest.getBookings().stream()
                         .map(b -> BookingSummaryDTO.builder()
                                 .id(b.getId())
                                 .checkInDate(b.getCheckInDate())
                                 .checkOutDate(b.getCheckOutDate())
                                 .roomNumber(b.getRoom().getNumber())
-                                .build())
-                        .collect(Collectors.toList());
+                                .build());
+        Stream<BookingSummaryDTO> archived = archivedStays.stream()
+                .map(a -> BookingSummaryDTO.builder()
+                        .id(a.getId())
+                        .checkInDate(a.getCheckInDate())
+                        .checkOutDate(a.getCheckOutDate())
+                        .roomNumber(a.getRoomNumber())
+                        .build());
+        List<BookingSummaryDTO> bookingSummaries = Stream.concat(live, archived)
+                .sorted(Comparator.comparing(BookingSummaryDTO::getCheckInDate).reversed())
+                .collect(Collectors.toList());
 
         return GuestDTO.builder()
                 .id(guest.getId())
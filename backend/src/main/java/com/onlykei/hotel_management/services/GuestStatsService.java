@@ -0,0 +1,200 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.dtos.GuestStatsDTO;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.GuestModel;
+import com.onlykei.hotel_management.models.GuestStatsModel;
+import com.onlykei.hotel_management.repositories.BookingArchiveRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.StayFigures;
+import com.onlykei.hotel_management.repositories.GuestRepository;
+import com.onlykei.hotel_management.repositories.GuestStatsRepository;
+import com.onlykei.hotel_management.repositories.GuestStatsRepository.GuestStatsRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Per-guest stay count, nights, spend and last stay, kept in guest_stats.
+ *
+ * A stay is a booking that was checked in, live or archived. Check-ins and extensions add their
+ * figures to the guest's row with one in-place UPDATE, and a guest's first stay creates the row with
+ * an upsert so concurrent first check-ins do not collide; cancelling or deleting a counted booking,
+ * and merging guests, recompute that guest's row from its bookings. Night audit and archiving do
+ * not change what is counted and leave the rows alone.
+ */
+@Service
+@RequiredArgsConstructor
+public class GuestStatsService {
+
+    private static final Set<BookingStatus> COUNTED = Set.of(BookingStatus.checked_in, BookingStatus.checked_out);
+    private static final int MAX_TOP_GUESTS = 100;
+
+    private final GuestStatsRepository guestStatsRepository;
+    private final GuestRepository guestRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+
+    public static boolean isCounted(BookingStatus status) {
+        return COUNTED.contains(status);
+    }
+
+    /**
+     * Adds newly checked-in bookings to their guests' figures, one UPDATE per guest.
+     */
+    @Transactional
+    public void recordStays(Collection<BookingModel> bookings) {
+        Map<Long, Delta> deltas = new LinkedHashMap<>();
+        for (BookingModel booking : bookings) {
+            deltas.computeIfAbsent(booking.getGuest().getId(), id -> new Delta())
+                    .add(1, nights(booking.getCheckInDate(), booking.getCheckOutDate()), booking.getTotalAmount(),
+                            booking.getCheckInDate());
+        }
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Adds the nights and amount of an extension when the booking is already counted.
+     */
+    @Transactional
+    public void recordExtension(BookingModel booking, long addedNights, int addedAmount) {
+        if (!isCounted(booking.getStatus())) {
+            return;
+        }
+        Delta delta = new Delta();
+        delta.add(0, (int) addedNights, addedAmount, booking.getCheckInDate());
+        apply(booking.getGuest().getId(), delta);
+    }
+
+    /**
+     * Rebuilds one guest's row from its live and archived bookings. Used when a counted booking
+     * stops counting, since a maximum like the last stay date cannot be decremented.
+     */
+    @Transactional
+    public void recompute(Long guestId) {
+        Delta total = totals(guestId);
+        if (total == null) {
+            guestStatsRepository.findById(guestId).ifPresent(guestStatsRepository::delete);
+            return;
+        }
+
+        GuestStatsModel stats = guestStatsRepository.findById(guestId)
+                .orElseGet(() -> GuestStatsModel.builder().guestId(guestId).build());
+        stats.setStayCount(total.stays);
+        stats.setTotalNights(total.nights);
+        stats.setTotalSpend(total.spend);
+        stats.setLastStayDate(total.lastStayDate);
+        stats.setUpdatedAt(LocalDateTime.now());
+        guestStatsRepository.save(stats);
+    }
+
+    @Transactional(readOnly = true)
+    public GuestStatsDTO getGuestStats(Long guestId) {
+        GuestModel guest = guestRepository.findById(guestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Guest not found with id: " + guestId));
+        GuestStatsModel stats = guestStatsRepository.findById(guestId)
+                .orElseGet(() -> GuestStatsModel.builder().guestId(guestId).build());
+        return GuestStatsDTO.builder()
+                .guestId(guestId)
+                .firstName(guest.getFirstName())
+                .lastName(guest.getLastName())
+                .stayCount(stats.getStayCount())
+                .totalNights(stats.getTotalNights())
+                .totalSpend(stats.getTotalSpend())
+                .lastStayDate(stats.getLastStayDate())
+                .build();
+    }
+
+    /**
+     * Top guests by "spend", "stays" or "nights", read from guest_stats through its ranking index.
+     */
+    @Transactional(readOnly = true)
+    public List<GuestStatsDTO> getTopGuests(String by, int limit) {
+        if (limit < 1 || limit > MAX_TOP_GUESTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_GUESTS);
+        }
+        String property = switch (by == null ? "spend" : by.toLowerCase()) {
+            case "spend" -> "totalSpend";
+            case "stays" -> "stayCount";
+            case "nights" -> "totalNights";
+            default -> throw new IllegalArgumentException("by must be one of spend, stays, nights");
+        };
+        Sort sort = Sort.by(Sort.Order.desc(property), Sort.Order.asc("guestId"));
+        return guestStatsRepository.findTopGuests(PageRequest.of(0, limit, sort))
+                .stream()
+                .map(this::convertToDTO)
+                .toList();
+    }
+
+    private void apply(Long guestId, Delta delta) {
+        int updated = guestStatsRepository.addStays(guestId, delta.stays, delta.nights, delta.spend, delta.lastStayDate);
+        if (updated == 0) {
+            // First stay of this guest; the bookings already carry the new state
+            Delta total = Objects.requireNonNullElse(totals(guestId), delta);
+            guestStatsRepository.insertOrAddStays(guestId, total.stays, total.nights, total.spend, total.lastStayDate,
+                    delta.stays, delta.nights, delta.spend, delta.lastStayDate);
+        }
+    }
+
+    /**
+     * Figures of all live and archived stays of a guest, or null when it has none.
+     */
+    private Delta totals(Long guestId) {
+        List<StayFigures> stays = new ArrayList<>(bookingRepository.findStayFigures(guestId, COUNTED));
+        stays.addAll(bookingArchiveRepository.findStayFigures(guestId, COUNTED));
+        if (stays.isEmpty()) {
+            return null;
+        }
+        Delta total = new Delta();
+        stays.forEach(stay -> total.add(1, nights(stay.getCheckInDate(), stay.getCheckOutDate()),
+                stay.getTotalAmount(), stay.getCheckInDate()));
+        return total;
+    }
+
+    private GuestStatsDTO convertToDTO(GuestStatsRow row) {
+        return GuestStatsDTO.builder()
+                .guestId(row.getGuestId())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .stayCount(row.getStayCount())
+                .totalNights(row.getTotalNights())
+                .totalSpend(row.getTotalSpend())
+                .lastStayDate(row.getLastStayDate())
+                .build();
+    }
+
+    private static int nights(LocalDate checkInDate, LocalDate checkOutDate) {
+        return (int) ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+    }
+
+    private static final class Delta {
+        private int stays;
+        private int nights;
+        private long spend;
+        private LocalDate lastStayDate;
+
+        private void add(int stays, int nights, Integer amount, LocalDate stayDate) {
+            this.stays += stays;
+            this.nights += nights;
+            this.spend += amount != null ? amount : 0;
+            if (lastStayDate == null || stayDate.isAfter(lastStayDate)) {
+                lastStayDate = stayDate;
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.models.IdempotencyRecordModel;
+import com.onlykei.hotel_management.repositories.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounded in-memory TTL store for Idempotency-Key responses.
+ *
+ * The first request for a key becomes the owner and executes normally; concurrent
+ * duplicates wait on the owner's future, and later retries replay the stored response.
+ * Each key remembers a hash of the request body it was first used with; reusing the key
+ * for a different body is rejected instead of replaying a response meant for other input.
+ */
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Duration ttl;
+    private final Duration inFlightWait;
+    private final int maxEntries;
+    private final boolean persistenceEnabled;
+
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.in-flight-wait:PT30S}") Duration inFlightWait,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.persistence.enabled:false}") boolean persistenceEnabled
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+        this.inFlightWait = inFlightWait;
+        this.maxEntries = maxEntries;
+        this.persistenceEnabled = persistenceEnabled;
+    }
+
+    /**
+     * Claims the key for the calling request. Returns null when the caller is the owner
+     * and must execute the request; otherwise returns the response to replay, waiting
+     * for an in-flight owner if necessary.
+     *
+     * @throws KeyReusedException when the key was first used with a different request body
+     */
+    public StoredResponse claim(String scopedKey, String requestHash)
+            throws TimeoutException, InterruptedException, KeyReusedException {
+        String keyHash = hash(scopedKey);
+        long deadline = System.nanoTime() + inFlightWait.toNanos();
+
+        while (true) {
+            Entry entry = new Entry(requestHash);
+            Entry existing = entries.putIfAbsent(keyHash, entry);
+
+            if (existing == null) {
+                evictIfFull();
+                IdempotencyRecordModel persisted = findPersisted(keyHash);
+                if (persisted == null) {
+                    return null;
+                }
+                if (persisted.getRequestHash() != null && !persisted.getRequestHash().equals(requestHash)) {
+                    entries.remove(keyHash, entry);
+                    entry.future.completeExceptionally(new IllegalStateException("Idempotency key reused"));
+                    throw new KeyReusedException();
+                }
+                StoredResponse response = new StoredResponse(persisted.getStatusCode(), persisted.getContentType(), persisted.getBody());
+                entry.complete(response, ttl);
+                return response;
+            }
+
+            if (existing.isExpired()) {
+                entries.remove(keyHash, existing);
+                continue;
+            }
+
+            if (!existing.requestHash.equals(requestHash)) {
+                throw new KeyReusedException();
+            }
+
+            try {
+                long remaining = deadline - System.nanoTime();
+                return existing.future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException abandoned) {
+                // Owner failed without a cacheable response; try to become the owner
+            }
+        }
+    }
+
+    /**
+     * Stores the owner's response and releases any waiting duplicates.
+     */
+    public void complete(String scopedKey, StoredResponse response) {
+        String keyHash = hash(scopedKey);
+        Entry entry = entries.get(keyHash);
+        if (entry == null) {
+            return;
+        }
+
+        if (persistenceEnabled) {
+            LocalDateTime now = LocalDateTime.now();
+            idempotencyRecordRepository.save(IdempotencyRecordModel.builder()
+                    .keyHash(keyHash)
+                    .requestHash(entry.requestHash)
+                    .statusCode(response.status())
+                    .contentType(response.contentType())
+                    .body(response.body())
+                    .createdAt(now)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+        }
+        entry.complete(response, ttl);
+    }
+
+    /**
+     * Drops the claim after a failed attempt so a retry can execute again.
+     */
+    public void abandon(String scopedKey) {
+        Entry entry = entries.remove(hash(scopedKey));
+        if (entry != null) {
+            entry.future.completeExceptionally(new IllegalStateException("Idempotent request abandoned"));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1M}")
+    public void purgeExpired() {
+        entries.entrySet().removeIf(e -> e.getValue().isExpired());
+        if (persistenceEnabled) {
+            idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        }
+    }
+
+    private IdempotencyRecordModel findPersisted(String keyHash) {
+        if (!persistenceEnabled) {
+            return null;
+        }
+        return idempotencyRecordRepository.findByKeyHashAndExpiresAtAfter(keyHash, LocalDateTime.now()).orElse(null);
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.entrySet().removeIf(e -> e.getValue().isExpired());
+
+        // Still full: drop the oldest completed responses, never in-flight ones
+        int overflow = entries.size() - maxEntries;
+        if (overflow > 0) {
+            entries.entrySet().stream()
+                    .filter(e -> e.getValue().future.isDone())
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private static String hash(String scopedKey) {
+        return hash(scopedKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Hex SHA-256 of a request body, as passed to {@link #claim}.
+     */
+    public static String hash(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * The key was already used for a request with a different body.
+     */
+    public static class KeyReusedException extends Exception {
+        public KeyReusedException() {
+            super("The Idempotency-Key was already used with a different request body");
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+        private final String requestHash;
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        void complete(StoredResponse response, Duration ttl) {
+            expiresAt = System.currentTimeMillis() + ttl.toMillis();
+            future.complete(response);
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
@@ -1,24 +1,38 @@
 package com.onlykei.hotel_management.services;
 
+import com.onlykei.hotel_management.config.Coalesced;
+import com.onlykei.hotel_management.dtos.InventoryItemDTO;
+import com.onlykei.hotel_management.events.EntityChangedEvent;
+import com.onlykei.hotel_management.events.EntityChangedEvent.Aggregate;
 import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
 import com.onlykei.hotel_management.models.InventoryItemModel;
 import com.onlykei.hotel_management.repositories.InventoryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class InventoryService {
     private final InventoryRepository inventoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public InventoryService(InventoryRepository inventoryRepository) {
+    public InventoryService(InventoryRepository inventoryRepository, ApplicationEventPublisher eventPublisher) {
         this.inventoryRepository = inventoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<InventoryItemModel> getAllInventoryItems() {
-        return inventoryRepository.findAll();
+    /**
+     * Every item read fresh, for the read model rebuild; request paths are served from that view.
+     */
+    public List<InventoryItemDTO> getAllInventoryItems() {
+        return inventoryRepository.findAllSummaries();
+    }
+
+    public List<InventoryItemDTO> getInventoryItemsByIds(Collection<Long> ids) {
+        return inventoryRepository.findSummariesByIds(ids);
     }
 
     public InventoryItemModel getInventoryItemById(Long id) {
@@ -26,16 +40,18 @@ public class InventoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
     }
 
-    public List<InventoryItemModel> getItemsByCategory(String category) {
-        return inventoryRepository.findAll().stream()
+    @Coalesced
+    public List<InventoryItemDTO> getItemsByCategory(String category) {
+        return inventoryRepository.findAllSummaries().stream()
                 .filter(item -> item.getCategory().equalsIgnoreCase(category))
-                .collect(Collectors.toList());
+                .toList();
     }
 
-    public List<InventoryItemModel> getLowStockItems() {
-        return inventoryRepository.findAll().stream()
+    @Coalesced
+    public List<InventoryItemDTO> getLowStockItems() {
+        return inventoryRepository.findAllSummaries().stream()
                 .filter(item -> item.getCurrentLevel() <= item.getMinimumLevel())
-                .collect(Collectors.toList());
+                .toList();
     }
 
     public InventoryItemModel saveInventoryItem(InventoryItemModel inventoryItem) {
@@ -43,7 +59,7 @@ public class InventoryService {
         if (inventoryItem.getLastRestocked() == null) {
             inventoryItem.setLastRestocked(LocalDateTime.now());
         }
-        return inventoryRepository.save(inventoryItem);
+        return saveAndPublish(inventoryItem);
     }
 
     public InventoryItemModel updateInventoryItem(InventoryItemModel inventoryItem) {
@@ -54,8 +70,9 @@ public class InventoryService {
         if (inventoryItem.getLastRestocked() == null) {
             inventoryItem.setLastRestocked(existing.getLastRestocked());
         }
+        inventoryItem.setPropertyId(existing.getPropertyId());
 
-        return inventoryRepository.save(inventoryItem);
+        return saveAndPublish(inventoryItem);
     }
 
     public InventoryItemModel updateQuantity(Long id, Integer newQuantity) {
@@ -70,7 +87,7 @@ public class InventoryService {
         }
 
         item.setCurrentLevel(newQuantity);
-        return inventoryRepository.save(item);
+        return saveAndPublish(item);
     }
 
     public InventoryItemModel restockItem(Long id) {
@@ -80,12 +97,19 @@ public class InventoryService {
         item.setCurrentLevel(item.getQuantity());
         item.setLastRestocked(LocalDateTime.now());
 
-        return inventoryRepository.save(item);
+        return saveAndPublish(item);
     }
 
     public void deleteInventoryItem(Long id) {
         // Verify item exists before deleting
         getInventoryItemById(id);
         inventoryRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Aggregate.inventory_item, id));
+    }
+
+    private InventoryItemModel saveAndPublish(InventoryItemModel item) {
+        InventoryItemModel saved = inventoryRepository.save(item);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Aggregate.inventory_item, saved.getId()));
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.NightAuditReportDTO;
+import com.onlykei.hotel_management.events.BookingEvent;
+import com.onlykei.hotel_management.exceptions.JobAlreadyRunningException;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.NightAuditCheckpointModel;
+import com.onlykei.hotel_management.models.NightAuditCheckpointModel.Phase;
+import com.onlykei.hotel_management.models.NightAuditCheckpointModel.RunStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.BookingRoomRef;
+import com.onlykei.hotel_management.repositories.NightAuditCheckpointRepository;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Night audit: closes a business date by cancelling no-shows and checking out overdue stays.
+ *
+ * Candidates are read by keyset pages of {@code chunkSize} booking ids; up to {@code parallelism}
+ * chunks are applied concurrently as bulk updates, and the checkpoint is saved after each window
+ * so a restarted run continues where it stopped. Each property closes its own dates with its own
+ * checkpoints; the scheduled run audits the properties one after another.
+ */
+@Slf4j
+@Service
+public class NightAuditService {
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final NightAuditCheckpointRepository checkpointRepository;
+    private final PropertyService propertyService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final boolean autoCheckout;
+
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public NightAuditService(
+            BookingRepository bookingRepository,
+            RoomRepository roomRepository,
+            NightAuditCheckpointRepository checkpointRepository,
+            PropertyService propertyService,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${night-audit.enabled:true}") boolean enabled,
+            @Value("${night-audit.chunk-size:500}") int chunkSize,
+            @Value("${night-audit.parallelism:2}") int parallelism,
+            @Value("${night-audit.auto-checkout:true}") boolean autoCheckout
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.propertyService = propertyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.parallelism = Math.max(parallelism, 1);
+        this.autoCheckout = autoCheckout;
+    }
+
+    @Scheduled(cron = "${night-audit.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate auditDate = LocalDate.now().minusDays(1);
+        propertyService.forEachProperty("Night audit", propertyId -> {
+            NightAuditReportDTO report = run(auditDate);
+            log.info("Night audit of property {} for {} finished: {} no-shows, {} checked out, {} overdue departures",
+                    propertyId, report.getAuditDate(), report.getNoShows(), report.getCheckedOut(),
+                    report.getOverdueDepartures());
+        });
+    }
+
+    /**
+     * Runs (or resumes) the current property's audit for a business date. A completed date is not re-run.
+     */
+    public NightAuditReportDTO run(LocalDate auditDate) {
+        long propertyId = PropertyContext.current();
+        if (!running.add(propertyId)) {
+            throw new JobAlreadyRunningException("Night audit is already running");
+        }
+
+        // Everything after claiming the property runs inside the try so the claim is always released
+        NightAuditCheckpointModel checkpoint = null;
+        ExecutorService pool = null;
+        try {
+            checkpoint = checkpointRepository.findByPropertyIdAndAuditDate(propertyId, auditDate)
+                    .orElseGet(() -> NightAuditCheckpointModel.builder()
+                            .propertyId(propertyId)
+                            .auditDate(auditDate)
+                            .phase(Phase.no_shows)
+                            .startedAt(LocalDateTime.now())
+                            .build());
+            if (checkpoint.getStatus() == RunStatus.completed) {
+                return toReport(checkpoint);
+            }
+            pool = Executors.newFixedThreadPool(parallelism);
+            checkpoint.setStatus(RunStatus.running);
+            checkpoint = checkpointRepository.save(checkpoint);
+
+            if (checkpoint.getPhase() == Phase.no_shows) {
+                processPhase(checkpoint, Phase.no_shows, pool);
+                checkpoint.setPhase(Phase.departures);
+                checkpoint.setLastProcessedId(0L);
+                checkpoint = checkpointRepository.save(checkpoint);
+            }
+
+            if (checkpoint.getPhase() == Phase.departures) {
+                if (autoCheckout) {
+                    processPhase(checkpoint, Phase.departures, pool);
+                } else {
+                    checkpoint.setOverdueDepartures((int) bookingRepository
+                            .countByStatusAndCheckOutDateLessThanEqual(BookingStatus.checked_in, auditDate));
+                }
+                checkpoint.setPhase(Phase.done);
+            }
+
+            checkpoint.setStatus(RunStatus.completed);
+            checkpoint.setFinishedAt(LocalDateTime.now());
+            return toReport(checkpointRepository.save(checkpoint));
+        } catch (RuntimeException e) {
+            if (checkpoint != null) {
+                checkpoint.setStatus(RunStatus.failed);
+                checkpointRepository.save(checkpoint);
+            }
+            throw e;
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            running.remove(propertyId);
+        }
+    }
+
+    public NightAuditReportDTO getReport(LocalDate auditDate) {
+        return checkpointRepository.findByPropertyIdAndAuditDate(PropertyContext.current(), auditDate)
+                .map(this::toReport)
+                .orElseThrow(() -> new ResourceNotFoundException("No night audit found for " + auditDate));
+    }
+
+    public NightAuditReportDTO getLatestReport() {
+        return checkpointRepository.findTopByPropertyIdOrderByAuditDateDesc(PropertyContext.current())
+                .map(this::toReport)
+                .orElseThrow(() -> new ResourceNotFoundException("No night audit has run yet"));
+    }
+
+    private void processPhase(NightAuditCheckpointModel checkpoint, Phase phase, ExecutorService pool) {
+        long afterId = checkpoint.getLastProcessedId();
+        boolean exhausted = false;
+
+        while (!exhausted) {
+            // Read a window of chunks ahead by keyset, then apply them concurrently
+            List<List<BookingRoomRef>> window = new ArrayList<>();
+            while (window.size() < parallelism) {
+                List<BookingRoomRef> chunk = fetchChunk(phase, checkpoint.getAuditDate(), afterId);
+                if (chunk.isEmpty()) {
+                    exhausted = true;
+                    break;
+                }
+                window.add(chunk);
+                afterId = chunk.get(chunk.size() - 1).getId();
+                if (chunk.size() < chunkSize) {
+                    exhausted = true;
+                    break;
+                }
+            }
+            if (window.isEmpty()) {
+                break;
+            }
+
+            List<Future<Integer>> results = window.stream()
+                    .map(chunk -> pool.submit(PropertyContext.bind(() -> applyChunk(phase, chunk))))
+                    .toList();
+            int applied = 0;
+            for (Future<Integer> result : results) {
+                applied += await(result);
+            }
+
+            checkpoint.setLastProcessedId(afterId);
+            checkpoint.setChunksProcessed(checkpoint.getChunksProcessed() + window.size());
+            if (phase == Phase.no_shows) {
+                checkpoint.setNoShows(checkpoint.getNoShows() + applied);
+            } else {
+                checkpoint.setCheckedOut(checkpoint.getCheckedOut() + applied);
+                checkpoint.setOverdueDepartures(checkpoint.getOverdueDepartures() + applied);
+            }
+            checkpointRepository.save(checkpoint);
+        }
+    }
+
+    private List<BookingRoomRef> fetchChunk(Phase phase, LocalDate auditDate, long afterId) {
+        PageRequest page = PageRequest.of(0, chunkSize);
+        return phase == Phase.no_shows
+                ? bookingRepository.findRefsCheckingInOnOrBefore(BookingStatus.confirmed, auditDate, afterId, page)
+                : bookingRepository.findRefsCheckingOutOnOrBefore(BookingStatus.checked_in, auditDate, afterId, page);
+    }
+
+    private int applyChunk(Phase phase, List<BookingRoomRef> chunk) {
+        List<Long> bookingIds = chunk.stream().map(BookingRoomRef::getId).toList();
+        Integer updated = transactionTemplate.execute(status -> {
+            if (phase == Phase.no_shows) {
+                int cancelled = bookingRepository.transitionStatus(bookingIds, BookingStatus.confirmed, BookingStatus.cancelled);
+                publish(chunk, BookingEvent.Type.cancelled, BookingStatus.cancelled);
+                return cancelled;
+            }
+            int checkedOut = bookingRepository.transitionStatus(
+                    bookingIds, BookingStatus.checked_in, BookingStatus.checked_out);
+            roomRepository.releaseVacantRooms(chunk.stream().map(BookingRoomRef::getRoomId).distinct().toList());
+            publish(chunk, BookingEvent.Type.checked_out, BookingStatus.checked_out);
+            return checkedOut;
+        });
+        return updated != null ? updated : 0;
+    }
+
+    private void publish(List<BookingRoomRef> chunk, BookingEvent.Type type, BookingStatus status) {
+        chunk.forEach(ref -> eventPublisher.publishEvent(
+                BookingEvent.statusChange(type, ref.getId(), ref.getRoomId(), status)));
+    }
+
+    private static int await(Future<Integer> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Night audit interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Night audit chunk failed", e.getCause());
+        }
+    }
+
+    private NightAuditReportDTO toReport(NightAuditCheckpointModel checkpoint) {
+        return NightAuditReportDTO.builder()
+                .auditDate(checkpoint.getAuditDate())
+                .status(checkpoint.getStatus().name())
+                .phase(checkpoint.getPhase().name())
+                .noShows(checkpoint.getNoShows())
+                .checkedOut(checkpoint.getCheckedOut())
+                .overdueDepartures(checkpoint.getOverdueDepartures())
+                .chunksProcessed(checkpoint.getChunksProcessed())
+                .lastProcessedId(checkpoint.getLastProcessedId())
+                .startedAt(checkpoint.getStartedAt())
+                .finishedAt(checkpoint.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.config.PropertyDataSourceConfig.PropertyRoutingDataSource;
+import com.onlykei.hotel_management.models.HotelPropertyModel;
+import com.onlykei.hotel_management.repositories.HotelPropertyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Registry of the properties on this installation.
+ *
+ * The registry lives in the default datasource and is cached in memory, so the per-request
+ * property check and the background jobs iterating properties never touch the database.
+ */
+@Slf4j
+@Service
+public class PropertyService {
+
+    private final HotelPropertyRepository propertyRepository;
+    private final PropertyRoutingDataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<Long, HotelPropertyModel> properties = Map.of();
+
+    public PropertyService(
+            HotelPropertyRepository propertyRepository,
+            PropertyRoutingDataSource dataSource,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.propertyRepository = propertyRepository;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void load() {
+        Map<Long, HotelPropertyModel> loaded = new TreeMap<>();
+        PropertyContext.callAs(PropertyContext.DEFAULT_PROPERTY, () -> transactionTemplate.execute(status ->
+                propertyRepository.findAll())).forEach(property -> loaded.put(property.getId(), property));
+        properties = Map.copyOf(loaded);
+    }
+
+    public boolean exists(long propertyId) {
+        return properties.containsKey(propertyId);
+    }
+
+    public List<HotelPropertyModel> getProperties() {
+        return properties.values().stream().sorted(Comparator.comparing(HotelPropertyModel::getId)).toList();
+    }
+
+    public Set<Long> getPropertyIds() {
+        return properties.keySet();
+    }
+
+    public Set<Long> getRoutedPropertyIds() {
+        return dataSource.getRoutedProperties();
+    }
+
+    /**
+     * Runs a task once per property, each inside that property's context. A failure
+     * is logged and does not stop the remaining properties.
+     */
+    public void forEachProperty(String taskName, Consumer<Long> task) {
+        for (Long propertyId : getProperties().stream().map(HotelPropertyModel::getId).toList()) {
+            try {
+                PropertyContext.runAs(propertyId, () -> task.accept(propertyId));
+            } catch (RuntimeException e) {
+                log.error("{} failed for property {}", taskName, propertyId, e);
+            }
+        }
+    }
+
+    public HotelPropertyModel createProperty(HotelPropertyModel property) {
+        if (property.getCode() == null || property.getCode().isBlank()) {
+            throw new IllegalArgumentException("code is required");
+        }
+        if (property.getName() == null || property.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        HotelPropertyModel saved = PropertyContext.callAs(PropertyContext.DEFAULT_PROPERTY, () ->
+                transactionTemplate.execute(status -> {
+                    String code = property.getCode().trim().toLowerCase();
+                    if (propertyRepository.existsByCodeIgnoreCase(code)) {
+                        throw new IllegalArgumentException("A property with code " + code + " already exists");
+                    }
+                    return propertyRepository.save(HotelPropertyModel.builder()
+                            .code(code)
+                            .name(property.getName().trim())
+                            .createdAt(LocalDateTime.now())
+                            .build());
+                }));
+        load();
+        return saved;
+    }
+}
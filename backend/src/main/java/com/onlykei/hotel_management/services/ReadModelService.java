@@ -0,0 +1,424 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.BookingDTO;
+import com.onlykei.hotel_management.dtos.GuestDTO;
+import com.onlykei.hotel_management.dtos.InventoryItemDTO;
+import com.onlykei.hotel_management.dtos.ReadModelStatusDTO;
+import com.onlykei.hotel_management.dtos.RoomDTO;
+import com.onlykei.hotel_management.events.BookingEvent;
+import com.onlykei.hotel_management.events.BookingRowsChangedEvent;
+import com.onlykei.hotel_management.events.EntityChangedEvent;
+import com.onlykei.hotel_management.events.RoomRowsChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Denormalized, immutable list views for bookings, guests, rooms and inventory.
+ *
+ * Services publish {@link BookingEvent}s and {@link EntityChangedEvent}s; the ids touched by one
+ * transaction are collected and handed to a single applier thread after it commits. The applier
+ * coalesces whatever has queued up, reloads only those rows and merges them into a copy of the view,
+ * which then replaces the old snapshot in one volatile write. Readers never lock and never hit the
+ * database; each snapshot reports its age and the lag of its last change, and a failed update marks
+ * the views stale until the next scheduled rebuild.
+ *
+ * Every property has its own set of views, loaded on first use and rebuilt on its own, so a large
+ * property's rebuild never replaces or delays a small property's snapshots.
+ *
+ * Snapshot rows must be treated as read-only.
+ */
+@Slf4j
+@Service
+public class ReadModelService {
+
+    public static final String AGE_HEADER = "X-Read-Model-Age-Ms";
+
+    private final BookingService bookingService;
+    private final GuestService guestService;
+    private final RoomService roomService;
+    private final InventoryService inventoryService;
+    private final PropertyService propertyService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Queue<ChangeSet> pending = new ConcurrentLinkedQueue<>();
+    private final ExecutorService applier = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "read-model-applier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Views> views = new ConcurrentHashMap<>();
+
+    public ReadModelService(
+            BookingService bookingService,
+            GuestService guestService,
+            RoomService roomService,
+            InventoryService inventoryService,
+            PropertyService propertyService,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.bookingService = bookingService;
+        this.guestService = guestService;
+        this.roomService = roomService;
+        this.inventoryService = inventoryService;
+        this.propertyService = propertyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Views of the current property.
+     */
+    public Snapshot<BookingDTO> bookings() {
+        return loaded(current().bookings);
+    }
+
+    public Snapshot<GuestDTO> guests() {
+        return loaded(current().guests);
+    }
+
+    public Snapshot<RoomDTO> rooms() {
+        return loaded(current().rooms);
+    }
+
+    public Snapshot<InventoryItemDTO> inventory() {
+        return loaded(current().inventory);
+    }
+
+    public List<ReadModelStatusDTO> getStatus() {
+        int queued = pending.size();
+        return current().all().stream().map(view -> view.status(queued)).toList();
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        enqueue(event.propertyId(), event.occurredAt(), changes -> {
+            changes.bookings.add(event.bookingId());
+            if (event.roomId() != null) {
+                changes.rooms.add(event.roomId());
+            }
+            // Guest rows embed booking summaries; status-only events carry no guest id
+            Long guestId = event.guestId();
+            Snapshot<BookingDTO> known = views(event.propertyId()).bookings.snapshot;
+            if (guestId == null && known != null) {
+                BookingDTO row = known.byId().get(event.bookingId());
+                guestId = row != null ? row.getGuestId() : null;
+            }
+            if (guestId != null) {
+                changes.guests.add(guestId);
+            }
+        });
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        enqueue(event.propertyId(), event.occurredAt(), changes -> {
+            switch (event.aggregate()) {
+                case guest -> changes.guests.addAll(event.ids());
+                case room -> changes.rooms.addAll(event.ids());
+                case inventory_item -> changes.inventory.addAll(event.ids());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${read-models.rebuild-interval:PT15M}",
+            initialDelayString = "${read-models.rebuild-interval:PT15M}")
+    public void rebuildAll() {
+        propertyService.forEachProperty("Read model rebuild", this::rebuild);
+    }
+
+    /**
+     * Reloads every view of the current property.
+     */
+    public void rebuild() {
+        rebuild(PropertyContext.current());
+    }
+
+    private synchronized void rebuild(long propertyId) {
+        long started = System.nanoTime();
+        Views target = views(propertyId);
+        PropertyContext.runAs(propertyId, () -> {
+            transactionTemplate.executeWithoutResult(status -> {
+                Instant now = Instant.now();
+                target.bookings.replace(bookingService.getAllBookingRows(), now);
+                target.guests.replace(guestService.getAllGuestRows(), now);
+                target.rooms.replace(roomService.getAllRoomRows(), now);
+                target.inventory.replace(inventoryService.getAllInventoryItems(), now);
+            });
+            eventPublisher.publishEvent(new BookingRowsChangedEvent(propertyId, Set.of(), true));
+            eventPublisher.publishEvent(new RoomRowsChangedEvent(propertyId, Set.of(), true));
+        });
+        log.info("Read models of property {} rebuilt in {} ms", propertyId, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        applier.shutdownNow();
+    }
+
+    private Views current() {
+        return views(PropertyContext.current());
+    }
+
+    private Views views(long propertyId) {
+        return views.computeIfAbsent(propertyId, Views::new);
+    }
+
+    private <T> Snapshot<T> loaded(View<T> view) {
+        if (view.snapshot == null) {
+            synchronized (this) {
+                if (view.snapshot == null) {
+                    rebuild(view.propertyId);
+                }
+            }
+        }
+        return view.snapshot;
+    }
+
+    /**
+     * Adds to the change set of the current transaction, applied once after it commits.
+     * Without a transaction the change is already committed and is queued right away.
+     */
+    private void enqueue(long propertyId, Instant occurredAt, Consumer<ChangeSet> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ChangeSet changes = new ChangeSet(propertyId, occurredAt);
+            change.accept(changes);
+            submit(changes);
+            return;
+        }
+        // A transaction works for one property, the one its session was opened for
+        ChangeSet changes = (ChangeSet) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            ChangeSet bound = new ChangeSet(propertyId, occurredAt);
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReadModelService.this);
+                }
+            });
+            changes = bound;
+        }
+        change.accept(changes);
+    }
+
+    private void submit(ChangeSet changes) {
+        pending.add(changes);
+        applier.execute(this::drain);
+    }
+
+    /**
+     * Folds every queued change set into one per property and applies them; later tasks find the queue empty.
+     */
+    private void drain() {
+        Map<Long, ChangeSet> merged = new LinkedHashMap<>();
+        for (ChangeSet next = pending.poll(); next != null; next = pending.poll()) {
+            merged.merge(next.propertyId, next, ChangeSet::absorb);
+        }
+        merged.values().forEach(changes -> {
+            try {
+                PropertyContext.runAs(changes.propertyId, () -> apply(changes));
+            } catch (RuntimeException e) {
+                // The write already committed; never fail the caller because a view lagged
+                log.error("Failed to update read models of property {}; they stay stale until the next rebuild",
+                        changes.propertyId, e);
+                views(changes.propertyId).all().forEach(view -> view.stale = true);
+            }
+        });
+    }
+
+    private synchronized void apply(ChangeSet changes) {
+        Views target = views(changes.propertyId);
+        if (target.bookings.snapshot == null) {
+            rebuild(changes.propertyId);
+            return;
+        }
+        // Booking rows carry the guest name, and a deleted guest takes its bookings along
+        if (!changes.guests.isEmpty()) {
+            target.bookings.snapshot.rows().stream()
+                    .filter(row -> changes.guests.contains(row.getGuestId()))
+                    .forEach(row -> changes.bookings.add(row.getId()));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            target.bookings.merge(changes.bookings, bookingService::getBookingRows, changes.occurredAt);
+            target.guests.merge(changes.guests, guestService::getGuestRows, changes.occurredAt);
+            target.rooms.merge(changes.rooms, roomService::getRoomsByIds, changes.occurredAt);
+            target.inventory.merge(changes.inventory, inventoryService::getInventoryItemsByIds, changes.occurredAt);
+        });
+        if (!changes.bookings.isEmpty()) {
+            eventPublisher.publishEvent(
+                    new BookingRowsChangedEvent(changes.propertyId, Set.copyOf(changes.bookings), false));
+        }
+        if (!changes.rooms.isEmpty()) {
+            eventPublisher.publishEvent(new RoomRowsChangedEvent(changes.propertyId, Set.copyOf(changes.rooms), false));
+        }
+    }
+
+    /**
+     * The four views of one property.
+     */
+    private static final class Views {
+        private final View<BookingDTO> bookings;
+        private final View<GuestDTO> guests;
+        private final View<RoomDTO> rooms;
+        private final View<InventoryItemDTO> inventory;
+
+        private Views(long propertyId) {
+            bookings = new View<>(propertyId, "bookings", BookingDTO::getId,
+                    Comparator.comparing(BookingDTO::getCheckInDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                            .thenComparing(BookingDTO::getId));
+            guests = new View<>(propertyId, "guests", GuestDTO::getId,
+                    Comparator.comparing(GuestDTO::getId));
+            rooms = new View<>(propertyId, "rooms", RoomDTO::getId,
+                    Comparator.comparing(RoomDTO::getNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+                            .thenComparing(RoomDTO::getId));
+            inventory = new View<>(propertyId, "inventory", InventoryItemDTO::getId,
+                    Comparator.comparing(InventoryItemDTO::getId));
+        }
+
+        private List<View<?>> all() {
+            return List.of(bookings, guests, rooms, inventory);
+        }
+    }
+
+    private static final class ChangeSet {
+        private final long propertyId;
+        private final Instant occurredAt;
+        private final Set<Long> bookings = new HashSet<>();
+        private final Set<Long> guests = new HashSet<>();
+        private final Set<Long> rooms = new HashSet<>();
+        private final Set<Long> inventory = new HashSet<>();
+
+        private ChangeSet(long propertyId, Instant occurredAt) {
+            this.propertyId = propertyId;
+            this.occurredAt = occurredAt;
+        }
+
+        private ChangeSet absorb(ChangeSet other) {
+            ChangeSet merged = new ChangeSet(propertyId,
+                    occurredAt.isBefore(other.occurredAt) ? occurredAt : other.occurredAt);
+            for (ChangeSet source : List.of(this, other)) {
+                merged.bookings.addAll(source.bookings);
+                merged.guests.addAll(source.guests);
+                merged.rooms.addAll(source.rooms);
+                merged.inventory.addAll(source.inventory);
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * One list view; written only under the service lock, read without locking.
+     */
+    private static final class View<T> {
+        private final long propertyId;
+        private final String name;
+        private final Function<T, Long> idOf;
+        private final Comparator<T> order;
+        private volatile Snapshot<T> snapshot;
+        private volatile Instant rebuiltAt;
+        private volatile boolean stale;
+
+        private View(long propertyId, String name, Function<T, Long> idOf, Comparator<T> order) {
+            this.propertyId = propertyId;
+            this.name = name;
+            this.idOf = idOf;
+            this.order = order;
+        }
+
+        private void replace(List<T> rows, Instant now) {
+            Map<Long, T> byId = new HashMap<>();
+            rows.forEach(row -> byId.put(idOf.apply(row), row));
+            publish(byId, now, 0);
+            rebuiltAt = now;
+            stale = false;
+        }
+
+        private void merge(Set<Long> ids, Function<Collection<Long>, List<T>> loader, Instant occurredAt) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<T> loaded = loader.apply(ids);
+            Map<Long, T> byId = new HashMap<>(snapshot.byId());
+            ids.forEach(byId::remove);
+            loaded.forEach(row -> byId.put(idOf.apply(row), row));
+
+            Instant now = Instant.now();
+            publish(byId, now, Duration.between(occurredAt, now).toMillis());
+        }
+
+        private void publish(Map<Long, T> byId, Instant now, long lagMillis) {
+            List<T> rows = byId.values().stream().sorted(order).toList();
+            long version = snapshot != null ? snapshot.version() + 1 : 1;
+            snapshot = new Snapshot<>(rows, Map.copyOf(byId), version, now, lagMillis);
+        }
+
+        private ReadModelStatusDTO status(int pendingChanges) {
+            Snapshot<T> current = snapshot;
+            return ReadModelStatusDTO.builder()
+                    .view(name)
+                    .rows(current != null ? current.rows().size() : 0)
+                    .version(current != null ? current.version() : 0)
+                    .refreshedAt(current != null ? current.refreshedAt() : null)
+                    .ageMillis(current != null ? current.ageMillis() : null)
+                    .lastLagMillis(current != null ? current.lagMillis() : null)
+                    .rebuiltAt(rebuiltAt)
+                    .pendingChanges(pendingChanges)
+                    .stale(current == null || stale)
+                    .build();
+        }
+    }
+
+    /**
+     * Immutable view contents. {@code lagMillis} is how long the last change took to reach the view.
+     */
+    public record Snapshot<T>(
+            List<T> rows,
+            Map<Long, T> byId,
+            long version,
+            Instant refreshedAt,
+            long lagMillis
+    ) {
+
+        public long ageMillis() {
+            return Duration.between(refreshedAt, Instant.now()).toMillis();
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.ReportJobDTO;
+import com.onlykei.hotel_management.dtos.ReportJobRequest;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs report jobs in the background and keeps their results on disk until they expire.
+ *
+ * Jobs run on a fixed pool of report workers with a bounded queue; a full queue rejects new
+ * submissions instead of piling them up. Each job writes to a ".part" file that is renamed
+ * into place when the report completes, so a download never sees a partial file. Job state is
+ * held in memory only, so files left over from a previous run are deleted at startup; only files
+ * named with the report prefix are touched, in case the directory is shared. A job reports on the
+ * property it was submitted for and is only visible to requests for that property.
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+
+    public enum Status {
+        queued, running, completed, failed
+    }
+
+    private static final String FILE_PREFIX = "report-";
+
+    private final ReportService reportService;
+    private final Path directory;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(
+            ReportService reportService,
+            @Value("${reports.directory:data/reports}") String directory,
+            @Value("${reports.workers:2}") int workers,
+            @Value("${reports.queue-capacity:20}") int queueCapacity,
+            @Value("${reports.retention:PT24H}") Duration retention
+    ) {
+        this.reportService = reportService;
+        this.directory = Paths.get(directory);
+        this.retention = retention;
+
+        AtomicInteger threads = new AtomicInteger();
+        int poolSize = Math.max(workers, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PostConstruct
+    void prepareDirectory() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PREFIX + "*.{csv,part}")) {
+            for (Path file : leftovers) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a report and returns its job. Throws RejectedExecutionException when the queue is full.
+     */
+    public ReportJobDTO submit(ReportJobRequest request) {
+        reportService.validate(request);
+        ReportJobRequest spec = new ReportJobRequest(request.getType(), request.getStartDate(),
+                request.getEndDate(), request.getGranularity());
+        Job job = new Job(UUID.randomUUID().toString(), PropertyContext.current(), spec);
+        // The future is set before the task can start, so a delete racing the submit can cancel it
+        FutureTask<Void> task = new FutureTask<>(PropertyContext.bind(() -> {
+            run(job);
+            return null;
+        }));
+        job.future = task;
+        jobs.put(job.id, job);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new RejectedExecutionException("Report queue is full, try again later", e);
+        }
+        return toDTO(job);
+    }
+
+    public ReportJobDTO getJob(String id) {
+        return toDTO(find(id));
+    }
+
+    public List<ReportJobDTO> getJobs() {
+        long propertyId = PropertyContext.current();
+        return jobs.values().stream()
+                .filter(job -> job.propertyId == propertyId)
+                .sorted(Comparator.comparing((Job job) -> job.submittedAt).reversed())
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * The result file of a completed job, or empty while it is still queued, running or failed.
+     */
+    public Optional<Path> getResult(String id) {
+        Job job = find(id);
+        return job.status == Status.completed ? Optional.of(resultFile(job)) : Optional.empty();
+    }
+
+    /**
+     * Cancels a queued or running job, or removes a finished one, and deletes its files.
+     */
+    public void delete(String id) {
+        Job job = find(id);
+        jobs.remove(id);
+        job.future.cancel(true);
+        deleteFiles(job);
+    }
+
+    @Scheduled(fixedDelayString = "${reports.cleanup-interval:PT10M}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt == null || job.expiresAt.isAfter(now)) {
+                return false;
+            }
+            deleteFiles(job);
+            return true;
+        });
+    }
+
+    private void run(Job job) {
+        if (!jobs.containsKey(job.id)) {
+            return;
+        }
+        job.status = Status.running;
+        job.startedAt = LocalDateTime.now();
+        Path part = partFile(job);
+        try {
+            try (Writer out = Files.newBufferedWriter(part, StandardCharsets.UTF_8)) {
+                job.rowsWritten = reportService.write(job.request, out, (processed, total) ->
+                        job.progress = total > 0 ? (int) Math.min(99, processed * 100 / total) : 0);
+            }
+            Files.move(part, resultFile(job), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.sizeBytes = Files.size(resultFile(job));
+            job.progress = 100;
+            job.status = Status.completed;
+        } catch (CancellationException e) {
+            job.status = Status.failed;
+            job.message = "Cancelled";
+        } catch (IllegalArgumentException e) {
+            job.status = Status.failed;
+            job.message = e.getMessage();
+        } catch (IOException | RuntimeException e) {
+            log.error("Report job {} failed", job.id, e);
+            job.status = Status.failed;
+            job.message = "Report failed: " + e.getClass().getSimpleName();
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            job.expiresAt = job.finishedAt.plus(retention);
+            // Failed jobs keep no files, and neither do jobs deleted while they ran
+            if (job.status != Status.completed || !jobs.containsKey(job.id)) {
+                deleteFiles(job);
+            }
+        }
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null || job.propertyId != PropertyContext.current()) {
+            throw new ResourceNotFoundException("Report job not found with id: " + id);
+        }
+        return job;
+    }
+
+    private Path resultFile(Job job) {
+        return directory.resolve(FILE_PREFIX + job.id + ".csv");
+    }
+
+    private Path partFile(Job job) {
+        return directory.resolve(FILE_PREFIX + job.id + ".part");
+    }
+
+    private void deleteFiles(Job job) {
+        try {
+            Files.deleteIfExists(partFile(job));
+            Files.deleteIfExists(resultFile(job));
+        } catch (IOException e) {
+            log.warn("Could not delete files of report job {}", job.id, e);
+        }
+    }
+
+    private ReportJobDTO toDTO(Job job) {
+        return ReportJobDTO.builder()
+                .id(job.id)
+                .type(ReportService.type(job.request).name())
+                .granularity(ReportService.granularity(job.request).name())
+                .startDate(job.request.getStartDate())
+                .endDate(job.request.getEndDate())
+                .status(job.status.name())
+                .progress(job.progress)
+                .rowsWritten(job.rowsWritten)
+                .sizeBytes(job.sizeBytes)
+                .message(job.message)
+                .downloadUrl(job.status == Status.completed ? "/api/v1/reports/jobs/" + job.id + "/download" : null)
+                .submittedAt(job.submittedAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .expiresAt(job.expiresAt)
+                .build();
+    }
+
+    /**
+     * Mutable job state; written by the worker thread and read by request threads.
+     */
+    private static final class Job {
+        private final String id;
+        private final long propertyId;
+        private final ReportJobRequest request;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile Future<?> future;
+        private volatile Status status = Status.queued;
+        private volatile int progress;
+        private volatile Long rowsWritten;
+        private volatile Long sizeBytes;
+        private volatile String message;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime expiresAt;
+
+        private Job(String id, long propertyId, ReportJobRequest request) {
+            this.id = id;
+            this.propertyId = propertyId;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.dtos.ReportJobRequest;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.repositories.BookingArchiveRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.StayRow;
+import com.onlykei.hotel_management.repositories.ExpensesRepository;
+import com.onlykei.hotel_management.repositories.ExpensesRepository.ExpenseRow;
+import com.onlykei.hotel_management.repositories.GuestRepository;
+import com.onlykei.hotel_management.repositories.GuestRepository.GuestNameRow;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes the CSV reports run by {@link ReportJobService}.
+ *
+ * Bookings (live and archived) and expenses are read as streamed projections inside one read-only
+ * transaction and folded into per-day arrays or per-guest totals, so memory follows the length of
+ * the range or the number of guests, never the number of bookings. A stay's amount is spread evenly
+ * over its nights and only nights inside the range count. Cancelled bookings are left out, and
+ * profit and loss books revenue only for bookings that were checked in; occupancy and guest
+ * reports also count confirmed bookings.
+ */
+@Service
+public class ReportService {
+
+    private static final List<BookingStatus> STAY_STATUSES =
+            List.of(BookingStatus.confirmed, BookingStatus.checked_in, BookingStatus.checked_out);
+    // A confirmed booking may still be cancelled or never arrive, so it is not revenue yet
+    private static final List<BookingStatus> REVENUE_STATUSES =
+            List.of(BookingStatus.checked_in, BookingStatus.checked_out);
+    private static final int PROGRESS_EVERY = 500;
+    private static final int NAME_CHUNK = 500;
+
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+    private final ExpensesRepository expensesRepository;
+    private final RoomRepository roomRepository;
+    private final GuestRepository guestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRangeDays;
+
+    public ReportService(
+            BookingRepository bookingRepository,
+            BookingArchiveRepository bookingArchiveRepository,
+            ExpensesRepository expensesRepository,
+            RoomRepository roomRepository,
+            GuestRepository guestRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${reports.max-range-days:731}") int maxRangeDays
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
+        this.expensesRepository = expensesRepository;
+        this.roomRepository = roomRepository;
+        this.guestRepository = guestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    public enum ReportType {
+        profit_and_loss, occupancy, guests
+    }
+
+    public enum Granularity {
+        day, month
+    }
+
+    /**
+     * Receives rows processed so far and the expected total.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void update(long processed, long total);
+    }
+
+    /**
+     * Checks a request before it is queued.
+     */
+    public void validate(ReportJobRequest request) {
+        type(request);
+        granularity(request);
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            throw new IllegalArgumentException("startDate and endDate are required");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= maxRangeDays) {
+            throw new IllegalArgumentException("Date range must not exceed " + maxRangeDays + " days");
+        }
+    }
+
+    public static ReportType type(ReportJobRequest request) {
+        if (request.getType() == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+        try {
+            return ReportType.valueOf(request.getType().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("type must be one of profit_and_loss, occupancy, guests");
+        }
+    }
+
+    public static Granularity granularity(ReportJobRequest request) {
+        if (request.getGranularity() == null || request.getGranularity().isBlank()) {
+            return Granularity.day;
+        }
+        try {
+            return Granularity.valueOf(request.getGranularity().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("granularity must be day or month");
+        }
+    }
+
+    /**
+     * Writes the report as CSV and returns the number of data rows written.
+     */
+    public long write(ReportJobRequest request, Writer out, ProgressListener progress) {
+        validate(request);
+        Long rows = transactionTemplate.execute(status -> switch (type(request)) {
+            case profit_and_loss -> writeProfitAndLoss(request, out, progress);
+            case occupancy -> writeOccupancy(request, out, progress);
+            case guests -> writeGuests(request, out, progress);
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private long writeProfitAndLoss(ReportJobRequest request, Writer out, ProgressListener progress) {
+        LocalDate start = request.getStartDate();
+        LocalDate end = request.getEndDate();
+        int days = days(start, end);
+        double[] revenue = new double[days];
+        double[] expenses = new double[days];
+
+        Counter counter = new Counter(progress,
+                countStays(REVENUE_STATUSES, start, end) + expensesRepository.countByDateIncurredBetween(start, end));
+        streamStays(REVENUE_STATUSES, start, end, counter,
+                stay -> spread(stay, start, end, (day, amount) -> revenue[day] += amount));
+        try (Stream<ExpenseRow> rows = expensesRepository.streamAmounts(start, end)) {
+            rows.forEach(row -> {
+                counter.tick();
+                if (row.getAmount() != null && row.getDateIncurred() != null) {
+                    expenses[(int) ChronoUnit.DAYS.between(start, row.getDateIncurred())] += row.getAmount();
+                }
+            });
+        }
+        counter.finish();
+
+        line(out, "period", "revenue", "expenses", "net");
+        long written = 0;
+        for (Period period : periods(start, end, granularity(request))) {
+            double periodRevenue = period.sum(revenue);
+            double periodExpenses = period.sum(expenses);
+            line(out, period.label(), money(periodRevenue), money(periodExpenses), money(periodRevenue - periodExpenses));
+            written++;
+        }
+        return written;
+    }
+
+    private long writeOccupancy(ReportJobRequest request, Writer out, ProgressListener progress) {
+        LocalDate start = request.getStartDate();
+        LocalDate end = request.getEndDate();
+        int days = days(start, end);
+        double[] roomNights = new double[days];
+        double[] revenue = new double[days];
+        long rooms = roomRepository.count();
+
+        Counter counter = new Counter(progress, countStays(STAY_STATUSES, start, end));
+        streamStays(STAY_STATUSES, start, end, counter, stay -> spread(stay, start, end, (day, amount) -> {
+            roomNights[day] += 1;
+            revenue[day] += amount;
+        }));
+        counter.finish();
+
+        // Capacity uses today's room count for every day of the range
+        line(out, "period", "roomNightsAvailable", "roomNightsSold", "occupancyPct", "adr", "revpar");
+        long written = 0;
+        for (Period period : periods(start, end, granularity(request))) {
+            double available = (double) rooms * period.length();
+            double sold = period.sum(roomNights);
+            double periodRevenue = period.sum(revenue);
+            line(out, period.label(),
+                    String.valueOf((long) available),
+                    String.valueOf((long) sold),
+                    money(available > 0 ? sold * 100 / available : 0),
+                    money(sold > 0 ? periodRevenue / sold : 0),
+                    money(available > 0 ? periodRevenue / available : 0));
+            written++;
+        }
+        return written;
+    }
+
+    private long writeGuests(ReportJobRequest request, Writer out, ProgressListener progress) {
+        LocalDate start = request.getStartDate();
+        LocalDate end = request.getEndDate();
+        Map<Long, GuestTotals> totals = new HashMap<>();
+
+        Counter counter = new Counter(progress, countStays(STAY_STATUSES, start, end));
+        streamStays(STAY_STATUSES, start, end, counter, stay -> {
+            GuestTotals guest = totals.computeIfAbsent(stay.getGuestId(), id -> new GuestTotals());
+            guest.stays++;
+            spread(stay, start, end, (day, amount) -> {
+                guest.nights++;
+                guest.revenue += amount;
+            });
+        });
+        counter.finish();
+
+        List<Map.Entry<Long, GuestTotals>> ranked = new ArrayList<>(totals.entrySet());
+        ranked.sort(Comparator.comparing((Map.Entry<Long, GuestTotals> e) -> e.getValue().revenue).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        line(out, "guestId", "firstName", "lastName", "stays", "nights", "revenue");
+        long written = 0;
+        for (int from = 0; from < ranked.size(); from += NAME_CHUNK) {
+            List<Map.Entry<Long, GuestTotals>> chunk = ranked.subList(from, Math.min(from + NAME_CHUNK, ranked.size()));
+            Map<Long, GuestNameRow> names = guestRepository.findNamesByIds(chunk.stream().map(Map.Entry::getKey).toList())
+                    .stream()
+                    .collect(Collectors.toMap(GuestNameRow::getId, row -> row));
+            for (Map.Entry<Long, GuestTotals> entry : chunk) {
+                GuestNameRow name = names.get(entry.getKey());
+                GuestTotals guest = entry.getValue();
+                line(out, String.valueOf(entry.getKey()),
+                        name != null ? name.getFirstName() : null,
+                        name != null ? name.getLastName() : null,
+                        String.valueOf(guest.stays),
+                        String.valueOf(guest.nights),
+                        money(guest.revenue));
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private long countStays(List<BookingStatus> statuses, LocalDate start, LocalDate end) {
+        LocalDate endExclusive = end.plusDays(1);
+        return bookingRepository.countStays(statuses, start, endExclusive)
+                + bookingArchiveRepository.countStays(statuses, start, endExclusive);
+    }
+
+    private void streamStays(List<BookingStatus> statuses, LocalDate start, LocalDate end, Counter counter,
+                             Consumer<StayRow> consumer) {
+        LocalDate endExclusive = end.plusDays(1);
+        try (Stream<StayRow> live = bookingRepository.streamStays(statuses, start, endExclusive)) {
+            live.forEach(stay -> {
+                counter.tick();
+                consumer.accept(stay);
+            });
+        }
+        try (Stream<StayRow> archived = bookingArchiveRepository.streamStays(statuses, start, endExclusive)) {
+            archived.forEach(stay -> {
+                counter.tick();
+                consumer.accept(stay);
+            });
+        }
+    }
+
+    /**
+     * Calls the consumer once per night of the stay inside [start, end] with the day index
+     * and that night's share of the booking amount.
+     */
+    private static void spread(StayRow stay, LocalDate start, LocalDate end, NightConsumer consumer) {
+        long nights = Math.max(ChronoUnit.DAYS.between(stay.getCheckInDate(), stay.getCheckOutDate()), 1);
+        double perNight = (stay.getTotalAmount() != null ? stay.getTotalAmount() : 0) / (double) nights;
+        LocalDate from = stay.getCheckInDate().isBefore(start) ? start : stay.getCheckInDate();
+        LocalDate lastNight = stay.getCheckOutDate().minusDays(1);
+        if (lastNight.isBefore(stay.getCheckInDate())) {
+            lastNight = stay.getCheckInDate();
+        }
+        LocalDate to = lastNight.isAfter(end) ? end : lastNight;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            consumer.accept((int) ChronoUnit.DAYS.between(start, day), perNight);
+        }
+    }
+
+    private static List<Period> periods(LocalDate start, LocalDate end, Granularity granularity) {
+        List<Period> periods = new ArrayList<>();
+        LocalDate from = start;
+        while (!from.isAfter(end)) {
+            LocalDate to;
+            String label;
+            if (granularity == Granularity.month) {
+                YearMonth month = YearMonth.from(from);
+                to = month.atEndOfMonth().isAfter(end) ? end : month.atEndOfMonth();
+                label = month.toString();
+            } else {
+                to = from;
+                label = from.toString();
+            }
+            periods.add(new Period(label, (int) ChronoUnit.DAYS.between(start, from), (int) ChronoUnit.DAYS.between(from, to) + 1));
+            from = to.plusDays(1);
+        }
+        return periods;
+    }
+
+    private static int days(LocalDate start, LocalDate end) {
+        return (int) ChronoUnit.DAYS.between(start, end) + 1;
+    }
+
+    private static String money(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static void line(Writer out, String... fields) {
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(csvField(fields[i]));
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface NightConsumer {
+        void accept(int day, double amount);
+    }
+
+    private record Period(String label, int offset, int length) {
+
+        double sum(double[] values) {
+            double total = 0;
+            for (int i = offset; i < offset + length; i++) {
+                total += values[i];
+            }
+            return total;
+        }
+    }
+
+    private static final class GuestTotals {
+        private long stays;
+        private long nights;
+        private double revenue;
+    }
+
+    /**
+     * Reports progress every few hundred rows and stops the report when its thread is interrupted.
+     */
+    private static final class Counter {
+        private final ProgressListener listener;
+        private final long total;
+        private long processed;
+
+        private Counter(ProgressListener listener, long total) {
+            this.listener = listener;
+            this.total = total;
+            listener.update(0, total);
+        }
+
+        private void tick() {
+            processed++;
+            if (processed % PROGRESS_EVERY == 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Report cancelled");
+                }
+                listener.update(processed, total);
+            }
+        }
+
+        private void finish() {
+            listener.update(processed, Math.max(processed, total));
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.dtos.RoomAssignmentResultDTO;
+import com.onlykei.hotel_management.dtos.RoomTypeAssignmentDTO;
+import com.onlykei.hotel_management.events.BookingEvent;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
+import com.onlykei.hotel_management.exceptions.RoomNotAvailableException;
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.RoomModel;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.StaySlot;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import com.onlykei.hotel_management.services.RoomSchedule.Fragmentation;
+import com.onlykei.hotel_management.services.RoomSchedule.Stay;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Places room-type reservations into concrete rooms of their type.
+ *
+ * A reservation sold as a room type gets a room as soon as it is booked, so availability,
+ * check-in and every report keep working with a room id. Until the day before arrival the
+ * engine may move it to another room of the type, to keep the calendar free of gaps too short
+ * to sell. Bookings made for a specific room, guests already in house and holds never move.
+ *
+ * On each booking, the reservation goes to the free room where it fits best (interval
+ * best-fit: the room whose neighbouring stays leave the smallest gap). When no room is free
+ * for the whole stay, up to {@link #MAX_EVICTIONS} movable reservations blocking one room are
+ * moved elsewhere to make space. A re-optimization lifts every movable reservation arriving
+ * in a date window and places them again, earliest arrival first, trying several orders while
+ * its time budget lasts, and keeps the new plan only if it leaves fewer short gaps. The
+ * budget bounds the search; the moves of the plan kept are written in full.
+ *
+ * Every room a reservation is put in is claimed like any other booking write
+ * (RoomHoldService), then checked with a locking read, so a booking committed after the
+ * engine read the calendar is noticed and the write fails with 409 instead of double booking.
+ */
+@Slf4j
+@Service
+public class RoomAssignmentService {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.confirmed, BookingStatus.checked_in);
+
+    // Stays read on each side of the dates being placed, to see the gaps next to them
+    private static final int LOOKAROUND_DAYS = 31;
+    private static final int MAX_EVICTIONS = 2;
+
+    // Orders a re-optimization tries; each is greedy by arrival, the first is the classic one
+    private static final List<Comparator<Stay>> PLACEMENT_ORDERS = List.of(
+            Comparator.comparing((Stay stay) -> stay.checkIn).thenComparing(stay -> stay.checkOut, Comparator.reverseOrder()),
+            Comparator.comparing((Stay stay) -> stay.checkIn).thenComparing(stay -> stay.checkOut),
+            Comparator.comparingLong(Stay::nights).reversed().thenComparing(stay -> stay.checkIn)
+    );
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final RoomHoldService roomHoldService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration timeBudget;
+    private final int shortGapNights;
+    private final int maxWindowDays;
+
+    public RoomAssignmentService(
+            BookingRepository bookingRepository,
+            RoomRepository roomRepository,
+            RoomHoldService roomHoldService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${room-assignment.time-budget:PT2S}") Duration timeBudget,
+            @Value("${room-assignment.short-gap-nights:2}") int shortGapNights,
+            @Value("${room-assignment.max-window-days:366}") int maxWindowDays
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.roomHoldService = roomHoldService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.timeBudget = timeBudget;
+        this.shortGapNights = shortGapNights;
+        this.maxWindowDays = maxWindowDays;
+    }
+
+    /**
+     * Picks and claims the room of a new reservation of {@code roomType}, moving other
+     * reservations of the type when that is the only way to fit it. Runs in the booking's
+     * transaction; throws RoomNotAvailableException when the type is full for the dates.
+     */
+    @Transactional
+    public RoomModel assignRoom(String roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (roomType == null || roomType.isBlank() || checkInDate == null || checkOutDate == null) {
+            throw new IllegalArgumentException("roomType, checkInDate and checkOutDate are required");
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("checkOutDate must be after checkInDate");
+        }
+        TypeCalendar calendar = load(roomType.trim(), checkInDate.minusDays(LOOKAROUND_DAYS),
+                checkOutDate.plusDays(LOOKAROUND_DAYS), LocalDate.now());
+
+        for (Long roomId : calendar.schedule().freeTargets(checkInDate, checkOutDate)) {
+            // A claim or the locking read only fails while another booking of the room is being written
+            if (!tryClaim(roomId, checkInDate, checkOutDate)) {
+                continue;
+            }
+            if (isFree(List.of(new Placement(null, roomId, checkInDate, checkOutDate)))) {
+                return calendar.rooms().get(roomId);
+            }
+            // Booked meanwhile: let other writers have the rest of the room while this one goes on
+            roomHoldService.releaseClaim(roomId, checkInDate, checkOutDate);
+        }
+
+        Repair repair = findRepair(calendar, checkInDate, checkOutDate);
+        if (repair == null) {
+            throw new RoomNotAvailableException("No " + roomType.trim() + " room is available for the selected dates");
+        }
+        roomHoldService.claimForBooking(repair.roomId(), checkInDate, checkOutDate, null);
+        List<Placement> placements = new ArrayList<>();
+        placements.add(new Placement(null, repair.roomId(), checkInDate, checkOutDate));
+        placements.addAll(move(calendar, repair.moves()));
+        if (!isFree(placements)) {
+            throw new RoomNotAvailableException("Rooms changed while making space; please try again");
+        }
+        publishMoves(calendar, repair.moves());
+        log.debug("Moved {} {} reservations to fit {} to {}", repair.moves().size(), roomType, checkInDate, checkOutDate);
+        return calendar.rooms().get(repair.roomId());
+    }
+
+    /**
+     * Picks and claims {@code count} rooms of {@code roomType} free for the whole range, best fit
+     * first, in one read of the calendar and one locking check. All or nothing: throws
+     * RoomNotAvailableException when fewer are free. Only free rooms are used; reservations
+     * are not moved to make space for a block.
+     */
+    @Transactional
+    public List<RoomModel> assignRooms(String roomType, LocalDate checkInDate, LocalDate checkOutDate, int count) {
+        if (roomType == null || roomType.isBlank() || checkInDate == null || checkOutDate == null) {
+            throw new IllegalArgumentException("roomType, checkInDate and checkOutDate are required");
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("checkOutDate must be after checkInDate");
+        }
+        TypeCalendar calendar = load(roomType.trim(), checkInDate.minusDays(LOOKAROUND_DAYS),
+                checkOutDate.plusDays(LOOKAROUND_DAYS), LocalDate.now());
+
+        List<Long> free = calendar.schedule().freeTargets(checkInDate, checkOutDate);
+        List<Placement> placements = new ArrayList<>();
+        for (Long roomId : free) {
+            if (placements.size() == count) {
+                break;
+            }
+            if (tryClaim(roomId, checkInDate, checkOutDate)) {
+                placements.add(new Placement(null, roomId, checkInDate, checkOutDate));
+            }
+        }
+        if (placements.size() < count) {
+            throw new RoomNotAvailableException("Only " + placements.size() + " " + roomType.trim()
+                    + " rooms are available for the selected dates, " + count + " requested");
+        }
+        if (!isFree(placements)) {
+            throw new RoomNotAvailableException("Rooms changed while reserving the block; please try again");
+        }
+        return placements.stream().map(placement -> calendar.rooms().get(placement.roomId())).toList();
+    }
+
+    /**
+     * Re-places the movable reservations arriving in [startDate, endDate) of one room type, or
+     * of every type when {@code roomType} is empty, within the configured time budget. Each
+     * type is written in its own transaction. With {@code dryRun} nothing is written.
+     */
+    public RoomAssignmentResultDTO optimize(LocalDate startDate, LocalDate endDate, String roomType, boolean dryRun) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("startDate and endDate are required");
+        }
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("endDate must be after startDate");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > maxWindowDays) {
+            throw new IllegalArgumentException("The window may span at most " + maxWindowDays + " days");
+        }
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        List<String> types = roomType != null && !roomType.isBlank()
+                ? List.of(roomType.trim())
+                : readOnlyTransaction.execute(status -> roomRepository.findAll().stream()
+                        .map(RoomModel::getType)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .sorted()
+                        .toList());
+
+        List<RoomTypeAssignmentDTO> results = new ArrayList<>();
+        boolean timedOut = false;
+        for (String type : types) {
+            if (System.nanoTime() >= deadline) {
+                results.add(RoomTypeAssignmentDTO.builder().roomType(type).outcome("timed_out").build());
+                timedOut = true;
+                continue;
+            }
+            TransactionTemplate transaction = dryRun ? readOnlyTransaction : transactionTemplate;
+            RoomTypeAssignmentDTO result;
+            try {
+                result = transaction.execute(status -> optimizeType(type, startDate, endDate, dryRun, deadline));
+            } catch (RoomNotAvailableException e) {
+                log.info("Re-optimizing {} rooms from {} to {} gave way to a concurrent booking", type, startDate, endDate);
+                result = RoomTypeAssignmentDTO.builder().roomType(type).outcome("conflict").build();
+            }
+            timedOut |= "timed_out".equals(result.getOutcome());
+            results.add(result);
+        }
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Room assignment {} from {} to {}: {} types in {} ms", dryRun ? "dry run" : "re-optimization",
+                startDate, endDate, results.size(), elapsedMillis);
+        return RoomAssignmentResultDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .dryRun(dryRun)
+                .timedOut(timedOut)
+                .elapsedMillis(elapsedMillis)
+                .types(results)
+                .build();
+    }
+
+    private RoomTypeAssignmentDTO optimizeType(String roomType, LocalDate startDate, LocalDate endDate,
+                                               boolean dryRun, long deadline) {
+        LocalDate fromDate = startDate.minusDays(LOOKAROUND_DAYS);
+        LocalDate toDate = endDate.plusDays(LOOKAROUND_DAYS);
+        TypeCalendar calendar = load(roomType, fromDate, toDate, LocalDate.now());
+        RoomSchedule schedule = calendar.schedule();
+
+        List<Stay> movable = calendar.movable().stream()
+                .filter(stay -> !stay.checkIn.isBefore(startDate) && stay.checkIn.isBefore(endDate))
+                .toList();
+        Fragmentation before = schedule.fragmentation(fromDate, toDate);
+        RoomSchedule base = schedule.copy();
+        movable.forEach(base::remove);
+
+        Map<Stay, Long> best = null;
+        Fragmentation bestFragmentation = before;
+        int bestMoves = 0;
+        boolean outOfTime = false;
+        for (Comparator<Stay> order : PLACEMENT_ORDERS) {
+            if (System.nanoTime() >= deadline) {
+                outOfTime = true;
+                break;
+            }
+            RoomSchedule trial = base.copy();
+            Map<Stay, Long> plan = place(trial, schedule, movable.stream().sorted(order).toList(), deadline);
+            if (plan == null) {
+                outOfTime |= System.nanoTime() >= deadline;
+                continue;
+            }
+            Fragmentation fragmentation = trial.fragmentation(fromDate, toDate);
+            int moves = countMoves(schedule, plan);
+            int byFragmentation = fragmentation.compareTo(bestFragmentation);
+            if (byFragmentation < 0 || (best != null && byFragmentation == 0 && moves < bestMoves)) {
+                best = plan;
+                bestFragmentation = fragmentation;
+                bestMoves = moves;
+            }
+        }
+
+        RoomTypeAssignmentDTO.RoomTypeAssignmentDTOBuilder result = RoomTypeAssignmentDTO.builder()
+                .roomType(roomType)
+                .rooms(calendar.rooms().size())
+                .reservations(movable.size())
+                .shortGapsBefore(before.shortGaps())
+                .shortGapNightsBefore(before.shortGapNights());
+        if (best == null) {
+            return result.outcome(outOfTime ? "timed_out" : "unchanged")
+                    .moved(0)
+                    .shortGapsAfter(before.shortGaps())
+                    .shortGapNightsAfter(before.shortGapNights())
+                    .build();
+        }
+
+        Map<Stay, Long> moves = new LinkedHashMap<>();
+        best.forEach((stay, roomId) -> {
+            if (!roomId.equals(schedule.roomOf(stay))) {
+                moves.put(stay, roomId);
+            }
+        });
+        if (!dryRun) {
+            if (!isFree(move(calendar, moves))) {
+                throw new RoomNotAvailableException("Rooms changed while re-optimizing " + roomType);
+            }
+            publishMoves(calendar, moves);
+        }
+        return result.outcome(dryRun ? "planned" : "applied")
+                .moved(moves.size())
+                .shortGapsAfter(bestFragmentation.shortGaps())
+                .shortGapNightsAfter(bestFragmentation.shortGapNights())
+                .build();
+    }
+
+    /**
+     * Places the stays one by one into their best target room; a stay with no free target may
+     * stay where it was. Null when one cannot be placed or the deadline passes.
+     */
+    private Map<Stay, Long> place(RoomSchedule trial, RoomSchedule current, List<Stay> stays, long deadline) {
+        Map<Stay, Long> plan = new HashMap<>();
+        int placed = 0;
+        for (Stay stay : stays) {
+            if (++placed % 256 == 0 && System.nanoTime() >= deadline) {
+                return null;
+            }
+            Long roomId = trial.bestTarget(stay.checkIn, stay.checkOut);
+            if (roomId == null) {
+                Long original = current.roomOf(stay);
+                if (!trial.isFree(original, stay.checkIn, stay.checkOut)) {
+                    return null;
+                }
+                roomId = original;
+            }
+            trial.place(stay, roomId);
+            plan.put(stay, roomId);
+        }
+        return plan;
+    }
+
+    /**
+     * Cheapest way to empty one target room for the range by moving the movable reservations
+     * in it, or null when there is none.
+     */
+    private Repair findRepair(TypeCalendar calendar, LocalDate checkInDate, LocalDate checkOutDate) {
+        RoomSchedule schedule = calendar.schedule();
+        Repair best = null;
+        for (Long roomId : schedule.targets()) {
+            List<Stay> blocking = schedule.conflicts(roomId, checkInDate, checkOutDate);
+            if (blocking.isEmpty() || blocking.size() > MAX_EVICTIONS || blocking.stream().anyMatch(stay -> !stay.movable)) {
+                continue;
+            }
+            RoomSchedule trial = schedule.copy();
+            blocking.forEach(trial::remove);
+            trial.place(new Stay(null, checkInDate, checkOutDate, false), roomId);
+
+            // Longest first: they have the fewest rooms to go to
+            Map<Stay, Long> moves = new LinkedHashMap<>();
+            for (Stay stay : blocking.stream().sorted(Comparator.comparingLong(Stay::nights).reversed()).toList()) {
+                Long target = trial.bestTarget(stay.checkIn, stay.checkOut);
+                if (target == null) {
+                    moves = null;
+                    break;
+                }
+                trial.place(stay, target);
+                moves.put(stay, target);
+            }
+            if (moves == null) {
+                continue;
+            }
+            Fragmentation fragmentation = trial.fragmentation(calendar.fromDate(), calendar.toDate());
+            if (best == null || fragmentation.compareTo(best.fragmentation()) < 0
+                    || (fragmentation.compareTo(best.fragmentation()) == 0 && moves.size() < best.moves().size())) {
+                best = new Repair(roomId, moves, fragmentation);
+            }
+        }
+        return best;
+    }
+
+    private TypeCalendar load(String roomType, LocalDate fromDate, LocalDate toDate, LocalDate today) {
+        List<RoomModel> rooms = roomRepository.findByType(roomType).stream()
+                .sorted(Comparator.comparing(RoomModel::getNumber).thenComparing(RoomModel::getId))
+                .toList();
+        if (rooms.isEmpty()) {
+            throw new ResourceNotFoundException("No rooms of type " + roomType);
+        }
+        Map<Long, RoomModel> roomsById = new LinkedHashMap<>();
+        rooms.forEach(room -> roomsById.put(room.getId(), room));
+        // Rooms out of order keep their stays but take no new ones, as in the room search
+        List<Long> targets = rooms.stream()
+                .filter(room -> room.getStatus() != RoomStatus.maintenance)
+                .map(RoomModel::getId)
+                .toList();
+
+        RoomSchedule schedule = new RoomSchedule(roomsById.keySet(), targets, shortGapNights);
+        Map<Long, BookingModel> bookings = new HashMap<>();
+        List<Stay> movable = new ArrayList<>();
+        for (BookingModel booking : bookingRepository.findByRoomIdsBetween(roomsById.keySet(), ACTIVE_STATUSES, fromDate, toDate)) {
+            boolean canMove = booking.getRoomType() != null
+                    && booking.getStatus() == BookingStatus.confirmed
+                    && booking.getCheckInDate().isAfter(today);
+            Stay stay = new Stay(booking.getId(), booking.getCheckInDate(), booking.getCheckOutDate(), canMove);
+            schedule.place(stay, booking.getRoom().getId());
+            bookings.put(booking.getId(), booking);
+            if (canMove) {
+                movable.add(stay);
+            }
+        }
+        roomHoldService.getHeldRanges(roomsById.keySet(), fromDate, toDate).forEach(held -> schedule.place(
+                new Stay(null, held.checkInDate(), held.checkOutDate(), false), held.roomId()));
+        return new TypeCalendar(roomsById, bookings, schedule, movable, fromDate, toDate);
+    }
+
+    private boolean tryClaim(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        try {
+            roomHoldService.claimForBooking(roomId, checkInDate, checkOutDate, null);
+            return true;
+        } catch (RoomNotAvailableException e) {
+            return false;
+        }
+    }
+
+    // Claims the new rooms and writes the moves; flushed so the locking read sees them
+    private List<Placement> move(TypeCalendar calendar, Map<Stay, Long> moves) {
+        moves.forEach((stay, roomId) -> roomHoldService.claimForBooking(roomId, stay.checkIn, stay.checkOut, null));
+        List<Placement> placements = new ArrayList<>();
+        moves.forEach((stay, roomId) -> {
+            BookingModel booking = calendar.bookings().get(stay.bookingId);
+            booking.setRoom(calendar.rooms().get(roomId));
+            bookingRepository.save(booking);
+            placements.add(new Placement(stay.bookingId, roomId, stay.checkIn, stay.checkOut));
+        });
+        bookingRepository.flush();
+        return placements;
+    }
+
+    private void publishMoves(TypeCalendar calendar, Map<Stay, Long> moves) {
+        moves.keySet().forEach(stay -> eventPublisher.publishEvent(
+                BookingEvent.of(BookingEvent.Type.reassigned, calendar.bookings().get(stay.bookingId))));
+    }
+
+    /**
+     * Checks the placements against the latest committed bookings (and this transaction's own
+     * writes), locking the rows read until commit.
+     */
+    private boolean isFree(List<Placement> placements) {
+        if (placements.isEmpty()) {
+            return true;
+        }
+        LocalDate fromDate = placements.stream().map(Placement::checkInDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate toDate = placements.stream().map(Placement::checkOutDate).max(Comparator.naturalOrder()).orElseThrow();
+        List<Long> roomIds = placements.stream().map(Placement::roomId).distinct().toList();
+        Map<Long, List<StaySlot>> slotsByRoom = bookingRepository.lockStaySlots(roomIds, ACTIVE_STATUSES, fromDate, toDate)
+                .stream()
+                .collect(Collectors.groupingBy(StaySlot::getRoomId));
+        for (Placement placement : placements) {
+            for (StaySlot slot : slotsByRoom.getOrDefault(placement.roomId(), List.of())) {
+                if (!slot.getId().equals(placement.bookingId())
+                        && slot.getCheckInDate().isBefore(placement.checkOutDate())
+                        && slot.getCheckOutDate().isAfter(placement.checkInDate())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int countMoves(RoomSchedule current, Map<Stay, Long> plan) {
+        int moves = 0;
+        for (Map.Entry<Stay, Long> entry : plan.entrySet()) {
+            if (!entry.getValue().equals(current.roomOf(entry.getKey()))) {
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * The rooms of one type and their stays over [fromDate, toDate), read in the current transaction.
+     */
+    private record TypeCalendar(
+            Map<Long, RoomModel> rooms,
+            Map<Long, BookingModel> bookings,
+            RoomSchedule schedule,
+            List<Stay> movable,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+    }
+
+    private record Repair(Long roomId, Map<Stay, Long> moves, Fragmentation fragmentation) {
+    }
+
+    // A range put in a room; bookingId is null for the booking being created
+    private record Placement(Long bookingId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+}
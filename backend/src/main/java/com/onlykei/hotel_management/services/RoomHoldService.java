@@ -0,0 +1,366 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.RoomHoldDTO;
+import com.onlykei.hotel_management.dtos.RoomHoldRequest;
+import com.onlykei.hotel_management.exceptions.ResourceNotFoundException;
+import com.onlykei.hotel_management.exceptions.RoomNotAvailableException;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Short-lived holds on a room and date range while a clerk fills in the booking form.
+ *
+ * Holds live in memory and expire on a timing wheel ticked by the scheduler, so thousands of
+ * open holds cost one bucket scan per tick. A held range is left out of the available-room
+ * search and rejected by every other booking or hold until the hold expires, is released, or
+ * is converted into a booking.
+ *
+ * Every booking write claims its range here for the length of its transaction, with or without
+ * a hold, so two clerks booking the same room at once are serialized on the claim instead of
+ * both passing the overlap query. The claim ends when the transaction completes: on commit a
+ * converted hold is gone for good, on rollback it is put back with its remaining time.
+ */
+@Slf4j
+@Service
+public class RoomHoldService {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.confirmed, BookingStatus.checked_in);
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration ttl;
+    private final Duration maxTtl;
+
+    private final TimingWheel<Hold> wheel;
+    private final Map<String, Hold> holds = new HashMap<>();
+    private final Map<RoomKey, List<Hold>> byRoom = new HashMap<>();
+
+    public RoomHoldService(
+            RoomRepository roomRepository,
+            BookingRepository bookingRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${room-holds.ttl:PT10M}") Duration ttl,
+            @Value("${room-holds.max-ttl:PT30M}") Duration maxTtl,
+            @Value("${room-holds.tick:PT1S}") Duration tick,
+            @Value("${room-holds.wheel-slots:512}") int wheelSlots
+    ) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttl = ttl;
+        this.maxTtl = maxTtl;
+        this.wheel = new TimingWheel<>(tick.toMillis(), wheelSlots, System.currentTimeMillis());
+    }
+
+    public RoomHoldDTO placeHold(RoomHoldRequest request) {
+        if (request.getRoomId() == null || request.getCheckInDate() == null || request.getCheckOutDate() == null) {
+            throw new IllegalArgumentException("roomId, checkInDate and checkOutDate are required");
+        }
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new IllegalArgumentException("checkOutDate must be after checkInDate");
+        }
+        Duration holdFor = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : ttl;
+        if (holdFor.isNegative() || holdFor.isZero() || holdFor.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("ttlSeconds must be between 1 and " + maxTtl.toSeconds());
+        }
+        long propertyId = PropertyContext.current();
+        if (!readOnlyTransaction.execute(status -> roomRepository.existsById(request.getRoomId()))) {
+            throw new ResourceNotFoundException("Room not found with id: " + request.getRoomId());
+        }
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), propertyId, request.getRoomId(),
+                request.getCheckInDate(), request.getCheckOutDate(), request.getHeldBy(), Instant.now());
+        synchronized (this) {
+            checkFree(hold);
+            hold.expiresAt = hold.createdAt.plus(holdFor);
+            register(hold);
+        }
+
+        // Registered before the booking check: a booking committing concurrently either still
+        // holds its claim (and the hold was refused above) or is already visible here
+        boolean booked = Boolean.TRUE.equals(readOnlyTransaction.execute(status -> !bookingRepository
+                .findOverlappingBookings(hold.roomId, ACTIVE_STATUSES, hold.checkIn, hold.checkOut).isEmpty()));
+        if (booked) {
+            synchronized (this) {
+                unregister(hold);
+            }
+            throw new RoomNotAvailableException("Room is not available for the selected dates");
+        }
+        return toDTO(hold);
+    }
+
+    public synchronized RoomHoldDTO renewHold(String holdId) {
+        Hold hold = find(holdId);
+        if (!hold.claimed) {
+            wheel.cancel(hold.timeout);
+            hold.expiresAt = Instant.now().plus(ttl);
+            hold.timeout = wheel.schedule(hold, hold.expiresAt.toEpochMilli());
+        }
+        return toDTO(hold);
+    }
+
+    public synchronized void releaseHold(String holdId) {
+        Hold hold = find(holdId);
+        // A hold being converted belongs to its booking now
+        if (!hold.claimed) {
+            unregister(hold);
+        }
+    }
+
+    public synchronized RoomHoldDTO getHold(String holdId) {
+        return toDTO(find(holdId));
+    }
+
+    public synchronized List<RoomHoldDTO> getHolds() {
+        long propertyId = PropertyContext.current();
+        Instant now = Instant.now();
+        return holds.values().stream()
+                .filter(hold -> hold.propertyId == propertyId && hold.isActive(now))
+                .sorted(Comparator.comparing((Hold hold) -> hold.expiresAt))
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * Rooms of the current property with a hold or booking in progress overlapping the range.
+     */
+    public synchronized Set<Long> getHeldRoomIds(LocalDate checkInDate, LocalDate checkOutDate) {
+        long propertyId = PropertyContext.current();
+        Instant now = Instant.now();
+        Set<Long> roomIds = new HashSet<>();
+        byRoom.forEach((key, roomHolds) -> {
+            if (key.propertyId() == propertyId && roomHolds.stream()
+                    .anyMatch(hold -> hold.isActive(now) && hold.overlaps(checkInDate, checkOutDate))) {
+                roomIds.add(key.roomId());
+            }
+        });
+        return roomIds;
+    }
+
+    /**
+     * Holds and bookings in progress on the given rooms of the current property overlapping the range.
+     */
+    public synchronized List<HeldRange> getHeldRanges(Collection<Long> roomIds, LocalDate fromDate, LocalDate toDate) {
+        long propertyId = PropertyContext.current();
+        Instant now = Instant.now();
+        List<HeldRange> ranges = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            for (Hold hold : byRoom.getOrDefault(new RoomKey(propertyId, roomId), List.of())) {
+                if (hold.isActive(now) && hold.overlaps(fromDate, toDate)) {
+                    ranges.add(new HeldRange(roomId, hold.checkIn, hold.checkOut));
+                }
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Claims the range for the booking written by the current transaction, converting
+     * {@code holdId} when given. Throws RoomNotAvailableException when another hold or booking
+     * in progress overlaps it. Must be called inside the booking's transaction.
+     */
+    public void claimForBooking(Long roomId, LocalDate checkInDate, LocalDate checkOutDate, String holdId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room claims need an active transaction");
+        }
+        if (roomId == null || checkInDate == null || checkOutDate == null) {
+            throw new IllegalArgumentException("roomId, checkInDate and checkOutDate are required");
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("checkOutDate must be after checkInDate");
+        }
+        Hold claim;
+        synchronized (this) {
+            if (holdId != null) {
+                claim = find(holdId);
+                if (claim.claimed) {
+                    throw new RoomNotAvailableException("Hold " + holdId + " is already being booked");
+                }
+                if (claim.roomId != roomId || !claim.checkIn.equals(checkInDate) || !claim.checkOut.equals(checkOutDate)) {
+                    throw new IllegalArgumentException("Hold " + holdId + " is for room " + claim.roomId
+                            + " from " + claim.checkIn + " to " + claim.checkOut);
+                }
+                checkFree(claim);
+                wheel.cancel(claim.timeout);
+                claim.timeout = null;
+            } else {
+                claim = new Hold(null, PropertyContext.current(), roomId, checkInDate, checkOutDate, null, Instant.now());
+                checkFree(claim);
+                register(claim);
+            }
+            claim.claimed = true;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (RoomHoldService.this) {
+                    claim.claimed = false;
+                    if (status == STATUS_COMMITTED || claim.id == null || !claim.expiresAt.isAfter(Instant.now())) {
+                        unregister(claim);
+                    } else {
+                        claim.timeout = wheel.schedule(claim, claim.expiresAt.toEpochMilli());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Ends the current transaction's claim on the range before the transaction does, for a write
+     * that gave up on the room. Claims are never overlapping, so the range identifies it; claims
+     * converting a hold are left to their transaction.
+     */
+    public synchronized void releaseClaim(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        List<Hold> roomHolds = byRoom.getOrDefault(new RoomKey(PropertyContext.current(), roomId), List.of());
+        roomHolds.stream()
+                .filter(hold -> hold.id == null && hold.claimed
+                        && hold.checkIn.equals(checkInDate) && hold.checkOut.equals(checkOutDate))
+                .findFirst()
+                .ifPresent(this::unregister);
+    }
+
+    /**
+     * Drops expired holds. The wheel hands over holds whose deadline tick has passed; one still
+     * active was due within the same millisecond (the wheel only sees whole milliseconds) and
+     * goes back on the wheel for the next tick.
+     */
+    @Scheduled(fixedDelayString = "${room-holds.tick:PT1S}")
+    public synchronized void expireHolds() {
+        Instant now = Instant.now();
+        List<Hold> expired = new ArrayList<>();
+        List<Hold> early = new ArrayList<>();
+        wheel.advance(now.toEpochMilli(), hold -> (hold.isActive(now) ? early : expired).add(hold));
+        // Rescheduled once the wheel has moved, so they land on a later tick
+        early.forEach(hold -> hold.timeout = wheel.schedule(hold, hold.expiresAt.toEpochMilli()));
+        expired.forEach(this::unregister);
+        if (!expired.isEmpty()) {
+            log.debug("Expired {} room holds, {} still open", expired.size(), wheel.size());
+        }
+    }
+
+    private Hold find(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || hold.propertyId != PropertyContext.current() || !hold.isActive(Instant.now())) {
+            throw new ResourceNotFoundException("Room hold not found or expired: " + holdId);
+        }
+        return hold;
+    }
+
+    private void checkFree(Hold candidate) {
+        Instant now = Instant.now();
+        List<Hold> roomHolds = byRoom.getOrDefault(new RoomKey(candidate.propertyId, candidate.roomId), List.of());
+        for (Hold other : roomHolds) {
+            if (other != candidate && other.isActive(now) && other.overlaps(candidate.checkIn, candidate.checkOut)) {
+                throw new RoomNotAvailableException(other.id == null
+                        ? "Room is being booked for overlapping dates"
+                        : "Room is held for overlapping dates until " + other.expiresAt);
+            }
+        }
+    }
+
+    private void register(Hold hold) {
+        if (hold.id != null) {
+            holds.put(hold.id, hold);
+            hold.timeout = wheel.schedule(hold, hold.expiresAt.toEpochMilli());
+        }
+        byRoom.computeIfAbsent(new RoomKey(hold.propertyId, hold.roomId), key -> new ArrayList<>()).add(hold);
+    }
+
+    private void unregister(Hold hold) {
+        if (hold.id != null) {
+            holds.remove(hold.id);
+        }
+        wheel.cancel(hold.timeout);
+        hold.timeout = null;
+        RoomKey key = new RoomKey(hold.propertyId, hold.roomId);
+        List<Hold> roomHolds = byRoom.get(key);
+        if (roomHolds != null) {
+            roomHolds.remove(hold);
+            if (roomHolds.isEmpty()) {
+                byRoom.remove(key);
+            }
+        }
+    }
+
+    private RoomHoldDTO toDTO(Hold hold) {
+        return RoomHoldDTO.builder()
+                .id(hold.id)
+                .roomId(hold.roomId)
+                .checkInDate(hold.checkIn)
+                .checkOutDate(hold.checkOut)
+                .heldBy(hold.heldBy)
+                .createdAt(hold.createdAt)
+                .expiresAt(hold.expiresAt)
+                .build();
+    }
+
+    public record HeldRange(Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+
+    private record RoomKey(long propertyId, long roomId) {
+    }
+
+    /**
+     * A hold placed by a clerk, or with a null id, the claim of a booking written without one.
+     * Guarded by the service monitor.
+     */
+    private static final class Hold {
+        private final String id;
+        private final long propertyId;
+        private final long roomId;
+        private final LocalDate checkIn;
+        private final LocalDate checkOut;
+        private final String heldBy;
+        private final Instant createdAt;
+        private Instant expiresAt;
+        private TimingWheel.Timeout<Hold> timeout;
+        private boolean claimed;
+
+        private Hold(String id, long propertyId, long roomId, LocalDate checkIn, LocalDate checkOut,
+                     String heldBy, Instant createdAt) {
+            this.id = id;
+            this.propertyId = propertyId;
+            this.roomId = roomId;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.heldBy = heldBy;
+            this.createdAt = createdAt;
+            this.expiresAt = createdAt;
+        }
+
+        // Claims last as long as their transaction, whatever the clock says
+        private boolean isActive(Instant now) {
+            return claimed || expiresAt.isAfter(now);
+        }
+
+        private boolean overlaps(LocalDate otherCheckIn, LocalDate otherCheckOut) {
+            return checkIn.isBefore(otherCheckOut) && checkOut.isAfter(otherCheckIn);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.BookingDTO;
+import com.onlykei.hotel_management.dtos.RoomDTO;
+import com.onlykei.hotel_management.dtos.RoomInventoryDTO;
+import com.onlykei.hotel_management.dtos.RoomTypeInventoryDTO;
+import com.onlykei.hotel_management.events.BookingRowsChangedEvent;
+import com.onlykei.hotel_management.events.RoomRowsChangedEvent;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import com.onlykei.hotel_management.services.RoomHoldService.HeldRange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rooms left per room type per night, for a horizon starting today.
+ *
+ * Each type keeps a difference array over the horizon: a booking adds one at its first night
+ * and subtracts one the day it checks out, so a booking write touches two slots whatever its
+ * length, and a prefix sum turns the array into rooms booked per night when read. Rooms under
+ * maintenance are not counted, and neither are their bookings. Active holds are taken off when
+ * the counts are read.
+ *
+ * Counts are built from the bookings and rooms read models and updated whenever the bookings
+ * view swaps in changed rows. A room changing type or going in or out of maintenance, and the
+ * midnight roll, rebuild them; other room changes, such as the status flips of every check-in
+ * and check-out, leave them alone. Each property has its own counts, stamped with the snapshot
+ * versions they were built from so that a rebuild never replaces counts that already took in a
+ * newer bookings snapshot.
+ */
+@Slf4j
+@Service
+public class RoomInventoryService {
+
+    private static final List<String> BOOKED_STATUSES =
+            List.of(BookingStatus.confirmed.name(), BookingStatus.checked_in.name());
+
+    private final ReadModelService readModelService;
+    private final RoomHoldService roomHoldService;
+    private final int horizonDays;
+
+    private final Map<Long, Inventory> inventories = new ConcurrentHashMap<>();
+
+    public RoomInventoryService(
+            ReadModelService readModelService,
+            RoomHoldService roomHoldService,
+            @Value("${room-inventory.horizon-days:365}") int horizonDays
+    ) {
+        this.readModelService = readModelService;
+        this.roomHoldService = roomHoldService;
+        this.horizonDays = Math.max(horizonDays, 1);
+    }
+
+    /**
+     * Rooms left per night from startDate (today when null) for the given number of nights
+     * (to the end of the horizon when null), for one type or all of them.
+     */
+    public RoomInventoryDTO getInventory(LocalDate startDate, Integer days, String type) {
+        Inventory inventory = inventory(PropertyContext.current());
+        LocalDate start = startDate != null ? startDate : inventory.start;
+        int offset = (int) ChronoUnit.DAYS.between(inventory.start, start);
+        if (offset < 0 || offset >= inventory.days) {
+            throw new IllegalArgumentException("startDate must be between " + inventory.start + " and "
+                    + inventory.start.plusDays(inventory.days - 1));
+        }
+        int length = days != null ? days : inventory.days - offset;
+        if (length < 1 || offset + length > inventory.days) {
+            throw new IllegalArgumentException("days must be between 1 and " + (inventory.days - offset)
+                    + " from " + start);
+        }
+        String typeKey = type != null && !type.isBlank() ? key(type) : null;
+
+        // Read before taking the inventory lock; holds are answered from memory
+        List<HeldRange> holds = roomHoldService.getHeldRanges(inventory.roomIds(typeKey), start,
+                start.plusDays(length));
+        return RoomInventoryDTO.builder()
+                .startDate(start)
+                .days(length)
+                .types(inventory.counts(typeKey, offset, length, holds))
+                .build();
+    }
+
+    @EventListener
+    public void onBookingRowsChanged(BookingRowsChangedEvent event) {
+        long propertyId = event.propertyId();
+        Inventory current = inventories.get(propertyId);
+        if (event.rebuilt() || current == null) {
+            rebuild(propertyId, LocalDate.now());
+            return;
+        }
+        ReadModelService.Snapshot<BookingDTO> snapshot = PropertyContext.callAs(propertyId, readModelService::bookings);
+        // Applied in the map so that a rebuild publishing meanwhile either sees the update or is updated itself
+        inventories.computeIfPresent(propertyId, (id, inventory) -> {
+            inventory.update(snapshot, event.bookingIds());
+            return inventory;
+        });
+    }
+
+    @EventListener
+    public void onRoomRowsChanged(RoomRowsChangedEvent event) {
+        long propertyId = event.propertyId();
+        Inventory current = inventories.get(propertyId);
+        if (event.rebuilt() || current == null) {
+            rebuild(propertyId, LocalDate.now());
+            return;
+        }
+        ReadModelService.Snapshot<RoomDTO> snapshot = PropertyContext.callAs(propertyId, readModelService::rooms);
+        if (current.sellableChanged(snapshot.byId(), event.roomIds())) {
+            rebuild(propertyId, LocalDate.now());
+        }
+    }
+
+    /**
+     * Moves every property's horizon forward by rebuilding it from the new date.
+     */
+    @Scheduled(cron = "${room-inventory.roll-cron:0 0 0 * * *}")
+    public void roll() {
+        LocalDate today = LocalDate.now();
+        for (Long propertyId : List.copyOf(inventories.keySet())) {
+            rebuild(propertyId, today);
+        }
+    }
+
+    private Inventory inventory(long propertyId) {
+        Inventory current = inventories.get(propertyId);
+        return current != null ? current : rebuild(propertyId, LocalDate.now());
+    }
+
+    /**
+     * Builds the property's counts from the current snapshots. When the published counts took in a
+     * newer snapshot while these were built (a booking update racing the midnight roll), the
+     * snapshots are read again rather than dropping that update.
+     */
+    private synchronized Inventory rebuild(long propertyId, LocalDate today) {
+        while (true) {
+            ReadModelService.Snapshot<RoomDTO> rooms = PropertyContext.callAs(propertyId, readModelService::rooms);
+            ReadModelService.Snapshot<BookingDTO> bookings = PropertyContext.callAs(propertyId, readModelService::bookings);
+            Inventory next = new Inventory(today, horizonDays, rooms, bookings);
+            Inventory published = inventories.compute(propertyId,
+                    (id, existing) -> existing != null && existing.newerThan(next) ? existing : next);
+            if (published == next) {
+                log.debug("Room inventory of property {} rebuilt from {} for {} days with {} types and {} bookings",
+                        propertyId, today, horizonDays, next.types.size(), next.placements.size());
+                return next;
+            }
+        }
+    }
+
+    private static String key(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Type a room is counted under, or null when it is not counted
+    private static String sellableType(RoomDTO room) {
+        if (room == null || RoomStatus.maintenance.name().equals(room.getStatus())) {
+            return null;
+        }
+        String typeKey = key(room.getType());
+        return typeKey == null || typeKey.isEmpty() ? null : typeKey;
+    }
+
+    /**
+     * Counts of one room type: sellable rooms and the difference array of its bookings,
+     * one slot per night of the horizon plus one for stays running past its end.
+     */
+    private static final class TypeCounts {
+
+        private final String type;
+        private final List<Long> roomIds = new ArrayList<>();
+        private final int[] diff;
+
+        private TypeCounts(String type, int days) {
+            this.type = type;
+            this.diff = new int[days + 1];
+        }
+
+        private void add(int from, int to, int delta) {
+            diff[from] += delta;
+            diff[to] -= delta;
+        }
+    }
+
+    /**
+     * Nights [from, to) of the horizon a booking was counted in, and the type counting it.
+     */
+    private record Placement(TypeCounts counts, int from, int to) {
+    }
+
+    /**
+     * One horizon of counts. Types and rooms are fixed at construction; bookings are moved
+     * in and out under the write lock. The bookings version only changes inside the map's
+     * compute calls, which is also where it is compared.
+     */
+    private static final class Inventory {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final LocalDate start;
+        private final int days;
+        private final Map<String, TypeCounts> types = new TreeMap<>();
+        private final Map<Long, TypeCounts> typeByRoom = new HashMap<>();
+        private final Map<Long, Placement> placements = new HashMap<>();
+        private final long roomsVersion;
+        private long bookingsVersion;
+
+        private Inventory(LocalDate start, int days, ReadModelService.Snapshot<RoomDTO> rooms,
+                          ReadModelService.Snapshot<BookingDTO> bookings) {
+            this.start = start;
+            this.days = days;
+            this.roomsVersion = rooms.version();
+            this.bookingsVersion = bookings.version();
+            for (RoomDTO room : rooms.rows()) {
+                String typeKey = sellableType(room);
+                if (typeKey == null) {
+                    continue;
+                }
+                TypeCounts counts = types.computeIfAbsent(typeKey, k -> new TypeCounts(room.getType().trim(), days));
+                counts.roomIds.add(room.getId());
+                typeByRoom.put(room.getId(), counts);
+            }
+            bookings.rows().forEach(this::add);
+        }
+
+        private boolean newerThan(Inventory other) {
+            return bookingsVersion > other.bookingsVersion || roomsVersion > other.roomsVersion;
+        }
+
+        private List<Long> roomIds(String typeKey) {
+            if (typeKey != null) {
+                TypeCounts counts = types.get(typeKey);
+                return counts != null ? counts.roomIds : List.of();
+            }
+            return List.copyOf(typeByRoom.keySet());
+        }
+
+        /**
+         * Whether any of the rooms, as the snapshot has them now, would be counted under another
+         * type (or none) than they are.
+         */
+        private boolean sellableChanged(Map<Long, RoomDTO> snapshot, Set<Long> roomIds) {
+            for (Long roomId : roomIds) {
+                TypeCounts counts = typeByRoom.get(roomId);
+                if (!Objects.equals(counts != null ? key(counts.type) : null, sellableType(snapshot.get(roomId)))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // A snapshot no newer than the one the counts hold is already in them
+        private void update(ReadModelService.Snapshot<BookingDTO> snapshot, Set<Long> bookingIds) {
+            if (snapshot.version() <= bookingsVersion) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                bookingsVersion = snapshot.version();
+                for (Long id : bookingIds) {
+                    Placement previous = placements.remove(id);
+                    if (previous != null) {
+                        previous.counts().add(previous.from(), previous.to(), -1);
+                    }
+                    BookingDTO row = snapshot.byId().get(id);
+                    if (row != null) {
+                        add(row);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Callers hold the write lock, or own the inventory before it is published
+        private void add(BookingDTO row) {
+            if (!BOOKED_STATUSES.contains(row.getStatus()) || row.getRoomId() == null
+                    || row.getCheckInDate() == null || row.getCheckOutDate() == null) {
+                return;
+            }
+            TypeCounts counts = typeByRoom.get(row.getRoomId());
+            if (counts == null) {
+                return;
+            }
+            int from = (int) Math.max(ChronoUnit.DAYS.between(start, row.getCheckInDate()), 0);
+            int to = (int) Math.min(ChronoUnit.DAYS.between(start, row.getCheckOutDate()), days);
+            if (from >= to) {
+                return;
+            }
+            counts.add(from, to, 1);
+            placements.put(row.getId(), new Placement(counts, from, to));
+        }
+
+        private List<RoomTypeInventoryDTO> counts(String typeKey, int offset, int length, List<HeldRange> holds) {
+            Map<TypeCounts, int[]> heldDiffs = new HashMap<>();
+            for (HeldRange hold : holds) {
+                TypeCounts counts = typeByRoom.get(hold.roomId());
+                if (counts == null) {
+                    continue;
+                }
+                int from = (int) Math.max(ChronoUnit.DAYS.between(start, hold.checkInDate()), 0);
+                int to = (int) Math.min(ChronoUnit.DAYS.between(start, hold.checkOutDate()), days);
+                if (from < to) {
+                    int[] held = heldDiffs.computeIfAbsent(counts, c -> new int[days + 1]);
+                    held[from]++;
+                    held[to]--;
+                }
+            }
+
+            List<RoomTypeInventoryDTO> result = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (Map.Entry<String, TypeCounts> entry : types.entrySet()) {
+                    if (typeKey != null && !typeKey.equals(entry.getKey())) {
+                        continue;
+                    }
+                    TypeCounts counts = entry.getValue();
+                    int[] held = heldDiffs.get(counts);
+                    int[] available = new int[length];
+                    int taken = 0;
+                    for (int day = 0; day < offset + length; day++) {
+                        taken += counts.diff[day] + (held != null ? held[day] : 0);
+                        if (day >= offset) {
+                            available[day - offset] = Math.max(counts.roomIds.size() - taken, 0);
+                        }
+                    }
+                    result.add(RoomTypeInventoryDTO.builder()
+                            .roomType(counts.type)
+                            .rooms(counts.roomIds.size())
+                            .available(available)
+                            .build());
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.onlykei.hotel_management.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Occupancy of the rooms of one type over a date range, as the room assignment engine sees it:
+ * for each room, its stays ordered by check-in date. A stay is a booking, movable or not, or a
+ * hold. Only target rooms take new placements; the others keep what they already have.
+ *
+ * Placements are scored by the gaps they leave next to their neighbours, best fit first:
+ * touching a neighbour costs nothing, a longer gap costs its length, an open side costs more
+ * than any real gap (empty stretches are kept for long stays) and a gap too short to sell
+ * costs most.
+ *
+ * Not thread-safe; every engine run builds its own.
+ */
+final class RoomSchedule {
+
+    private static final long OPEN_GAP_COST = 10_000;
+    private static final long SHORT_GAP_COST = 1_000_000;
+
+    private static final Comparator<Stay> BY_CHECK_IN =
+            Comparator.comparing((Stay stay) -> stay.checkIn).thenComparingLong(stay -> stay.seq);
+
+    private final int shortGapNights;
+    private final List<Long> targets;
+    private final Map<Long, NavigableSet<Stay>> staysByRoom = new LinkedHashMap<>();
+    private final Map<Stay, Long> roomOf = new IdentityHashMap<>();
+
+    /**
+     * @param roomIds all rooms of the type, in preference order
+     * @param targets the rooms new placements may go to
+     */
+    RoomSchedule(Collection<Long> roomIds, Collection<Long> targets, int shortGapNights) {
+        this.shortGapNights = shortGapNights;
+        this.targets = List.copyOf(targets);
+        roomIds.forEach(roomId -> staysByRoom.put(roomId, new TreeSet<>(BY_CHECK_IN)));
+    }
+
+    private RoomSchedule(RoomSchedule other) {
+        this.shortGapNights = other.shortGapNights;
+        this.targets = other.targets;
+        other.staysByRoom.forEach((roomId, stays) -> staysByRoom.put(roomId, new TreeSet<>(stays)));
+        this.roomOf.putAll(other.roomOf);
+    }
+
+    RoomSchedule copy() {
+        return new RoomSchedule(this);
+    }
+
+    List<Long> targets() {
+        return targets;
+    }
+
+    void place(Stay stay, Long roomId) {
+        staysByRoom.computeIfAbsent(roomId, id -> new TreeSet<>(BY_CHECK_IN)).add(stay);
+        roomOf.put(stay, roomId);
+    }
+
+    void remove(Stay stay) {
+        Long roomId = roomOf.remove(stay);
+        if (roomId != null) {
+            staysByRoom.get(roomId).remove(stay);
+        }
+    }
+
+    Long roomOf(Stay stay) {
+        return roomOf.get(stay);
+    }
+
+    boolean isFree(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Stay before = stays(roomId).lower(Stay.probe(checkOut));
+        return before == null || !before.checkOut.isAfter(checkIn);
+    }
+
+    /**
+     * Stays of the room overlapping the range.
+     */
+    List<Stay> conflicts(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        List<Stay> conflicts = new ArrayList<>();
+        for (Stay stay : stays(roomId).headSet(Stay.probe(checkOut), false).descendingSet()) {
+            if (!stay.checkOut.isAfter(checkIn)) {
+                break;
+            }
+            conflicts.add(stay);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Cost of placing the range in the room, which must be free for it.
+     */
+    long cost(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        NavigableSet<Stay> stays = stays(roomId);
+        Stay before = stays.lower(Stay.probe(checkOut));
+        Stay after = stays.ceiling(Stay.probe(checkOut));
+        return gapCost(before != null ? ChronoUnit.DAYS.between(before.checkOut, checkIn) : -1)
+                + gapCost(after != null ? ChronoUnit.DAYS.between(checkOut, after.checkIn) : -1);
+    }
+
+    /**
+     * Target rooms free for the range, cheapest placement first, ties in preference order.
+     */
+    List<Long> freeTargets(LocalDate checkIn, LocalDate checkOut) {
+        List<Long> free = new ArrayList<>();
+        Map<Long, Long> costs = new HashMap<>();
+        for (Long roomId : targets) {
+            if (isFree(roomId, checkIn, checkOut)) {
+                free.add(roomId);
+                costs.put(roomId, cost(roomId, checkIn, checkOut));
+            }
+        }
+        free.sort(Comparator.comparingLong(costs::get));
+        return free;
+    }
+
+    /**
+     * The target room where the range fits best, or null when none is free.
+     */
+    Long bestTarget(LocalDate checkIn, LocalDate checkOut) {
+        Long best = null;
+        long bestCost = Long.MAX_VALUE;
+        for (Long roomId : targets) {
+            if (isFree(roomId, checkIn, checkOut)) {
+                long cost = cost(roomId, checkIn, checkOut);
+                if (cost < bestCost) {
+                    best = roomId;
+                    bestCost = cost;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gaps of one to shortGapNights nights between two stays of a room, touching the range.
+     */
+    Fragmentation fragmentation(LocalDate fromDate, LocalDate toDate) {
+        int gaps = 0;
+        int nights = 0;
+        for (NavigableSet<Stay> stays : staysByRoom.values()) {
+            LocalDate freeFrom = null;
+            for (Stay stay : stays) {
+                if (freeFrom != null && stay.checkIn.isAfter(freeFrom)) {
+                    long gap = ChronoUnit.DAYS.between(freeFrom, stay.checkIn);
+                    if (gap <= shortGapNights && freeFrom.isBefore(toDate) && stay.checkIn.isAfter(fromDate)) {
+                        gaps++;
+                        nights += (int) gap;
+                    }
+                }
+                if (freeFrom == null || stay.checkOut.isAfter(freeFrom)) {
+                    freeFrom = stay.checkOut;
+                }
+            }
+        }
+        return new Fragmentation(gaps, nights);
+    }
+
+    private NavigableSet<Stay> stays(Long roomId) {
+        NavigableSet<Stay> stays = staysByRoom.get(roomId);
+        return stays != null ? stays : new TreeSet<>(BY_CHECK_IN);
+    }
+
+    // -1 stands for an open side
+    private long gapCost(long nights) {
+        if (nights < 0) {
+            return OPEN_GAP_COST;
+        }
+        if (nights == 0) {
+            return 0;
+        }
+        return nights <= shortGapNights ? SHORT_GAP_COST : nights;
+    }
+
+    /**
+     * Unsellable gaps left in the rooms; fewer nights is better, then fewer gaps.
+     */
+    record Fragmentation(int shortGaps, int shortGapNights) implements Comparable<Fragmentation> {
+
+        @Override
+        public int compareTo(Fragmentation other) {
+            int byNights = Integer.compare(shortGapNights, other.shortGapNights);
+            return byNights != 0 ? byNights : Integer.compare(shortGaps, other.shortGaps);
+        }
+    }
+
+    /**
+     * A booking (bookingId set) or a hold occupying a room for [checkIn, checkOut).
+     * Compared by identity, so equal ranges can sit side by side.
+     */
+    static final class Stay {
+
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+
+        final Long bookingId;
+        final LocalDate checkIn;
+        final LocalDate checkOut;
+        final boolean movable;
+        private final long seq;
+
+        Stay(Long bookingId, LocalDate checkIn, LocalDate checkOut, boolean movable) {
+            this(bookingId, checkIn, checkOut, movable, SEQUENCE.incrementAndGet());
+        }
+
+        private Stay(Long bookingId, LocalDate checkIn, LocalDate checkOut, boolean movable, long seq) {
+            this.bookingId = bookingId;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.movable = movable;
+            this.seq = seq;
+        }
+
+        // Sorts before every stay checking in on the date
+        private static Stay probe(LocalDate checkIn) {
+            return new Stay(null, checkIn, checkIn, false, Long.MIN_VALUE);
+        }
+
+        long nights() {
+            return ChronoUnit.DAYS.between(checkIn, checkOut);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.RoomDTO;
+import com.onlykei.hotel_management.dtos.RoomSearchRequest;
+import com.onlykei.hotel_management.events.RoomRowsChangedEvent;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Multi-criteria room search over in-memory bitmap indexes.
+ *
+ * Every room of a property gets a slot; each type, amenity, status, capacity and nightly price
+ * has a bitmap of the slots holding it. A search intersects the bitmaps of its filters (ranges
+ * union the bitmaps of the values they cover first). A search with dates then checks only the
+ * matching rooms for the stay: bookings in one indexed query on those rooms, holds in the hold
+ * registry by room. Searches without dates never touch the database.
+ *
+ * Indexes are built from the rooms read model and updated whenever it swaps in changed rows,
+ * like the daily buckets. Each property has its own index.
+ */
+@Slf4j
+@Service
+public class RoomSearchService {
+
+    private static final Comparator<RoomDTO> BY_NUMBER =
+            Comparator.comparing(RoomDTO::getNumber, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(RoomDTO::getId);
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.confirmed, BookingStatus.checked_in);
+
+    private final ReadModelService readModelService;
+    private final BookingRepository bookingRepository;
+    private final RoomHoldService roomHoldService;
+
+    private final Map<Long, RoomIndex> indexes = new ConcurrentHashMap<>();
+
+    public RoomSearchService(
+            ReadModelService readModelService,
+            BookingRepository bookingRepository,
+            RoomHoldService roomHoldService
+    ) {
+        this.readModelService = readModelService;
+        this.bookingRepository = bookingRepository;
+        this.roomHoldService = roomHoldService;
+    }
+
+    public List<RoomDTO> search(RoomSearchRequest request) {
+        boolean withDates = request.getCheckInDate() != null || request.getCheckOutDate() != null;
+        if (withDates && (request.getCheckInDate() == null || request.getCheckOutDate() == null)) {
+            throw new IllegalArgumentException("checkInDate and checkOutDate must be given together");
+        }
+        if (withDates && !request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new IllegalArgumentException("checkOutDate must be after checkInDate");
+        }
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice() > request.getMaxPrice()) {
+            throw new IllegalArgumentException("minPrice must not be above maxPrice");
+        }
+
+        List<RoomDTO> candidates = index(PropertyContext.current()).search(request, withDates);
+        if (!withDates || candidates.isEmpty()) {
+            return candidates;
+        }
+
+        // Bookings come from the database, the source of truth, for the matching rooms only
+        List<Long> roomIds = candidates.stream().map(RoomDTO::getId).toList();
+        Set<Long> unavailable = new HashSet<>(bookingRepository.findBookedRoomIds(
+                roomIds, ACTIVE_STATUSES, request.getCheckInDate(), request.getCheckOutDate()));
+        roomHoldService.getHeldRanges(roomIds, request.getCheckInDate(), request.getCheckOutDate())
+                .forEach(range -> unavailable.add(range.roomId()));
+        return unavailable.isEmpty() ? candidates
+                : candidates.stream().filter(room -> !unavailable.contains(room.getId())).toList();
+    }
+
+    @EventListener
+    public void onRoomRowsChanged(RoomRowsChangedEvent event) {
+        long propertyId = event.propertyId();
+        ReadModelService.Snapshot<RoomDTO> snapshot = PropertyContext.callAs(propertyId, readModelService::rooms);
+        RoomIndex current = indexes.get(propertyId);
+        if (event.rebuilt() || current == null) {
+            replace(propertyId, snapshot);
+        } else {
+            current.update(snapshot, event.roomIds());
+        }
+    }
+
+    private RoomIndex index(long propertyId) {
+        RoomIndex current = indexes.get(propertyId);
+        return current != null ? current : replace(propertyId, readModelService.rooms());
+    }
+
+    // Keeps whichever index was built from the newer snapshot
+    private RoomIndex replace(long propertyId, ReadModelService.Snapshot<RoomDTO> snapshot) {
+        return indexes.compute(propertyId, (id, existing) -> {
+            if (existing != null && existing.version() >= snapshot.version()) {
+                return existing;
+            }
+            RoomIndex built = new RoomIndex(snapshot);
+            log.debug("Room search index of property {} built with {} rooms", id, snapshot.rows().size());
+            return built;
+        });
+    }
+
+    private static String key(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bitmap indexes of one property's rooms. Slots of deleted rooms are cleared and reused.
+     */
+    private static final class RoomIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<RoomDTO> rooms = new ArrayList<>();
+        private final Map<Long, Integer> slotByRoom = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private final Map<String, BitSet> byType = new HashMap<>();
+        private final Map<String, BitSet> byAmenity = new HashMap<>();
+        private final Map<String, BitSet> byStatus = new HashMap<>();
+        private final TreeMap<Integer, BitSet> byCapacity = new TreeMap<>();
+        private final TreeMap<Integer, BitSet> byPrice = new TreeMap<>();
+        private long version;
+
+        private RoomIndex(ReadModelService.Snapshot<RoomDTO> snapshot) {
+            snapshot.rows().forEach(this::add);
+            version = snapshot.version();
+        }
+
+        private long version() {
+            lock.readLock().lock();
+            try {
+                return version;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void update(ReadModelService.Snapshot<RoomDTO> snapshot, Set<Long> roomIds) {
+            lock.writeLock().lock();
+            try {
+                if (snapshot.version() <= version) {
+                    return;
+                }
+                for (Long roomId : roomIds) {
+                    remove(roomId);
+                    RoomDTO row = snapshot.byId().get(roomId);
+                    if (row != null) {
+                        add(row);
+                    }
+                }
+                version = snapshot.version();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private List<RoomDTO> search(RoomSearchRequest request, boolean withDates) {
+            lock.readLock().lock();
+            try {
+                BitSet matches = (BitSet) live.clone();
+                if (request.getType() != null && !request.getType().isBlank()) {
+                    matches.and(bitmap(byType, key(request.getType())));
+                }
+                List<String> amenities = request.getAmenities() == null ? List.of() : request.getAmenities().stream()
+                        .map(RoomSearchService::key)
+                        .filter(amenity -> amenity != null && !amenity.isEmpty())
+                        .toList();
+                if (!amenities.isEmpty()) {
+                    if (request.isMatchAllAmenities()) {
+                        amenities.forEach(amenity -> matches.and(bitmap(byAmenity, amenity)));
+                    } else {
+                        matches.and(union(amenities.stream().map(amenity -> bitmap(byAmenity, amenity)).toList()));
+                    }
+                }
+                if (request.getGuests() != null) {
+                    matches.and(union(byCapacity.tailMap(request.getGuests(), true).values()));
+                }
+                if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                    int min = request.getMinPrice() != null ? request.getMinPrice() : Integer.MIN_VALUE;
+                    int max = request.getMaxPrice() != null ? request.getMaxPrice() : Integer.MAX_VALUE;
+                    matches.and(union(byPrice.subMap(min, true, max, true).values()));
+                }
+                if (withDates) {
+                    // Occupancy for the stay comes from the bookings; only rooms out of order are excluded by status
+                    matches.andNot(bitmap(byStatus, RoomStatus.maintenance.name()));
+                }
+
+                List<RoomDTO> result = new ArrayList<>(matches.cardinality());
+                for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                    result.add(rooms.get(slot));
+                }
+                result.sort(BY_NUMBER);
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void add(RoomDTO room) {
+            int slot = live.nextClearBit(0);
+            if (slot == rooms.size()) {
+                rooms.add(room);
+            } else {
+                rooms.set(slot, room);
+            }
+            live.set(slot);
+            slotByRoom.put(room.getId(), slot);
+            place(room, slot, true);
+        }
+
+        private void remove(Long roomId) {
+            Integer slot = slotByRoom.remove(roomId);
+            if (slot == null) {
+                return;
+            }
+            place(rooms.get(slot), slot, false);
+            rooms.set(slot, null);
+            live.clear(slot);
+        }
+
+        private void place(RoomDTO room, int slot, boolean set) {
+            mark(byType, key(room.getType()), slot, set);
+            mark(byStatus, room.getStatus(), slot, set);
+            if (room.getAmenities() != null) {
+                room.getAmenities().forEach(amenity -> mark(byAmenity, key(amenity), slot, set));
+            }
+            // Rooms without a capacity count as single rooms, as the front end shows them
+            mark(byCapacity, room.getCapacity() != null ? room.getCapacity() : 1, slot, set);
+            mark(byPrice, room.getPricePerNight(), slot, set);
+        }
+
+        private static <K> void mark(Map<K, BitSet> bitmaps, K value, int slot, boolean set) {
+            if (value == null) {
+                return;
+            }
+            if (set) {
+                bitmaps.computeIfAbsent(value, k -> new BitSet()).set(slot);
+                return;
+            }
+            BitSet bitmap = bitmaps.get(value);
+            if (bitmap != null) {
+                bitmap.clear(slot);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(value);
+                }
+            }
+        }
+
+        private static BitSet bitmap(Map<String, BitSet> bitmaps, String value) {
+            BitSet bitmap = bitmaps.get(value);
+            return bitmap != null ? bitmap : new BitSet();
+        }
+
+        private static BitSet union(Collection<BitSet> bitmaps) {
+            BitSet union = new BitSet();
+            bitmaps.forEach(union::or);
+            return union;
+        }
+    }
+}
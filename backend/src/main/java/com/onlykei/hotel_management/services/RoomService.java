@@ -1,41 +1,80 @@
 package com.onlykei.hotel_management.services;
 
+import com.onlykei.hotel_management.config.Coalesced;
+import com.onlykei.hotel_management.dtos.BookingSummaryDTO;
+import com.onlykei.hotel_management.dtos.RoomDTO;
+import com.onlykei.hotel_management.events.EntityChangedEvent;
+import com.onlykei.hotel_management.events.EntityChangedEvent.Aggregate;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
 import com.onlykei.hotel_management.models.RoomModel;
 import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
 import com.onlykei.hotel_management.repositories.RoomRepository;
+import com.onlykei.hotel_management.repositories.RoomRepository.RoomAmenityRef;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomHoldService roomHoldService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public List<RoomModel> getAllRooms() {
-        return roomRepository.findAll();
+    @Coalesced
+    public List<RoomDTO> getAllRooms(boolean withUpcomingBookings) {
+        return expand(roomRepository.findAllSummaries(), withUpcomingBookings);
     }
 
+    /**
+     * Every room read fresh, bypassing the coalescing cache, for the read model rebuild.
+     */
     @Transactional(readOnly = true)
-    public RoomModel getRoomById(Long id) {
-        return roomRepository.findById(id)
+    public List<RoomDTO> getAllRoomRows() {
+        return expand(roomRepository.findAllSummaries(), false);
+    }
+
+    @Transactional(readOnly = true)
+    public RoomDTO getRoomById(Long id, boolean withUpcomingBookings) {
+        RoomDTO room = roomRepository.findSummaryById(id)
                 .orElseThrow(() -> new RuntimeException("Room not found"));
+        return expand(List.of(room), withUpcomingBookings).get(0);
     }
 
+    // Only in-flight calls are shared: a cached result would still offer rooms held or booked since
     @Transactional(readOnly = true)
-    public List<RoomModel> getAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate) {
-        return roomRepository.findAvailableRooms(checkInDate, checkOutDate);
+    @Coalesced(cacheMillis = 0)
+    public List<RoomDTO> getAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate) {
+        // Rooms held by a clerk mid-booking are not offered to anyone else
+        Set<Long> held = roomHoldService.getHeldRoomIds(checkInDate, checkOutDate);
+        List<RoomDTO> rooms = roomRepository.findAvailableRoomSummaries(checkInDate, checkOutDate);
+        return List.copyOf(expand(held.isEmpty() ? rooms : rooms.stream().filter(room -> !held.contains(room.getId())).toList(), false));
     }
 
     @Transactional(readOnly = true)
-    public List<RoomModel> getRoomsByStatus(String status) {
+    @Coalesced
+    public List<RoomDTO> getRoomsByStatus(String status, boolean withUpcomingBookings) {
         RoomStatus roomStatus = RoomStatus.valueOf(status.toLowerCase());
-        return roomRepository.findByStatus(roomStatus);
+        return expand(roomRepository.findSummariesByStatus(roomStatus), withUpcomingBookings);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RoomDTO> getRoomsByIds(Collection<Long> ids) {
+        return expand(roomRepository.findSummariesByIds(ids), false);
     }
 
     @Transactional(readOnly = true)
@@ -44,21 +83,70 @@ public class RoomService {
     }
 
     @Transactional
-    public RoomModel updateRoomStatus(Long roomId, String status) {
+    public RoomDTO updateRoomStatus(Long roomId, String status) {
         RoomModel room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new RuntimeException("Room not found"));
 
         RoomStatus roomStatus = RoomStatus.valueOf(status.toLowerCase());
         room.setStatus(roomStatus);
-        return roomRepository.save(room);
+        RoomModel saved = roomRepository.save(room);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Aggregate.room, saved.getId()));
+        return convertToDTO(saved);
     }
 
     @Transactional
-    public RoomModel createRoom(RoomModel room) {
+    public RoomDTO createRoom(RoomModel room) {
         // Default status if null
         if (room.getStatus() == null) {
             room.setStatus(RoomModel.RoomStatus.available);
         }
-        return roomRepository.save(room);
+        RoomModel saved = roomRepository.save(room);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Aggregate.room, saved.getId()));
+        return convertToDTO(saved);
+    }
+
+    /**
+     * Fills amenities for all rooms with one query and, when requested,
+     * upcoming bookings with one more query.
+     */
+    private List<RoomDTO> expand(List<RoomDTO> rooms, boolean withUpcomingBookings) {
+        if (rooms.isEmpty()) {
+            return rooms;
+        }
+        Map<Long, RoomDTO> byId = rooms.stream()
+                .collect(Collectors.toMap(RoomDTO::getId, Function.identity()));
+
+        rooms.forEach(room -> room.setAmenities(new ArrayList<>()));
+        for (RoomAmenityRef ref : roomRepository.findAmenitiesByRoomIds(byId.keySet())) {
+            byId.get(ref.getRoomId()).getAmenities().add(ref.getAmenity());
+        }
+
+        if (withUpcomingBookings) {
+            rooms.forEach(room -> room.setUpcomingBookings(new ArrayList<>()));
+            bookingRepository.findUpcomingByRoomIds(
+                    byId.keySet(),
+                    List.of(BookingStatus.confirmed, BookingStatus.checked_in),
+                    LocalDate.now()
+            ).forEach(b -> byId.get(b.getRoom().getId()).getUpcomingBookings().add(BookingSummaryDTO.builder()
+                    .id(b.getId())
+                    .checkInDate(b.getCheckInDate())
+                    .checkOutDate(b.getCheckOutDate())
+                    .roomNumber(b.getRoom().getNumber())
+                    .build()));
+        }
+        return rooms;
+    }
+
+    private RoomDTO convertToDTO(RoomModel room) {
+        return RoomDTO.builder()
+                .id(room.getId())
+                .number(room.getNumber())
+                .type(room.getType())
+                .pricePerNight(room.getPricePerNight())
+                .amenities(room.getAmenities() != null ? List.copyOf(room.getAmenities()) : List.of())
+                .status(room.getStatus().name())
+                .description(room.getDescription())
+                .capacity(room.getCapacity())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.onlykei.hotel_management.services;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: deadlines are rounded up to a tick and kept in one of {@code slots}
+ * buckets, so scheduling and cancelling are O(1) and each tick only looks at one bucket.
+ * Deadlines further out than one turn of the wheel wait in their bucket for later rounds.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<Set<Timeout<T>>> slots;
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, int slots, long nowMillis) {
+        if (tickMillis <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("tickMillis and slots must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            this.slots.add(new LinkedHashSet<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} to expire at the first tick on or after {@code deadlineMillis}.
+     */
+    Timeout<T> schedule(T item, long deadlineMillis) {
+        long tick = Math.max(currentTick + 1, Math.ceilDiv(deadlineMillis, tickMillis));
+        Timeout<T> timeout = new Timeout<>(item, tick, (int) (tick % slots.size()));
+        slots.get(timeout.slot).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    void cancel(Timeout<T> timeout) {
+        if (timeout != null && slots.get(timeout.slot).remove(timeout)) {
+            size--;
+        }
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and hands every item whose deadline has passed to
+     * {@code expired}. After a long pause the whole wheel is swept once instead of tick by tick.
+     */
+    void advance(long nowMillis, Consumer<T> expired) {
+        long target = nowMillis / tickMillis;
+        if (target <= currentTick) {
+            return;
+        }
+        if (target - currentTick >= slots.size()) {
+            for (Set<Timeout<T>> slot : slots) {
+                expire(slot, target, expired);
+            }
+        } else {
+            for (long tick = currentTick + 1; tick <= target; tick++) {
+                expire(slots.get((int) (tick % slots.size())), tick, expired);
+            }
+        }
+        currentTick = target;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void expire(Set<Timeout<T>> slot, long tick, Consumer<T> expired) {
+        Iterator<Timeout<T>> it = slot.iterator();
+        while (it.hasNext()) {
+            Timeout<T> timeout = it.next();
+            if (timeout.deadlineTick <= tick) {
+                it.remove();
+                size--;
+                expired.accept(timeout.item);
+            }
+        }
+    }
+
+    static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private final int slot;
+
+        private Timeout(T item, long deadlineTick, int slot) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- ==============================
+-- = Duplicate-guest blocking keys
+-- ==============================
+-- The keys GuestDeduplicationService blocks guests on: normalized phone numbers, normalized
+-- email and the phonetic name codes with the birth date. Looking up the duplicates of one
+-- guest reads only the guests sharing one of its keys instead of keying every guest.
+-- Normalization runs in Java, so existing guests are indexed on startup, not here.
+
+CREATE TABLE IF NOT EXISTS guest_match_keys (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    property_id BIGINT       NOT NULL,
+    guest_id    BIGINT       NOT NULL,
+    match_key   VARCHAR(300) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_guest_match_keys_guest FOREIGN KEY (guest_id) REFERENCES guest_model (id) ON DELETE CASCADE
+);
+
+-- GuestMatchKeyRepository.findGuestIdsByMatchKeyIn
+CREATE INDEX IF NOT EXISTS idx_guest_match_keys_property_key
+    ON guest_match_keys (property_id, match_key);
+
+-- GuestMatchKeyRepository.deleteByGuestId, GuestRepository.findMatchRowsWithoutKeys
+CREATE INDEX IF NOT EXISTS idx_guest_match_keys_guest
+    ON guest_match_keys (guest_id);
@@ -0,0 +1,13 @@
+-- ==============================
+-- = Expenses per property
+-- ==============================
+-- V5 left expenses global, so each property's profit and loss subtracted the expenses of every
+-- property. Expenses now belong to a property like rooms and bookings; existing rows go to the
+-- first property. The date index leads with property_id, as the V5 indexes do.
+
+ALTER TABLE expenses_model ADD COLUMN property_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+
+-- ExpensesRepository.findByDateIncurredBetween, countByDateIncurredBetween, streamAmounts
+DROP INDEX IF EXISTS idx_expenses_date_incurred ON expenses_model;
+CREATE INDEX IF NOT EXISTS idx_expenses_property_date_incurred
+    ON expenses_model (property_id, date_incurred);
@@ -0,0 +1,157 @@
+-- ==============================
+-- = Baseline schema
+-- ==============================
+-- Mirrors the tables previously created by spring.jpa.hibernate.ddl-auto=update.
+-- IF NOT EXISTS lets this run against databases that ddl-auto already populated
+-- (spring.flyway.baseline-version=0), creating only the tables that are missing.
+
+CREATE TABLE IF NOT EXISTS guest_model (
+    id                           BIGINT       NOT NULL AUTO_INCREMENT,
+    last_name                    VARCHAR(255) NOT NULL,
+    first_name                   VARCHAR(255) NOT NULL,
+    middle_name                  VARCHAR(255),
+    home_address                 VARCHAR(255),
+    gender                       VARCHAR(255),
+    civil_status                 VARCHAR(255),
+    birth_date                   DATE,
+    place_of_birth               VARCHAR(255),
+    identification_no            VARCHAR(255) NOT NULL,
+    country                      VARCHAR(255),
+    citizenship                  VARCHAR(255),
+    mobile_no                    VARCHAR(255),
+    telephone_no                 VARCHAR(255),
+    email_address                VARCHAR(255),
+    company_name                 VARCHAR(255),
+    company_address              VARCHAR(255),
+    company_telephone_no         VARCHAR(255),
+    company_zip_code             VARCHAR(255),
+    company_email_address        VARCHAR(255),
+    emergency_contact_first_name VARCHAR(255),
+    emergency_contact_last_name  VARCHAR(255),
+    emergency_contact_number     VARCHAR(255),
+    emergency_contact_address    VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_guest_identification_no UNIQUE (identification_no)
+);
+
+CREATE TABLE IF NOT EXISTS room_model (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    number          VARCHAR(255) NOT NULL,
+    type            VARCHAR(255) NOT NULL,
+    price_per_night INT          NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    description     VARCHAR(255),
+    capacity        INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_room_number UNIQUE (number)
+);
+
+CREATE TABLE IF NOT EXISTS room_amenities (
+    room_id BIGINT NOT NULL,
+    amenity VARCHAR(255),
+    CONSTRAINT fk_room_amenities_room FOREIGN KEY (room_id) REFERENCES room_model (id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    guest_id       BIGINT      NOT NULL,
+    room_id        BIGINT      NOT NULL,
+    check_in_date  DATE        NOT NULL,
+    check_out_date DATE        NOT NULL,
+    adults         INT         NOT NULL,
+    children       INT         NOT NULL,
+    total_amount   INT         NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    payment_status VARCHAR(20) NOT NULL,
+    notes          TEXT,
+    created_at     DATETIME(6) NOT NULL,
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_guest FOREIGN KEY (guest_id) REFERENCES guest_model (id),
+    CONSTRAINT fk_bookings_room FOREIGN KEY (room_id) REFERENCES room_model (id)
+);
+
+CREATE TABLE IF NOT EXISTS checklist_items (
+    id         VARCHAR(255) NOT NULL,
+    booking_id BIGINT       NOT NULL,
+    item       VARCHAR(255) NOT NULL,
+    category   VARCHAR(20)  NOT NULL,
+    completed  BOOLEAN      NOT NULL,
+    notes      TEXT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_checklist_items_booking FOREIGN KEY (booking_id) REFERENCES bookings (id)
+);
+
+CREATE TABLE IF NOT EXISTS expenses_model (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    description   VARCHAR(255),
+    amount        DOUBLE,
+    date_incurred DATE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS inventory_items (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255) NOT NULL,
+    category       VARCHAR(255) NOT NULL,
+    quantity       INT          NOT NULL,
+    current_level  INT          NOT NULL,
+    minimum_level  INT          NOT NULL,
+    unit           VARCHAR(255) NOT NULL,
+    notes          VARCHAR(500),
+    last_restocked DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_records (
+    key_hash     VARCHAR(64)  NOT NULL,
+    status_code  INT          NOT NULL,
+    content_type VARCHAR(100),
+    body         LONGBLOB,
+    created_at   DATETIME(6)  NOT NULL,
+    expires_at   DATETIME(6)  NOT NULL,
+    PRIMARY KEY (key_hash)
+);
+
+CREATE TABLE IF NOT EXISTS night_audit_checkpoints (
+    audit_date         DATE        NOT NULL,
+    phase              VARCHAR(20) NOT NULL,
+    status             VARCHAR(20) NOT NULL,
+    last_processed_id  BIGINT      NOT NULL,
+    no_shows           INT         NOT NULL,
+    checked_out        INT         NOT NULL,
+    overdue_departures INT         NOT NULL,
+    chunks_processed   INT         NOT NULL,
+    started_at         DATETIME(6) NOT NULL,
+    finished_at        DATETIME(6),
+    PRIMARY KEY (audit_date)
+);
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id             BIGINT       NOT NULL,
+    guest_id       BIGINT       NOT NULL,
+    room_id        BIGINT       NOT NULL,
+    room_number    VARCHAR(255),
+    check_in_date  DATE         NOT NULL,
+    check_out_date DATE         NOT NULL,
+    adults         INT          NOT NULL,
+    children       INT          NOT NULL,
+    total_amount   INT          NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    payment_status VARCHAR(20)  NOT NULL,
+    notes          TEXT,
+    created_at     DATETIME(6)  NOT NULL,
+    updated_at     DATETIME(6),
+    archived_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS checklist_items_archive (
+    id         VARCHAR(255) NOT NULL,
+    booking_id BIGINT       NOT NULL,
+    item       VARCHAR(255) NOT NULL,
+    category   VARCHAR(20)  NOT NULL,
+    completed  BOOLEAN      NOT NULL,
+    notes      TEXT,
+    PRIMARY KEY (id)
+);
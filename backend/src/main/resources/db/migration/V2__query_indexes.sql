@@ -0,0 +1,73 @@
+-- ==============================
+-- = Indexes for repository queries
+-- ==============================
+-- Each index names the repository methods it serves. SchemaIndexPlanTests runs
+-- EXPLAIN for these queries and fails if one falls back to a full table scan.
+
+-- BookingRepository.findOverlappingBookings, findByRoomId,
+-- findByRoomIdAndStatusInAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual
+CREATE INDEX IF NOT EXISTS idx_bookings_room_status_dates
+    ON bookings (room_id, status, check_in_date, check_out_date);
+
+-- BookingRepository.findByStatus, findByStatusWithDetails, findByStatusIn,
+-- findRefsCheckingInOnOrBefore; RoomRepository.findAvailableRooms* subquery
+CREATE INDEX IF NOT EXISTS idx_bookings_status_check_in
+    ON bookings (status, check_in_date);
+
+-- BookingRepository.findRefsCheckingOutOnOrBefore, findRefsCheckedOutBefore,
+-- countByStatusAndCheckOutDateLessThanEqual
+CREATE INDEX IF NOT EXISTS idx_bookings_status_check_out
+    ON bookings (status, check_out_date);
+
+-- BookingRepository.findByCheckInDateAndStatus, findByCheckInDateBetween*,
+-- findAllWithDetails ordering
+CREATE INDEX IF NOT EXISTS idx_bookings_check_in_status
+    ON bookings (check_in_date, status);
+
+-- BookingRepository.findByCheckOutDateAndStatus, findByCheckOutDateBetween
+CREATE INDEX IF NOT EXISTS idx_bookings_check_out_status
+    ON bookings (check_out_date, status);
+
+-- BookingRepository.findByGuestId, findByGuestIdWithRoom
+CREATE INDEX IF NOT EXISTS idx_bookings_guest_check_in
+    ON bookings (guest_id, check_in_date);
+
+-- RoomRepository.findByStatus, countByStatus
+CREATE INDEX IF NOT EXISTS idx_room_status
+    ON room_model (status);
+
+-- RoomRepository.findByType, findByTypeAndStatus, findAvailableRoomsByType
+CREATE INDEX IF NOT EXISTS idx_room_type_status
+    ON room_model (type, status);
+
+-- ChecklistItemRepository.findByBookingId*, deleteByBookingId(s)
+CREATE INDEX IF NOT EXISTS idx_checklist_items_booking_category
+    ON checklist_items (booking_id, category);
+
+-- GuestRepository.findByEmailAddress, findByCountry
+CREATE INDEX IF NOT EXISTS idx_guest_email
+    ON guest_model (email_address);
+
+CREATE INDEX IF NOT EXISTS idx_guest_country
+    ON guest_model (country);
+
+-- InventoryService.getItemsByCategory
+CREATE INDEX IF NOT EXISTS idx_inventory_category
+    ON inventory_items (category);
+
+-- NightAuditCheckpointRepository.findTopByOrderByAuditDateDesc uses the primary key.
+-- IdempotencyRecordRepository.deleteExpired
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires
+    ON idempotency_records (expires_at);
+
+-- BookingArchiveRepository.findByGuestIdOrderByCheckInDateDesc
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_guest_check_in
+    ON bookings_archive (guest_id, check_in_date);
+
+-- BookingArchiveRepository.findByCheckInDateBetweenOrderByCheckInDateAsc
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_check_in
+    ON bookings_archive (check_in_date);
+
+-- ChecklistItemArchiveRepository.findByBookingId
+CREATE INDEX IF NOT EXISTS idx_checklist_items_archive_booking
+    ON checklist_items_archive (booking_id);
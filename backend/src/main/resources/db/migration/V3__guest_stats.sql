@@ -0,0 +1,44 @@
+-- ==============================
+-- = Per-guest stay statistics
+-- ==============================
+-- One row per guest with at least one stay. A stay is a live or archived booking that was
+-- checked in (status checked_in or checked_out). GuestStatsService keeps the rows current
+-- as bookings change; the top-guests ranking reads only this table.
+
+CREATE TABLE IF NOT EXISTS guest_stats (
+    guest_id       BIGINT      NOT NULL,
+    stay_count     INT         NOT NULL,
+    total_nights   INT         NOT NULL,
+    total_spend    BIGINT      NOT NULL,
+    last_stay_date DATE,
+    updated_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (guest_id),
+    CONSTRAINT fk_guest_stats_guest FOREIGN KEY (guest_id) REFERENCES guest_model (id) ON DELETE CASCADE
+);
+
+-- GuestStatsRepository.findTopGuests, one index per ranking
+CREATE INDEX IF NOT EXISTS idx_guest_stats_spend
+    ON guest_stats (total_spend);
+
+CREATE INDEX IF NOT EXISTS idx_guest_stats_stays
+    ON guest_stats (stay_count);
+
+CREATE INDEX IF NOT EXISTS idx_guest_stats_nights
+    ON guest_stats (total_nights);
+
+-- Backfill from existing live and archived stays
+INSERT INTO guest_stats (guest_id, stay_count, total_nights, total_spend, last_stay_date, updated_at)
+SELECT s.guest_id,
+       COUNT(*),
+       SUM(TIMESTAMPDIFF(DAY, s.check_in_date, s.check_out_date)),
+       SUM(s.total_amount),
+       MAX(s.check_in_date),
+       CURRENT_TIMESTAMP(6)
+FROM (SELECT guest_id, check_in_date, check_out_date, total_amount
+      FROM bookings
+      WHERE status IN ('checked_in', 'checked_out')
+      UNION ALL
+      SELECT guest_id, check_in_date, check_out_date, total_amount
+      FROM bookings_archive
+      WHERE status IN ('checked_in', 'checked_out')) s
+GROUP BY s.guest_id;
@@ -0,0 +1,7 @@
+-- ==============================
+-- = Expense date-range index
+-- ==============================
+-- ExpensesRepository.findByDateIncurredBetween and its count query. The secondary index
+-- carries the primary key, so paging in (date_incurred, id) order reads it without a sort.
+CREATE INDEX IF NOT EXISTS idx_expenses_date_incurred
+    ON expenses_model (date_incurred);
@@ -0,0 +1,95 @@
+-- ==============================
+-- = Properties (multi-hotel)
+-- ==============================
+-- Rooms, guests, bookings (live and archived), inventory and night-audit checkpoints belong to
+-- a property. Hibernate adds "property_id = ?" to every query on them (@TenantId), so the
+-- property-filtered indexes below lead with property_id: each property reads only its own
+-- slice of the bookings table. Indexes reached through a room or guest id keep their layout,
+-- since those ids already belong to a single property, and they back the foreign keys.
+--
+-- Properties with their own datasource (property-routing.datasources) run these scripts on
+-- their own database. The registry is only read from the default database, so property_id
+-- carries no foreign key to it.
+
+CREATE TABLE IF NOT EXISTS hotel_properties (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    code       VARCHAR(50)  NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_hotel_property_code UNIQUE (code)
+);
+
+-- Every existing row belongs to the first property
+INSERT INTO hotel_properties (id, code, name, created_at)
+VALUES (1, 'default', 'Default property', CURRENT_TIMESTAMP(6));
+
+ALTER TABLE room_model ADD COLUMN property_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE guest_model ADD COLUMN property_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE bookings ADD COLUMN property_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE bookings_archive ADD COLUMN property_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE inventory_items ADD COLUMN property_id BIGINT NOT NULL DEFAULT 1 AFTER id;
+ALTER TABLE night_audit_checkpoints ADD COLUMN property_id BIGINT NOT NULL DEFAULT 1 FIRST;
+
+-- Room numbers and identification numbers are unique within a property
+ALTER TABLE room_model DROP INDEX IF EXISTS uk_room_number;
+ALTER TABLE room_model ADD CONSTRAINT uk_room_property_number UNIQUE (property_id, number);
+
+ALTER TABLE guest_model DROP INDEX IF EXISTS uk_guest_identification_no;
+ALTER TABLE guest_model ADD CONSTRAINT uk_guest_property_identification_no UNIQUE (property_id, identification_no);
+
+-- NightAuditCheckpointRepository: one run per property and business date
+ALTER TABLE night_audit_checkpoints DROP PRIMARY KEY;
+ALTER TABLE night_audit_checkpoints ADD PRIMARY KEY (property_id, audit_date);
+
+-- BookingRepository.findByStatus, findByStatusWithDetails, findByStatusIn,
+-- findRefsCheckingInOnOrBefore; RoomRepository.findAvailableRooms* subquery
+DROP INDEX IF EXISTS idx_bookings_status_check_in ON bookings;
+CREATE INDEX IF NOT EXISTS idx_bookings_property_status_check_in
+    ON bookings (property_id, status, check_in_date);
+
+-- BookingRepository.findRefsCheckingOutOnOrBefore, findRefsCheckedOutBefore,
+-- countByStatusAndCheckOutDateLessThanEqual
+DROP INDEX IF EXISTS idx_bookings_status_check_out ON bookings;
+CREATE INDEX IF NOT EXISTS idx_bookings_property_status_check_out
+    ON bookings (property_id, status, check_out_date);
+
+-- BookingRepository.findByCheckInDateAndStatus, findByCheckInDateBetween*,
+-- findAllWithDetails ordering
+DROP INDEX IF EXISTS idx_bookings_check_in_status ON bookings;
+CREATE INDEX IF NOT EXISTS idx_bookings_property_check_in_status
+    ON bookings (property_id, check_in_date, status);
+
+-- BookingRepository.findByCheckOutDateAndStatus, findByCheckOutDateBetween
+DROP INDEX IF EXISTS idx_bookings_check_out_status ON bookings;
+CREATE INDEX IF NOT EXISTS idx_bookings_property_check_out_status
+    ON bookings (property_id, check_out_date, status);
+
+-- BookingArchiveRepository.findByCheckInDateBetweenOrderByCheckInDateAsc
+DROP INDEX IF EXISTS idx_bookings_archive_check_in ON bookings_archive;
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_property_check_in
+    ON bookings_archive (property_id, check_in_date);
+
+-- RoomRepository.findByStatus, countByStatus
+DROP INDEX IF EXISTS idx_room_status ON room_model;
+CREATE INDEX IF NOT EXISTS idx_room_property_status
+    ON room_model (property_id, status);
+
+-- RoomRepository.findByType, findByTypeAndStatus, findAvailableRoomsByType
+DROP INDEX IF EXISTS idx_room_type_status ON room_model;
+CREATE INDEX IF NOT EXISTS idx_room_property_type_status
+    ON room_model (property_id, type, status);
+
+-- GuestRepository.findByEmailAddress, findByCountry
+DROP INDEX IF EXISTS idx_guest_email ON guest_model;
+CREATE INDEX IF NOT EXISTS idx_guest_property_email
+    ON guest_model (property_id, email_address);
+
+DROP INDEX IF EXISTS idx_guest_country ON guest_model;
+CREATE INDEX IF NOT EXISTS idx_guest_property_country
+    ON guest_model (property_id, country);
+
+-- InventoryService.getItemsByCategory
+DROP INDEX IF EXISTS idx_inventory_category ON inventory_items;
+CREATE INDEX IF NOT EXISTS idx_inventory_property_category
+    ON inventory_items (property_id, category);
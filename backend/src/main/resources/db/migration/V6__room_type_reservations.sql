@@ -0,0 +1,11 @@
+-- ==============================
+-- = Room-type reservations
+-- ==============================
+-- A booking made for a room type rather than a room keeps the type it was sold as. It still
+-- has a room (picked by RoomAssignmentService), but the engine may move it to another room of
+-- that type until the day before arrival. Bookings made for a specific room leave it null.
+--
+-- RoomAssignmentService reads a type's stays through room_id and the dates, which
+-- idx_bookings_room_status_dates already serves.
+
+ALTER TABLE bookings ADD COLUMN room_type VARCHAR(255) NULL AFTER room_id;
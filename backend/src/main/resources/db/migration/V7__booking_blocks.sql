@@ -0,0 +1,32 @@
+-- ==============================
+-- = Block bookings
+-- ==============================
+-- A block reserves several rooms of one type for the same dates (weddings, conferences).
+-- Its rooms are ordinary room-type reservations carrying the block id, inserted together and
+-- released in bulk while unused.
+
+CREATE TABLE IF NOT EXISTS booking_blocks (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    property_id     BIGINT       NOT NULL,
+    name            VARCHAR(255) NOT NULL,
+    guest_id        BIGINT       NOT NULL,
+    room_type       VARCHAR(255) NOT NULL,
+    check_in_date   DATE         NOT NULL,
+    check_out_date  DATE         NOT NULL,
+    rooms_requested INT          NOT NULL,
+    notes           TEXT,
+    created_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_booking_blocks_guest FOREIGN KEY (guest_id) REFERENCES guest_model (id)
+);
+
+-- BookingBlockRepository.findAllByOrderByCheckInDateAsc
+CREATE INDEX IF NOT EXISTS idx_booking_blocks_property_check_in
+    ON booking_blocks (property_id, check_in_date);
+
+ALTER TABLE bookings ADD COLUMN block_id BIGINT NULL AFTER room_type;
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_block FOREIGN KEY (block_id) REFERENCES booking_blocks (id);
+
+-- BookingRepository.findByBlockIdWithDetails, countByBlockIds
+CREATE INDEX IF NOT EXISTS idx_bookings_block_status
+    ON bookings (block_id, status);
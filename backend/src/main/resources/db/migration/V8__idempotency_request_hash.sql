@@ -0,0 +1,7 @@
+-- ==============================
+-- = Idempotency request hash
+-- ==============================
+-- A persisted Idempotency-Key remembers the body it was first used with, so a retry carrying
+-- the same key and another body is rejected instead of replaying the first response.
+
+ALTER TABLE idempotency_records ADD COLUMN request_hash VARCHAR(64);
@@ -0,0 +1,16 @@
+-- ==============================
+-- = Repair ddl-auto column types
+-- ==============================
+-- V1 skips tables that spring.jpa.hibernate.ddl-auto=update created before Flyway, so those
+-- keep Hibernate's column types: @Enumerated(STRING) fields became native ENUM columns listing
+-- only the constants known at the time, and booleans became BIT(1). ddl-auto=validate then
+-- rejects them on upgrade, and a newly added constant cannot be stored. Restate every such
+-- column with its V1 definition; on databases V1 created this changes nothing.
+
+ALTER TABLE room_model MODIFY COLUMN status VARCHAR(20) NOT NULL;
+
+ALTER TABLE bookings MODIFY COLUMN status VARCHAR(20) NOT NULL;
+ALTER TABLE bookings MODIFY COLUMN payment_status VARCHAR(20) NOT NULL;
+
+ALTER TABLE checklist_items MODIFY COLUMN category VARCHAR(20) NOT NULL;
+ALTER TABLE checklist_items MODIFY COLUMN completed BOOLEAN NOT NULL;
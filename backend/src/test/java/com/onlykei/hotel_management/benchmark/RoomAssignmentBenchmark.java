@@ -0,0 +1,118 @@
+package com.onlykei.hotel_management.benchmark;
+
+import com.onlykei.hotel_management.dtos.RoomAssignmentResultDTO;
+import com.onlykei.hotel_management.dtos.RoomTypeAssignmentDTO;
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.RoomModel;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import com.onlykei.hotel_management.services.RoomAssignmentService;
+import com.onlykei.hotel_management.services.RoomHoldService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Times the room assignment engine on one room type of {@value #ROOMS} rooms holding
+ * {@value #RESERVATIONS} reservations: a full re-optimization (dry run) against the default
+ * 2 s budget, and single bookings placed with best fit or a repair. The repositories are
+ * in-memory mocks, so only the engine is measured.
+ *
+ * Not part of the test suite; run with:
+ * mvn test-compile exec:java
+ *     -Dexec.mainClass=com.onlykei.hotel_management.benchmark.RoomAssignmentBenchmark
+ */
+public class RoomAssignmentBenchmark {
+
+    private static final String TYPE = "standard";
+    private static final int ROOMS = 80;
+    private static final int RESERVATIONS = 4_000;
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(2);
+    private static final int OPTIMIZE_ROUNDS = 5;
+    private static final int BOOKING_ROUNDS = 1_000;
+
+    public static void main(String[] args) {
+        LocalDate today = LocalDate.now();
+        List<RoomModel> rooms = rooms();
+        List<BookingModel> bookings = bookings(rooms, today, new Random(42));
+        LocalDate lastCheckOut = bookings.stream().map(BookingModel::getCheckOutDate).max(LocalDate::compareTo).orElseThrow();
+
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        when(roomRepository.findByType(TYPE)).thenReturn(rooms);
+        when(bookingRepository.findByRoomIdsBetween(anyCollection(), anyCollection(), any(), any())).thenReturn(bookings);
+        RoomAssignmentService service = new RoomAssignmentService(bookingRepository, roomRepository,
+                mock(RoomHoldService.class), mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class),
+                TIME_BUDGET, 2, 366);
+
+        System.out.printf("%d reservations over %d rooms, %s to %s, budget %d ms%n",
+                bookings.size(), rooms.size(), today.plusDays(1), lastCheckOut, TIME_BUDGET.toMillis());
+        System.out.printf("%-12s %10s %-10s %8s %14s %14s%n", "pass", "ms", "outcome", "moved", "gaps before", "gaps after");
+        for (int round = 1; round <= OPTIMIZE_ROUNDS; round++) {
+            RoomAssignmentResultDTO result = service.optimize(today.plusDays(1), lastCheckOut, TYPE, true);
+            RoomTypeAssignmentDTO type = result.getTypes().get(0);
+            System.out.printf("%-12s %10d %-10s %8d %14s %14s%n", "optimize " + round, result.getElapsedMillis(),
+                    type.getOutcome(), type.getMoved(),
+                    type.getShortGapsBefore() + " / " + type.getShortGapNightsBefore() + "n",
+                    type.getShortGapsAfter() + " / " + type.getShortGapNightsAfter() + "n");
+        }
+
+        // Every booking reads the same calendar, so each one is placed (or repaired) from scratch
+        Random random = new Random(7);
+        int placed = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < BOOKING_ROUNDS; i++) {
+            LocalDate checkIn = today.plusDays(1 + random.nextInt(180));
+            try {
+                service.assignRoom(TYPE, checkIn, checkIn.plusDays(1 + random.nextInt(4)));
+                placed++;
+            } catch (RuntimeException e) {
+                // Full for the dates even with a repair
+            }
+        }
+        double microsPerBooking = (System.nanoTime() - started) / 1_000.0 / BOOKING_ROUNDS;
+        System.out.printf("assignRoom: %d of %d placed, %.1f us per booking%n", placed, BOOKING_ROUNDS, microsPerBooking);
+    }
+
+    private static List<RoomModel> rooms() {
+        List<RoomModel> rooms = new ArrayList<>(ROOMS);
+        for (long id = 1; id <= ROOMS; id++) {
+            rooms.add(RoomModel.builder().id(id).number(String.valueOf(100 + id)).type(TYPE)
+                    .status(RoomStatus.available).pricePerNight(3000).build());
+        }
+        return rooms;
+    }
+
+    // Stays laid room by room with random lengths and gaps, one in five booked for its specific room
+    private static List<BookingModel> bookings(List<RoomModel> rooms, LocalDate today, Random random) {
+        List<BookingModel> bookings = new ArrayList<>(RESERVATIONS);
+        long id = 1;
+        for (int i = 0; i < RESERVATIONS; i++) {
+            RoomModel room = rooms.get(i % rooms.size());
+            // The room's previous stay was laid one round earlier
+            LocalDate free = i < rooms.size() ? today.plusDays(1) : bookings.get(i - rooms.size()).getCheckOutDate();
+            LocalDate checkIn = free.plusDays(random.nextInt(4));
+            bookings.add(BookingModel.builder()
+                    .id(id++)
+                    .room(room)
+                    .roomType(random.nextInt(5) == 0 ? null : TYPE)
+                    .checkInDate(checkIn)
+                    .checkOutDate(checkIn.plusDays(1 + random.nextInt(5)))
+                    .status(BookingStatus.confirmed)
+                    .build());
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,132 @@
+package com.onlykei.hotel_management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.onlykei.hotel_management.dtos.BookingDTO;
+import com.onlykei.hotel_management.dtos.BookingSummaryDTO;
+import com.onlykei.hotel_management.dtos.GuestDTO;
+import com.onlykei.hotel_management.models.InventoryItemModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size and serialization CPU of the list responses across
+ * JSON, Smile and CBOR, each with and without Blackbird and gzip.
+ *
+ * Not part of the test suite; run with:
+ * mvn test-compile exec:java
+ *     -Dexec.mainClass=com.onlykei.hotel_management.benchmark.SerializationFormatBenchmark
+ */
+public class SerializationFormatBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, List<?>> payloads = new LinkedHashMap<>();
+        payloads.put("BookingDTO", bookings());
+        payloads.put("GuestDTO", guests());
+        payloads.put("InventoryItemModel", inventory());
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", mapper(new ObjectMapper(), false));
+        mappers.put("json+blackbird", mapper(new ObjectMapper(), true));
+        mappers.put("smile+blackbird", mapper(new ObjectMapper(new SmileFactory()), true));
+        mappers.put("cbor+blackbird", mapper(new ObjectMapper(new CBORFactory()), true));
+
+        System.out.printf("%-20s %-16s %10s %10s %12s%n", "payload", "format", "bytes", "gzip", "us/op");
+        for (Map.Entry<String, List<?>> payload : payloads.entrySet()) {
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                ObjectMapper objectMapper = mapper.getValue();
+                List<?> rows = payload.getValue();
+
+                for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                    objectMapper.writeValueAsBytes(rows);
+                }
+                long started = System.nanoTime();
+                byte[] bytes = null;
+                for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                    bytes = objectMapper.writeValueAsBytes(rows);
+                }
+                double microsPerOp = (System.nanoTime() - started) / 1_000.0 / MEASURED_ROUNDS;
+
+                System.out.printf("%-20s %-16s %10d %10d %12.1f%n",
+                        payload.getKey(), mapper.getKey(), bytes.length, gzip(bytes).length, microsPerOp);
+            }
+        }
+    }
+
+    private static ObjectMapper mapper(ObjectMapper mapper, boolean blackbird) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<BookingDTO> bookings() {
+        List<BookingDTO> rows = new ArrayList<>();
+        for (long i = 1; i <= ROWS; i++) {
+            LocalDate checkIn = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+            rows.add(BookingDTO.builder()
+                    .id(i).guestId(i % 300).roomId(i % 40)
+                    .checkInDate(checkIn).checkOutDate(checkIn.plusDays(3))
+                    .adults(2).children((int) (i % 3)).totalAmount(4500)
+                    .status("confirmed").paymentStatus("pending")
+                    .notes("Late arrival, needs extra pillows")
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 9, 30)).updatedAt(LocalDateTime.of(2024, 1, 2, 10, 0))
+                    .build());
+        }
+        return rows;
+    }
+
+    private static List<GuestDTO> guests() {
+        List<GuestDTO> rows = new ArrayList<>();
+        for (long i = 1; i <= ROWS; i++) {
+            rows.add(GuestDTO.builder()
+                    .id(i).firstName("Juan" + i).middleName("Santos").lastName("Dela Cruz")
+                    .homeAddress(i + " Rizal Avenue, Manila").gender("male").civilStatus("single")
+                    .identificationNo("ID-" + (100000 + i)).mobileNo("+63917" + (1000000 + i))
+                    .telephoneNo("02-8123-4567").emailAddress("juan" + i + "@example.com")
+                    .bookings(List.of(BookingSummaryDTO.builder()
+                            .id(i).checkInDate(LocalDate.of(2024, 3, 1)).checkOutDate(LocalDate.of(2024, 3, 4))
+                            .roomNumber("10" + (i % 9)).build()))
+                    .build());
+        }
+        return rows;
+    }
+
+    private static List<InventoryItemModel> inventory() {
+        List<InventoryItemModel> rows = new ArrayList<>();
+        for (long i = 1; i <= ROWS; i++) {
+            rows.add(InventoryItemModel.builder()
+                    .id(i).name("Bath towel " + i).category("linen")
+                    .quantity(100).currentLevel((int) (i % 100)).minimumLevel(20).unit("piece")
+                    .notes("Reorder from main supplier").lastRestocked(LocalDateTime.of(2024, 2, 1, 8, 0))
+                    .build());
+        }
+        return rows;
+    }
+}
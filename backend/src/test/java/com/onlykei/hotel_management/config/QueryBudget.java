@@ -0,0 +1,112 @@
+package com.onlykei.hotel_management.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the JDBC statements a piece of code runs on the calling thread and fails when they
+ * exceed a budget, so N+1 patterns show up as test failures. MockMvc requests run on the test
+ * thread; work handed to other threads (read model updates, report workers) is not counted.
+ * Recorded statements keep their bind values, so a test can re-run the exact SQL Hibernate generated.
+ *
+ * Import {@link Config} into the test context to put the counting timer in front of the
+ * application's datasource.
+ */
+public final class QueryBudget {
+
+    private static final ThreadLocal<List<Statement>> RECORDING = new ThreadLocal<>();
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Runs the action and returns its result with the statements it ran, in order.
+     */
+    public static <T> Recorded<T> record(Callable<T> action) throws Exception {
+        List<Statement> outer = RECORDING.get();
+        List<Statement> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            T result = action.call();
+            return new Recorded<>(result, List.copyOf(statements));
+        } finally {
+            if (outer != null) {
+                outer.addAll(statements);
+                RECORDING.set(outer);
+            } else {
+                RECORDING.remove();
+            }
+        }
+    }
+
+    /**
+     * One executed statement with its positional bind values; for batches, the first row's.
+     */
+    public record Statement(String sql, List<Object> binds, int batchRows) {
+
+        @Override
+        public String toString() {
+            return batchRows > 0 ? sql + " (batch of " + batchRows + ")" : sql;
+        }
+    }
+
+    public record Recorded<T>(T result, List<Statement> statements) {
+
+        /**
+         * Fails with the statements grouped by text, most repeated first, when there are more than the budget.
+         */
+        public T assertWithin(int budget, String label) {
+            if (statements.size() > budget) {
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                statements.forEach(statement -> counts.merge(statement.toString(), 1, Integer::sum));
+                StringBuilder message = new StringBuilder(label + " ran " + statements.size()
+                        + " statements, budget " + budget + ":");
+                counts.entrySet().stream()
+                        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                        .forEach(entry -> message.append("\n  ").append(entry.getValue()).append(" x ").append(entry.getKey()));
+                fail(message.toString());
+            }
+            return result;
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        @Primary
+        QueryTimer countingQueryTimer() {
+            return new CountingQueryTimer();
+        }
+    }
+
+    private static final class CountingQueryTimer extends QueryTimer {
+
+        private CountingQueryTimer() {
+            super(true, Duration.ofSeconds(1), 0, false, 100, 2000, 1000);
+        }
+
+        @Override
+        void record(String sql, Object[] binds, int bindCount, int batchRows, long nanos, boolean failed) {
+            List<Statement> statements = RECORDING.get();
+            if (statements != null) {
+                List<Object> values = binds == null ? List.of()
+                        : Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(binds, 1, bindCount + 1)));
+                statements.add(new Statement(sql, values, batchRows));
+            }
+            super.record(sql, binds, bindCount, batchRows, nanos, failed);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.onlykei.hotel_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlykei.hotel_management.config.RateLimitFilter.EndpointClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class RateLimitFilterTests {
+
+    // Heavy: one request per client, then 429 until a token refills
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), true,
+            30, 10, 1, 1, 60, 20, Duration.ofMinutes(10), 6, 2, Duration.ofSeconds(1));
+
+    @Test
+    void classifiesHeavyEndpoints() {
+        assertEquals(EndpointClass.heavy, classify("GET", "/api/v1/bookings/export"));
+        assertEquals(EndpointClass.heavy, classify("POST", "/api/v1/reports/jobs"));
+        assertEquals(EndpointClass.heavy, classify("GET", "/api/v1/reports/jobs/7/download"));
+        assertEquals(EndpointClass.heavy, classify("GET", "/api/v1/guests/12/history"));
+        assertEquals(EndpointClass.heavy, classify("GET", "/api/v1/guests/duplicates"));
+        assertEquals(EndpointClass.heavy, classify("POST", "/api/v1/archive/run"));
+        assertEquals(EndpointClass.heavy, classify("GET", "/api/v1/dashboard"));
+        assertEquals(EndpointClass.heavy, classify("POST", "/api/expenses/import"));
+    }
+
+    @Test
+    void classifiesBookingAndBlockWritesAsFrontDesk() {
+        assertEquals(EndpointClass.front_desk, classify("POST", "/api/v1/bookings"));
+        assertEquals(EndpointClass.front_desk, classify("PATCH", "/api/v1/bookings/3/check-in"));
+        assertEquals(EndpointClass.front_desk, classify("PUT", "/api/v1/bookings/3/checklist/abc/toggle"));
+        assertEquals(EndpointClass.front_desk, classify("POST", "/api/v1/booking-blocks"));
+        assertEquals(EndpointClass.front_desk, classify("POST", "/api/v1/booking-blocks/4/release"));
+    }
+
+    @Test
+    void classifiesEverythingElseAsStandard() {
+        assertEquals(EndpointClass.standard, classify("GET", "/api/v1/bookings"));
+        assertEquals(EndpointClass.standard, classify("GET", "/api/v1/booking-blocks/4"));
+        assertEquals(EndpointClass.standard, classify("GET", "/api/v1/guests/12"));
+        assertEquals(EndpointClass.standard, classify("GET", "/api/v1/guests/12/stats"));
+        assertEquals(EndpointClass.standard, classify("POST", "/api/v1/guests"));
+        assertEquals(EndpointClass.standard, classify("GET", "/api/v1/bookingsx"));
+    }
+
+    @Test
+    void clientHeadersDoNotResetTheLimit() throws Exception {
+        assertEquals(200, export("10.0.0.5", "first").getStatus());
+
+        MockHttpServletResponse rotated = export("10.0.0.5", "second");
+        assertEquals(429, rotated.getStatus());
+        assertNotNull(rotated.getHeader("Retry-After"));
+
+        assertEquals(200, export("10.0.0.6", "first").getStatus());
+    }
+
+    @Test
+    void authenticatedUserIsTheClient() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/rooms");
+        request.setRemoteAddr("10.0.0.5");
+        assertEquals("addr:10.0.0.5", RateLimitFilter.clientId(request));
+
+        request.setUserPrincipal(() -> "frontdesk1");
+        assertEquals("user:frontdesk1", RateLimitFilter.clientId(request));
+    }
+
+    private MockHttpServletResponse export(String remoteAddress, String clientHeader) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings/export");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader("X-Client-Id", clientHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static EndpointClass classify(String method, String uri) {
+        return RateLimitFilter.classify(new MockHttpServletRequest(method, uri));
+    }
+}
@@ -0,0 +1,104 @@
+package com.onlykei.hotel_management.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "rate-limit.enabled=false")
+class SerializationConfigTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    void configuredConvertersComeBeforeTheDefaults() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+
+        assertSame(smileConverter, firstWriterOf(converters, SMILE));
+        assertSame(cborConverter, firstWriterOf(converters, CBOR));
+    }
+
+    @Test
+    void configuredConvertersUseBootsJacksonSettings() {
+        for (ObjectMapper mapper : List.of(smileConverter.getObjectMapper(), cborConverter.getObjectMapper())) {
+            assertTrue(mapper.getRegisteredModuleIds().contains(new BlackbirdModule().getTypeId()));
+            assertFalse(mapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        }
+    }
+
+    @Test
+    void acceptHeaderPicksSmile() throws Exception {
+        MvcResult result = mvc.perform(get("/api/v1/rooms").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new SmileFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertTrue(body.isArray());
+    }
+
+    @Test
+    void formatParameterPicksCbor() throws Exception {
+        MvcResult result = mvc.perform(get("/api/v1/rooms").param("format", "cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn();
+
+        JsonNode body = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertTrue(body.isArray());
+    }
+
+    @Test
+    void anyAcceptStaysJson() throws Exception {
+        mvc.perform(get("/api/v1/rooms").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private HttpMessageConverter<?> firstWriterOf(List<HttpMessageConverter<?>> converters, MediaType mediaType) {
+        return converters.stream()
+                .filter(converter -> converter.canWrite(List.class, mediaType))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.onlykei.hotel_management.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void grantsUpToCapacityThenReportsWait() {
+        TokenBucket bucket = new TokenBucket(3, 2, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        // Two tokens per second: the next one is half a second away
+        assertEquals(SECOND / 2, bucket.tryConsume(0));
+    }
+
+    @Test
+    void refillsAtRateWithoutExceedingCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(0, bucket.tryConsume(SECOND));
+        assertEquals(SECOND, bucket.tryConsume(SECOND));
+
+        // Idle for a minute refills to capacity only
+        long later = 61 * SECOND;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(SECOND, bucket.tryConsume(later));
+    }
+
+    @Test
+    void remembersLastUse() {
+        TokenBucket bucket = new TokenBucket(1, 1, 5);
+        bucket.tryConsume(42);
+
+        assertEquals(42, bucket.lastUsedAt());
+    }
+}
@@ -0,0 +1,393 @@
+package com.onlykei.hotel_management.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.onlykei.hotel_management.config.QueryBudget;
+import com.onlykei.hotel_management.services.GuestDeduplicationService;
+import com.onlykei.hotel_management.services.ReadModelService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Statement budgets for every endpoint against a seeded database, so a change that loads
+ * associations row by row (N+1) fails here instead of in production. Budgets are the statements
+ * a request runs today and do not depend on how many rows are seeded; a request that needs more
+ * should say why in the change that raises its budget.
+ *
+ * Read models are loaded before each test so their initial load is not charged to a request.
+ * Report jobs run on worker threads, so their requests only pay for submitting and reading jobs.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryBudget.Config.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotel-query-budget;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "rate-limit.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTests {
+
+    private static final int ROOMS = 12;
+    private static final int GUESTS = 20;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadModelService readModelService;
+
+    @Autowired
+    private GuestDeduplicationService guestDeduplicationService;
+
+    private long firstRoom;
+    private long firstGuest;
+    private long inHouseBooking;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> rooms = new ArrayList<>();
+        for (int i = 1; i <= ROOMS; i++) {
+            rooms.add(new Object[]{"Q" + i, i % 2 == 0 ? "suite" : "standard", 1000 + i, i % 4 == 0 ? "occupied" : "available", 2});
+        }
+        rooms.add(new Object[]{"M1", "standard", 1000, "maintenance", 2});
+        for (int i = 1; i <= 6; i++) {
+            rooms.add(new Object[]{"W" + i, "deluxe", 3000, "available", 2});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO room_model (number, type, price_per_night, status, capacity) VALUES (?, ?, ?, ?, ?)", rooms);
+        firstRoom = jdbcTemplate.queryForObject("SELECT MIN(id) FROM room_model", Long.class);
+        jdbcTemplate.update("INSERT INTO room_amenities (room_id, amenity) SELECT id, 'wifi' FROM room_model");
+        jdbcTemplate.update("INSERT INTO room_amenities (room_id, amenity) SELECT id, 'minibar' FROM room_model WHERE type = 'suite'");
+
+        List<Object[]> guests = new ArrayList<>();
+        for (int i = 1; i <= GUESTS; i++) {
+            guests.add(new Object[]{"Last" + i, "First" + i, "QB-" + i, "guest" + i + "@example.com", i % 2 == 0 ? "PH" : "US"});
+        }
+        guests.add(new Object[]{"Duplicate", "Dana", "QB-DUP-1", "dana@example.com", "US"});
+        guests.add(new Object[]{"Duplicate", "Dana", "QB-DUP-2", "dana@example.com", "US"});
+        guests.add(new Object[]{"Duplicate", "Dana", "QB-DUP-3", "dana@example.com", "US"});
+        guests.add(new Object[]{"Duplicate", "Dana", "QB-DUP-4", "dana@example.com", "US"});
+        jdbcTemplate.batchUpdate("INSERT INTO guest_model (last_name, first_name, identification_no, email_address, country) VALUES (?, ?, ?, ?, ?)", guests);
+        firstGuest = jdbcTemplate.queryForObject("SELECT MIN(id) FROM guest_model", Long.class);
+        // Guests inserted directly get their duplicate-detection keys the way existing guests do on startup
+        guestDeduplicationService.indexMissingMatchKeys();
+
+        // Each guest arrives today, is in house, departs today, stayed twice before (once past the
+        // archive retention), cancelled and has a future stay, spread over the Q rooms; the W rooms
+        // stay free for the write scenarios
+        Object[][] stays = {
+                {0, 2, "confirmed"}, {-2, 1, "checked_in"}, {-3, 0, "checked_in"},
+                {-30, -27, "checked_out"}, {-200, -198, "checked_out"}, {5, 7, "cancelled"}, {10, 12, "confirmed"}
+        };
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < guests.size(); i++) {
+            for (Object[] stay : stays) {
+                bookings.add(new Object[]{
+                        firstGuest + i, firstRoom + (i + bookings.size()) % ROOMS,
+                        TODAY.plusDays((int) stay[0]), TODAY.plusDays((int) stay[1]), 2, 0, 2000, stay[2], "pending"
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (guest_id, room_id, check_in_date, check_out_date, adults, children, " +
+                "total_amount, status, payment_status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", bookings);
+        inHouseBooking = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM bookings WHERE status = 'checked_in' AND check_out_date > ?", Long.class, TODAY);
+        jdbcTemplate.update("INSERT INTO checklist_items (id, booking_id, item, category, completed, notes) " +
+                "SELECT CAST(id * 10 + 1 AS VARCHAR), id, 'Check towels', 'AMENITIES', FALSE, NULL FROM bookings");
+        jdbcTemplate.update("INSERT INTO checklist_items (id, booking_id, item, category, completed, notes) " +
+                "SELECT CAST(id * 10 + 2 AS VARCHAR), id, 'Inspect room', 'ROOM_INSPECTION', TRUE, 'ok' FROM bookings");
+        jdbcTemplate.update("INSERT INTO guest_stats (guest_id, stay_count, total_nights, total_spend, last_stay_date, updated_at) " +
+                "SELECT guest_id, COUNT(*), SUM(TIMESTAMPDIFF(DAY, check_in_date, check_out_date)), SUM(total_amount), " +
+                "MAX(check_in_date), CURRENT_TIMESTAMP FROM bookings WHERE status IN ('checked_in', 'checked_out') GROUP BY guest_id");
+
+        List<Object[]> expenses = new ArrayList<>();
+        for (int i = 0; i < 3 * GUESTS; i++) {
+            expenses.add(new Object[]{"Expense " + i, 100.0 + i, TODAY.minusDays(i % 60)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expenses_model (description, amount, date_incurred) VALUES (?, ?, ?)", expenses);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < GUESTS; i++) {
+            items.add(new Object[]{"Item " + i, i % 2 == 0 ? "linen" : "toiletries", 100, i % 3 == 0 ? 5 : 80, 10, "piece"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO inventory_items (name, category, quantity, current_level, minimum_level, unit, " +
+                "last_restocked) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", items);
+    }
+
+    @BeforeEach
+    void loadReadModels() {
+        readModelService.rebuild();
+    }
+
+    @Test
+    void roomEndpoints() throws Exception {
+        within(0, get("/api/v1/rooms"));
+        within(0, get("/api/v1/rooms").param("status", "available"));
+        within(3, get("/api/v1/rooms").param("expand", "upcomingBookings"));
+        within(3, get("/api/v1/rooms").param("status", "occupied").param("expand", "upcomingBookings"));
+        within(2, get("/api/v1/rooms/{id}", firstRoom));
+        within(3, get("/api/v1/rooms/{id}", firstRoom).param("expand", "upcomingBookings"));
+        within(2, get("/api/v1/rooms/available")
+                .param("checkInDate", TODAY.toString()).param("checkOutDate", TODAY.plusDays(3).toString()));
+        within(1, get("/api/v1/rooms/search")
+                .param("checkInDate", TODAY.toString()).param("checkOutDate", TODAY.plusDays(3).toString())
+                .param("type", "suite").param("amenities", "wifi"));
+        within(0, get("/api/v1/rooms/inventory").param("startDate", TODAY.toString()).param("days", "30"));
+
+        long room = id(within(1, postJson("/api/v1/rooms", Map.of(
+                "number", "N1", "type", "standard", "pricePerNight", 1500, "status", "available", "capacity", 2))));
+        within(3, put("/api/v1/rooms/{id}/status", room).param("status", "maintenance"));
+    }
+
+    @Test
+    void guestEndpoints() throws Exception {
+        within(0, get("/api/v1/guests"));
+        within(1, get("/api/v1/guests/duplicates"));
+        within(1, get("/api/v1/guests/top").param("by", "spend"));
+        within(2, get("/api/v1/guests/{id}", firstGuest));
+        within(2, get("/api/v1/guests/{id}/history", firstGuest));
+        within(2, get("/api/v1/guests/{id}/stats", firstGuest));
+        long survivor = jdbcTemplate.queryForObject("SELECT MIN(id) FROM guest_model WHERE last_name = 'Duplicate'", Long.class);
+        within(2, get("/api/v1/guests/{id}/duplicates", firstGuest));
+        within(3, get("/api/v1/guests/{id}/duplicates", survivor));
+
+        long guest = id(within(2, postJson("/api/v1/guests", Map.of(
+                "firstName", "Nora", "lastName", "Newman", "identificationNo", "QB-NEW"))));
+        within(4, json(put("/api/v1/guests/{id}", guest), Map.of(
+                "firstName", "Nora", "lastName", "Newman", "identificationNo", "QB-NEW", "country", "PH")));
+        within(3, delete("/api/v1/guests/{id}", guest));
+
+        within(11, postJson("/api/v1/guests/{id}/merge",
+                Map.of("duplicateIds", List.of(survivor + 1, survivor + 2, survivor + 3)), survivor));
+    }
+
+    @Test
+    void bookingReadEndpoints() throws Exception {
+        String today = TODAY.toString();
+        String nextWeek = TODAY.plusDays(7).toString();
+        within(0, get("/api/v1/bookings"));
+        within(0, get("/api/v1/bookings").param("status", "confirmed"));
+        within(1, get("/api/v1/bookings/{id}", inHouseBooking));
+        within(2, get("/api/v1/bookings/export")
+                .param("startDate", TODAY.minusDays(365).toString()).param("endDate", nextWeek));
+        within(1, get("/api/v1/bookings/checking-in-today"));
+        within(1, get("/api/v1/bookings/checking-out-today"));
+        within(0, get("/api/v1/bookings/arrivals").param("date", today));
+        within(0, get("/api/v1/bookings/arrivals").param("startDate", today).param("endDate", nextWeek));
+        within(0, get("/api/v1/bookings/departures").param("date", today));
+        within(0, get("/api/v1/bookings/departures").param("startDate", today).param("endDate", nextWeek));
+        within(0, get("/api/v1/bookings/in-house").param("date", today));
+        within(0, get("/api/v1/bookings/in-house").param("startDate", today).param("endDate", nextWeek));
+        within(1, get("/api/v1/bookings/{id}/checklist", inHouseBooking));
+        within(0, get("/api/v1/dashboard/counters").param("date", today));
+        within(0, get("/api/v1/dashboard/booked-rooms").param("checkInDate", today).param("checkOutDate", nextWeek));
+    }
+
+    @Test
+    void bookingWriteEndpoints() throws Exception {
+        long booking = id(within(4, postJson("/api/v1/bookings", stay(roomId("W1"), null, 0, 2))));
+        within(4, put("/api/v1/bookings/{id}/check-in", booking));
+        within(4, json(put("/api/v1/bookings/{id}/extend", booking), Map.of("newCheckOutDate", TODAY.plusDays(3).toString())));
+        within(3, put("/api/v1/bookings/{id}/check-out", booking));
+
+        long byType = id(within(6, postJson("/api/v1/bookings", stay(null, "deluxe", 20, 22))));
+        within(3, delete("/api/v1/bookings/{id}", byType));
+
+        long first = id(postJson("/api/v1/bookings", stay(roomId("W2"), null, 0, 1)));
+        long second = id(postJson("/api/v1/bookings", stay(roomId("W3"), null, 0, 1)));
+        long third = id(postJson("/api/v1/bookings", stay(roomId("W5"), null, 0, 1)));
+        long fourth = id(postJson("/api/v1/bookings", stay(roomId("W6"), null, 0, 1)));
+        within(4, postJson("/api/v1/bookings/batch/check-in", Map.of("bookingIds", List.of(first, second, third, fourth))));
+        within(3, postJson("/api/v1/bookings/batch/check-out", Map.of("bookingIds", List.of(first, second, third, fourth))));
+    }
+
+    @Test
+    void checklistEndpoints() throws Exception {
+        long booking = jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings WHERE status = 'confirmed'", Long.class);
+        String item = JsonPath.read(within(2, postJson("/api/v1/bookings/{id}/checklist",
+                Map.of("item", "Check minibar", "category", "amenities"), booking))
+                .getResponse().getContentAsString(), "$.id");
+        within(2, json(put("/api/v1/bookings/{id}/checklist/{itemId}", booking, item),
+                Map.of("item", "Restock minibar", "category", "AMENITIES", "completed", false)));
+        within(2, put("/api/v1/bookings/{id}/checklist/{itemId}/toggle", booking, item));
+        within(1, delete("/api/v1/bookings/{id}/checklist/{itemId}", booking, item));
+        within(3, json(put("/api/v1/bookings/{id}/checklist", booking), List.of(
+                Map.of("item", "Inspect room", "category", "room_inspection"),
+                Map.of("item", "Fold towels", "category", "cleaning"),
+                Map.of("item", "Welcome note", "category", "guest_services"))));
+
+        String checklist = within(1, get("/api/v1/bookings/{id}/checklist", booking)).getResponse().getContentAsString();
+        assertEquals(List.of("cleaning", "guest_services", "room_inspection"),
+                JsonPath.<List<String>>read(checklist, "$[*].category").stream().sorted().toList());
+    }
+
+    @Test
+    void holdAndBlockEndpoints() throws Exception {
+        String hold = JsonPath.read(within(2, postJson("/api/v1/holds", Map.of(
+                "roomId", roomId("W4"), "checkInDate", TODAY.plusDays(30).toString(),
+                "checkOutDate", TODAY.plusDays(32).toString()))).getResponse().getContentAsString(), "$.id");
+        within(0, get("/api/v1/holds"));
+        within(0, get("/api/v1/holds/{id}", hold));
+        within(0, put("/api/v1/holds/{id}/renew", hold));
+        within(0, delete("/api/v1/holds/{id}", hold));
+
+        Map<String, Object> block = Map.of("name", "Conference", "guestId", firstGuest, "roomType", "deluxe", "rooms", 5,
+                "checkInDate", TODAY.plusDays(40).toString(), "checkOutDate", TODAY.plusDays(42).toString());
+        long blockId = id(within(8, postJson("/api/v1/booking-blocks", block)));
+        within(2, get("/api/v1/booking-blocks"));
+        within(2, get("/api/v1/booking-blocks/{id}", blockId));
+        within(6, postJson("/api/v1/booking-blocks/{id}/release", Map.of("count", 4), blockId));
+
+        within(7, post("/api/v1/room-assignments/optimize")
+                .param("startDate", TODAY.toString()).param("endDate", TODAY.plusDays(60).toString()).param("dryRun", "true"));
+    }
+
+    @Test
+    void expenseEndpoints() throws Exception {
+        within(1, get("/api/expenses"));
+        within(1, get("/api/expenses/range")
+                .param("startDate", TODAY.minusDays(30).toString()).param("endDate", TODAY.toString()));
+
+        long expense = id(within(1, postJson("/api/expenses", expense("Linen service", 250.0))));
+        within(1, get("/api/expenses/{id}", expense));
+        within(2, json(put("/api/expenses/{id}", expense), expense("Linen service", 275.0)));
+        within(2, delete("/api/expenses/{id}", expense));
+        within(1, postJson("/api/expenses/bulk", List.of(expense("Laundry", 80.0), expense("Flowers", 40.0), expense("Water", 25.0))));
+        within(1, post("/api/expenses/import").contentType("text/csv")
+                .content("description,amount,dateIncurred\nSoap,12.5," + TODAY + "\nTowels,90," + TODAY + "\nCoffee,30," + TODAY + "\n"));
+    }
+
+    @Test
+    void inventoryEndpoints() throws Exception {
+        within(0, get("/api/v1/inventory"));
+        within(1, get("/api/v1/inventory/category/{category}", "linen"));
+        within(1, get("/api/v1/inventory/low-stock"));
+
+        Map<String, Object> item = Map.of("name", "Bath towel", "category", "linen", "quantity", 50,
+                "currentLevel", 20, "minimumLevel", 10, "unit", "piece");
+        long itemId = id(within(1, postJson("/api/v1/inventory", item)));
+        within(1, get("/api/v1/inventory/{id}", itemId));
+        within(1, json(put("/api/v1/inventory/{id}", itemId), item));
+        within(2, json(patch("/api/v1/inventory/{id}/quantity", itemId), Map.of("quantity", 5)));
+        within(2, post("/api/v1/inventory/{id}/restock", itemId));
+        within(2, delete("/api/v1/inventory/{id}", itemId));
+    }
+
+    @Test
+    void reportEndpoints() throws Exception {
+        String job = JsonPath.read(within(0, postJson("/api/v1/reports/jobs", Map.of("type", "occupancy",
+                "startDate", TODAY.minusDays(30).toString(), "endDate", TODAY.toString())))
+                .getResponse().getContentAsString(), "$.id");
+        within(0, get("/api/v1/reports/jobs"));
+        String status = JsonPath.read(within(0, get("/api/v1/reports/jobs/{id}", job)).getResponse().getContentAsString(), "$.status");
+        for (int attempt = 0; attempt < 100 && ("queued".equals(status) || "running".equals(status)); attempt++) {
+            Thread.sleep(50);
+            status = JsonPath.read(within(0, get("/api/v1/reports/jobs/{id}", job)).getResponse().getContentAsString(), "$.status");
+        }
+        assertEquals("completed", status, "report job " + job);
+        within(0, get("/api/v1/reports/jobs/{id}/download", job));
+        within(0, delete("/api/v1/reports/jobs/{id}", job));
+    }
+
+    @Test
+    void operationsEndpoints() throws Exception {
+        within(7, post("/api/v1/night-audit/run").param("date", TODAY.minusDays(1).toString()));
+        within(1, get("/api/v1/night-audit/latest"));
+        within(1, get("/api/v1/night-audit/{date}", TODAY.minusDays(1)));
+        within(7, post("/api/v1/archive/run"));
+        within(0, get("/api/v1/properties"));
+        within(3, postJson("/api/v1/properties", Map.of("code", "QB2", "name", "Query Budget Annex")));
+        within(0, get("/api/v1/read-models"));
+        // Guest rows load archived stays in one extra query
+        within(6, post("/api/v1/read-models/rebuild"));
+        within(0, get("/api/v1/coalescing/stats"));
+        within(0, get("/api/v1/query-stats"));
+        within(0, delete("/api/v1/query-stats"));
+    }
+
+    private MvcResult within(int budget, MockHttpServletRequestBuilder request) throws Exception {
+        QueryBudget.Recorded<MvcResult> recorded = QueryBudget.record(() -> mvc.perform(request).andReturn());
+        MvcResult result = recorded.result();
+        String label = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        int status = result.getResponse().getStatus();
+        assertTrue(status < 400, () -> label + " answered " + status + ": " + contentOf(result));
+        return recorded.assertWithin(budget, label);
+    }
+
+    private MockHttpServletRequestBuilder postJson(String path, Object body, Object... uriVariables) throws Exception {
+        return json(post(path, uriVariables), body);
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+
+    private long id(MvcResult result) throws Exception {
+        return ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.id")).longValue();
+    }
+
+    private long id(MockHttpServletRequestBuilder request) throws Exception {
+        return id(mvc.perform(request).andReturn());
+    }
+
+    private long roomId(String number) {
+        return jdbcTemplate.queryForObject("SELECT id FROM room_model WHERE number = ?", Long.class, number);
+    }
+
+    private Map<String, Object> stay(Long roomId, String roomType, int fromDay, int toDay) {
+        Map<String, Object> request = new HashMap<>(Map.of("guestId", firstGuest, "adults", 2,
+                "checkInDate", TODAY.plusDays(fromDay).toString(), "checkOutDate", TODAY.plusDays(toDay).toString()));
+        if (roomId != null) {
+            request.put("roomId", roomId);
+        } else {
+            request.put("roomType", roomType);
+        }
+        return request;
+    }
+
+    private static Map<String, Object> expense(String description, double amount) {
+        return Map.of("description", description, "amount", amount, "dateIncurred", TODAY.toString());
+    }
+
+    private static String contentOf(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+}
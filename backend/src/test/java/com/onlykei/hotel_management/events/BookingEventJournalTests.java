@@ -0,0 +1,99 @@
+package com.onlykei.hotel_management.events;
+
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingEventJournalTests {
+
+    // Smallest segment the journal accepts: 16 records
+    private static final int SEGMENT_SIZE = 1;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void appendedEventsReplayAfterRestart() throws Exception {
+        BookingEventJournal journal = open();
+        for (long id = 1; id <= 3; id++) {
+            assertEquals(id, journal.append(event(id, BookingStatus.confirmed)).get(5, TimeUnit.SECONDS));
+        }
+        journal.destroy();
+
+        BookingEventJournal reopened = open();
+        List<BookingEvent> replayed = new ArrayList<>();
+        assertEquals(3, reopened.replay(replayed::add));
+        assertEquals(List.of(1L, 2L, 3L), replayed.stream().map(BookingEvent::bookingId).toList());
+        assertEquals(3, reopened.getLastSequence());
+        reopened.destroy();
+    }
+
+    @Test
+    void snapshotReplacesOlderSegments() throws Exception {
+        BookingEventJournal journal = open();
+        for (long id = 1; id <= 40; id++) {
+            journal.append(event(id, BookingStatus.confirmed));
+        }
+        long boundary = journal.startSnapshot().get(5, TimeUnit.SECONDS);
+        assertEquals(41, boundary);
+        journal.append(event(41, BookingStatus.checked_in)).get(5, TimeUnit.SECONDS);
+        journal.writeSnapshot(boundary, List.of(snapshot(7), snapshot(9)));
+
+        assertEquals(1, journal.segmentsSinceSnapshot());
+        assertEquals(List.of("booking-journal-v2-00000000000000000041.seg", "booking-snapshot-v2-00000000000000000041.snap"),
+                files());
+        journal.destroy();
+
+        BookingEventJournal reopened = open();
+        List<BookingEvent> replayed = new ArrayList<>();
+        reopened.replay(replayed::add);
+        assertEquals(List.of(7L, 9L, 41L), replayed.stream().map(BookingEvent::bookingId).toList());
+        assertEquals(41, reopened.getLastSequence());
+        assertEquals(42, reopened.append(event(42, BookingStatus.confirmed)).get(5, TimeUnit.SECONDS));
+        reopened.destroy();
+    }
+
+    @Test
+    void appendsAfterDestroyDoNotHang() throws Exception {
+        BookingEventJournal journal = open();
+        journal.append(event(1, BookingStatus.confirmed)).get(5, TimeUnit.SECONDS);
+        journal.destroy();
+
+        assertTrue(journal.append(event(2, BookingStatus.confirmed)).isDone());
+        assertTrue(journal.startSnapshot().isCompletedExceptionally());
+    }
+
+    private BookingEventJournal open() throws Exception {
+        BookingEventJournal journal = new BookingEventJournal(true, directory.toString(), SEGMENT_SIZE, 8, 1024);
+        journal.afterPropertiesSet();
+        return journal;
+    }
+
+    private List<String> files() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static BookingEvent event(long bookingId, BookingStatus status) {
+        return new BookingEvent(1L, BookingEvent.Type.created, bookingId, 10 + bookingId % 5, 100L,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3), status, 4000, Instant.now());
+    }
+
+    private static BookingEvent snapshot(long bookingId) {
+        return new BookingEvent(1L, BookingEvent.Type.snapshot, bookingId, 10L, 100L,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 3), BookingStatus.confirmed, 4000, Instant.now());
+    }
+}
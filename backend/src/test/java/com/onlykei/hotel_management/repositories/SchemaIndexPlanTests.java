@@ -0,0 +1,350 @@
+package com.onlykei.hotel_management.repositories;
+
+import com.onlykei.hotel_management.config.QueryBudget;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Calls each filtered repository query, captures the SQL and bind values Hibernate sends to the
+ * database (through the query timer) and runs EXPLAIN on exactly that statement, so a changed
+ * query, mapping or migration that loses its index fails here. Every statement a call runs is
+ * checked, including the lazy loads it triggers. Calls run in a transaction that is rolled back.
+ *
+ * By default the plans come from H2, which only tells whether some index serves the predicate;
+ * it says nothing about which index MariaDB picks or what it costs. Run the class against a
+ * MariaDB (spring.datasource.url, username, password and the MariaDBDialect) to check its plans
+ * instead: there a full scan shows as access type ALL.
+ *
+ * Unfiltered listings (findAll, findAllWithDetails) read every row by design and are not listed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(QueryBudget.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SchemaIndexPlanTests {
+
+    private static final List<BookingStatus> ACTIVE = List.of(BookingStatus.confirmed, BookingStatus.checked_in);
+    private static final List<BookingStatus> STAYED = List.of(BookingStatus.checked_in, BookingStatus.checked_out);
+    private static final LocalDate FROM = LocalDate.of(2024, 2, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 2, 7);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingArchiveRepository bookingArchiveRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private GuestMatchKeyRepository guestMatchKeyRepository;
+
+    @Autowired
+    private GuestStatsRepository guestStatsRepository;
+
+    @Autowired
+    private ExpensesRepository expensesRepository;
+
+    private boolean mariaDb;
+    private long firstRoom;
+    private long firstGuest;
+    private long firstBooking;
+
+    @BeforeAll
+    void seed() {
+        mariaDb = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()).toLowerCase().contains("maria");
+
+        // Enough rows that the planner prefers indexes over scanning small tables
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class) == 0) {
+            insertRows();
+        }
+        firstRoom = jdbcTemplate.queryForObject("SELECT MIN(id) FROM room_model", Long.class);
+        firstGuest = jdbcTemplate.queryForObject("SELECT MIN(id) FROM guest_model", Long.class);
+        firstBooking = jdbcTemplate.queryForObject("SELECT MIN(id) FROM bookings", Long.class);
+    }
+
+    private void insertRows() {
+        List<Object[]> rooms = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            rooms.add(new Object[]{"P" + i, i % 3 == 0 ? "suite" : "standard", 1000 + i, i % 5 == 0 ? "occupied" : "available", 2});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO room_model (number, type, price_per_night, status, capacity) VALUES (?, ?, ?, ?, ?)", rooms);
+
+        List<Object[]> guests = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            guests.add(new Object[]{"Last" + i, "First" + i, "PLAN-" + i, "guest" + i + "@example.com", i % 2 == 0 ? "PH" : "US"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO guest_model (last_name, first_name, identification_no, email_address, country) VALUES (?, ?, ?, ?, ?)", guests);
+        jdbcTemplate.update("INSERT INTO guest_match_keys (property_id, guest_id, match_key) " +
+                "SELECT property_id, id, CONCAT('email:', email_address) FROM guest_model");
+
+        Long roomId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM room_model", Long.class);
+        Long guestId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM guest_model", Long.class);
+        String[] statuses = {"confirmed", "checked_in", "checked_out", "cancelled"};
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> archived = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            LocalDate checkIn = base.plusDays(i % 400);
+            bookings.add(new Object[]{
+                    guestId + i % 200, roomId + i % 50, checkIn, checkIn.plusDays(1 + i % 4),
+                    2, 0, 2000, statuses[i % 4], "pending"
+            });
+            archived.add(new Object[]{
+                    1_000_000L + i, guestId + i % 200, roomId + i % 50, checkIn.minusYears(2), checkIn.minusYears(2).plusDays(1 + i % 4),
+                    2, 0, 2000, statuses[2 + i % 2], "paid"
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (guest_id, room_id, check_in_date, check_out_date, adults, children, " +
+                "total_amount, status, payment_status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings_archive (id, guest_id, room_id, check_in_date, check_out_date, adults, " +
+                "children, total_amount, status, payment_status, created_at, archived_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", archived);
+        jdbcTemplate.update("INSERT INTO guest_stats (guest_id, stay_count, total_nights, total_spend, last_stay_date, updated_at) " +
+                "SELECT guest_id, COUNT(*), SUM(TIMESTAMPDIFF(DAY, check_in_date, check_out_date)), SUM(total_amount), " +
+                "MAX(check_in_date), CURRENT_TIMESTAMP FROM bookings WHERE status IN ('checked_in', 'checked_out') GROUP BY guest_id");
+        List<Object[]> expenses = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expenses.add(new Object[]{"Expense " + i, 100.0 + i, base.plusDays(i % 365)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expenses_model (description, amount, date_incurred) VALUES (?, ?, ?)", expenses);
+        if (mariaDb) {
+            jdbcTemplate.execute("ANALYZE TABLE room_model, guest_model, guest_match_keys, bookings, bookings_archive, guest_stats, expenses_model");
+        } else {
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> bookingRepositoryQueriesUseIndexes() {
+        List<Long> bookingIds = List.of(firstBooking + 10, firstBooking + 20, firstBooking + 30);
+        List<Long> roomIds = List.of(firstRoom, firstRoom + 1, firstRoom + 2);
+        Pageable chunk = PageRequest.of(0, 500);
+        LocalDate cutoff = LocalDate.of(2024, 1, 10);
+
+        Map<String, Callable<?>> queries = new LinkedHashMap<>();
+        queries.put("findByStatus", () -> bookingRepository.findByStatus(BookingStatus.confirmed));
+        queries.put("findByGuestId", () -> bookingRepository.findByGuestId(firstGuest + 5));
+        queries.put("findByRoomId", () -> bookingRepository.findByRoomId(firstRoom + 5));
+        queries.put("findByCheckInDateBetween", () -> bookingRepository.findByCheckInDateBetween(FROM, TO));
+        queries.put("findByCheckOutDateBetween", () -> bookingRepository.findByCheckOutDateBetween(FROM, TO));
+        queries.put("findOverlappingBookings",
+                () -> bookingRepository.findOverlappingBookings(firstRoom + 5, ACTIVE, FROM, TO));
+        queries.put("findByIdWithDetails", () -> bookingRepository.findByIdWithDetails(firstBooking + 10));
+        queries.put("findAllByIdWithDetails", () -> bookingRepository.findAllByIdWithDetails(bookingIds));
+        queries.put("findByGuestIdWithChecklist", () -> bookingRepository.findByGuestIdWithChecklist(firstGuest + 5));
+        queries.put("findStayFigures", () -> bookingRepository.findStayFigures(firstGuest + 5, STAYED));
+        queries.put("findByStatusWithDetails", () -> bookingRepository.findByStatusWithDetails(BookingStatus.checked_in));
+        queries.put("findByGuestIdWithRoom", () -> bookingRepository.findByGuestIdWithRoom(firstGuest + 5));
+        queries.put("findUpcomingByRoomIds", () -> bookingRepository.findUpcomingByRoomIds(roomIds, ACTIVE, FROM));
+        queries.put("findByRoomIdsBetween", () -> bookingRepository.findByRoomIdsBetween(roomIds, ACTIVE, FROM, TO));
+        queries.put("findBookedRoomIds", () -> bookingRepository.findBookedRoomIds(roomIds, ACTIVE, FROM, TO));
+        queries.put("lockStaySlots", () -> bookingRepository.lockStaySlots(roomIds, ACTIVE, FROM, TO));
+        queries.put("findByBlockIdWithDetails", () -> bookingRepository.findByBlockIdWithDetails(3L));
+        queries.put("countByBlockIds", () -> bookingRepository.countByBlockIds(List.of(1L, 2L, 3L)));
+        queries.put("findByCheckInDateBetweenWithDetails", () -> bookingRepository.findByCheckInDateBetweenWithDetails(FROM, TO));
+        queries.put("findByCheckOutDateBetweenWithDetails", () -> bookingRepository.findByCheckOutDateBetweenWithDetails(FROM, TO));
+        queries.put("findStayingBetweenWithDetails", () -> bookingRepository.findStayingBetweenWithDetails(FROM, TO));
+        queries.put("findByStatusIn", () -> bookingRepository.findByStatusIn(ACTIVE));
+        queries.put("findByCheckInDateAndStatus",
+                () -> bookingRepository.findByCheckInDateAndStatus(FROM, BookingStatus.confirmed));
+        queries.put("findByCheckOutDateAndStatus",
+                () -> bookingRepository.findByCheckOutDateAndStatus(FROM, BookingStatus.checked_in));
+        queries.put("findByCheckInDateAndStatusWithDetails",
+                () -> bookingRepository.findByCheckInDateAndStatusWithDetails(FROM, BookingStatus.confirmed));
+        queries.put("findByCheckOutDateAndStatusWithDetails",
+                () -> bookingRepository.findByCheckOutDateAndStatusWithDetails(FROM, BookingStatus.checked_in));
+        queries.put("findByRoomIdAndStatusInAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual",
+                () -> bookingRepository.findByRoomIdAndStatusInAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+                        firstRoom + 5, ACTIVE, TO, FROM));
+        queries.put("findRefsCheckingInOnOrBefore",
+                () -> bookingRepository.findRefsCheckingInOnOrBefore(BookingStatus.confirmed, cutoff, 0L, chunk));
+        queries.put("findRefsCheckingOutOnOrBefore",
+                () -> bookingRepository.findRefsCheckingOutOnOrBefore(BookingStatus.checked_in, cutoff, 0L, chunk));
+        queries.put("findRefsCheckedOutBefore", () -> bookingRepository.findRefsCheckedOutBefore(
+                List.of(BookingStatus.checked_out, BookingStatus.cancelled), cutoff, 0L, chunk));
+        queries.put("countByStatusAndCheckOutDateLessThanEqual",
+                () -> bookingRepository.countByStatusAndCheckOutDateLessThanEqual(BookingStatus.checked_in, cutoff));
+        queries.put("streamStays", () -> {
+            try (Stream<BookingRepository.StayRow> rows = bookingRepository.streamStays(STAYED, FROM, TO)) {
+                return rows.count();
+            }
+        });
+        queries.put("countStays", () -> bookingRepository.countStays(STAYED, FROM, TO));
+        queries.put("updateStatusByIds", () -> bookingRepository.updateStatusByIds(bookingIds, BookingStatus.checked_in));
+        queries.put("transitionStatus",
+                () -> bookingRepository.transitionStatus(bookingIds, BookingStatus.confirmed, BookingStatus.cancelled));
+        queries.put("reassignGuest", () -> bookingRepository.reassignGuest(
+                guestRepository.getReferenceById(firstGuest), List.of(firstGuest + 1, firstGuest + 2)));
+        return explainAll(queries);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> bookingArchiveRepositoryQueriesUseIndexes() {
+        LocalDate from = FROM.minusYears(2);
+        LocalDate to = TO.minusYears(2);
+
+        Map<String, Callable<?>> queries = new LinkedHashMap<>();
+        queries.put("findByGuestIdOrderByCheckInDateDesc",
+                () -> bookingArchiveRepository.findByGuestIdOrderByCheckInDateDesc(firstGuest + 5));
+        queries.put("findStayRowsByGuestIdIn",
+                () -> bookingArchiveRepository.findStayRowsByGuestIdIn(List.of(firstGuest + 5, firstGuest + 6)));
+        queries.put("findByCheckInDateBetweenOrderByCheckInDateAsc",
+                () -> bookingArchiveRepository.findByCheckInDateBetweenOrderByCheckInDateAsc(from, to));
+        queries.put("findStayFigures", () -> bookingArchiveRepository.findStayFigures(firstGuest + 5, STAYED));
+        queries.put("streamStays", () -> {
+            try (Stream<BookingRepository.StayRow> rows = bookingArchiveRepository.streamStays(STAYED, from, to)) {
+                return rows.count();
+            }
+        });
+        queries.put("countStays", () -> bookingArchiveRepository.countStays(STAYED, from, to));
+        queries.put("reassignGuest",
+                () -> bookingArchiveRepository.reassignGuest(firstGuest, List.of(firstGuest + 1, firstGuest + 2)));
+        return explainAll(queries);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> roomRepositoryQueriesUseIndexes() {
+        List<Long> roomIds = List.of(firstRoom, firstRoom + 1, firstRoom + 2);
+
+        Map<String, Callable<?>> queries = new LinkedHashMap<>();
+        queries.put("findByNumber", () -> roomRepository.findByNumber("P7"));
+        queries.put("findByStatus", () -> roomRepository.findByStatus(RoomStatus.maintenance));
+        queries.put("findByType", () -> roomRepository.findByType("suite"));
+        queries.put("findByTypeAndStatus", () -> roomRepository.findByTypeAndStatus("suite", RoomStatus.available));
+        queries.put("countByStatus", () -> roomRepository.countByStatus(RoomStatus.occupied));
+        queries.put("findAvailableRooms", () -> roomRepository.findAvailableRooms(FROM, TO));
+        queries.put("findAvailableRoomsByType", () -> roomRepository.findAvailableRoomsByType("suite", FROM, TO));
+        queries.put("findAvailableRoomSummaries", () -> roomRepository.findAvailableRoomSummaries(FROM, TO));
+        queries.put("findSummariesByStatus", () -> roomRepository.findSummariesByStatus(RoomStatus.maintenance));
+        queries.put("findSummariesByIds", () -> roomRepository.findSummariesByIds(roomIds));
+        queries.put("findAmenitiesByRoomIds", () -> roomRepository.findAmenitiesByRoomIds(roomIds));
+        queries.put("updateStatusByIds", () -> roomRepository.updateStatusByIds(roomIds, RoomStatus.occupied));
+        queries.put("releaseVacantRooms", () -> roomRepository.releaseVacantRooms(roomIds));
+        return explainAll(queries);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> guestMatchQueriesUseIndexes() {
+        Map<String, Callable<?>> queries = new LinkedHashMap<>();
+        queries.put("findGuestIdsByMatchKeyIn", () -> guestMatchKeyRepository.findGuestIdsByMatchKeyIn(
+                List.of("email:guest5@example.com", "phone:9171234567")));
+        queries.put("deleteByGuestId", () -> guestMatchKeyRepository.deleteByGuestId(firstGuest + 5));
+        queries.put("findMatchRowsByIdIn", () -> guestRepository.findMatchRowsByIdIn(List.of(firstGuest + 5, firstGuest + 6)));
+        return explainAll(queries);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> guestStatsQueriesUseIndexes() {
+        Map<String, Callable<?>> queries = new LinkedHashMap<>();
+        for (String property : List.of("totalSpend", "stayCount", "totalNights")) {
+            Sort sort = Sort.by(Sort.Order.desc(property), Sort.Order.asc("guestId"));
+            queries.put("findTopGuests by " + property, () -> guestStatsRepository.findTopGuests(PageRequest.of(0, 10, sort)));
+        }
+        queries.put("addStays", () -> guestStatsRepository.addStays(firstGuest + 5, 1, 2, 2000L, FROM));
+        queries.put("insertOrAddStays", () -> guestStatsRepository.insertOrAddStays(
+                firstGuest + 5, 1, 2, 2000L, FROM, 1, 2, 2000L, FROM));
+        return explainAll(queries);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> expensesRepositoryQueriesUseIndexes() {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+
+        Map<String, Callable<?>> queries = new LinkedHashMap<>();
+        queries.put("findByDateIncurredBetween", () -> expensesRepository.findByDateIncurredBetween(from, to,
+                PageRequest.of(1, 10, Sort.by("dateIncurred", "id"))));
+        queries.put("countByDateIncurredBetween", () -> expensesRepository.countByDateIncurredBetween(from, to));
+        queries.put("streamAmounts", () -> {
+            try (Stream<ExpensesRepository.ExpenseRow> rows = expensesRepository.streamAmounts(from, to)) {
+                return rows.count();
+            }
+        });
+        return explainAll(queries);
+    }
+
+    private Stream<DynamicTest> explainAll(Map<String, Callable<?>> queries) {
+        return queries.entrySet().stream().map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+            List<QueryBudget.Statement> statements = capture(query.getValue());
+            assertFalse(statements.isEmpty(), () -> query.getKey() + " ran no statements");
+            for (QueryBudget.Statement statement : statements) {
+                String plan = explain(statement);
+                assertFalse(scansTable(plan), () -> query.getKey() + " performs a full table scan:\n"
+                        + statement.sql() + "\n" + plan);
+            }
+        }));
+    }
+
+    /**
+     * Distinct statements the call runs, in order, in a transaction that is rolled back.
+     */
+    private List<QueryBudget.Statement> capture(Callable<?> call) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                Set<String> seen = new LinkedHashSet<>();
+                return QueryBudget.record(call).statements().stream()
+                        .filter(statement -> seen.add(statement.sql()))
+                        .toList();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private String explain(QueryBudget.Statement statement) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.binds().toArray());
+        return rows.stream()
+                .map(row -> row.entrySet().stream()
+                        .map(column -> mariaDb ? column.getKey() + "=" + column.getValue() : String.valueOf(column.getValue()))
+                        .collect(Collectors.joining(mariaDb ? " " : "\n")))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private boolean scansTable(String plan) {
+        String text = plan.toLowerCase();
+        // H2 names the access path of a scan <table>.tableScan; MariaDB reports access type ALL
+        return mariaDb ? text.contains("type=all") : text.contains(".tablescan");
+    }
+}
@@ -0,0 +1,78 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.ReportJobRequest;
+import com.onlykei.hotel_management.models.ExpensesModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Expenses belong to the property they were recorded for, whichever path wrote them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:hotel-expenses;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+class ExpensesServiceTests {
+
+    private static final long OTHER_PROPERTY = 2L;
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+
+    @Autowired
+    private ExpensesService expensesService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Test
+    void onePropertyCannotSeeAnothersExpenses() throws Exception {
+        PropertyContext.runAs(OTHER_PROPERTY, () -> {
+            expensesService.saveExpense(expense("Roof repair", 900.0));
+            expensesService.saveExpenses(List.of(expense("Laundry", 80.0), expense("Flowers", 20.0)));
+        });
+        PropertyContext.callAs(OTHER_PROPERTY, () -> {
+            try {
+                return expensesService.importExpenses(new ByteArrayInputStream(
+                        ("Water,50.00," + DAY + "\n").getBytes(StandardCharsets.UTF_8)),
+                        ExpensesService.ImportFormat.CSV);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        expensesService.saveExpense(expense("Linen service", 250.0));
+
+        assertEquals(List.of("Linen service"), descriptions(expensesService.getAllExpenses()));
+        assertEquals(1, expensesService.getExpensesBetween(DAY, DAY, 0, 10).getTotalElements());
+        assertEquals(List.of("Roof repair", "Laundry", "Flowers", "Water"),
+                PropertyContext.callAs(OTHER_PROPERTY, () -> descriptions(expensesService.getAllExpenses())));
+
+        assertEquals("2024-06-03,0.00,250.00,-250.00", profitAndLossLine());
+        assertEquals("2024-06-03,0.00,1050.00,-1050.00", PropertyContext.callAs(OTHER_PROPERTY, this::profitAndLossLine));
+    }
+
+    private String profitAndLossLine() {
+        StringWriter out = new StringWriter();
+        reportService.write(new ReportJobRequest("profit_and_loss", DAY, DAY, "day"), out, (processed, total) -> {
+        });
+        return out.toString().lines().skip(1).findFirst().orElseThrow();
+    }
+
+    private static ExpensesModel expense(String description, double amount) {
+        return ExpensesModel.builder().description(description).amount(amount).dateIncurred(DAY).build();
+    }
+
+    private static List<String> descriptions(List<ExpensesModel> expenses) {
+        return expenses.stream().map(ExpensesModel::getDescription).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.onlykei.hotel_management.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.onlykei.hotel_management.services.GuestDeduplicationService.jaroWinkler;
+import static com.onlykei.hotel_management.services.GuestDeduplicationService.normalizeEmail;
+import static com.onlykei.hotel_management.services.GuestDeduplicationService.normalizeName;
+import static com.onlykei.hotel_management.services.GuestDeduplicationService.phones;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GuestDeduplicationServiceTests {
+
+    @Test
+    void jaroWinklerMatchesReferenceValues() {
+        assertEquals(1.0, jaroWinkler("martha", "martha"));
+        assertEquals(0.961, jaroWinkler("martha", "marhta"), 0.001);
+        assertEquals(0.840, jaroWinkler("dwayne", "duane"), 0.001);
+        assertEquals(0.813, jaroWinkler("dixon", "dicksonx"), 0.001);
+        assertEquals(0.0, jaroWinkler("abc", "xyz"));
+        assertEquals(0.0, jaroWinkler("", "martha"));
+    }
+
+    @Test
+    void jaroWinklerIsSymmetric() {
+        assertEquals(jaroWinkler("dela cruz", "delacruz"), jaroWinkler("delacruz", "dela cruz"), 1e-12);
+    }
+
+    @Test
+    void namesDropAccentsPunctuationAndExtraSpaces() {
+        assertEquals("jose delacruz", normalizeName("  José   Dela-Cruz "));
+        assertEquals("obrien", normalizeName("O'Brien"));
+        assertEquals("", normalizeName(null));
+    }
+
+    @Test
+    void emailsIgnoreCaseTagsAndGmailDots() {
+        assertEquals("janedoe@gmail.com", normalizeEmail(" Jane.Doe+hotel@GoogleMail.com "));
+        assertEquals("jane.doe@example.com", normalizeEmail("Jane.Doe+spam@Example.com"));
+        assertNull(normalizeEmail("not-an-email"));
+        assertNull(normalizeEmail("jane@"));
+        assertNull(normalizeEmail(null));
+    }
+
+    @Test
+    void phonesCompareAsNationalNumbers() {
+        assertEquals(Set.of("9171234567"), phones("+63 917 123 4567", "0917-123-4567"));
+        assertEquals(Set.of("5550123"), phones("555-0123", "12-34", null));
+    }
+}
@@ -0,0 +1,81 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.GuestModel;
+import com.onlykei.hotel_management.repositories.BookingArchiveRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.StayFigures;
+import com.onlykei.hotel_management.repositories.GuestRepository;
+import com.onlykei.hotel_management.repositories.GuestStatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuestStatsServiceTests {
+
+    private static final long GUEST = 7L;
+    private static final LocalDate CHECK_IN = LocalDate.of(2024, 5, 10);
+
+    private final GuestStatsRepository guestStatsRepository = mock(GuestStatsRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingArchiveRepository bookingArchiveRepository = mock(BookingArchiveRepository.class);
+    private final GuestStatsService service = new GuestStatsService(
+            guestStatsRepository, mock(GuestRepository.class), bookingRepository, bookingArchiveRepository);
+
+    @Test
+    void checkInOfGuestWithRowAddsInPlace() {
+        when(guestStatsRepository.addStays(GUEST, 1, 3, 6000L, CHECK_IN)).thenReturn(1);
+
+        service.recordStays(List.of(booking()));
+
+        verify(guestStatsRepository, never()).insertOrAddStays(anyLong(), anyInt(), anyInt(), anyLong(), any(),
+                anyInt(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void firstCheckInUpsertsTotalsAndOnlyAddsItsOwnStayOnConflict() {
+        when(guestStatsRepository.addStays(GUEST, 1, 3, 6000L, CHECK_IN)).thenReturn(0);
+        StayFigures live = stay(CHECK_IN, CHECK_IN.plusDays(3), 6000);
+        StayFigures archived = stay(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 1, 3), 3000);
+        when(bookingRepository.findStayFigures(eq(GUEST), anyCollection())).thenReturn(List.of(live));
+        when(bookingArchiveRepository.findStayFigures(eq(GUEST), anyCollection())).thenReturn(List.of(archived));
+
+        service.recordStays(List.of(booking()));
+
+        // Inserted as the recomputed totals; a row another check-in created meanwhile gets this stay added
+        verify(guestStatsRepository).insertOrAddStays(GUEST, 2, 5, 9000L, CHECK_IN, 1, 3, 6000L, CHECK_IN);
+        verify(guestStatsRepository, never()).save(any());
+    }
+
+    private static BookingModel booking() {
+        GuestModel guest = new GuestModel();
+        guest.setId(GUEST);
+        BookingModel booking = new BookingModel();
+        booking.setGuest(guest);
+        booking.setCheckInDate(CHECK_IN);
+        booking.setCheckOutDate(CHECK_IN.plusDays(3));
+        booking.setTotalAmount(6000);
+        booking.setStatus(BookingStatus.checked_in);
+        return booking;
+    }
+
+    private static StayFigures stay(LocalDate checkIn, LocalDate checkOut, int amount) {
+        StayFigures stay = mock(StayFigures.class);
+        when(stay.getCheckInDate()).thenReturn(checkIn);
+        when(stay.getCheckOutDate()).thenReturn(checkOut);
+        when(stay.getTotalAmount()).thenReturn(amount);
+        return stay;
+    }
+}
@@ -0,0 +1,56 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.services.IdempotencyService.KeyReusedException;
+import com.onlykei.hotel_management.services.IdempotencyService.StoredResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyServiceTests {
+
+    private static final String KEY = "1 POST /api/v1/bookings 5f0c";
+
+    private final IdempotencyService service =
+            new IdempotencyService(null, Duration.ofHours(1), Duration.ofMillis(200), 100, false);
+
+    @Test
+    void retryWithSameBodyReplaysStoredResponse() throws Exception {
+        String body = hash("{\"roomId\":1}");
+        assertNull(service.claim(KEY, body));
+        service.complete(KEY, new StoredResponse(201, "application/json", bytes("{\"id\":7}")));
+
+        StoredResponse replay = service.claim(KEY, body);
+        assertEquals(201, replay.status());
+        assertArrayEquals(bytes("{\"id\":7}"), replay.body());
+    }
+
+    @Test
+    void keyReusedWithDifferentBodyIsRejected() throws Exception {
+        assertNull(service.claim(KEY, hash("{\"roomId\":1}")));
+        assertThrows(KeyReusedException.class, () -> service.claim(KEY, hash("{\"roomId\":2}")));
+
+        service.complete(KEY, new StoredResponse(201, "application/json", bytes("{\"id\":7}")));
+        assertThrows(KeyReusedException.class, () -> service.claim(KEY, hash("{\"roomId\":2}")));
+    }
+
+    @Test
+    void abandonedKeyCanBeClaimedWithAnotherBody() throws Exception {
+        assertNull(service.claim(KEY, hash("{\"roomId\":1}")));
+        service.abandon(KEY);
+        assertNull(service.claim(KEY, hash("{\"roomId\":2}")));
+    }
+
+    private static String hash(String body) {
+        return IdempotencyService.hash(bytes(body));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
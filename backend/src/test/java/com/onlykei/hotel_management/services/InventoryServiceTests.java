@@ -0,0 +1,102 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.CoalescingAspect;
+import com.onlykei.hotel_management.dtos.CoalescingStatsDTO;
+import com.onlykei.hotel_management.dtos.InventoryItemDTO;
+import com.onlykei.hotel_management.repositories.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryServiceTests {
+
+    private static final int CALLERS = 4;
+
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final CoalescingAspect aspect = new CoalescingAspect();
+    private final InventoryService service = coalesced(
+            new InventoryService(inventoryRepository, mock(ApplicationEventPublisher.class)));
+
+    @Test
+    void concurrentCallersShareOneLoadOfImmutableRows() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(inventoryRepository.findAllSummaries()).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return List.of(item(1, "linen", 2, 10), item(2, "linen", 30, 10), item(3, "minibar", 0, 5));
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<List<InventoryItemDTO>>> results = new ArrayList<>();
+            results.add(callers.submit(service::getLowStockItems));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(callers.submit(service::getLowStockItems));
+            }
+            awaitCoalesced(CALLERS - 1);
+            release.countDown();
+
+            for (Future<List<InventoryItemDTO>> result : results) {
+                List<InventoryItemDTO> rows = result.get(5, TimeUnit.SECONDS);
+                assertEquals(List.of(1L, 3L), rows.stream().map(InventoryItemDTO::getId).toList());
+                // Shared rows cannot be changed by one caller under another
+                assertThrows(UnsupportedOperationException.class, rows::clear);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(inventoryRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void rebuildReadsBypassTheCache() {
+        when(inventoryRepository.findAllSummaries()).thenReturn(List.of(item(1, "linen", 2, 10)));
+
+        service.getItemsByCategory("linen");
+        service.getItemsByCategory("LINEN");
+        service.getAllInventoryItems();
+        service.getAllInventoryItems();
+
+        // Each category spelling is its own call key; the rebuild loads never coalesce
+        verify(inventoryRepository, times(4)).findAllSummaries();
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (aspect.getStats().stream().mapToLong(CoalescingStatsDTO::getCoalesced).sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the running load");
+            Thread.sleep(5);
+        }
+    }
+
+    private InventoryService coalesced(InventoryService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static InventoryItemDTO item(long id, String category, int currentLevel, int minimumLevel) {
+        return new InventoryItemDTO(id, "Item " + id, category, 40, currentLevel, minimumLevel, "piece", null,
+                LocalDateTime.of(2024, 5, 1, 9, 0));
+    }
+}
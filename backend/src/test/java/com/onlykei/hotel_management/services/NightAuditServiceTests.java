@@ -0,0 +1,72 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.exceptions.JobAlreadyRunningException;
+import com.onlykei.hotel_management.models.NightAuditCheckpointModel;
+import com.onlykei.hotel_management.models.NightAuditCheckpointModel.Phase;
+import com.onlykei.hotel_management.models.NightAuditCheckpointModel.RunStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.NightAuditCheckpointRepository;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NightAuditServiceTests {
+
+    private static final LocalDate AUDIT_DATE = LocalDate.of(2024, 3, 1);
+
+    private final NightAuditCheckpointRepository checkpointRepository = mock(NightAuditCheckpointRepository.class);
+    private final NightAuditService service = new NightAuditService(
+            mock(BookingRepository.class), mock(RoomRepository.class), checkpointRepository, mock(PropertyService.class),
+            mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class), false, 500, 1, true);
+
+    @Test
+    void failedCheckpointLookupReleasesTheProperty() {
+        when(checkpointRepository.findByPropertyIdAndAuditDate(anyLong(), any()))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"))
+                .thenReturn(Optional.of(completed()));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> service.run(AUDIT_DATE));
+        assertEquals("completed", service.run(AUDIT_DATE).getStatus());
+    }
+
+    @Test
+    void concurrentRunIsRejected() throws Exception {
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch releaseLookup = new CountDownLatch(1);
+        when(checkpointRepository.findByPropertyIdAndAuditDate(anyLong(), any())).thenAnswer(invocation -> {
+            lookupStarted.countDown();
+            releaseLookup.await(5, TimeUnit.SECONDS);
+            return Optional.of(completed());
+        });
+
+        CompletableFuture<?> first = CompletableFuture.supplyAsync(() -> service.run(AUDIT_DATE));
+        lookupStarted.await(5, TimeUnit.SECONDS);
+        assertThrows(JobAlreadyRunningException.class, () -> service.run(AUDIT_DATE));
+        releaseLookup.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    private static NightAuditCheckpointModel completed() {
+        return NightAuditCheckpointModel.builder()
+                .propertyId(1L)
+                .auditDate(AUDIT_DATE)
+                .phase(Phase.done)
+                .status(RunStatus.completed)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.dtos.ReportJobDTO;
+import com.onlykei.hotel_management.dtos.ReportJobRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportJobServiceTests {
+
+    private static final ReportJobRequest REQUEST =
+            new ReportJobRequest("guests", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), null);
+
+    @TempDir
+    private Path directory;
+
+    private final ReportService reportService = mock(ReportService.class);
+    private ReportJobService service;
+
+    @AfterEach
+    void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void startupCleanupOnlyDeletesReportFiles() throws Exception {
+        Files.writeString(directory.resolve("report-leftover.csv"), "x");
+        Files.writeString(directory.resolve("report-leftover.part"), "x");
+        Files.writeString(directory.resolve("bank-export.csv"), "x");
+
+        service = new ReportJobService(reportService, directory.toString(), 1, 5, Duration.ofHours(1));
+        service.prepareDirectory();
+
+        assertFalse(Files.exists(directory.resolve("report-leftover.csv")));
+        assertFalse(Files.exists(directory.resolve("report-leftover.part")));
+        assertTrue(Files.exists(directory.resolve("bank-export.csv")));
+    }
+
+    @Test
+    void jobDeletedWhileQueuedNeverRuns() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportService.write(any(), any(Writer.class), any())).thenAnswer(invocation -> {
+            running.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return 0L;
+        });
+        service = new ReportJobService(reportService, directory.toString(), 1, 5, Duration.ofHours(1));
+        service.prepareDirectory();
+
+        ReportJobDTO first = service.submit(REQUEST);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        ReportJobDTO queued = service.submit(REQUEST);
+        service.delete(queued.getId());
+        release.countDown();
+
+        awaitStatus(first.getId(), "completed");
+        // A later job on the single worker runs only after the cancelled one was skipped
+        ReportJobDTO next = service.submit(REQUEST);
+        awaitStatus(next.getId(), "completed");
+        verify(reportService, times(2)).write(any(), any(Writer.class), any());
+        assertEquals(2, service.getJobs().size());
+    }
+
+    private void awaitStatus(String id, String status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!service.getJob(id).getStatus().equals(status)) {
+            assertTrue(System.nanoTime() < deadline, () -> "job " + id + " is " + service.getJob(id).getStatus());
+            Thread.sleep(10);
+        }
+    }
+}
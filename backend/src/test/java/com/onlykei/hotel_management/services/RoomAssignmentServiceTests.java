@@ -0,0 +1,189 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.dtos.RoomAssignmentResultDTO;
+import com.onlykei.hotel_management.dtos.RoomTypeAssignmentDTO;
+import com.onlykei.hotel_management.events.BookingEvent;
+import com.onlykei.hotel_management.exceptions.RoomNotAvailableException;
+import com.onlykei.hotel_management.models.BookingModel;
+import com.onlykei.hotel_management.models.BookingModel.BookingStatus;
+import com.onlykei.hotel_management.models.RoomModel;
+import com.onlykei.hotel_management.models.RoomModel.RoomStatus;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.BookingRepository.StaySlot;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomAssignmentServiceTests {
+
+    private static final String TYPE = "deluxe";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomHoldService roomHoldService = mock(RoomHoldService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final RoomAssignmentService service = new RoomAssignmentService(bookingRepository, roomRepository,
+            roomHoldService, eventPublisher, mock(PlatformTransactionManager.class), Duration.ofSeconds(10), 2, 366);
+
+    private final RoomModel room1 = room(1, "101");
+    private final RoomModel room2 = room(2, "102");
+
+    @Test
+    void newReservationTakesTheBestFittingFreeRoom() {
+        rooms(room1, room2);
+        // Room 2 is booked up to the arrival, room 1 would keep open sides
+        bookings(booking(10, room2, null, 5, 10));
+
+        assertEquals(room2, service.assignRoom(TYPE, day(10), day(12)));
+        verify(roomHoldService).claimForBooking(2L, day(10), day(12), null);
+        verify(roomHoldService, never()).claimForBooking(eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void roomBookedMeanwhileIsReleasedAndTheNextOneTried() {
+        rooms(room1, room2);
+        when(bookingRepository.lockStaySlots(eq(List.of(1L)), anyCollection(), any(), any()))
+                .thenReturn(List.of(slot(99, 1L, 9, 11)));
+
+        assertEquals(room2, service.assignRoom(TYPE, day(10), day(12)));
+        verify(roomHoldService).releaseClaim(1L, day(10), day(12));
+        verify(roomHoldService, never()).releaseClaim(eq(2L), any(), any());
+    }
+
+    @Test
+    void repairMovesAMovableReservationOutOfTheWay() {
+        rooms(room1, room2);
+        BookingModel movable = booking(10, room1, TYPE, 10, 12);
+        bookings(movable, booking(11, room2, null, 12, 20));
+
+        assertEquals(room1, service.assignRoom(TYPE, day(10), day(14)));
+
+        assertEquals(room2, movable.getRoom());
+        verify(roomHoldService).claimForBooking(1L, day(10), day(14), null);
+        verify(roomHoldService).claimForBooking(2L, day(10), day(12), null);
+        verify(bookingRepository).save(movable);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BookingEvent booking
+                && booking.type() == BookingEvent.Type.reassigned && booking.bookingId() == 10L));
+    }
+
+    @Test
+    void repairNeverMovesFixedBookings() {
+        rooms(room1, room2);
+        bookings(booking(10, room1, null, 10, 12), booking(11, room2, TYPE, 11, 13),
+                booking(12, room2, TYPE, 9, 11));
+
+        // Room 2 has two movable reservations in the way, but neither fits anywhere else
+        assertThrows(RoomNotAvailableException.class, () -> service.assignRoom(TYPE, day(10), day(14)));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void optimizeMovesReservationsThatLeaveShortGaps() {
+        rooms(room1, room2);
+        // Room 1 has a 3-night gap the movable reservation fills exactly; in room 2 it leaves 2 nights on each side
+        BookingModel movable = booking(20, room2, TYPE, 12, 15);
+        bookings(booking(10, room1, null, 10, 12), booking(11, room1, null, 15, 20),
+                booking(12, room2, null, 5, 10), movable, booking(13, room2, null, 17, 25));
+
+        RoomTypeAssignmentDTO planned = optimize(true);
+        assertEquals("planned", planned.getOutcome());
+        assertEquals(1, planned.getReservations());
+        assertEquals(1, planned.getMoved());
+        assertEquals(2, planned.getShortGapsBefore());
+        assertEquals(4, planned.getShortGapNightsBefore());
+        assertEquals(0, planned.getShortGapsAfter());
+        assertEquals(room2, movable.getRoom());
+
+        RoomTypeAssignmentDTO applied = optimize(false);
+        assertEquals("applied", applied.getOutcome());
+        assertEquals(room1, movable.getRoom());
+        verify(roomHoldService).claimForBooking(1L, day(12), day(15), null);
+        verify(bookingRepository).save(movable);
+    }
+
+    @Test
+    void optimizeKeepsAPlanThatIsNoBetter() {
+        rooms(room1, room2);
+        bookings(booking(10, room1, TYPE, 10, 12), booking(11, room1, TYPE, 12, 15));
+
+        RoomTypeAssignmentDTO result = optimize(false);
+        assertEquals("unchanged", result.getOutcome());
+        assertEquals(0, result.getMoved());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    private RoomTypeAssignmentDTO optimize(boolean dryRun) {
+        RoomAssignmentResultDTO result = service.optimize(day(1), day(30), TYPE, dryRun);
+        assertEquals(1, result.getTypes().size());
+        return result.getTypes().get(0);
+    }
+
+    private void rooms(RoomModel... rooms) {
+        when(roomRepository.findByType(TYPE)).thenReturn(List.of(rooms));
+    }
+
+    private void bookings(BookingModel... bookings) {
+        when(bookingRepository.findByRoomIdsBetween(anyCollection(), anyCollection(), any(), any()))
+                .thenReturn(List.of(bookings));
+    }
+
+    private static RoomModel room(long id, String number) {
+        return RoomModel.builder().id(id).number(number).type(TYPE).status(RoomStatus.available).build();
+    }
+
+    private static BookingModel booking(long id, RoomModel room, String roomType, int checkIn, int checkOut) {
+        return BookingModel.builder()
+                .id(id)
+                .room(room)
+                .roomType(roomType)
+                .checkInDate(day(checkIn))
+                .checkOutDate(day(checkOut))
+                .status(BookingStatus.confirmed)
+                .build();
+    }
+
+    private static StaySlot slot(long id, long roomId, int checkIn, int checkOut) {
+        return new StaySlot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getCheckInDate() {
+                return day(checkIn);
+            }
+
+            @Override
+            public LocalDate getCheckOutDate() {
+                return day(checkOut);
+            }
+        };
+    }
+
+    private static LocalDate day(int days) {
+        return TODAY.plusDays(days);
+    }
+}
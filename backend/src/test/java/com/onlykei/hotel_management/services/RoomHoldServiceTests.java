@@ -0,0 +1,56 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.exceptions.RoomNotAvailableException;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import com.onlykei.hotel_management.repositories.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class RoomHoldServiceTests {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2024, 5, 10);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2024, 5, 12);
+
+    private final RoomHoldService service = new RoomHoldService(mock(RoomRepository.class),
+            mock(BookingRepository.class), mock(PlatformTransactionManager.class),
+            Duration.ofMinutes(10), Duration.ofMinutes(30), Duration.ofSeconds(1), 64);
+
+    @BeforeEach
+    void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    @Test
+    void releasedClaimFreesTheRangeBeforeItsTransactionEnds() {
+        service.claimForBooking(1L, CHECK_IN, CHECK_OUT, null);
+        assertThrows(RoomNotAvailableException.class, () -> service.claimForBooking(1L, CHECK_IN.plusDays(1), CHECK_OUT, null));
+
+        // Another range of the room is not a claim of this write
+        service.releaseClaim(1L, CHECK_IN, CHECK_OUT.plusDays(1));
+        assertEquals(Set.of(1L), service.getHeldRoomIds(CHECK_IN, CHECK_OUT));
+
+        service.releaseClaim(1L, CHECK_IN, CHECK_OUT);
+        assertEquals(Set.of(), service.getHeldRoomIds(CHECK_IN, CHECK_OUT));
+        service.claimForBooking(1L, CHECK_IN.plusDays(1), CHECK_OUT, null);
+    }
+}
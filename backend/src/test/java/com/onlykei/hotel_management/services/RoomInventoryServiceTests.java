@@ -0,0 +1,178 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.BookingDTO;
+import com.onlykei.hotel_management.dtos.RoomDTO;
+import com.onlykei.hotel_management.dtos.RoomTypeInventoryDTO;
+import com.onlykei.hotel_management.events.BookingRowsChangedEvent;
+import com.onlykei.hotel_management.events.RoomRowsChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomInventoryServiceTests {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final int HORIZON = 10;
+
+    private final ReadModelService readModelService = mock(ReadModelService.class);
+    private final RoomHoldService roomHoldService = mock(RoomHoldService.class);
+    private final RoomInventoryService service = new RoomInventoryService(readModelService, roomHoldService, HORIZON);
+
+    // Every stubbed snapshot is newer than the one before, as the read models swap them in
+    private long version;
+
+    @Test
+    void bookingsCountFromCheckInUntilTheNightBeforeCheckOut() {
+        rooms(room(1, "Suite", "available"), room(2, "suite", "occupied"), room(3, "standard", "available"),
+                room(4, "standard", "maintenance"));
+        bookings(booking(10, 1, "checked_in", -2, 2),
+                booking(11, 2, "confirmed", 1, 3),
+                booking(12, 1, "confirmed", 8, 14),
+                booking(13, 2, "cancelled", 0, 5),
+                booking(14, 3, "confirmed", 2, 4),
+                // Rooms under maintenance and their bookings are not counted
+                booking(15, 4, "confirmed", 0, 5));
+
+        assertArrayEquals(new int[]{1, 0, 1, 2, 2, 2, 2, 2, 1, 1}, available("suite"));
+        assertArrayEquals(new int[]{1, 1, 0, 0, 1, 1, 1, 1, 1, 1}, available("standard"));
+        assertEquals(List.of("standard", "Suite"),
+                service.getInventory(null, null, null).getTypes().stream().map(RoomTypeInventoryDTO::getRoomType).toList());
+        assertEquals(2, service.getInventory(null, null, "suite").getTypes().get(0).getRooms());
+    }
+
+    @Test
+    void rangeAndHoldsAreAppliedWhenRead() {
+        rooms(room(1, "suite", "available"), room(2, "suite", "available"));
+        bookings(booking(10, 1, "confirmed", 2, 5));
+        when(roomHoldService.getHeldRanges(anyCollection(), any(), any()))
+                .thenReturn(List.of(new RoomHoldService.HeldRange(2L, TODAY.plusDays(3), TODAY.plusDays(4))));
+
+        assertArrayEquals(new int[]{1, 0, 1}, service.getInventory(TODAY.plusDays(2), 3, "suite")
+                .getTypes().get(0).getAvailable());
+        assertThrows(IllegalArgumentException.class, () -> service.getInventory(TODAY.minusDays(1), 1, null));
+        assertThrows(IllegalArgumentException.class, () -> service.getInventory(TODAY.plusDays(5), 6, null));
+    }
+
+    @Test
+    void changedBookingsMoveBetweenSlots() {
+        rooms(room(1, "suite", "available"), room(2, "standard", "available"));
+        bookings(booking(10, 1, "confirmed", 0, 2), booking(11, 2, "confirmed", 1, 2));
+        available("suite");
+
+        // Booking 10 moves to the standard room and later dates, 11 is cancelled, 12 is new
+        bookings(booking(10, 2, "confirmed", 3, 5), booking(11, 2, "cancelled", 1, 2), booking(12, 1, "confirmed", 9, 10));
+        service.onBookingRowsChanged(new BookingRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(10L, 11L, 12L), false));
+
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1, 1, 1, 1, 1, 0}, available("suite"));
+        assertArrayEquals(new int[]{1, 1, 1, 0, 0, 1, 1, 1, 1, 1}, available("standard"));
+    }
+
+    @Test
+    void roomStatusFlipsDoNotRebuild() {
+        rooms(room(1, "suite", "available"), room(2, "suite", "available"));
+        bookings(booking(10, 1, "confirmed", 0, 2));
+        available("suite");
+        clearInvocations(readModelService);
+
+        rooms(room(1, "suite", "occupied"), room(2, "Suite ", "available"));
+        service.onRoomRowsChanged(new RoomRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(1L, 2L), false));
+
+        verify(readModelService, never()).bookings();
+        assertArrayEquals(new int[]{1, 1, 2, 2, 2, 2, 2, 2, 2, 2}, available("suite"));
+    }
+
+    @Test
+    void typeAndMaintenanceChangesRebuild() {
+        rooms(room(1, "suite", "available"), room(2, "suite", "available"));
+        bookings(booking(10, 1, "confirmed", 0, 2));
+        available("suite");
+
+        rooms(room(1, "standard", "available"), room(2, "suite", "available"));
+        service.onRoomRowsChanged(new RoomRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(1L), false));
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1, 1, 1, 1, 1, 1}, available("suite"));
+        assertArrayEquals(new int[]{0, 0, 1, 1, 1, 1, 1, 1, 1, 1}, available("standard"));
+
+        rooms(room(1, "standard", "available"), room(2, "suite", "maintenance"));
+        service.onRoomRowsChanged(new RoomRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(2L), false));
+        assertEquals(List.of("standard"),
+                service.getInventory(null, null, null).getTypes().stream().map(RoomTypeInventoryDTO::getRoomType).toList());
+
+        // A new sellable room is counted too
+        rooms(room(1, "standard", "available"), room(2, "suite", "maintenance"), room(3, "standard", "available"));
+        service.onRoomRowsChanged(new RoomRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(3L), false));
+        assertArrayEquals(new int[]{1, 1, 2, 2, 2, 2, 2, 2, 2, 2}, available("standard"));
+    }
+
+    @Test
+    void bookingUpdateDuringTheRollIsKept() {
+        rooms(room(1, "suite", "available"), room(2, "suite", "available"));
+        bookings(booking(10, 1, "confirmed", 0, 2));
+        available("suite");
+
+        // The roll reads the old bookings while the applier swaps in a new booking and updates the counts
+        ReadModelService.Snapshot<BookingDTO> stale = snapshot(List.of(booking(10, 1, "confirmed", 0, 2)), BookingDTO::getId);
+        ReadModelService.Snapshot<BookingDTO> fresh = snapshot(List.of(booking(10, 1, "confirmed", 0, 2),
+                booking(11, 2, "confirmed", 1, 3)), BookingDTO::getId);
+        AtomicInteger reads = new AtomicInteger();
+        when(readModelService.bookings()).thenAnswer(invocation -> {
+            if (reads.getAndIncrement() > 0) {
+                return fresh;
+            }
+            service.onBookingRowsChanged(new BookingRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(11L), false));
+            return stale;
+        });
+        service.roll();
+
+        assertArrayEquals(new int[]{1, 0, 1, 2, 2, 2, 2, 2, 2, 2}, available("suite"));
+    }
+
+    private int[] available(String type) {
+        return service.getInventory(null, null, type).getTypes().get(0).getAvailable();
+    }
+
+    private void rooms(RoomDTO... rows) {
+        when(readModelService.rooms()).thenReturn(snapshot(List.of(rows), RoomDTO::getId));
+    }
+
+    private void bookings(BookingDTO... rows) {
+        when(readModelService.bookings()).thenReturn(snapshot(List.of(rows), BookingDTO::getId));
+    }
+
+    private <T> ReadModelService.Snapshot<T> snapshot(List<T> rows, Function<T, Long> id) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(id, Function.identity()));
+        return new ReadModelService.Snapshot<>(rows, byId, ++version, Instant.now(), 0);
+    }
+
+    private static RoomDTO room(long id, String type, String status) {
+        return RoomDTO.builder().id(id).number(String.valueOf(100 + id)).type(type).status(status).build();
+    }
+
+    private static BookingDTO booking(long id, long roomId, String status, int checkIn, int checkOut) {
+        return BookingDTO.builder()
+                .id(id)
+                .roomId(roomId)
+                .status(status)
+                .checkInDate(TODAY.plusDays(checkIn))
+                .checkOutDate(TODAY.plusDays(checkOut))
+                .build();
+    }
+}
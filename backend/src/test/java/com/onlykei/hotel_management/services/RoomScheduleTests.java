@@ -0,0 +1,137 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.services.RoomSchedule.Fragmentation;
+import com.onlykei.hotel_management.services.RoomSchedule.Stay;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomScheduleTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+    private static final int SHORT_GAP_NIGHTS = 2;
+
+    @Test
+    void isFreeAllowsStaysTouchingAtCheckOut() {
+        RoomSchedule schedule = schedule(List.of(1L), List.of(1L));
+        schedule.place(stay(3, 6), 1L);
+
+        assertTrue(schedule.isFree(1L, day(1), day(3)));
+        assertTrue(schedule.isFree(1L, day(6), day(8)));
+        assertFalse(schedule.isFree(1L, day(2), day(4)));
+        assertFalse(schedule.isFree(1L, day(5), day(7)));
+        assertFalse(schedule.isFree(1L, day(4), day(5)));
+        assertFalse(schedule.isFree(1L, day(1), day(9)));
+        // Rooms the schedule does not know are empty
+        assertTrue(schedule.isFree(9L, day(1), day(9)));
+    }
+
+    @Test
+    void conflictsListEveryOverlappingStayOfTheRoom() {
+        RoomSchedule schedule = schedule(List.of(1L), List.of(1L));
+        Stay first = stay(1, 3);
+        Stay second = stay(3, 5);
+        Stay third = stay(7, 9);
+        schedule.place(first, 1L);
+        schedule.place(second, 1L);
+        schedule.place(third, 1L);
+
+        assertEquals(List.of(second, first), schedule.conflicts(1L, day(2), day(5)));
+        assertEquals(List.of(third), schedule.conflicts(1L, day(5), day(8)));
+        assertEquals(List.of(), schedule.conflicts(1L, day(5), day(7)));
+
+        schedule.remove(second);
+        assertEquals(List.of(first), schedule.conflicts(1L, day(2), day(5)));
+        assertNull(schedule.roomOf(second));
+    }
+
+    @Test
+    void costPrefersTouchingThenLongGapsThenOpenSidesThenShortGaps() {
+        RoomSchedule schedule = schedule(List.of(1L, 2L, 3L, 4L), List.of(1L, 2L, 3L, 4L));
+        // Room 1 fits [5, 8) exactly, room 2 leaves 3 nights before, room 4 leaves 1 night; room 3 is empty
+        schedule.place(stay(1, 5), 1L);
+        schedule.place(stay(8, 10), 1L);
+        schedule.place(stay(1, 2), 2L);
+        schedule.place(stay(8, 10), 2L);
+        schedule.place(stay(1, 4), 4L);
+        schedule.place(stay(8, 10), 4L);
+
+        assertEquals(0, schedule.cost(1L, day(5), day(8)));
+        assertEquals(3, schedule.cost(2L, day(5), day(8)));
+        assertEquals(20_000, schedule.cost(3L, day(5), day(8)));
+        assertEquals(1_000_000, schedule.cost(4L, day(5), day(8)));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), schedule.freeTargets(day(5), day(8)));
+        assertEquals(1L, schedule.bestTarget(day(5), day(8)));
+    }
+
+    @Test
+    void onlyFreeTargetsTakeNewPlacements() {
+        RoomSchedule schedule = schedule(List.of(1L, 2L, 3L), List.of(2L, 3L));
+        schedule.place(stay(1, 5), 2L);
+
+        // Room 1 is not a target (out of order), room 2 is taken
+        assertEquals(List.of(3L), schedule.freeTargets(day(2), day(4)));
+        assertEquals(3L, schedule.bestTarget(day(2), day(4)));
+
+        schedule.place(stay(1, 5), 3L);
+        assertNull(schedule.bestTarget(day(2), day(4)));
+    }
+
+    @Test
+    void fragmentationCountsShortGapsTouchingTheRange() {
+        RoomSchedule schedule = schedule(List.of(1L, 2L), List.of(1L, 2L));
+        schedule.place(stay(1, 3), 1L);
+        schedule.place(stay(4, 6), 1L);   // 1-night gap
+        schedule.place(stay(8, 10), 1L);  // 2-night gap
+        schedule.place(stay(13, 15), 1L); // 3 nights: sellable
+        schedule.place(stay(1, 5), 2L);
+        schedule.place(stay(2, 3), 2L);   // inside the first stay, no gap
+        schedule.place(stay(5, 6), 2L);
+
+        assertEquals(new Fragmentation(2, 3), schedule.fragmentation(day(1), day(20)));
+        assertEquals(new Fragmentation(1, 2), schedule.fragmentation(day(7), day(20)));
+        assertEquals(new Fragmentation(0, 0), schedule.fragmentation(day(10), day(20)));
+    }
+
+    @Test
+    void fragmentationOrdersByNightsThenGaps() {
+        assertTrue(new Fragmentation(3, 3).compareTo(new Fragmentation(1, 4)) < 0);
+        assertTrue(new Fragmentation(1, 2).compareTo(new Fragmentation(2, 2)) < 0);
+        assertEquals(0, new Fragmentation(1, 2).compareTo(new Fragmentation(1, 2)));
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        RoomSchedule schedule = schedule(List.of(1L, 2L), List.of(1L, 2L));
+        Stay stay = stay(1, 3);
+        schedule.place(stay, 1L);
+
+        RoomSchedule copy = schedule.copy();
+        copy.remove(stay);
+        copy.place(stay, 2L);
+
+        assertEquals(1L, schedule.roomOf(stay));
+        assertFalse(schedule.isFree(1L, day(1), day(3)));
+        assertEquals(2L, copy.roomOf(stay));
+        assertTrue(copy.isFree(1L, day(1), day(3)));
+    }
+
+    private static RoomSchedule schedule(List<Long> roomIds, List<Long> targets) {
+        return new RoomSchedule(roomIds, targets, SHORT_GAP_NIGHTS);
+    }
+
+    private static Stay stay(int checkIn, int checkOut) {
+        return new Stay(null, day(checkIn), day(checkOut), true);
+    }
+
+    private static LocalDate day(int day) {
+        return DAY.plusDays(day);
+    }
+}
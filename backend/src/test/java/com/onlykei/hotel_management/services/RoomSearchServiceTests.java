@@ -0,0 +1,135 @@
+package com.onlykei.hotel_management.services;
+
+import com.onlykei.hotel_management.config.PropertyContext;
+import com.onlykei.hotel_management.dtos.RoomDTO;
+import com.onlykei.hotel_management.dtos.RoomSearchRequest;
+import com.onlykei.hotel_management.events.RoomRowsChangedEvent;
+import com.onlykei.hotel_management.repositories.BookingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomSearchServiceTests {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2024, 5, 10);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2024, 5, 12);
+
+    private final ReadModelService readModelService = mock(ReadModelService.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final RoomHoldService roomHoldService = mock(RoomHoldService.class);
+    private final RoomSearchService service = new RoomSearchService(readModelService, bookingRepository, roomHoldService);
+
+    @Test
+    void filtersIntersectTheirBitmaps() {
+        rooms(1, room(1, "101", "Suite", 5000, 4, "available", "wifi", "minibar"),
+                room(2, "102", "suite", 3000, 2, "occupied", "wifi"),
+                room(3, "103", "standard", 1500, 2, "available", "wifi", "balcony"),
+                room(4, "104", "standard", 1200, null, "maintenance"));
+
+        assertEquals(List.of("101", "102"), numbers(RoomSearchRequest.builder().type(" SUITE ").build()));
+        assertEquals(List.of("101"), numbers(RoomSearchRequest.builder()
+                .amenities(List.of("WiFi", "minibar")).matchAllAmenities(true).build()));
+        assertEquals(List.of("101", "103"), numbers(RoomSearchRequest.builder()
+                .amenities(List.of("minibar", "balcony")).build()));
+        assertEquals(List.of("101"), numbers(RoomSearchRequest.builder().guests(3).build()));
+        // Rooms without a capacity count as single rooms
+        assertEquals(List.of("104"), numbers(RoomSearchRequest.builder().guests(1).maxPrice(1200).build()));
+        assertEquals(List.of("102", "103"), numbers(RoomSearchRequest.builder().minPrice(1500).maxPrice(3000).build()));
+        assertEquals(List.of(), numbers(RoomSearchRequest.builder().type("penthouse").build()));
+
+        verify(bookingRepository, never()).findBookedRoomIds(anyCollection(), anyCollection(), any(), any());
+    }
+
+    @Test
+    void datesCheckOnlyMatchingRoomsAgainstBookingsAndHolds() {
+        rooms(1, room(1, "101", "suite", 5000, 2, "available"),
+                room(2, "102", "suite", 5000, 2, "occupied"),
+                room(3, "103", "suite", 5000, 2, "available"),
+                room(4, "104", "suite", 5000, 2, "maintenance"),
+                room(5, "105", "standard", 1500, 2, "available"));
+        when(bookingRepository.findBookedRoomIds(eq(List.of(1L, 2L, 3L)), anyCollection(), eq(CHECK_IN), eq(CHECK_OUT)))
+                .thenReturn(Set.of(1L));
+        when(roomHoldService.getHeldRanges(List.of(1L, 2L, 3L), CHECK_IN, CHECK_OUT))
+                .thenReturn(List.of(new RoomHoldService.HeldRange(3L, CHECK_IN, CHECK_OUT)));
+
+        // A room occupied today can be free for the stay; one under maintenance never is
+        assertEquals(List.of("102"), numbers(RoomSearchRequest.builder()
+                .type("suite").checkInDate(CHECK_IN).checkOutDate(CHECK_OUT).build()));
+    }
+
+    @Test
+    void noMatchingRoomSkipsTheBookingQuery() {
+        rooms(1, room(1, "101", "suite", 5000, 2, "available"));
+
+        assertEquals(List.of(), numbers(RoomSearchRequest.builder()
+                .type("standard").checkInDate(CHECK_IN).checkOutDate(CHECK_OUT).build()));
+
+        verify(bookingRepository, never()).findBookedRoomIds(anyCollection(), anyCollection(), any(), any());
+    }
+
+    @Test
+    void changedRowsMoveBetweenBitmapsAndDeletedSlotsAreReused() {
+        rooms(1, room(1, "101", "suite", 5000, 2, "available", "wifi"),
+                room(2, "102", "standard", 1500, 2, "available"));
+        assertEquals(List.of("101"), numbers(RoomSearchRequest.builder().type("suite").build()));
+
+        // Room 1 becomes a standard room, room 2 is deleted and room 3 takes its slot
+        rooms(2, room(1, "101", "standard", 1500, 2, "available"),
+                room(3, "103", "suite", 6000, 2, "available", "wifi"));
+        service.onRoomRowsChanged(new RoomRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(1L, 2L, 3L), false));
+
+        assertEquals(List.of("103"), numbers(RoomSearchRequest.builder().type("suite").build()));
+        assertEquals(List.of("101"), numbers(RoomSearchRequest.builder().type("standard").build()));
+        assertEquals(List.of("103"), numbers(RoomSearchRequest.builder().amenities(List.of("wifi")).build()));
+        assertEquals(List.of("103"), numbers(RoomSearchRequest.builder().minPrice(5000).build()));
+    }
+
+    @Test
+    void olderSnapshotsDoNotReplaceTheIndex() {
+        rooms(5, room(1, "101", "suite", 5000, 2, "available"));
+        numbers(RoomSearchRequest.builder().build());
+
+        rooms(4, room(1, "101", "standard", 1500, 2, "available"));
+        service.onRoomRowsChanged(new RoomRowsChangedEvent(PropertyContext.DEFAULT_PROPERTY, Set.of(), true));
+
+        assertEquals(List.of("101"), numbers(RoomSearchRequest.builder().type("suite").build()));
+    }
+
+    private List<String> numbers(RoomSearchRequest request) {
+        return service.search(request).stream().map(RoomDTO::getNumber).toList();
+    }
+
+    private void rooms(long version, RoomDTO... rows) {
+        List<RoomDTO> list = List.of(rows);
+        Map<Long, RoomDTO> byId = list.stream().collect(Collectors.toMap(RoomDTO::getId, Function.identity()));
+        when(readModelService.rooms()).thenReturn(new ReadModelService.Snapshot<>(list, byId, version, Instant.now(), 0));
+    }
+
+    private static RoomDTO room(long id, String number, String type, int price, Integer capacity, String status,
+                                String... amenities) {
+        return RoomDTO.builder()
+                .id(id)
+                .number(number)
+                .type(type)
+                .pricePerNight(price)
+                .capacity(capacity)
+                .status(status)
+                .amenities(List.of(amenities))
+                .build();
+    }
+}
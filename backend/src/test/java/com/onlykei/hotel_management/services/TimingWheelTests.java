@@ -0,0 +1,71 @@
+package com.onlykei.hotel_management.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTests {
+
+    // 4 slots of 100 ms: one turn of the wheel is 400 ms
+    private static final long TICK = 100;
+    private static final int SLOTS = 4;
+
+    @Test
+    void expiresOnTheFirstTickOnOrAfterTheDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 1_000);
+        wheel.schedule("a", 1_150);
+        wheel.schedule("b", 1_200);
+
+        assertEquals(List.of(), advance(wheel, 1_199));
+        assertEquals(List.of("a", "b"), advance(wheel, 1_200));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesPastOneTurnWaitForTheirRound() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 1_000);
+        // Ticks 11 and 15 share slot 3
+        wheel.schedule("first round", 1_100);
+        wheel.schedule("second round", 1_500);
+
+        assertEquals(List.of("first round"), advance(wheel, 1_100));
+        assertEquals(List.of(), advance(wheel, 1_400));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("second round"), advance(wheel, 1_500));
+    }
+
+    @Test
+    void longPauseSweepsTheWholeWheelOnce() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 1_000);
+        wheel.schedule("due", 1_300);
+        wheel.schedule("later", 3_000);
+
+        assertEquals(List.of("due"), advance(wheel, 2_000));
+        assertEquals(List.of("later"), advance(wheel, 3_000));
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTickAndCancelledOnesNever() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SLOTS, 1_000);
+        wheel.schedule("overdue", 500);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 1_100);
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), advance(wheel, 1_099));
+        assertEquals(List.of("overdue"), advance(wheel, 1_100));
+        assertTrue(advance(wheel, 5_000).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    private static List<String> advance(TimingWheel<String> wheel, long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        wheel.advance(nowMillis, expired::add);
+        return expired;
+    }
+}
@@ -2,6 +2,7 @@ import React, { useEffect, useState } from 'react';
 import Modal from '../ui/Modal';
 import { Room, Guest, Booking } from '../../types/types';
 import { format, addDays, differenceInDays } from 'date-fns';
+import { useRoomHold } from '../../hooks/useRoomHold';
 
 interface BookingFormModalProps {
   isOpen: boolean;
@@ -18,6 +19,7 @@ interface BookingFormModalProps {
     adults: number;
     children: number;
     notes?: string;
+    holdId?: string;
   }) => void;
 }
 
@@ -41,6 +43,9 @@ const BookingFormModal: React.FC<BookingFormModalProps> = ({
   const [notes, setNotes] = useState('');
   const [errors, setErrors] = useState<Record<string, string>>({});
 
+  // New bookings hold the selected room while the form is filled in
+  const { hold, holdError, takeHoldId } = useRoomHold(isOpen && !booking, roomId, checkInDate, checkOutDate);
+
   // ✅ FIXED: Ensure rooms and guests are always arrays
   const safeRooms = Array.isArray(rooms) ? rooms : [];
   const safeGuests = Array.isArray(guests) ? guests : [];
@@ -115,6 +120,7 @@ const BookingFormModal: React.FC<BookingFormModalProps> = ({
       adults,
       children,
       notes: notes.trim() || undefined,
+      holdId: booking ? undefined : takeHoldId(),
     });
     onClose();
   };
@@ -200,6 +206,12 @@ const BookingFormModal: React.FC<BookingFormModalProps> = ({
                 {errors.checkOutDate && <p className="text-red-500 text-xs mt-1">{errors.checkOutDate}</p>}
               </div>
             </div>
+            {hold && (
+                <p className="text-green-600 text-xs">
+                  Room held for you until {format(new Date(hold.expiresAt), 'HH:mm')}
+                </p>
+            )}
+            {holdError && <p className="text-red-500 text-xs">{holdError}</p>}
 
             {/* Adults & Children */}
             <div className="flex flex-col md:flex-row gap-4">
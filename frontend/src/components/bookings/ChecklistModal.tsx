@@ -31,7 +31,7 @@ const ChecklistModal: React.FC<ChecklistModalProps> = ({
 
   if (!booking || !room) return null;
 
-  const toggleItem = (id: number) => {
+  const toggleItem = (id: string) => {
     setItems(items.map(item =>
         item.id === id
             ? { ...item, completed: !item.completed }
@@ -1,6 +1,7 @@
-import React from 'react';
+import React, { useEffect, useState } from 'react';
 import { XIcon, UserIcon, MailIcon, PhoneIcon, HomeIcon, BriefcaseIcon, AlertCircleIcon, IdCardIcon, GlobeIcon, CalendarIcon, MapPinIcon } from 'lucide-react';
-import { Guest } from "../../types/types";
+import { Guest, GuestStats } from "../../types/types";
+import guestService from "../../services/guestService";
 
 interface GuestViewModalProps {
     isOpen: boolean;
@@ -15,10 +16,22 @@ const GuestViewModal: React.FC<GuestViewModalProps> = ({
                                                            guest,
                                                            onEdit,
                                                        }) => {
+    const [stats, setStats] = useState<GuestStats | null>(null);
+
+    // Stay figures come precomputed from the backend instead of the guest's booking list
+    useEffect(() => {
+        if (!isOpen || !guest) return;
+        let cancelled = false;
+        setStats(null);
+        guestService.getGuestStats(guest.id)
+            .then((data) => { if (!cancelled) setStats(data); })
+            .catch(() => { if (!cancelled) setStats(null); });
+        return () => { cancelled = true; };
+    }, [isOpen, guest?.id]);
+
     if (!isOpen || !guest) return null;
 
     const fullName = `${guest.firstName ?? ''} ${guest.middleName ?? ''} ${guest.lastName ?? ''}`.trim();
-    const guestBookings = guest.bookings || [];
 
     const InfoSection: React.FC<{ title: string; icon: React.ReactNode; children: React.ReactNode }> = ({ title, icon, children }) => (
         <div className="mb-6">
@@ -126,10 +139,21 @@ const GuestViewModal: React.FC<GuestViewModalProps> = ({
 
                         {/* Booking Statistics */}
                         <InfoSection title="Booking Information" icon={<CalendarIcon size={20} />}>
-                            <div className="text-center py-4">
-                                <div className="text-4xl font-bold text-blue-600">{guestBookings.length}</div>
-                                <div className="text-sm text-gray-600 mt-1">Total Bookings</div>
+                            <div className="grid grid-cols-3 gap-4 text-center py-4">
+                                <div>
+                                    <div className="text-4xl font-bold text-blue-600">{stats?.stayCount ?? 0}</div>
+                                    <div className="text-sm text-gray-600 mt-1">Stays</div>
+                                </div>
+                                <div>
+                                    <div className="text-4xl font-bold text-blue-600">{stats?.totalNights ?? 0}</div>
+                                    <div className="text-sm text-gray-600 mt-1">Nights</div>
+                                </div>
+                                <div>
+                                    <div className="text-4xl font-bold text-blue-600">{(stats?.totalSpend ?? 0).toLocaleString()}</div>
+                                    <div className="text-sm text-gray-600 mt-1">Total Spend</div>
+                                </div>
                             </div>
+                            <InfoRow label="Last Stay" value={stats?.lastStayDate} />
                         </InfoSection>
                     </div>
 
@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Room } from '../../types/types';
 import { X, Calendar, User, CreditCard } from 'lucide-react';
+import { useRoomHold } from '../../hooks/useRoomHold';
 
 interface Guest {
   id: number;
@@ -33,6 +34,9 @@ const RoomBookingModal: React.FC<RoomBookingModalProps> = ({
   const [specialRequests, setSpecialRequests] = useState('');
   const [errors, setErrors] = useState<{ [key: string]: string }>({});
 
+  // Hold the room for the chosen dates while the clerk fills in the rest
+  const { hold, holdError, takeHoldId } = useRoomHold(isOpen && !!room, room?.id, checkInDate, checkOutDate);
+
   // Reset form when modal closes
   useEffect(() => {
     if (!isOpen) {
@@ -116,6 +120,7 @@ const RoomBookingModal: React.FC<RoomBookingModalProps> = ({
       specialRequests,
       totalPrice,
       nights,
+      holdId: takeHoldId(),
     };
 
     console.log('Creating booking:', bookingData);
@@ -267,6 +272,14 @@ const RoomBookingModal: React.FC<RoomBookingModalProps> = ({
                 {errors.checkOut && (
                     <p className="text-red-500 text-sm mt-1">{errors.checkOut}</p>
                 )}
+                {hold && (
+                    <p className="text-green-600 text-sm mt-1">
+                      Room held for you until {new Date(hold.expiresAt).toLocaleTimeString()}
+                    </p>
+                )}
+                {holdError && (
+                    <p className="text-red-500 text-sm mt-1">{holdError}</p>
+                )}
               </div>
 
               {/* Number of Guests */}
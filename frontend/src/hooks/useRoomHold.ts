@@ -0,0 +1,86 @@
+import { useEffect, useRef, useState } from 'react';
+import { holdApi } from '../services/bookingApi';
+import { RoomHold } from '../types/types';
+
+/**
+ * Holds the selected room and dates while a booking form is open, so another clerk cannot
+ * take the room in the meantime. The hold is renewed while the form stays open and released
+ * when the selection changes or the form closes. takeHoldId() hands it to the booking request,
+ * which converts it instead of releasing it.
+ */
+export const useRoomHold = (
+    enabled: boolean,
+    roomId: number | '' | undefined,
+    checkInDate: string,
+    checkOutDate: string
+) => {
+  const [hold, setHold] = useState<RoomHold | null>(null);
+  const [holdError, setHoldError] = useState<string | null>(null);
+  const holdRef = useRef<RoomHold | null>(null);
+
+  useEffect(() => {
+    setHold(null);
+    setHoldError(null);
+    if (!enabled || !roomId || !checkInDate || !checkOutDate || checkOutDate <= checkInDate) {
+      return;
+    }
+
+    let cancelled = false;
+    let placed: RoomHold | null = null;
+    holdApi.placeHold({ roomId, checkInDate, checkOutDate })
+        .then(h => {
+          if (cancelled) {
+            holdApi.releaseHold(h.id).catch(() => undefined);
+            return;
+          }
+          placed = h;
+          holdRef.current = h;
+          setHold(h);
+        })
+        .catch(err => {
+          if (!cancelled) {
+            setHoldError(err.response?.data?.message || 'The room could not be held');
+          }
+        });
+
+    return () => {
+      cancelled = true;
+      // Not released once taken by a booking request
+      if (placed && holdRef.current === placed) {
+        holdRef.current = null;
+        holdApi.releaseHold(placed.id).catch(() => undefined);
+      }
+    };
+  }, [enabled, roomId, checkInDate, checkOutDate]);
+
+  // Renew halfway through the time to live while the form is still open
+  useEffect(() => {
+    if (!hold) return;
+    const remaining = new Date(hold.expiresAt).getTime() - Date.now();
+    const timer = setTimeout(() => {
+      holdApi.renewHold(hold.id)
+          .then(h => {
+            if (holdRef.current?.id === h.id) {
+              holdRef.current = h;
+              setHold(h);
+            }
+          })
+          .catch(() => {
+            if (holdRef.current?.id === hold.id) {
+              holdRef.current = null;
+              setHold(null);
+              setHoldError('The hold on this room expired; it may have been booked by someone else');
+            }
+          });
+    }, Math.max(remaining / 2, 1000));
+    return () => clearTimeout(timer);
+  }, [hold]);
+
+  const takeHoldId = (): string | undefined => {
+    const id = holdRef.current?.id;
+    holdRef.current = null;
+    return id;
+  };
+
+  return { hold, holdError, takeHoldId };
+};
@@ -95,6 +95,7 @@ const Rooms = () => {
         numberOfGuests: bookingData.numberOfGuests,
         specialRequests: bookingData.specialRequests || '',
         totalPrice: bookingData.totalPrice,
+        holdId: bookingData.holdId,
       });
 
       alert(`Booking created successfully! Booking ID: ${newBooking.id}`);
@@ -1,8 +1,34 @@
-import axios, { AxiosResponse } from 'axios';
-import { Booking, Room, Guest, ChecklistItem, InventoryItem } from '../types/types';
+import axios, { AxiosRequestConfig, AxiosResponse } from 'axios';
+import { Booking, Room, Guest, ChecklistItem, InventoryItem, RoomHold, RoomAssignmentResult, BookingBlock, CreateBookingBlockRequest } from '../types/types';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api/v1';
 
+// Delays before the second and third attempt of an idempotent request
+const RETRY_DELAYS_MS = [500, 1500];
+
+// No response at all (network error, timeout) or a gateway/server error: the action may or may not have run
+const isRetryable = (error: any) => !error.response || [502, 503, 504].includes(error.response.status);
+
+// Sends one user action with a single Idempotency-Key and retries it with the same key, so a retry
+// whose first attempt did reach the server is replayed instead of executed twice. Pass a key the
+// caller keeps to reuse it when the user repeats the same action after a failure.
+const sendIdempotent = async <T,>(
+    send: (config: AxiosRequestConfig) => Promise<AxiosResponse<T>>,
+    idempotencyKey: string = crypto.randomUUID()
+): Promise<T> => {
+    const config = { headers: { 'Idempotency-Key': idempotencyKey } };
+    for (let attempt = 0; ; attempt++) {
+        try {
+            return (await send(config)).data;
+        } catch (error) {
+            if (attempt >= RETRY_DELAYS_MS.length || !isRetryable(error)) {
+                throw error;
+            }
+            await new Promise((resolve) => setTimeout(resolve, RETRY_DELAYS_MS[attempt]));
+        }
+    }
+};
+
 // Booking API
 export const bookingApi = {
     getAllBookings: async (status?: string): Promise<Booking[]> => {
@@ -28,10 +54,8 @@ export const bookingApi = {
         return response.data;
     },
 
-    createBooking: async (bookingData: any): Promise<Booking> => {
-        const response: AxiosResponse<Booking> = await axios.post(`${API_BASE_URL}/bookings`, bookingData);
-        return response.data;
-    },
+    createBooking: async (bookingData: any, idempotencyKey?: string): Promise<Booking> =>
+        sendIdempotent((config) => axios.post(`${API_BASE_URL}/bookings`, bookingData, config), idempotencyKey),
 
     updateBooking: async (id: number | string, bookingData: any): Promise<Booking> => {
         const response: AxiosResponse<Booking> = await axios.put(`${API_BASE_URL}/bookings/${id}`, bookingData);
@@ -43,15 +67,11 @@ export const bookingApi = {
         return response.data;
     },
 
-    checkIn: async (id: number | string): Promise<Booking> => {
-        const response = await axios.put(`${API_BASE_URL}/bookings/${id}/check-in`);
-        return response.data;
-    },
+    checkIn: async (id: number | string, idempotencyKey?: string): Promise<Booking> =>
+        sendIdempotent((config) => axios.put(`${API_BASE_URL}/bookings/${id}/check-in`, undefined, config), idempotencyKey),
 
-    checkOut: async (id: number | string): Promise<Booking> => {
-        const response = await axios.put(`${API_BASE_URL}/bookings/${id}/check-out`);
-        return response.data;
-    },
+    checkOut: async (id: number | string, idempotencyKey?: string): Promise<Booking> =>
+        sendIdempotent((config) => axios.put(`${API_BASE_URL}/bookings/${id}/check-out`, undefined, config), idempotencyKey),
 
     extendBooking: async (id: number | string, data: { newCheckOutDate: string }): Promise<Booking> => {
         const response: AxiosResponse<Booking> = await axios.post(`${API_BASE_URL}/bookings/${id}/extend`, data);
@@ -68,6 +88,55 @@ export const bookingApi = {
     },
 };
 
+// Room Hold API
+export const holdApi = {
+    placeHold: async (holdData: { roomId: number; checkInDate: string; checkOutDate: string; heldBy?: string }): Promise<RoomHold> => {
+        const response: AxiosResponse<RoomHold> = await axios.post(`${API_BASE_URL}/holds`, holdData);
+        return response.data;
+    },
+
+    renewHold: async (id: string): Promise<RoomHold> => {
+        const response: AxiosResponse<RoomHold> = await axios.put(`${API_BASE_URL}/holds/${id}/renew`);
+        return response.data;
+    },
+
+    releaseHold: async (id: string): Promise<void> => {
+        await axios.delete(`${API_BASE_URL}/holds/${id}`);
+    },
+};
+
+// Booking Block API
+export const blockApi = {
+    getBlocks: async (): Promise<BookingBlock[]> => {
+        const response: AxiosResponse<BookingBlock[]> = await axios.get(`${API_BASE_URL}/booking-blocks`);
+        return response.data;
+    },
+
+    getBlock: async (id: number): Promise<BookingBlock> => {
+        const response: AxiosResponse<BookingBlock> = await axios.get(`${API_BASE_URL}/booking-blocks/${id}`);
+        return response.data;
+    },
+
+    createBlock: async (blockData: CreateBookingBlockRequest, idempotencyKey?: string): Promise<BookingBlock> =>
+        sendIdempotent((config) => axios.post(`${API_BASE_URL}/booking-blocks`, blockData, config), idempotencyKey),
+
+    // Without bookingIds or count, every unused room of the block is released
+    releaseRooms: async (id: number, release?: { bookingIds?: number[]; count?: number }): Promise<BookingBlock> => {
+        const response: AxiosResponse<BookingBlock> = await axios.post(`${API_BASE_URL}/booking-blocks/${id}/release`, release ?? null);
+        return response.data;
+    },
+};
+
+// Room Assignment API
+export const roomAssignmentApi = {
+    optimize: async (startDate: string, endDate: string, roomType?: string, dryRun = false): Promise<RoomAssignmentResult> => {
+        const response: AxiosResponse<RoomAssignmentResult> = await axios.post(`${API_BASE_URL}/room-assignments/optimize`, null, {
+            params: { startDate, endDate, roomType, dryRun },
+        });
+        return response.data;
+    },
+};
+
 // Room API
 export const roomApi = {
     getAllRooms: async (): Promise<Room[]> => {
@@ -115,38 +184,39 @@ export const guestApi = {
 export const checklistApi = {
     getChecklistByBookingId: async (bookingId: number | string): Promise<ChecklistItem[]> => {
         const response: AxiosResponse<ChecklistItem[]> = await axios.get(
-            `${API_BASE_URL}/checklist/booking/${bookingId}`
+            `${API_BASE_URL}/bookings/${bookingId}/checklist`
         );
         return response.data;
     },
 
     createChecklistItem: async (bookingId: number | string, item: any): Promise<ChecklistItem> => {
         const response: AxiosResponse<ChecklistItem> = await axios.post(
-            `${API_BASE_URL}/checklist/booking/${bookingId}`,
+            `${API_BASE_URL}/bookings/${bookingId}/checklist`,
             item
         );
         return response.data;
     },
 
-    updateChecklistItem: async (itemId: number | string, item: any): Promise<ChecklistItem> => {
+    updateChecklistItem: async (bookingId: number | string, itemId: string, item: any): Promise<ChecklistItem> => {
         const response: AxiosResponse<ChecklistItem> = await axios.put(
-            `${API_BASE_URL}/checklist/${itemId}`,
+            `${API_BASE_URL}/bookings/${bookingId}/checklist/${itemId}`,
             item
         );
         return response.data;
     },
 
-    toggleChecklistItem: async (itemId: number | string): Promise<void> => {
-        await axios.post(`${API_BASE_URL}/checklist/${itemId}/toggle`);
+    toggleChecklistItem: async (bookingId: number | string, itemId: string): Promise<void> => {
+        await axios.put(`${API_BASE_URL}/bookings/${bookingId}/checklist/${itemId}/toggle`);
     },
 
-    deleteChecklistItem: async (itemId: number | string): Promise<void> => {
-        await axios.delete(`${API_BASE_URL}/checklist/${itemId}`);
+    deleteChecklistItem: async (bookingId: number | string, itemId: string): Promise<void> => {
+        await axios.delete(`${API_BASE_URL}/bookings/${bookingId}/checklist/${itemId}`);
     },
 
+    // Replaces the booking's whole checklist
     saveChecklistForBooking: async (bookingId: number | string, checklist: any[]): Promise<ChecklistItem[]> => {
-        const response: AxiosResponse<ChecklistItem[]> = await axios.post(
-            `${API_BASE_URL}/checklist/booking/${bookingId}/save`,
+        const response: AxiosResponse<ChecklistItem[]> = await axios.put(
+            `${API_BASE_URL}/bookings/${bookingId}/checklist`,
             checklist
         );
         return response.data;
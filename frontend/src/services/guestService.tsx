@@ -1,5 +1,5 @@
 import axios, { AxiosResponse } from 'axios';
-import { Guest } from '../types/types';
+import { Guest, GuestStats } from '../types/types';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api/v1/guests';
 
@@ -26,6 +26,14 @@ const guestService = {
     },
     deleteGuest: async (id: number): Promise<void> => {
         await axios.delete(`${API_BASE_URL}/${id}`);
+    },
+    getGuestStats: async (id: number): Promise<GuestStats> => {
+        const response: AxiosResponse<GuestStats> = await axios.get(`${API_BASE_URL}/${id}/stats`);
+        return response.data;
+    },
+    getTopGuests: async (by: 'spend' | 'stays' | 'nights' = 'spend', limit = 10): Promise<GuestStats[]> => {
+        const response: AxiosResponse<GuestStats[]> = await axios.get(`${API_BASE_URL}/top`, { params: { by, limit } });
+        return response.data;
     }
 };
 
@@ -1,5 +1,5 @@
 import axios, { AxiosResponse } from 'axios';
-import { Room, RoomDTO } from '../types/types';
+import { Room, RoomDTO, RoomInventory } from '../types/types';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api/v1/rooms';
 
@@ -67,6 +67,12 @@ const roomService = {
     deleteRoom: async (id: number): Promise<void> => {
         await axios.delete(`${API_BASE_URL}/${id}`);
     },
+
+    // Rooms left per type per night; a year from today unless narrowed
+    getInventory: async (params?: { startDate?: string; days?: number; type?: string }): Promise<RoomInventory> => {
+        const response: AxiosResponse<RoomInventory> = await axios.get(`${API_BASE_URL}/inventory`, { params });
+        return response.data;
+    },
 };
 
 export default roomService;
@@ -34,6 +34,17 @@ export interface Guest {
     emergencyContactAddress?: string;
 }
 
+// Guest Stats Interface - matching GuestStatsDTO
+export interface GuestStats {
+    guestId: number;
+    firstName: string;
+    lastName: string;
+    stayCount: number;
+    totalNights: number;
+    totalSpend: number;
+    lastStayDate?: string;
+}
+
 // Room Interface - matching your RoomModel
 export interface Room {
     id: number;
@@ -48,7 +59,7 @@ export interface Room {
 
 // Checklist Item Interface - UNIFIED VERSION matching backend ChecklistItemModel
 export interface ChecklistItem {
-    id: number;
+    id: string;  // UUID
     item: string;  // The actual checklist item text
     category: ChecklistCategory;
     completed: boolean;  // renamed from 'checked' to match backend
@@ -60,6 +71,8 @@ export interface Booking {
     id: number;
     guestId: number;  // Just ID, not full object
     roomId: number;   // Just ID, not full object
+    roomType?: string; // Set for room-type reservations, whose room may still change
+    blockId?: number;  // Block booking the room belongs to
     checkInDate: string;
     checkOutDate: string;
     adults: number;
@@ -76,13 +89,90 @@ export interface Booking {
 // API Request Types
 export interface CreateBookingRequest {
     guestId: number;
-    roomId: number;
+    roomId?: number;
+    roomType?: string; // Book any room of this type instead of roomId
     checkInDate: string; // ISO date string (YYYY-MM-DD)
     checkOutDate: string; // ISO date string (YYYY-MM-DD)
     adults: number;
     children?: number;
     paymentStatus?: string;
     notes?: string;
+    holdId?: string; // Room hold to convert into the booking
+}
+
+// Room hold placed while a booking form is open
+export interface RoomHold {
+    id: string;
+    roomId: number;
+    checkInDate: string;
+    checkOutDate: string;
+    heldBy?: string;
+    createdAt: string;
+    expiresAt: string;
+}
+
+// Rooms of one type reserved together for the same dates
+export interface BookingBlock {
+    id: number;
+    name: string;
+    guestId: number;
+    roomType: string;
+    checkInDate: string;
+    checkOutDate: string;
+    roomsRequested: number;
+    roomsUnused: number;
+    roomsInHouse: number;
+    roomsReleased: number;
+    notes?: string;
+    createdAt: string;
+    bookings?: Booking[];
+}
+
+export interface CreateBookingBlockRequest {
+    name: string;
+    guestId: number;
+    roomType: string;
+    rooms: number;
+    checkInDate: string; // ISO date string (YYYY-MM-DD)
+    checkOutDate: string; // ISO date string (YYYY-MM-DD)
+    adultsPerRoom?: number;
+    childrenPerRoom?: number;
+    paymentStatus?: string;
+    notes?: string;
+}
+
+// Outcome of re-optimizing the rooms of room-type reservations
+export interface RoomTypeAssignment {
+    roomType: string;
+    outcome: 'applied' | 'planned' | 'unchanged' | 'timed_out' | 'conflict';
+    rooms?: number;
+    reservations?: number;
+    moved?: number;
+    shortGapsBefore?: number;
+    shortGapNightsBefore?: number;
+    shortGapsAfter?: number;
+    shortGapNightsAfter?: number;
+}
+
+export interface RoomAssignmentResult {
+    startDate: string;
+    endDate: string;
+    dryRun: boolean;
+    timedOut: boolean;
+    elapsedMillis: number;
+    types: RoomTypeAssignment[];
+}
+
+export interface RoomTypeInventory {
+    roomType: string;
+    rooms: number;
+    available: number[]; // Rooms left per night, from RoomInventory.startDate
+}
+
+export interface RoomInventory {
+    startDate: string;
+    days: number;
+    types: RoomTypeInventory[];
 }
 
 export interface ExtendBookingRequest {